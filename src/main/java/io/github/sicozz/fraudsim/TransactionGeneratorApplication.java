@@ -1,7 +1,13 @@
 package io.github.sicozz.fraudsim;
 
+import io.github.sicozz.fraudsim.config.properties.TransactionGeneratorProperties;
 import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.generator.rate.RateGovernor;
+import io.github.sicozz.fraudsim.pipeline.PipelineResult;
+import io.github.sicozz.fraudsim.pipeline.TransactionPipeline;
 import io.github.sicozz.fraudsim.service.impl.TransactionModelDemoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -9,6 +15,7 @@ import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableAsync;
 
+@Slf4j
 @SpringBootApplication
 @ConfigurationPropertiesScan("io.github.sicozz.fraudsim.config.properties")
 @EnableAsync
@@ -33,4 +40,24 @@ public class TransactionGeneratorApplication {
       System.out.println("==============================");
     };
   }
+
+  @Bean
+  public ApplicationRunner runPipeline(
+      TransactionPipeline pipeline, TransactionGeneratorProperties properties) {
+    return args -> {
+      long volume = properties.getTransaction().getDefaultVolume();
+      // Paced at fraudsim.transaction.default-tps, the governor schedule starts with the run
+      PipelineResult result = pipeline.run(volume, RateGovernor.fromProperties(properties));
+      log.info(
+          "Pipeline run: generated={}, delivered={} in {} ms, {} tps",
+          result.generated(),
+          result.delivered(),
+          result.elapsedNanos() / 1_000_000,
+          String.format("%.1f", result.getThroughput()));
+      log.info("Rate: {}", result.rate());
+      if (result.rules() != null) {
+        log.info("Rules: {}", result.rules());
+      }
+    };
+  }
 }
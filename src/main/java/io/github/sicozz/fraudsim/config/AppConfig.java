@@ -16,6 +16,12 @@ public class AppConfig implements AsyncConfigurer {
     return Executors.newVirtualThreadPerTaskExecutor();
   }
 
+  @Bean
+  public Executor platformTaskExecutor() {
+    // Platform threads for CPU-bound work that shouldn't share carriers with virtual threads
+    return Executors.newCachedThreadPool(Thread.ofPlatform().name("fraudsim-worker-", 0).factory());
+  }
+
   @Bean
   public ThreadPoolTaskExecutor applicationTaskExecutor() {
     ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
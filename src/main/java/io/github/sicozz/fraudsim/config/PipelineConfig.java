@@ -0,0 +1,152 @@
+package io.github.sicozz.fraudsim.config;
+
+import io.github.sicozz.fraudsim.config.properties.TransactionGeneratorProperties;
+import io.github.sicozz.fraudsim.domain.id.UuidV7Generator;
+import io.github.sicozz.fraudsim.fraud.FraudInjector;
+import io.github.sicozz.fraudsim.fraud.FraudSettings;
+import io.github.sicozz.fraudsim.fraud.rules.ScenarioRules;
+import io.github.sicozz.fraudsim.fraud.state.CustomerStateStore;
+import io.github.sicozz.fraudsim.fraud.state.VelocityWindows;
+import io.github.sicozz.fraudsim.generator.GeneratorSettings;
+import io.github.sicozz.fraudsim.generator.TransactionGenerator;
+import io.github.sicozz.fraudsim.pipeline.PipelineSettings;
+import io.github.sicozz.fraudsim.pipeline.TransactionPipeline;
+import io.github.sicozz.fraudsim.pipeline.serialization.JsonTransactionSerializer;
+import io.github.sicozz.fraudsim.pipeline.serialization.TransactionSerializer;
+import io.github.sicozz.fraudsim.pipeline.sink.FileTransactionSink;
+import io.github.sicozz.fraudsim.pipeline.sink.KafkaTransactionSink;
+import io.github.sicozz.fraudsim.pipeline.sink.TransactionSink;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+@Configuration
+public class PipelineConfig {
+
+  @Bean
+  public TransactionGenerator transactionGenerator(TransactionGeneratorProperties properties)
+      throws IOException {
+    var settings = GeneratorSettings.from(properties);
+    // Ids built outside the shards, e.g. by fraud patterns, carry the node id as well
+    UuidV7Generator.setDefault(new UuidV7Generator(settings.nodeId()));
+    String universeFile = properties.getTransaction().getUniverseFile();
+    if (universeFile == null || universeFile.isBlank()) {
+      return new TransactionGenerator(settings);
+    }
+    return new TransactionGenerator(
+        settings, TransactionGenerator.loadUniverse(settings, Path.of(universeFile)));
+  }
+
+  @Bean(destroyMethod = "close")
+  public CustomerStateStore customerStateStore(TransactionGenerator generator) {
+    return new CustomerStateStore(
+        generator.getUniverse().customerCount(), Duration.ofMinutes(1).toMillis());
+  }
+
+  @Bean(destroyMethod = "close")
+  public VelocityWindows velocityWindows(TransactionGeneratorProperties properties) {
+    // Exact over the last 16 events of a key, to the minute over the last hour
+    return new VelocityWindows(
+        properties.getFraud().getVelocityMemoryMb() * 1024L * 1024L,
+        16,
+        60,
+        Duration.ofMinutes(1).toMillis(),
+        Duration.ofHours(1).toMillis());
+  }
+
+  @Bean
+  public FraudInjector fraudInjector(
+      TransactionGeneratorProperties properties,
+      TransactionGenerator generator,
+      CustomerStateStore customerStateStore,
+      VelocityWindows velocityWindows) {
+    var fraud = properties.getFraud();
+    // Compiled once here, every run then only opens stateless sessions
+    ScenarioRules rules =
+        fraud.getRules().isEmpty()
+            ? null
+            : ScenarioRules.fromClasspath(fraud.getRules(), fraud.getRuleBatchSize());
+    return new FraudInjector(
+        FraudSettings.from(properties),
+        generator.getUniverse(),
+        customerStateStore,
+        velocityWindows,
+        rules);
+  }
+
+  @Bean
+  public TransactionSerializer transactionSerializer(TransactionGeneratorProperties properties) {
+    var output = properties.getOutput();
+    String format =
+        output.getKafka().isEnabled()
+            ? output.getKafka().getFormat()
+            : output.getFile().getFormat();
+    if (!"json".equalsIgnoreCase(format)) {
+      throw new IllegalArgumentException("Unsupported output format: " + format);
+    }
+    return new JsonTransactionSerializer();
+  }
+
+  @Bean(destroyMethod = "close")
+  public TransactionSink transactionSink(
+      TransactionGeneratorProperties properties,
+      KafkaProperties kafkaProperties,
+      SslBundles sslBundles)
+      throws IOException {
+    var output = properties.getOutput();
+    if (output.getKafka().isEnabled() && output.getFile().isEnabled()) {
+      throw new IllegalArgumentException(
+          "Both outputs enabled, set only one of fraudsim.output.kafka.enabled and"
+              + " fraudsim.output.file.enabled");
+    }
+    if (output.getKafka().isEnabled()) {
+      // Payloads are serialized by the pipeline, the producer only ships bytes
+      var producerFactory =
+          new DefaultKafkaProducerFactory<>(
+              kafkaProperties.buildProducerProperties(sslBundles),
+              new StringSerializer(),
+              new ByteArraySerializer());
+      return new KafkaTransactionSink(
+          new KafkaTemplate<>(producerFactory),
+          output.getKafka().getTopic(),
+          properties.getPipeline().getMaxInFlight());
+    }
+
+    var file = output.getFile();
+    if (!file.isEnabled()) {
+      throw new IllegalArgumentException(
+          "No output enabled, set fraudsim.output.kafka.enabled or fraudsim.output.file.enabled");
+    }
+    return new FileTransactionSink(
+        Path.of(file.getPath(), "transactions." + file.getFormat().toLowerCase()));
+  }
+
+  @Bean
+  public TransactionPipeline transactionPipeline(
+      TransactionGenerator generator,
+      FraudInjector injector,
+      TransactionSerializer serializer,
+      TransactionSink sink,
+      TransactionGeneratorProperties properties,
+      @Qualifier("taskExecutor") Executor virtualExecutor,
+      @Qualifier("platformTaskExecutor") Executor platformExecutor) {
+    return new TransactionPipeline(
+        generator,
+        injector,
+        serializer,
+        sink,
+        PipelineSettings.from(properties),
+        virtualExecutor,
+        platformExecutor);
+  }
+}
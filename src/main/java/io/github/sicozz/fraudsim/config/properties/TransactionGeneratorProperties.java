@@ -2,17 +2,22 @@ package io.github.sicozz.fraudsim.config.properties;
 
 import io.github.sicozz.fraudsim.config.properties.TransactionGeneratorProperties.Output.Fraud;
 import io.github.sicozz.fraudsim.config.properties.TransactionGeneratorProperties.Output.Transaction;
+import io.github.sicozz.fraudsim.pipeline.ExecutorKind;
+import java.time.LocalDate;
 import java.util.List;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @Data
-@ConfigurationProperties(prefix = "transaction-generator")
+@ConfigurationProperties(prefix = "fraudsim")
 public class TransactionGeneratorProperties {
 
   private Output output = new Output();
   private Transaction transaction = new Transaction();
   private Fraud fraud = new Fraud();
+  private Pipeline pipeline = new Pipeline();
 
   @Data
   public static class Output {
@@ -23,6 +28,8 @@ public class TransactionGeneratorProperties {
     public static class Kafka {
       private boolean enabled = true;
       private String topic = "transactions";
+      // Encoding of the record values
+      private String format = "json";
     }
 
     @Data
@@ -36,12 +43,57 @@ public class TransactionGeneratorProperties {
     public static class Transaction {
       private int defaultVolume = 100;
       private int defaultTps = 10;
+
+      // Master seed; a given (seed, shards) pair always reproduces the same output
+      private long seed = 42L;
+      // Number of generation shards, 0 means one per available core
+      private int shards = 0;
+      private LocalDate startDate = LocalDate.of(2024, 1, 1);
+      private LocalDate endDate = LocalDate.of(2024, 1, 31);
+      private int customers = 10_000;
+      private int merchants = 1_000;
+      // Unique per instance, embedded in transaction ids
+      private int nodeId = 0;
+      // Universe file mapped at startup and generated on first use; empty keeps it in memory only.
+      // An existing file is used as is, customer and merchant counts included
+      private String universeFile = "";
     }
 
     @Data
     public static class Fraud {
       private double defaultRate = 0.05;
-      private List<String> enabledPatterns = List.of("amountSpike", "merchantAnomaly");
+      // Number of consecutive transactions the rate holds exactly over
+      private int windowSize = 1_000;
+      // Hard cap of the sliding-window state of customers and cards, in MiB
+      private int velocityMemoryMb = 64;
+      private List<String> enabledPatterns =
+          List.of("amountSpike", "merchantAnomaly", "accountTakeover");
+      // Classpath locations of DRL scenario rules, none by default
+      private List<String> rules = List.of();
+      // Transactions evaluated per rule session
+      private int ruleBatchSize = 256;
+    }
+  }
+
+  @Data
+  public static class Pipeline {
+    // Capacity of each bounded queue between two stages
+    private int queueCapacity = 4096;
+    // Generation always runs one worker per shard, only its executor is configurable
+    private Stage generate = new Stage(0, ExecutorKind.PLATFORM);
+    // A fraud injector with state runs a single inject worker anyway, to keep the stream in order
+    private Stage inject = new Stage(1, ExecutorKind.VIRTUAL);
+    private Stage serialize = new Stage(2, ExecutorKind.PLATFORM);
+    private Stage sink = new Stage(2, ExecutorKind.VIRTUAL);
+    // Upper bound of records handed to Kafka but not yet acknowledged
+    private int maxInFlight = 10_000;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stage {
+      private int workers;
+      private ExecutorKind executor;
     }
   }
 }
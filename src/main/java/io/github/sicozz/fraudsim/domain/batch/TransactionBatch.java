@@ -0,0 +1,452 @@
+package io.github.sicozz.fraudsim.domain.batch;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import io.github.sicozz.fraudsim.domain.model.TransactionView;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicators;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.party.Customer;
+import io.github.sicozz.fraudsim.domain.model.party.Merchant;
+import io.github.sicozz.fraudsim.domain.model.party.TransactionParty;
+import io.github.sicozz.fraudsim.domain.model.payment.PaymentMethod;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionType;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Fixed-capacity batch of transactions stored column by column (struct of arrays). Numeric fields
+ * live in primitive arrays, enums are stored as ordinals and repetitive values (party names, types,
+ * payment methods, metadata) are dictionary-encoded, so generators can fill a column in a tight
+ * loop and writers can export columns as they are.
+ *
+ * <p>Column arrays are exposed directly and hold valid data for rows {@code [0, size())}. Rows are
+ * added with {@link #add(TransactionView)}, or reserved with {@link #allocate(int)} and then
+ * written column by column. {@link Row} is a reusable view that reads one row, and can rebuild it
+ * as a {@link Transaction} equal to the one that was added. The type and metadata dictionaries
+ * survive {@link #clear()}, so their codes stay stable across the batches of a run. Party strings
+ * and payment methods grow with the customer population instead, so their dictionaries only cover
+ * the current batch and are reset by {@link #clear()}. Not thread-safe.
+ */
+public final class TransactionBatch {
+
+  /* Party kind flag, set when the source party is a merchant rather than a customer. */
+  public static final byte SOURCE_IS_MERCHANT = 1;
+
+  /* Party kind flag, set when the destination party is a merchant rather than a customer. */
+  public static final byte DESTINATION_IS_MERCHANT = 1 << 1;
+
+  private static final Currency[] CURRENCIES = Currency.values();
+  private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+
+  private final int capacity;
+  private int size;
+
+  private final long[] idMsb;
+  private final long[] idLsb;
+  private final String[] referenceIds;
+  private final long[] epochSeconds;
+  private final int[] nanos;
+  private final long[] amountMinorUnits;
+  private final byte[] currencies;
+  private final byte[] statuses;
+  private final int[] types;
+  private final byte[] partyKinds;
+  private final long[] sourceIdMsb;
+  private final long[] sourceIdLsb;
+  private final int[] sourceIndexes;
+  private final int[] sourceNames;
+  private final int[] sourceDetails;
+  private final long[] destinationIdMsb;
+  private final long[] destinationIdLsb;
+  private final int[] destinationIndexes;
+  private final int[] destinationNames;
+  private final int[] destinationDetails;
+  private final int[] paymentMethods;
+  private final int[] metadata;
+  private final long[] fraudIndicators;
+
+  // Per batch, reset by clear()
+  private final ValueDictionary<String> strings = new ValueDictionary<>();
+  private final ValueDictionary<PaymentMethod> paymentMethodDictionary = new ValueDictionary<>();
+  // Kept across batches
+  private final ValueDictionary<TransactionType> typeDictionary = new ValueDictionary<>();
+  private final ValueDictionary<TransactionMetadata> metadataDictionary = new ValueDictionary<>();
+
+  public TransactionBatch(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    this.capacity = capacity;
+    this.idMsb = new long[capacity];
+    this.idLsb = new long[capacity];
+    this.referenceIds = new String[capacity];
+    this.epochSeconds = new long[capacity];
+    this.nanos = new int[capacity];
+    this.amountMinorUnits = new long[capacity];
+    this.currencies = new byte[capacity];
+    this.statuses = new byte[capacity];
+    this.types = new int[capacity];
+    this.partyKinds = new byte[capacity];
+    this.sourceIdMsb = new long[capacity];
+    this.sourceIdLsb = new long[capacity];
+    this.sourceIndexes = new int[capacity];
+    this.sourceNames = new int[capacity];
+    this.sourceDetails = new int[capacity];
+    this.destinationIdMsb = new long[capacity];
+    this.destinationIdLsb = new long[capacity];
+    this.destinationIndexes = new int[capacity];
+    this.destinationNames = new int[capacity];
+    this.destinationDetails = new int[capacity];
+    this.paymentMethods = new int[capacity];
+    this.metadata = new int[capacity];
+    this.fraudIndicators = new long[capacity];
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int remaining() {
+    return capacity - size;
+  }
+
+  /* Drops every row and the per-batch dictionaries, keeping the type and metadata ones. */
+  public void clear() {
+    Arrays.fill(referenceIds, 0, size, null);
+    strings.clear();
+    paymentMethodDictionary.clear();
+    size = 0;
+  }
+
+  /**
+   * Reserves rows at the end of the batch for the caller to fill column by column. The reserved
+   * rows start with no reference id, no universe indexes, no metadata and no fraud indicators.
+   *
+   * @param count The number of rows to reserve
+   * @return The index of the first reserved row
+   * @throws IllegalStateException If the batch doesn't have room for them
+   */
+  public int allocate(int count) {
+    if (count < 0 || count > remaining()) {
+      throw new IllegalStateException(
+          "Cannot allocate " + count + " rows, " + remaining() + " remaining");
+    }
+    int first = size;
+    size += count;
+    for (int row = first; row < size; row++) {
+      referenceIds[row] = null;
+      sourceIndexes[row] = -1;
+      destinationIndexes[row] = -1;
+      metadata[row] = -1;
+      fraudIndicators[row] = 0;
+    }
+    return first;
+  }
+
+  /**
+   * Appends a transaction, or a builder holding one, as a new row.
+   *
+   * @param transaction The transaction
+   * @return The row index
+   * @throws IllegalStateException If the batch is full
+   */
+  public int add(TransactionView transaction) {
+    int row = allocate(1);
+    idMsb[row] = transaction.id().getMostSignificantBits();
+    idLsb[row] = transaction.id().getLeastSignificantBits();
+    referenceIds[row] = transaction.referenceId();
+    epochSeconds[row] = transaction.timestamp().getEpochSecond();
+    nanos[row] = transaction.timestamp().getNano();
+    amountMinorUnits[row] = transaction.amount().minorUnits();
+    currencies[row] = (byte) transaction.amount().currency().ordinal();
+    statuses[row] = (byte) transaction.status().ordinal();
+    setType(row, transaction.type());
+    setSource(row, transaction.source());
+    setDestination(row, transaction.destination());
+    setPaymentMethod(row, transaction.paymentMethod());
+    setMetadata(row, transaction.metadata());
+    fraudIndicators[row] = transaction.fraudIndicators().toLong();
+    return row;
+  }
+
+  /* Sets the source party of a row. Only customers and merchants are supported. */
+  public void setSource(int row, TransactionParty party) {
+    partyKinds[row] =
+        (byte) ((partyKinds[row] & ~SOURCE_IS_MERCHANT) | partyKind(party, SOURCE_IS_MERCHANT));
+    sourceIdMsb[row] = party.getId().getMostSignificantBits();
+    sourceIdLsb[row] = party.getId().getLeastSignificantBits();
+    sourceNames[row] = strings.encode(party.getName());
+    sourceDetails[row] = strings.encodeNullable(partyDetail(party));
+  }
+
+  /* Sets the destination party of a row. Only customers and merchants are supported. */
+  public void setDestination(int row, TransactionParty party) {
+    partyKinds[row] =
+        (byte)
+            ((partyKinds[row] & ~DESTINATION_IS_MERCHANT)
+                | partyKind(party, DESTINATION_IS_MERCHANT));
+    destinationIdMsb[row] = party.getId().getMostSignificantBits();
+    destinationIdLsb[row] = party.getId().getLeastSignificantBits();
+    destinationNames[row] = strings.encode(party.getName());
+    destinationDetails[row] = strings.encodeNullable(partyDetail(party));
+  }
+
+  public void setType(int row, TransactionType type) {
+    types[row] = typeDictionary.encode(type);
+  }
+
+  public void setPaymentMethod(int row, PaymentMethod paymentMethod) {
+    paymentMethods[row] = paymentMethodDictionary.encode(paymentMethod);
+  }
+
+  public void setMetadata(int row, TransactionMetadata transactionMetadata) {
+    metadata[row] = metadataDictionary.encodeNullable(transactionMetadata);
+  }
+
+  private static int partyKind(TransactionParty party, int merchantFlag) {
+    return switch (party) {
+      case Customer customer -> 0;
+      case Merchant merchant -> merchantFlag;
+      default -> throw new IllegalArgumentException(
+          "Party has no columnar form: " + party.getClass().getName());
+    };
+  }
+
+  private static String partyDetail(TransactionParty party) {
+    return party instanceof Merchant merchant ? merchant.mcc() : ((Customer) party).email();
+  }
+
+  public long[] idMostSignificantBits() {
+    return idMsb;
+  }
+
+  public long[] idLeastSignificantBits() {
+    return idLsb;
+  }
+
+  /* Reference ids, null meaning the one derived from the id by TransactionBuilder. */
+  public String[] referenceIds() {
+    return referenceIds;
+  }
+
+  public long[] epochSeconds() {
+    return epochSeconds;
+  }
+
+  public int[] nanos() {
+    return nanos;
+  }
+
+  public long[] amountMinorUnits() {
+    return amountMinorUnits;
+  }
+
+  /* Currency ordinals. */
+  public byte[] currencies() {
+    return currencies;
+  }
+
+  /* Status ordinals. */
+  public byte[] statuses() {
+    return statuses;
+  }
+
+  /* Codes into {@link #typeDictionary()}. */
+  public int[] types() {
+    return types;
+  }
+
+  /* Combination of {@link #SOURCE_IS_MERCHANT} and {@link #DESTINATION_IS_MERCHANT}. */
+  public byte[] partyKinds() {
+    return partyKinds;
+  }
+
+  public long[] sourceIdMostSignificantBits() {
+    return sourceIdMsb;
+  }
+
+  public long[] sourceIdLeastSignificantBits() {
+    return sourceIdLsb;
+  }
+
+  /* Codes into {@link #strings()}. */
+  public int[] sourceNames() {
+    return sourceNames;
+  }
+
+  /* Codes into {@link #strings()} of the customer email or merchant category code. */
+  public int[] sourceDetails() {
+    return sourceDetails;
+  }
+
+  /* Universe indexes of the source parties, -1 when unknown, e.g. for a row added as a transaction. */
+  public int[] sourceIndexes() {
+    return sourceIndexes;
+  }
+
+  public long[] destinationIdMostSignificantBits() {
+    return destinationIdMsb;
+  }
+
+  public long[] destinationIdLeastSignificantBits() {
+    return destinationIdLsb;
+  }
+
+  /* Universe indexes of the destination parties, -1 when unknown. */
+  public int[] destinationIndexes() {
+    return destinationIndexes;
+  }
+
+  /* Codes into {@link #strings()}. */
+  public int[] destinationNames() {
+    return destinationNames;
+  }
+
+  /* Codes into {@link #strings()} of the customer email or merchant category code. */
+  public int[] destinationDetails() {
+    return destinationDetails;
+  }
+
+  /* Codes into {@link #paymentMethodDictionary()}. */
+  public int[] paymentMethods() {
+    return paymentMethods;
+  }
+
+  /* Codes into {@link #metadataDictionary()}, -1 for no metadata. */
+  public int[] metadata() {
+    return metadata;
+  }
+
+  /* Fraud indicators packed by {@link FraudIndicators#toLong()}. */
+  public long[] fraudIndicators() {
+    return fraudIndicators;
+  }
+
+  public ValueDictionary<String> strings() {
+    return strings;
+  }
+
+  public ValueDictionary<TransactionType> typeDictionary() {
+    return typeDictionary;
+  }
+
+  public ValueDictionary<PaymentMethod> paymentMethodDictionary() {
+    return paymentMethodDictionary;
+  }
+
+  public ValueDictionary<TransactionMetadata> metadataDictionary() {
+    return metadataDictionary;
+  }
+
+  /* Returns a new view, positioned on the first row. */
+  public Row row() {
+    return new Row();
+  }
+
+  /**
+   * Reusable view over one row of the batch. Primitive accessors read the columns directly; the
+   * object accessors decode dictionaries and allocate.
+   */
+  public final class Row {
+
+    private int index;
+
+    private Row() {}
+
+    /* Moves the view to the given row. */
+    public Row at(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Row " + index + " out of " + size);
+      }
+      this.index = index;
+      return this;
+    }
+
+    public int index() {
+      return index;
+    }
+
+    public UUID id() {
+      return new UUID(idMsb[index], idLsb[index]);
+    }
+
+    public long epochMillis() {
+      return epochSeconds[index] * 1_000L + nanos[index] / 1_000_000;
+    }
+
+    public Instant timestamp() {
+      return Instant.ofEpochSecond(epochSeconds[index], nanos[index]);
+    }
+
+    public long amountMinorUnits() {
+      return amountMinorUnits[index];
+    }
+
+    public Currency currency() {
+      return CURRENCIES[currencies[index]];
+    }
+
+    public Money amount() {
+      return Money.ofMinor(amountMinorUnits[index], currency());
+    }
+
+    public TransactionStatus status() {
+      return STATUSES[statuses[index]];
+    }
+
+    public TransactionType type() {
+      return typeDictionary.decode(types[index]);
+    }
+
+    public TransactionParty source() {
+      return party(
+          (partyKinds[index] & SOURCE_IS_MERCHANT) != 0,
+          new UUID(sourceIdMsb[index], sourceIdLsb[index]),
+          sourceNames[index],
+          sourceDetails[index]);
+    }
+
+    public TransactionParty destination() {
+      return party(
+          (partyKinds[index] & DESTINATION_IS_MERCHANT) != 0,
+          new UUID(destinationIdMsb[index], destinationIdLsb[index]),
+          destinationNames[index],
+          destinationDetails[index]);
+    }
+
+    private TransactionParty party(boolean merchant, UUID id, int name, int detail) {
+      return merchant
+          ? new Merchant(id, strings.decode(name), strings.decode(detail))
+          : new Customer(id, strings.decode(name), strings.decode(detail));
+    }
+
+    public PaymentMethod paymentMethod() {
+      return paymentMethodDictionary.decode(paymentMethods[index]);
+    }
+
+    /* Rebuilds the row as a transaction. */
+    public Transaction toTransaction() {
+      return TransactionBuilder.builder()
+          .withId(id())
+          .withReferenceId(referenceIds[index])
+          .withTimestamp(timestamp())
+          .withAmount(amount())
+          .withStatus(status())
+          .withType(type())
+          .withSource(source())
+          .withDestination(destination())
+          .withPaymentMethod(paymentMethod())
+          .withMetadata(metadataDictionary.decode(metadata[index]))
+          .withFraudIndicators(FraudIndicators.fromLong(fraudIndicators[index]))
+          .build();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.sicozz.fraudsim.domain.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for low-cardinality column values. Each distinct value gets a dense int code,
+ * in first-seen order, so a column only stores codes and a writer can emit the dictionary once next
+ * to them. Null is not a value, callers encode it as {@code -1}.
+ */
+public final class ValueDictionary<T> {
+
+  private final Map<T, Integer> codes = new HashMap<>();
+  private final List<T> values = new ArrayList<>();
+
+  /* Returns the code of the value, assigning the next free one if it's new. */
+  public int encode(T value) {
+    Integer code = codes.get(value);
+    if (code == null) {
+      code = values.size();
+      codes.put(value, code);
+      values.add(value);
+    }
+    return code;
+  }
+
+  /* Returns the code of a value, or null for -1. */
+  public int encodeNullable(T value) {
+    return value == null ? -1 : encode(value);
+  }
+
+  /* Returns the value of a code, or null for -1. */
+  public T decode(int code) {
+    return code < 0 ? null : values.get(code);
+  }
+
+  /* Drops every value, codes being assigned from 0 again. */
+  public void clear() {
+    codes.clear();
+    values.clear();
+  }
+
+  public int size() {
+    return values.size();
+  }
+
+  /* Returns the values in code order. */
+  public List<T> values() {
+    return List.copyOf(values);
+  }
+}
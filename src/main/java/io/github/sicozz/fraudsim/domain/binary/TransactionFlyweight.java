@@ -0,0 +1,475 @@
+package io.github.sicozz.fraudsim.domain.binary;
+
+import static io.github.sicozz.fraudsim.domain.binary.TransactionLayout.*;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import io.github.sicozz.fraudsim.domain.model.TransactionView;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicators;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.party.Customer;
+import io.github.sicozz.fraudsim.domain.model.party.Merchant;
+import io.github.sicozz.fraudsim.domain.model.party.TransactionParty;
+import io.github.sicozz.fraudsim.domain.model.payment.BankAccount;
+import io.github.sicozz.fraudsim.domain.model.payment.Card;
+import io.github.sicozz.fraudsim.domain.model.payment.CardType;
+import io.github.sicozz.fraudsim.domain.model.payment.PaymentMethod;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.CardTransaction;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionType;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionTypes;
+import io.github.sicozz.fraudsim.domain.model.type.TransferTransaction;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Flyweight over a transaction encoded in place in a {@link MemorySegment} (on or off heap, or
+ * wrapping a {@link ByteBuffer}) with the layout described in {@link TransactionLayout}. Wrapping a
+ * record costs nothing, and fixed-size fields are read and written directly in memory, so pipeline
+ * stages can hand each other segment offsets instead of object graphs. Strings and the full {@link
+ * Transaction} are only materialized when asked for.
+ *
+ * <p>{@link #encode(TransactionView, MemorySegment, long)} and {@link #toTransaction()} convert
+ * losslessly between the two forms; encoding a reused {@link TransactionBuilder} skips the
+ * transaction object. Only {@link Customer} and {@link Merchant} parties and {@link
+ * FraudIndicators#isPortable() portable} fraud indicators can be encoded. An instance is reusable
+ * but not thread-safe.
+ */
+public final class TransactionFlyweight {
+
+  private static final CardType[] CARD_TYPES = CardType.values();
+  private static final Currency[] CURRENCIES = Currency.values();
+  private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+
+  private final String[] strings = new String[SLOT_COUNT];
+  private MemorySegment segment;
+  private long offset;
+
+  /**
+   * Points this flyweight at the record starting at the given offset.
+   *
+   * @param segment The segment holding the record
+   * @param offset The offset of the record in the segment
+   * @return This flyweight
+   */
+  public TransactionFlyweight wrap(MemorySegment segment, long offset) {
+    this.segment = segment;
+    this.offset = offset;
+    return this;
+  }
+
+  /* Points this flyweight at a record in a buffer, the offset being relative to its position. */
+  public TransactionFlyweight wrap(ByteBuffer buffer, int offset) {
+    return wrap(MemorySegment.ofBuffer(buffer), offset);
+  }
+
+  /* Returns the number of bytes the encoding of the given transaction takes. */
+  public int encodedLength(TransactionView transaction) {
+    collectStrings(transaction);
+    int length = FIXED_SIZE;
+    for (String value : strings) {
+      length += value == null ? 0 : Utf8.encodedLength(value);
+    }
+    if (transaction.metadata() != null) {
+      TransactionMetadata metadata = transaction.metadata();
+      for (int i = 0; i < metadata.size(); i++) {
+        length += 8 + Utf8.encodedLength(metadata.key(i)) + Utf8.encodedLength(metadata.value(i));
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Encodes a transaction, or a builder holding one, at the given offset and leaves this flyweight
+   * pointing at it. Nothing is written if the segment is too small.
+   *
+   * @param transaction The transaction to encode
+   * @param segment The target segment
+   * @param offset The offset of the record in the segment
+   * @return The number of bytes written
+   * @throws IndexOutOfBoundsException If the record doesn't fit in the segment
+   * @throws IllegalArgumentException If the transaction holds a party or indicator type that has no
+   *     binary form
+   */
+  public int encode(TransactionView transaction, MemorySegment segment, long offset) {
+    int length = encodedLength(transaction);
+    if (offset < 0 || offset + length > segment.byteSize()) {
+      throw new IndexOutOfBoundsException(
+          "Record of " + length + " bytes doesn't fit at offset " + offset);
+    }
+    wrap(segment, offset);
+
+    putInt(LENGTH, length);
+    putByte(LAYOUT_VERSION, VERSION);
+    putByte(STATUS, transaction.status().ordinal());
+    putLong(ID_MSB, transaction.id().getMostSignificantBits());
+    putLong(ID_LSB, transaction.id().getLeastSignificantBits());
+    putLong(EPOCH_SECOND, transaction.timestamp().getEpochSecond());
+    putInt(NANOS, transaction.timestamp().getNano());
+    putByte(CURRENCY, transaction.amount().currency().ordinal());
+    putLong(AMOUNT, transaction.amount().minorUnits());
+    putLong(SOURCE_ID_MSB, transaction.source().getId().getMostSignificantBits());
+    putLong(SOURCE_ID_LSB, transaction.source().getId().getLeastSignificantBits());
+    putLong(DESTINATION_ID_MSB, transaction.destination().getId().getMostSignificantBits());
+    putLong(DESTINATION_ID_LSB, transaction.destination().getId().getLeastSignificantBits());
+    putByte(
+        PARTY_KINDS,
+        (transaction.source() instanceof Merchant ? SOURCE_IS_MERCHANT : 0)
+            | (transaction.destination() instanceof Merchant ? DESTINATION_IS_MERCHANT : 0));
+    encodeType(transaction.type());
+    encodePaymentMethod(transaction.paymentMethod());
+
+    int position = FIXED_SIZE;
+    for (int slot = 0; slot < SLOT_COUNT; slot++) {
+      String value = strings[slot];
+      putInt(slotOffset(slot), position);
+      if (value == null) {
+        putInt(slotOffset(slot) + 4, -1);
+      } else {
+        int written = Utf8.write(value, segment, offset + position);
+        putInt(slotOffset(slot) + 4, written);
+        position += written;
+      }
+    }
+
+    putInt(METADATA_OFFSET, position);
+    TransactionMetadata metadata = transaction.metadata();
+    if (metadata == null) {
+      putInt(METADATA_COUNT, -1);
+    } else {
+      putInt(METADATA_COUNT, metadata.size());
+      for (int i = 0; i < metadata.size(); i++) {
+        position = putString(position, metadata.key(i));
+        position = putString(position, metadata.value(i));
+      }
+    }
+
+    putLong(FRAUD_INDICATORS, transaction.fraudIndicators().toLong());
+
+    Arrays.fill(strings, null);
+    return length;
+  }
+
+  /* Collects the string fields into their slots, and rejects what can't be encoded. */
+  private void collectStrings(TransactionView transaction) {
+    Arrays.fill(strings, null);
+    strings[REFERENCE_ID] = transaction.referenceId();
+    strings[SOURCE_NAME] = transaction.source().getName();
+    strings[SOURCE_DETAIL] = partyDetail(transaction.source());
+    strings[DESTINATION_NAME] = transaction.destination().getName();
+    strings[DESTINATION_DETAIL] = partyDetail(transaction.destination());
+
+    switch (transaction.type()) {
+      case CardTransaction card -> strings[TYPE_STRINGS] = card.network();
+      case TransferTransaction transfer -> {
+        strings[TYPE_STRINGS] = transfer.transferMethod();
+        strings[TYPE_STRINGS + 1] = transfer.purposeCode();
+        strings[TYPE_STRINGS + 2] = transfer.referenceMessage();
+        strings[TYPE_STRINGS + 3] = transfer.correspondingBankCode();
+      }
+    }
+
+    switch (transaction.paymentMethod()) {
+      case Card card -> {
+        strings[PAYMENT_STRINGS] = card.maskedNumber();
+        strings[PAYMENT_STRINGS + 1] = card.network();
+        strings[PAYMENT_STRINGS + 2] = card.cardholderName();
+        strings[PAYMENT_STRINGS + 3] = card.expiryDate();
+        strings[PAYMENT_STRINGS + 4] = card.billingPostalCode();
+      }
+      case BankAccount account -> {
+        strings[PAYMENT_STRINGS] = account.accountNumber();
+        strings[PAYMENT_STRINGS + 1] = account.routingNumber();
+        strings[PAYMENT_STRINGS + 2] = account.accountHolderName();
+        strings[PAYMENT_STRINGS + 3] = account.bankName();
+        strings[PAYMENT_STRINGS + 4] = account.accountType();
+        strings[PAYMENT_STRINGS + 5] = account.maskedAccountNumber();
+        strings[PAYMENT_STRINGS + 6] = account.country();
+      }
+    }
+
+    if (!transaction.fraudIndicators().isPortable()) {
+      throw new IllegalArgumentException(
+          "Fraud indicators have no binary form: " + transaction.fraudIndicators());
+    }
+  }
+
+  private static String partyDetail(TransactionParty party) {
+    return switch (party) {
+      case Customer customer -> customer.email();
+      case Merchant merchant -> merchant.mcc();
+      default -> throw new IllegalArgumentException(
+          "Party has no binary form: " + party.getClass().getName());
+    };
+  }
+
+  private void encodeType(TransactionType type) {
+    switch (type) {
+      case CardTransaction card -> {
+        putByte(TYPE_KIND, KIND_CARD);
+        putByte(
+            TYPE_FLAGS,
+            (card.isContactless() ? FLAG_CONTACTLESS : 0)
+                | (card.isEcommerce() ? FLAG_ECOMMERCE : 0)
+                | (card.isInternational() ? FLAG_INTERNATIONAL : 0));
+      }
+      case TransferTransaction transfer -> {
+        putByte(TYPE_KIND, KIND_TRANSFER);
+        putByte(
+            TYPE_FLAGS,
+            (transfer.isInternational() ? FLAG_INTERNATIONAL : 0)
+                | (transfer.isRecurring() ? FLAG_RECURRING : 0)
+                | (transfer.isScheduled() ? FLAG_SCHEDULED : 0));
+      }
+    }
+  }
+
+  private void encodePaymentMethod(PaymentMethod paymentMethod) {
+    switch (paymentMethod) {
+      case Card card -> {
+        putByte(PAYMENT_KIND, KIND_CARD);
+        putByte(CARD_TYPE, card.type() == null ? -1 : card.type().ordinal());
+      }
+      case BankAccount account -> {
+        putByte(PAYMENT_KIND, KIND_BANK_ACCOUNT);
+        putByte(CARD_TYPE, -1);
+      }
+    }
+  }
+
+  /* Returns the total length of the wrapped record, in bytes. */
+  public int length() {
+    return getInt(LENGTH);
+  }
+
+  public long idMostSignificantBits() {
+    return getLong(ID_MSB);
+  }
+
+  public long idLeastSignificantBits() {
+    return getLong(ID_LSB);
+  }
+
+  public UUID id() {
+    return new UUID(idMostSignificantBits(), idLeastSignificantBits());
+  }
+
+  public long epochSecond() {
+    return getLong(EPOCH_SECOND);
+  }
+
+  public int nanos() {
+    return getInt(NANOS);
+  }
+
+  public long epochMillis() {
+    return Math.addExact(Math.multiplyExact(epochSecond(), 1_000L), nanos() / 1_000_000);
+  }
+
+  public Instant timestamp() {
+    return Instant.ofEpochSecond(epochSecond(), nanos());
+  }
+
+  public long amountMinorUnits() {
+    return getLong(AMOUNT);
+  }
+
+  public TransactionFlyweight setAmountMinorUnits(long minorUnits) {
+    putLong(AMOUNT, minorUnits);
+    return this;
+  }
+
+  public Currency currency() {
+    return CURRENCIES[getByte(CURRENCY)];
+  }
+
+  public Money amount() {
+    return Money.ofMinor(amountMinorUnits(), currency());
+  }
+
+  public TransactionStatus status() {
+    return STATUSES[getByte(STATUS)];
+  }
+
+  public TransactionFlyweight setStatus(TransactionStatus status) {
+    putByte(STATUS, status.ordinal());
+    return this;
+  }
+
+  public boolean isCardTransaction() {
+    return getByte(TYPE_KIND) == KIND_CARD;
+  }
+
+  public boolean isInternational() {
+    return (getByte(TYPE_FLAGS) & FLAG_INTERNATIONAL) != 0;
+  }
+
+  public long sourceIdMostSignificantBits() {
+    return getLong(SOURCE_ID_MSB);
+  }
+
+  public long sourceIdLeastSignificantBits() {
+    return getLong(SOURCE_ID_LSB);
+  }
+
+  public long destinationIdMostSignificantBits() {
+    return getLong(DESTINATION_ID_MSB);
+  }
+
+  public long destinationIdLeastSignificantBits() {
+    return getLong(DESTINATION_ID_LSB);
+  }
+
+  public String referenceId() {
+    return getString(REFERENCE_ID);
+  }
+
+  public FraudIndicators fraudIndicators() {
+    return FraudIndicators.fromLong(getLong(FRAUD_INDICATORS));
+  }
+
+  /* Labels the record in place. */
+  public TransactionFlyweight setFraudIndicators(FraudIndicators fraudIndicators) {
+    if (!fraudIndicators.isPortable()) {
+      throw new IllegalArgumentException(
+          "Fraud indicators have no binary form: " + fraudIndicators);
+    }
+    putLong(FRAUD_INDICATORS, fraudIndicators.toLong());
+    return this;
+  }
+
+  /* Materializes the wrapped record as a transaction, equal to the one that was encoded. */
+  public Transaction toTransaction() {
+    int typeFlags = getByte(TYPE_FLAGS);
+    int partyKinds = getByte(PARTY_KINDS);
+
+    return new Transaction(
+        id(),
+        referenceId(),
+        timestamp(),
+        amount(),
+        status(),
+        decodeType(typeFlags),
+        decodeParty(
+            (partyKinds & SOURCE_IS_MERCHANT) != 0,
+            sourceIdMostSignificantBits(),
+            sourceIdLeastSignificantBits(),
+            SOURCE_NAME,
+            SOURCE_DETAIL),
+        decodeParty(
+            (partyKinds & DESTINATION_IS_MERCHANT) != 0,
+            destinationIdMostSignificantBits(),
+            destinationIdLeastSignificantBits(),
+            DESTINATION_NAME,
+            DESTINATION_DETAIL),
+        decodePaymentMethod(),
+        decodeMetadata(),
+        fraudIndicators());
+  }
+
+  private TransactionType decodeType(int flags) {
+    if (isCardTransaction()) {
+      return TransactionTypes.card(
+          getString(TYPE_STRINGS),
+          (flags & FLAG_CONTACTLESS) != 0,
+          (flags & FLAG_ECOMMERCE) != 0,
+          (flags & FLAG_INTERNATIONAL) != 0);
+    }
+    return TransactionTypes.canonical(
+        new TransferTransaction(
+            getString(TYPE_STRINGS),
+            (flags & FLAG_INTERNATIONAL) != 0,
+            getString(TYPE_STRINGS + 1),
+            getString(TYPE_STRINGS + 2),
+            (flags & FLAG_RECURRING) != 0,
+            (flags & FLAG_SCHEDULED) != 0,
+            getString(TYPE_STRINGS + 3)));
+  }
+
+  private TransactionParty decodeParty(
+      boolean merchant, long msb, long lsb, int nameSlot, int detailSlot) {
+    UUID id = new UUID(msb, lsb);
+    return merchant
+        ? new Merchant(id, getString(nameSlot), getString(detailSlot))
+        : new Customer(id, getString(nameSlot), getString(detailSlot));
+  }
+
+  private PaymentMethod decodePaymentMethod() {
+    if (getByte(PAYMENT_KIND) == KIND_CARD) {
+      int cardType = getByte(CARD_TYPE);
+      return new Card(
+          getString(PAYMENT_STRINGS),
+          cardType < 0 ? null : CARD_TYPES[cardType],
+          getString(PAYMENT_STRINGS + 1),
+          getString(PAYMENT_STRINGS + 2),
+          getString(PAYMENT_STRINGS + 3),
+          getString(PAYMENT_STRINGS + 4));
+    }
+    return new BankAccount(
+        getString(PAYMENT_STRINGS),
+        getString(PAYMENT_STRINGS + 1),
+        getString(PAYMENT_STRINGS + 2),
+        getString(PAYMENT_STRINGS + 3),
+        getString(PAYMENT_STRINGS + 4),
+        getString(PAYMENT_STRINGS + 5),
+        getString(PAYMENT_STRINGS + 6));
+  }
+
+  private TransactionMetadata decodeMetadata() {
+    int count = getInt(METADATA_COUNT);
+    if (count < 0) {
+      return null;
+    }
+    TransactionMetadata.Builder metadata = TransactionMetadata.builder();
+    long position = getInt(METADATA_OFFSET);
+    for (int i = 0; i < count; i++) {
+      int keyLength = getInt(position);
+      String key = Utf8.read(segment, offset + position + 4, keyLength);
+      position += 4 + keyLength;
+      int valueLength = getInt(position);
+      metadata.put(key, Utf8.read(segment, offset + position + 4, valueLength));
+      position += 4 + valueLength;
+    }
+    return metadata.build();
+  }
+
+  private String getString(int slot) {
+    int length = getInt(slotOffset(slot) + 4);
+    return length < 0 ? null : Utf8.read(segment, offset + getInt(slotOffset(slot)), length);
+  }
+
+  private int putString(int position, String value) {
+    int written = Utf8.write(value, segment, offset + position + 4);
+    putInt(position, written);
+    return position + 4 + written;
+  }
+
+  private byte getByte(long field) {
+    return segment.get(BYTE, offset + field);
+  }
+
+  private int getInt(long field) {
+    return segment.get(INT, offset + field);
+  }
+
+  private long getLong(long field) {
+    return segment.get(LONG, offset + field);
+  }
+
+  private void putByte(long field, int value) {
+    segment.set(BYTE, offset + field, (byte) value);
+  }
+
+  private void putInt(long field, int value) {
+    segment.set(INT, offset + field, value);
+  }
+
+  private void putLong(long field, long value) {
+    segment.set(LONG, offset + field, value);
+  }
+}
@@ -0,0 +1,101 @@
+package io.github.sicozz.fraudsim.domain.binary;
+
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Byte layout of an encoded transaction. A record is a fixed block followed by a variable area:
+ *
+ * <pre>
+ *   0  int    record length, fixed block included
+ *   4  byte   layout version
+ *   5  byte   transaction type kind (card, transfer)
+ *   6  byte   payment method kind (card, bank account)
+ *   7  byte   status ordinal
+ *   8  long   id, most significant bits
+ *  16  long   id, least significant bits
+ *  24  long   timestamp, epoch seconds
+ *  32  int    timestamp, nanoseconds
+ *  36  byte   currency ordinal
+ *  37  byte   type flags (contactless, e-commerce, international, recurring, scheduled)
+ *  38  byte   card type ordinal, -1 when absent
+ *  39  byte   party kinds, one bit per side set when the party is a merchant
+ *  40  long   amount, minor units
+ *  48  long   source id, most significant bits
+ *  56  long   source id, least significant bits
+ *  64  long   destination id, most significant bits
+ *  72  long   destination id, least significant bits
+ *  80  int    metadata offset    84  int   metadata entry count, -1 when absent
+ *  88  long   fraud indicators, packed by FraudIndicators.toLong()
+ *  96  16 x (int offset, int length) string slots, length -1 for null
+ * 224  variable area: UTF-8 strings, metadata entries
+ * </pre>
+ *
+ * Offsets in the variable area are relative to the start of the record, so a record can be copied
+ * around as a plain byte range. Multi-byte values are little-endian and may be unaligned.
+ */
+final class TransactionLayout {
+
+  static final byte VERSION = 2;
+
+  static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+  static final ValueLayout.OfInt INT =
+      ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+  static final ValueLayout.OfLong LONG =
+      ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+  static final ValueLayout.OfFloat FLOAT =
+      ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+  static final int LENGTH = 0;
+  static final int LAYOUT_VERSION = 4;
+  static final int TYPE_KIND = 5;
+  static final int PAYMENT_KIND = 6;
+  static final int STATUS = 7;
+  static final int ID_MSB = 8;
+  static final int ID_LSB = 16;
+  static final int EPOCH_SECOND = 24;
+  static final int NANOS = 32;
+  static final int CURRENCY = 36;
+  static final int TYPE_FLAGS = 37;
+  static final int CARD_TYPE = 38;
+  static final int PARTY_KINDS = 39;
+  static final int AMOUNT = 40;
+  static final int SOURCE_ID_MSB = 48;
+  static final int SOURCE_ID_LSB = 56;
+  static final int DESTINATION_ID_MSB = 64;
+  static final int DESTINATION_ID_LSB = 72;
+  static final int METADATA_OFFSET = 80;
+  static final int METADATA_COUNT = 84;
+  static final int FRAUD_INDICATORS = 88;
+  static final int SLOTS = 96;
+  static final int SLOT_COUNT = 16;
+  static final int FIXED_SIZE = SLOTS + SLOT_COUNT * 8;
+
+  static final byte KIND_CARD = 0;
+  static final byte KIND_TRANSFER = 1;
+  static final byte KIND_BANK_ACCOUNT = 1;
+
+  static final int FLAG_CONTACTLESS = 1;
+  static final int FLAG_ECOMMERCE = 1 << 1;
+  static final int FLAG_INTERNATIONAL = 1 << 2;
+  static final int FLAG_RECURRING = 1 << 3;
+  static final int FLAG_SCHEDULED = 1 << 4;
+
+  static final int SOURCE_IS_MERCHANT = 1;
+  static final int DESTINATION_IS_MERCHANT = 1 << 1;
+
+  // String slots; type and payment slots are interpreted according to their kind
+  static final int REFERENCE_ID = 0;
+  static final int SOURCE_NAME = 1;
+  static final int SOURCE_DETAIL = 2;
+  static final int DESTINATION_NAME = 3;
+  static final int DESTINATION_DETAIL = 4;
+  static final int TYPE_STRINGS = 5;
+  static final int PAYMENT_STRINGS = 9;
+
+  private TransactionLayout() {}
+
+  static long slotOffset(int slot) {
+    return SLOTS + slot * 8L;
+  }
+}
@@ -0,0 +1,82 @@
+package io.github.sicozz.fraudsim.domain.binary;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 helpers that write straight into a memory segment, so encoding a string doesn't go through
+ * an intermediate byte array. Unpaired surrogates are replaced with {@code '?'}, the same as {@link
+ * String#getBytes(java.nio.charset.Charset)} does.
+ */
+final class Utf8 {
+
+  private Utf8() {}
+
+  /* Returns the number of bytes the UTF-8 encoding of the string takes. */
+  static int encodedLength(String value) {
+    int length = 0;
+    for (int i = 0, n = value.length(); i < n; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        length += 1;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < n
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        length += 1;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Writes the UTF-8 encoding of a string. The caller is expected to have checked the capacity with
+   * {@link #encodedLength(String)}.
+   *
+   * @return The number of bytes written
+   */
+  static int write(String value, MemorySegment segment, long offset) {
+    long position = offset;
+    for (int i = 0, n = value.length(); i < n; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        put(segment, position++, c);
+      } else if (c < 0x800) {
+        put(segment, position++, 0xC0 | (c >> 6));
+        put(segment, position++, 0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < n
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        put(segment, position++, 0xF0 | (codePoint >> 18));
+        put(segment, position++, 0x80 | ((codePoint >> 12) & 0x3F));
+        put(segment, position++, 0x80 | ((codePoint >> 6) & 0x3F));
+        put(segment, position++, 0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        put(segment, position++, '?');
+      } else {
+        put(segment, position++, 0xE0 | (c >> 12));
+        put(segment, position++, 0x80 | ((c >> 6) & 0x3F));
+        put(segment, position++, 0x80 | (c & 0x3F));
+      }
+    }
+    return (int) (position - offset);
+  }
+
+  static String read(MemorySegment segment, long offset, int length) {
+    byte[] bytes = new byte[length];
+    MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void put(MemorySegment segment, long offset, int value) {
+    segment.set(ValueLayout.JAVA_BYTE, offset, (byte) value);
+  }
+}
@@ -0,0 +1,84 @@
+package io.github.sicozz.fraudsim.domain.id;
+
+import java.util.UUID;
+
+/**
+ * Sequence of time-ordered (version 7) UUIDs owned by one thread or one generator shard. Besides
+ * the 48-bit millisecond timestamp, every id carries the node id, the stream id and a 42-bit
+ * sequence number, so ids are unique across streams and nodes without any coordination or
+ * randomness:
+ *
+ * <pre>
+ *   most significant:  unix_ts_ms (48) | version 7 (4) | sequence, high 12 bits
+ *   least significant: variant (2) | node (16) | stream (16) | sequence, low 30 bits
+ * </pre>
+ *
+ * Within a stream, ids generated from a non-decreasing clock are strictly increasing. Not
+ * thread-safe.
+ */
+public final class IdStream {
+
+  static final long SEQUENCE_MASK = (1L << 42) - 1;
+  private static final long LOW_SEQUENCE_MASK = (1L << 30) - 1;
+  private static final long TIMESTAMP_MASK = (1L << 48) - 1;
+
+  private final long streamBits;
+  private long sequence;
+  private long lastMillis = Long.MIN_VALUE;
+  private long msb;
+  private long lsb;
+
+  /**
+   * Creates a stream of ids.
+   *
+   * @param nodeId The node id, in [0, 65535]
+   * @param streamId The stream id, unique on the node, in [0, 65535]
+   * @param initialSequence The first sequence number, only its low 42 bits are used
+   */
+  public IdStream(int nodeId, int streamId, long initialSequence) {
+    if ((nodeId & ~0xFFFF) != 0 || (streamId & ~0xFFFF) != 0) {
+      throw new IllegalArgumentException("Node and stream ids must fit in 16 bits");
+    }
+    this.streamBits = 0x8000000000000000L | ((long) nodeId << 46) | ((long) streamId << 30);
+    this.sequence = initialSequence & SEQUENCE_MASK;
+  }
+
+  /**
+   * Moves to the next id, stamped with the given time. Read it with {@link #mostSignificantBits()}
+   * and {@link #leastSignificantBits()}, which allocates nothing.
+   *
+   * @param epochMillis The timestamp of the id, in milliseconds since the epoch
+   */
+  public void advance(long epochMillis) {
+    long seq = sequence;
+    sequence = (seq + 1) & SEQUENCE_MASK;
+    msb = ((epochMillis & TIMESTAMP_MASK) << 16) | 0x7000L | (seq >>> 30);
+    lsb = streamBits | (seq & LOW_SEQUENCE_MASK);
+  }
+
+  /* Moves to the next id stamped with the wall clock, which is never allowed to go backwards. */
+  public void advance() {
+    lastMillis = Math.max(lastMillis, System.currentTimeMillis());
+    advance(lastMillis);
+  }
+
+  public long mostSignificantBits() {
+    return msb;
+  }
+
+  public long leastSignificantBits() {
+    return lsb;
+  }
+
+  /* Returns the next id, stamped with the wall clock. */
+  public UUID next() {
+    advance();
+    return new UUID(msb, lsb);
+  }
+
+  /* Returns the next id, stamped with the given time. */
+  public UUID next(long epochMillis) {
+    advance(epochMillis);
+    return new UUID(msb, lsb);
+  }
+}
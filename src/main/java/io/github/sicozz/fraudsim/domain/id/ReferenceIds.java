@@ -0,0 +1,56 @@
+package io.github.sicozz.fraudsim.domain.id;
+
+import java.util.UUID;
+
+/**
+ * Encodes transaction reference ids such as {@code TX-0G2M8Q1ZC7H3K5R}. A reference id is the
+ * prefix followed by the 74 bits of a UUID that are neither timestamp nor version/variant, in
+ * Crockford base 32. For ids produced by {@link IdStream} those bits are the node, stream and
+ * sequence numbers, so reference ids are unique across shards and nodes just like the ids
+ * themselves, and can always be derived again from the id.
+ */
+public final class ReferenceIds {
+
+  public static final String PREFIX = "TX-";
+
+  /* Number of characters of an encoded reference id, prefix included. */
+  public static final int LENGTH = PREFIX.length() + 15;
+
+  private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+  private static final ThreadLocal<char[]> BUFFERS =
+      ThreadLocal.withInitial(() -> new char[LENGTH]);
+
+  private ReferenceIds() {}
+
+  /**
+   * Writes the reference id of a UUID into a caller-provided buffer, without allocating.
+   *
+   * @param mostSignificantBits The most significant bits of the id
+   * @param leastSignificantBits The least significant bits of the id
+   * @param target The buffer, with room for {@link #LENGTH} characters
+   * @param offset The position of the first character
+   * @return The number of characters written
+   */
+  public static int encode(
+      long mostSignificantBits, long leastSignificantBits, char[] target, int offset) {
+    PREFIX.getChars(0, PREFIX.length(), target, offset);
+    int position = offset + PREFIX.length();
+
+    // 12 bits below the version, then the 62 bits below the variant: 74 bits, 15 digits
+    long high = mostSignificantBits & 0xFFF;
+    long low = leastSignificantBits & 0x3FFFFFFFFFFFFFFFL;
+    for (int shift = 70; shift >= 0; shift -= 5) {
+      long digit = shift >= 62 ? high >>> (shift - 62) : (low >>> shift) | (high << (62 - shift));
+      target[position++] = ALPHABET[(int) (digit & 0x1F)];
+    }
+    return position - offset;
+  }
+
+  /* Returns the reference id of a UUID, allocating only the resulting string. */
+  public static String of(UUID id) {
+    char[] buffer = BUFFERS.get();
+    int length = encode(id.getMostSignificantBits(), id.getLeastSignificantBits(), buffer, 0);
+    return new String(buffer, 0, length);
+  }
+}
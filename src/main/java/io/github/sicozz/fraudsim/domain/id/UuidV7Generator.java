@@ -0,0 +1,97 @@
+package io.github.sicozz.fraudsim.domain.id;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe source of time-ordered UUIDs, replacing {@link UUID#randomUUID()} and its shared
+ * {@code SecureRandom}. Each thread draws from an {@link IdStream} of its own, so generating an id
+ * is a few arithmetic operations without contention.
+ *
+ * <p>The stream ids of a node are split in two halves. Threads get consecutive ids from {@link
+ * #FIRST_THREAD_STREAM} on, which wrap after 32768 threads; every thread stream also starts at a
+ * random point of its 42-bit sequence, which keeps a collision between two threads sharing a stream
+ * id practically impossible. Callers that need reproducible ids, such as generator shards, create
+ * their own streams below {@link #FIRST_THREAD_STREAM} with {@link #stream(int, long)}, so they
+ * never share a stream id with a thread.
+ */
+public final class UuidV7Generator {
+
+  /* The first stream id of the thread streams, the ids below it are left to stream() callers. */
+  public static final int FIRST_THREAD_STREAM = 1 << 15;
+
+  private static volatile UuidV7Generator defaultGenerator = new UuidV7Generator(0);
+
+  private final int nodeId;
+  private final AtomicInteger nextStreamId = new AtomicInteger();
+  private final SplittableRandom seeds = new SplittableRandom();
+  private final ThreadLocal<IdStream> threadStreams;
+
+  /**
+   * Creates a generator for the given node.
+   *
+   * @param nodeId The id of this node, unique among the nodes of a deployment, in [0, 65535]
+   */
+  public UuidV7Generator(int nodeId) {
+    if ((nodeId & ~0xFFFF) != 0) {
+      throw new IllegalArgumentException("Node id must fit in 16 bits: " + nodeId);
+    }
+    this.nodeId = nodeId;
+    this.threadStreams =
+        ThreadLocal.withInitial(
+            () ->
+                new IdStream(
+                    nodeId,
+                    FIRST_THREAD_STREAM
+                        | (nextStreamId.getAndIncrement() & FIRST_THREAD_STREAM - 1),
+                    nextInitialSequence()));
+  }
+
+  /* Returns the generator used by TransactionBuilder and Transaction.create. */
+  public static UuidV7Generator getDefault() {
+    return defaultGenerator;
+  }
+
+  /* Replaces the default generator, typically to set the node id of this instance. */
+  public static void setDefault(UuidV7Generator generator) {
+    defaultGenerator = generator;
+  }
+
+  public int getNodeId() {
+    return nodeId;
+  }
+
+  /* Returns the next id of the calling thread's stream. */
+  public UUID next() {
+    return threadStreams.get().next();
+  }
+
+  /* Returns the id stream of the calling thread. */
+  public IdStream forThread() {
+    return threadStreams.get();
+  }
+
+  /**
+   * Creates a stream with a caller-chosen id, for reproducible sequences. The caller is responsible
+   * for keeping stream ids unique on the node.
+   *
+   * @param streamId The stream id, in [0, {@link #FIRST_THREAD_STREAM})
+   * @param initialSequence The first sequence number
+   * @return A new stream
+   * @throws IllegalArgumentException If the stream id is in the range of the thread streams
+   */
+  public IdStream stream(int streamId, long initialSequence) {
+    if (streamId < 0 || streamId >= FIRST_THREAD_STREAM) {
+      throw new IllegalArgumentException(
+          "Stream id must be in [0, " + FIRST_THREAD_STREAM + "): " + streamId);
+    }
+    return new IdStream(nodeId, streamId, initialSequence);
+  }
+
+  private long nextInitialSequence() {
+    synchronized (seeds) {
+      return seeds.nextLong();
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package io.github.sicozz.fraudsim.domain.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Key schema of {@link TransactionMetadata}. Every key is interned once and identified by a small
+ * id, which is what metadata instances store and compare. The well-known keys have fixed ids in the
+ * order of {@link #KNOWN_KEYS}; other keys get the next free id on first use, so keys should come
+ * from a fixed vocabulary rather than from data, since the schema never forgets a key.
+ */
+public final class MetadataKeys {
+
+  public static final String CHANNEL = "channel";
+  public static final String DEVICE = "device";
+  public static final String IP = "ip";
+  public static final String GEO = "geo";
+  public static final String TERMINAL_ID = "terminal_id";
+  public static final String ORDER_ID = "order_id";
+  public static final String ACCOUNT_NUMBER = "account_number";
+  public static final String MEMO = "memo";
+
+  /* Keys registered up front, in id order. */
+  public static final List<String> KNOWN_KEYS =
+      List.of(CHANNEL, DEVICE, IP, GEO, TERMINAL_ID, ORDER_ID, ACCOUNT_NUMBER, MEMO);
+
+  private static final Object LOCK = new Object();
+  private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+  // Copy-on-write, replaced under LOCK before the matching map entry is published
+  private static volatile String[] names = new String[0];
+
+  static {
+    KNOWN_KEYS.forEach(MetadataKeys::id);
+  }
+
+  private MetadataKeys() {}
+
+  /* Returns the id of a key, registering it on first use. */
+  public static int id(String key) {
+    Integer id = ids.get(key);
+    return id != null ? id : register(key);
+  }
+
+  /* Returns the id of a key, or -1 if it was never registered. Never registers. */
+  public static int find(String key) {
+    return ids.getOrDefault(key, -1);
+  }
+
+  /* Returns the canonical key with the given id. */
+  public static String name(int id) {
+    return names[id];
+  }
+
+  /* Returns the number of registered keys. */
+  public static int size() {
+    return names.length;
+  }
+
+  private static int register(String key) {
+    Objects.requireNonNull(key, "key");
+    synchronized (LOCK) {
+      Integer existing = ids.get(key);
+      if (existing != null) {
+        return existing;
+      }
+      int id = names.length;
+      String[] grown = Arrays.copyOf(names, id + 1);
+      grown[id] = key;
+      names = grown;
+      ids.put(key, id);
+      return id;
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package io.github.sicozz.fraudsim.domain.model;
 
+import io.github.sicozz.fraudsim.domain.id.UuidV7Generator;
 import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicator;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicators;
 import io.github.sicozz.fraudsim.domain.model.money.Money;
 import io.github.sicozz.fraudsim.domain.model.party.TransactionParty;
 import io.github.sicozz.fraudsim.domain.model.payment.PaymentMethod;
@@ -25,11 +27,11 @@ public record Transaction(
     @NotNull TransactionParty destination,
     @NotNull PaymentMethod paymentMethod,
     TransactionMetadata metadata,
-    List<FraudIndicator> fraudIndicators) {
+    FraudIndicators fraudIndicators)
+    implements TransactionView {
 
   public Transaction {
-    // Defensive copying
-    fraudIndicators = fraudIndicators == null ? List.of() : List.copyOf(fraudIndicators);
+    fraudIndicators = fraudIndicators == null ? FraudIndicators.NONE : fraudIndicators;
   }
 
   public static Transaction create(
@@ -44,7 +46,7 @@ public record Transaction(
       TransactionMetadata metadata,
       List<FraudIndicator> fraudIndicators) {
     return new Transaction(
-        UUID.randomUUID(),
+        UuidV7Generator.getDefault().next(),
         referenceId,
         timestamp,
         amount,
@@ -54,7 +56,7 @@ public record Transaction(
         destination,
         paymentMethod,
         metadata,
-        fraudIndicators);
+        FraudIndicators.copyOf(fraudIndicators));
   }
 
   public Transaction withStatus(TransactionStatus newStatus) {
@@ -72,9 +74,38 @@ public record Transaction(
         fraudIndicators);
   }
 
+  public Transaction withAmount(Money newAmount) {
+    return new Transaction(
+        id,
+        referenceId,
+        timestamp,
+        newAmount,
+        status,
+        type,
+        source,
+        destination,
+        paymentMethod,
+        metadata,
+        fraudIndicators);
+  }
+
+  public Transaction withDestination(TransactionParty newDestination) {
+    return new Transaction(
+        id,
+        referenceId,
+        timestamp,
+        amount,
+        status,
+        type,
+        source,
+        newDestination,
+        paymentMethod,
+        metadata,
+        fraudIndicators);
+  }
+
+  /* Returns a copy with the indicator added. Sets a bit, the indicators are not copied. */
   public Transaction withFraudIndicator(FraudIndicator indicator) {
-    var newIndicators = fraudIndicators;
-    newIndicators.add(indicator);
     return new Transaction(
         id,
         referenceId,
@@ -86,11 +117,11 @@ public record Transaction(
         destination,
         paymentMethod,
         metadata,
-        newIndicators);
+        fraudIndicators.with(indicator));
   }
 
   public Optional<String> getMetadataValue(String key) {
-    return Optional.ofNullable(metadata).flatMap(m -> Optional.ofNullable(m.values().get(key)));
+    return Optional.ofNullable(metadata).map(m -> m.get(key));
   }
 
   public boolean hasFraudIndicators() {
@@ -1,21 +1,37 @@
 package io.github.sicozz.fraudsim.domain.model;
 
+import io.github.sicozz.fraudsim.domain.id.ReferenceIds;
+import io.github.sicozz.fraudsim.domain.id.UuidV7Generator;
 import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicator;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicators;
 import io.github.sicozz.fraudsim.domain.model.money.Money;
 import io.github.sicozz.fraudsim.domain.model.party.TransactionParty;
 import io.github.sicozz.fraudsim.domain.model.payment.PaymentMethod;
 import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
 import io.github.sicozz.fraudsim.domain.model.type.TransactionType;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Locale;
 import java.util.UUID;
 
-public class TransactionBuilder {
-  private UUID id = UUID.randomUUID();
+/**
+ * Builds transactions. A builder can be reused: {@link #reset()} clears it for the next
+ * transaction, and {@link #forThread()} hands out one builder per thread, so a generation loop
+ * doesn't allocate a builder per event. Fraud indicators are collected as {@link FraudIndicators}
+ * bits, so a transaction without any allocates nothing for them.
+ *
+ * <p>The builder is also a {@link TransactionView}, so it can be written straight to a binary
+ * record or a columnar batch. Its accessors return what {@link #build()} would put in the
+ * transaction, drawing the id, reference id and timestamp on first access when they weren't set.
+ */
+public class TransactionBuilder implements TransactionView {
+
+  private static final ThreadLocal<TransactionBuilder> THREAD_BUILDERS =
+      ThreadLocal.withInitial(TransactionBuilder::new);
+
+  // Drawn from the default id generator on build when not set
+  private UUID id;
   private String referenceId;
-  private Instant timestamp = Instant.now();
+  // Defaults to the time of build when not set
+  private Instant timestamp;
   private Money amount;
   private TransactionStatus status = TransactionStatus.PENDING;
   private TransactionType type;
@@ -23,7 +39,7 @@ public class TransactionBuilder {
   private TransactionParty destination;
   private PaymentMethod paymentMethod;
   private TransactionMetadata metadata;
-  private final List<FraudIndicator> fraudIndicators = new ArrayList<>();
+  private FraudIndicators fraudIndicators = FraudIndicators.NONE;
 
   public TransactionBuilder withId(UUID id) {
     this.id = id;
@@ -76,19 +92,101 @@ public class TransactionBuilder {
   }
 
   public TransactionBuilder addFraudIndicator(FraudIndicator indicator) {
-    this.fraudIndicators.add(indicator);
+    this.fraudIndicators = fraudIndicators.with(indicator);
     return this;
   }
 
-  public Transaction build() {
+  public TransactionBuilder withFraudIndicators(FraudIndicators fraudIndicators) {
+    this.fraudIndicators = fraudIndicators == null ? FraudIndicators.NONE : fraudIndicators;
+    return this;
+  }
+
+  /* Clears every field back to its default, so the builder can be used for the next transaction. */
+  public TransactionBuilder reset() {
+    id = null;
+    referenceId = null;
+    timestamp = null;
+    amount = null;
+    status = TransactionStatus.PENDING;
+    type = null;
+    source = null;
+    destination = null;
+    paymentMethod = null;
+    metadata = null;
+    fraudIndicators = FraudIndicators.NONE;
+    return this;
+  }
+
+  @Override
+  public UUID id() {
+    if (id == null) {
+      id = UuidV7Generator.getDefault().next();
+    }
+    return id;
+  }
+
+  @Override
+  public String referenceId() {
     if (referenceId == null) {
-      referenceId = "TX-" + id.toString().substring(0, 8).toUpperCase(Locale.ROOT);
+      referenceId = ReferenceIds.of(id());
+    }
+    return referenceId;
+  }
+
+  @Override
+  public Instant timestamp() {
+    if (timestamp == null) {
+      timestamp = Instant.now();
     }
+    return timestamp;
+  }
+
+  @Override
+  public Money amount() {
+    return amount;
+  }
 
+  @Override
+  public TransactionStatus status() {
+    return status;
+  }
+
+  @Override
+  public TransactionType type() {
+    return type;
+  }
+
+  @Override
+  public TransactionParty source() {
+    return source;
+  }
+
+  @Override
+  public TransactionParty destination() {
+    return destination;
+  }
+
+  @Override
+  public PaymentMethod paymentMethod() {
+    return paymentMethod;
+  }
+
+  @Override
+  public TransactionMetadata metadata() {
+    return metadata;
+  }
+
+  @Override
+  public FraudIndicators fraudIndicators() {
+    return fraudIndicators;
+  }
+
+  /* Builds the transaction. Call {@link #reset()} before reusing the builder for another one. */
+  public Transaction build() {
     return new Transaction(
-        id,
-        referenceId,
-        timestamp,
+        id(),
+        referenceId(),
+        timestamp(),
         amount,
         status,
         type,
@@ -102,4 +200,14 @@ public class TransactionBuilder {
   public static TransactionBuilder builder() {
     return new TransactionBuilder();
   }
+
+  /**
+   * Returns the builder of the calling thread, reset. The builder stays owned by the thread: don't
+   * keep it across calls to code that may take it as well.
+   *
+   * @return The reset builder of the calling thread
+   */
+  public static TransactionBuilder forThread() {
+    return THREAD_BUILDERS.get().reset();
+  }
 }
@@ -1,31 +1,240 @@
 package io.github.sicozz.fraudsim.domain.model;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 
-public record TransactionMetadata(Map<String, String> values) {
-  public TransactionMetadata {
-    // Defensive copying
-    values = values == null ? Map.of() : Map.copyOf(values);
+/**
+ * Immutable string metadata attached to a transaction. Entries are stored as two parallel arrays,
+ * the {@link MetadataKeys} ids sorted ascending and the values, so a lookup scans a handful of ints
+ * and iteration order is the same in every run. Use {@link #builder()} to set several entries at
+ * once; {@link #with(String, String)} copies the arrays once per call.
+ *
+ * <p>Serializers should walk the entries by index ({@link #size()}, {@link #key(int)}, {@link
+ * #value(int)}) or with {@link #forEach(BiConsumer)}, neither of which allocates.
+ */
+public final class TransactionMetadata {
+
+  private static final TransactionMetadata EMPTY =
+      new TransactionMetadata(new int[0], new String[0]);
+
+  private final int[] keyIds;
+  private final String[] values;
+
+  /* Creates metadata from a map, which is copied. A null map gives empty metadata. */
+  public TransactionMetadata(Map<String, String> values) {
+    this(values == null ? EMPTY : copyOf(values));
+  }
+
+  private TransactionMetadata(TransactionMetadata other) {
+    this(other.keyIds, other.values);
+  }
+
+  private TransactionMetadata(int[] keyIds, String[] values) {
+    this.keyIds = keyIds;
+    this.values = values;
   }
 
   public static TransactionMetadata of(String key, String value) {
-    return new TransactionMetadata(Map.of(key, value));
+    return new TransactionMetadata(
+        new int[] {MetadataKeys.id(key)}, new String[] {Objects.requireNonNull(value, "value")});
   }
 
   public static TransactionMetadata empty() {
-    return new TransactionMetadata(Map.of());
+    return EMPTY;
+  }
+
+  public static Builder builder() {
+    return new Builder();
   }
 
   public TransactionMetadata with(String key, String value) {
-    Map<String, String> newValues = new HashMap<>(values);
-    newValues.put(key, value);
-    return new TransactionMetadata(newValues);
+    Objects.requireNonNull(value, "value");
+    int keyId = MetadataKeys.id(key);
+    int index = indexOf(keyId);
+    if (index >= 0) {
+      String[] newValues = values.clone();
+      newValues[index] = value;
+      return new TransactionMetadata(keyIds, newValues);
+    }
+    int insertion = -index - 1;
+    int[] newKeyIds = new int[keyIds.length + 1];
+    String[] newValues = new String[values.length + 1];
+    System.arraycopy(keyIds, 0, newKeyIds, 0, insertion);
+    System.arraycopy(values, 0, newValues, 0, insertion);
+    newKeyIds[insertion] = keyId;
+    newValues[insertion] = value;
+    System.arraycopy(keyIds, insertion, newKeyIds, insertion + 1, keyIds.length - insertion);
+    System.arraycopy(values, insertion, newValues, insertion + 1, values.length - insertion);
+    return new TransactionMetadata(newKeyIds, newValues);
   }
 
   public TransactionMetadata without(String key) {
-    Map<String, String> newValues = new HashMap<>(values);
-    newValues.remove(key);
-    return new TransactionMetadata(newValues);
+    int keyId = MetadataKeys.find(key);
+    int index = keyId < 0 ? -1 : indexOf(keyId);
+    if (index < 0) {
+      return this;
+    }
+    int[] newKeyIds = new int[keyIds.length - 1];
+    String[] newValues = new String[values.length - 1];
+    System.arraycopy(keyIds, 0, newKeyIds, 0, index);
+    System.arraycopy(values, 0, newValues, 0, index);
+    System.arraycopy(keyIds, index + 1, newKeyIds, index, newKeyIds.length - index);
+    System.arraycopy(values, index + 1, newValues, index, newValues.length - index);
+    return new TransactionMetadata(newKeyIds, newValues);
+  }
+
+  /* Returns the value of a key, or null if absent. */
+  public String get(String key) {
+    int keyId = MetadataKeys.find(key);
+    return keyId < 0 ? null : get(keyId);
+  }
+
+  /* Returns the value of the key with the given id, or null if absent. */
+  public String get(int keyId) {
+    int index = indexOf(keyId);
+    return index < 0 ? null : values[index];
+  }
+
+  public boolean containsKey(String key) {
+    return get(key) != null;
+  }
+
+  /* Returns the number of entries. */
+  public int size() {
+    return keyIds.length;
+  }
+
+  public boolean isEmpty() {
+    return keyIds.length == 0;
+  }
+
+  /* Returns the key of the entry at the given index. */
+  public String key(int index) {
+    return MetadataKeys.name(keyIds[index]);
+  }
+
+  /* Returns the key id of the entry at the given index. */
+  public int keyId(int index) {
+    return keyIds[index];
+  }
+
+  /* Returns the value of the entry at the given index. */
+  public String value(int index) {
+    return values[index];
+  }
+
+  /* Passes every entry to the action, in key id order. */
+  public void forEach(BiConsumer<String, String> action) {
+    for (int i = 0; i < keyIds.length; i++) {
+      action.accept(MetadataKeys.name(keyIds[i]), values[i]);
+    }
+  }
+
+  /* Returns the entries as an unmodifiable map, in key id order. Allocates, keep off hot paths. */
+  public Map<String, String> values() {
+    Map<String, String> map = new LinkedHashMap<>();
+    forEach(map::put);
+    return Collections.unmodifiableMap(map);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return this == other
+        || other instanceof TransactionMetadata metadata
+            && Arrays.equals(keyIds, metadata.keyIds)
+            && Arrays.equals(values, metadata.values);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(keyIds) + Arrays.hashCode(values);
+  }
+
+  @Override
+  public String toString() {
+    return "TransactionMetadata[values=" + values() + "]";
+  }
+
+  /* Returns the index of a key id, or -(insertion point) - 1 if absent. */
+  private int indexOf(int keyId) {
+    return indexOf(keyIds, keyIds.length, keyId);
+  }
+
+  private static int indexOf(int[] keyIds, int size, int keyId) {
+    // Linear scan, metadata only has a few entries
+    int i = 0;
+    while (i < size && keyIds[i] < keyId) {
+      i++;
+    }
+    return i < size && keyIds[i] == keyId ? i : -i - 1;
+  }
+
+  private static TransactionMetadata copyOf(Map<String, String> map) {
+    Builder builder = new Builder();
+    map.forEach(builder::put);
+    return builder.build();
+  }
+
+  /**
+   * Collects entries into metadata without intermediate copies. Entries are kept sorted as they are
+   * put, a later value replacing an earlier one for the same key. A builder can be reused after
+   * {@link #clear()}.
+   */
+  public static final class Builder {
+
+    private int[] keyIds = new int[4];
+    private String[] values = new String[4];
+    private int size;
+
+    private Builder() {}
+
+    public Builder put(String key, String value) {
+      return put(MetadataKeys.id(key), value);
+    }
+
+    /* Puts a value under a key id from {@link MetadataKeys}. */
+    public Builder put(int keyId, String value) {
+      Objects.requireNonNull(value, "value");
+      int index = indexOf(keyIds, size, keyId);
+      if (index >= 0) {
+        values[index] = value;
+        return this;
+      }
+      if (size == keyIds.length) {
+        keyIds = Arrays.copyOf(keyIds, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      int insertion = -index - 1;
+      System.arraycopy(keyIds, insertion, keyIds, insertion + 1, size - insertion);
+      System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+      keyIds[insertion] = keyId;
+      values[insertion] = value;
+      size++;
+      return this;
+    }
+
+    public Builder putAll(TransactionMetadata metadata) {
+      for (int i = 0; i < metadata.size(); i++) {
+        put(metadata.keyIds[i], metadata.values[i]);
+      }
+      return this;
+    }
+
+    public Builder clear() {
+      Arrays.fill(values, 0, size, null);
+      size = 0;
+      return this;
+    }
+
+    public TransactionMetadata build() {
+      if (size == 0) {
+        return EMPTY;
+      }
+      return new TransactionMetadata(Arrays.copyOf(keyIds, size), Arrays.copyOf(values, size));
+    }
   }
 }
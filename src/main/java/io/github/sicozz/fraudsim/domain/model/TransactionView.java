@@ -0,0 +1,40 @@
+package io.github.sicozz.fraudsim.domain.model;
+
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicators;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.party.TransactionParty;
+import io.github.sicozz.fraudsim.domain.model.payment.PaymentMethod;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionType;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read access to the fields of a transaction, implemented by {@link Transaction} and by {@link
+ * TransactionBuilder}. Sinks that copy fields out (binary records, columnar batches) accept a view,
+ * so a reused builder can be written to them without building a transaction first.
+ */
+public interface TransactionView {
+
+  UUID id();
+
+  String referenceId();
+
+  Instant timestamp();
+
+  Money amount();
+
+  TransactionStatus status();
+
+  TransactionType type();
+
+  TransactionParty source();
+
+  TransactionParty destination();
+
+  PaymentMethod paymentMethod();
+
+  TransactionMetadata metadata();
+
+  FraudIndicators fraudIndicators();
+}
@@ -0,0 +1,82 @@
+package io.github.sicozz.fraudsim.domain.model.fraud;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Registry of fraud indicator kinds, each owning one bit of a {@link FraudIndicators} mask. {@link
+ * RiskScore} is a single kind whose score travels as a payload; any other indicator is a kind of
+ * its own, keyed by equality, and carries no payload. The risk score and the {@link FraudLabel}
+ * constants are registered up front and have the same bit in every JVM ({@link #STABLE_MASK});
+ * other indicators get the next free bit on first use, up to {@link #MAX_KINDS} in total.
+ */
+public final class FraudIndicatorKinds {
+
+  public static final int MAX_KINDS = Integer.SIZE;
+  public static final int RISK_SCORE = 0;
+
+  private static final Object LOCK = new Object();
+  private static final Map<FraudIndicator, Integer> bits = new ConcurrentHashMap<>();
+  private static final AtomicReferenceArray<FraudIndicator> kinds =
+      new AtomicReferenceArray<>(MAX_KINDS);
+  private static int count = RISK_SCORE + 1;
+
+  /* Bits of the kinds registered up front. */
+  public static final int STABLE_MASK;
+
+  static {
+    for (FraudLabel label : FraudLabel.values()) {
+      bit(label);
+    }
+    STABLE_MASK = (int) ((1L << count) - 1);
+  }
+
+  private FraudIndicatorKinds() {}
+
+  /**
+   * Returns the bit of an indicator's kind, registering the kind on first use.
+   *
+   * @param indicator The indicator
+   * @return The bit, in {@code [0, MAX_KINDS)}
+   * @throws IllegalStateException If all bits are taken
+   */
+  public static int bit(FraudIndicator indicator) {
+    int bit = find(indicator);
+    return bit >= 0 ? bit : register(indicator);
+  }
+
+  /* Returns the bit of an indicator's kind, or -1 if it was never registered. Never registers. */
+  public static int find(FraudIndicator indicator) {
+    if (indicator instanceof RiskScore) {
+      return RISK_SCORE;
+    }
+    return bits.getOrDefault(indicator, -1);
+  }
+
+  /* Returns the indicator of a kind, the score being used by the risk score kind only. */
+  public static FraudIndicator indicator(int bit, float score) {
+    return bit == RISK_SCORE ? new RiskScore(score) : kinds.get(bit);
+  }
+
+  private static int register(FraudIndicator indicator) {
+    synchronized (LOCK) {
+      Integer existing = bits.get(indicator);
+      if (existing != null) {
+        return existing;
+      }
+      if (count == MAX_KINDS) {
+        throw new IllegalStateException(
+            "No fraud indicator bit left for "
+                + indicator.getType()
+                + ", "
+                + MAX_KINDS
+                + " in use");
+      }
+      int bit = count++;
+      kinds.set(bit, indicator);
+      bits.put(indicator, bit);
+      return bit;
+    }
+  }
+}
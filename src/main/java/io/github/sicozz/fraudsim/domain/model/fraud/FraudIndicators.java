@@ -0,0 +1,140 @@
+package io.github.sicozz.fraudsim.domain.model.fraud;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable set of fraud indicators stored as a bitmask over {@link FraudIndicatorKinds}, plus the
+ * score of the {@link RiskScore} indicator when there is one. Adding an indicator sets a bit, and
+ * the whole set packs into a single long ({@link #toLong()}): the mask in the low 32 bits and the
+ * raw bits of the score in the high 32. An indicator is present at most once, a later risk score
+ * replacing an earlier one.
+ *
+ * <p>It reads as a list in bit order; {@link #get(int)} returns the registered indicator, or a new
+ * {@link RiskScore} for the score.
+ */
+public final class FraudIndicators extends AbstractList<FraudIndicator> implements RandomAccess {
+
+  public static final FraudIndicators NONE = new FraudIndicators(0, 0f);
+
+  private static final int RISK_SCORE_BIT = 1 << FraudIndicatorKinds.RISK_SCORE;
+
+  private final int mask;
+  private final float riskScore;
+
+  private FraudIndicators(int mask, float riskScore) {
+    this.mask = mask;
+    this.riskScore = riskScore;
+  }
+
+  /* Returns the indicators with the given mask, the score being dropped if its bit isn't set. */
+  public static FraudIndicators of(int mask, float riskScore) {
+    if (mask == 0) {
+      return NONE;
+    }
+    return new FraudIndicators(mask, (mask & RISK_SCORE_BIT) != 0 ? riskScore : 0f);
+  }
+
+  /* Unpacks indicators packed by {@link #toLong()}. */
+  public static FraudIndicators fromLong(long packed) {
+    return of((int) packed, Float.intBitsToFloat((int) (packed >>> 32)));
+  }
+
+  /* Returns the indicators in a collection, as-is if it already is a {@link FraudIndicators}. */
+  public static FraudIndicators copyOf(Collection<? extends FraudIndicator> indicators) {
+    if (indicators == null) {
+      return NONE;
+    }
+    if (indicators instanceof FraudIndicators fraudIndicators) {
+      return fraudIndicators;
+    }
+    FraudIndicators result = NONE;
+    for (FraudIndicator indicator : indicators) {
+      result = result.with(indicator);
+    }
+    return result;
+  }
+
+  /* Returns these indicators plus the given one, registering its kind on first use. */
+  public FraudIndicators with(FraudIndicator indicator) {
+    int bit = 1 << FraudIndicatorKinds.bit(indicator);
+    if (indicator instanceof RiskScore score) {
+      return new FraudIndicators(mask | bit, score.score());
+    }
+    return (mask & bit) != 0 ? this : new FraudIndicators(mask | bit, riskScore);
+  }
+
+  /* Returns the mask, one bit per {@link FraudIndicatorKinds} kind. */
+  public int mask() {
+    return mask;
+  }
+
+  public boolean hasRiskScore() {
+    return (mask & RISK_SCORE_BIT) != 0;
+  }
+
+  /* Returns the risk score, 0 when there is none. */
+  public float riskScore() {
+    return riskScore;
+  }
+
+  /* Returns whether every kind present has the same bit in every JVM, so the packed form travels. */
+  public boolean isPortable() {
+    return (mask & ~FraudIndicatorKinds.STABLE_MASK) == 0;
+  }
+
+  /* Packs the indicators into a long, see the class comment for the format. */
+  public long toLong() {
+    return (long) Float.floatToRawIntBits(riskScore) << 32 | (mask & 0xFFFFFFFFL);
+  }
+
+  @Override
+  public int size() {
+    return Integer.bitCount(mask);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return mask == 0;
+  }
+
+  @Override
+  public FraudIndicator get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size());
+    }
+    int remaining = mask;
+    for (int i = 0; i < index; i++) {
+      remaining &= remaining - 1;
+    }
+    return FraudIndicatorKinds.indicator(Integer.numberOfTrailingZeros(remaining), riskScore);
+  }
+
+  @Override
+  public boolean contains(Object object) {
+    if (!(object instanceof FraudIndicator indicator)) {
+      return false;
+    }
+    int bit = FraudIndicatorKinds.find(indicator);
+    if (bit < 0 || (mask & 1 << bit) == 0) {
+      return false;
+    }
+    return !(indicator instanceof RiskScore score) || Float.compare(score.score(), riskScore) == 0;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof FraudIndicators indicators) {
+      return mask == indicators.mask
+          && Float.floatToIntBits(riskScore) == Float.floatToIntBits(indicators.riskScore);
+    }
+    return super.equals(other);
+  }
+
+  @Override
+  public int hashCode() {
+    // Keeps the List contract, equal to the hash of a list holding the same indicators
+    return super.hashCode();
+  }
+}
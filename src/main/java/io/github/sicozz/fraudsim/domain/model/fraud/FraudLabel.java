@@ -0,0 +1,44 @@
+package io.github.sicozz.fraudsim.domain.model.fraud;
+
+/* Fraud patterns the simulator can inject, labelling the transactions they produce. */
+public enum FraudLabel implements FraudIndicator {
+  AMOUNT_SPIKE(
+      "Amount Spike", FraudSeverity.HIGH, "Amount far above the customer's usual spending"),
+  MERCHANT_ANOMALY(
+      "Merchant Anomaly", FraudSeverity.MEDIUM, "Merchant outside the customer's usual categories"),
+  ACCOUNT_TAKEOVER(
+      "Account Takeover",
+      FraudSeverity.CRITICAL,
+      "Activity from an account taken over by a fraudster"),
+  VELOCITY("Velocity", FraudSeverity.HIGH, "Burst of transactions in a short time window"),
+  MULE_TRANSFER("Mule Transfer", FraudSeverity.HIGH, "Transfer along a money mule chain"),
+  BREACHED_CARD(
+      "Breached Card",
+      FraudSeverity.CRITICAL,
+      "Card-not-present use of card data stolen in a merchant breach");
+
+  private final String type;
+  private final FraudSeverity severity;
+  private final String description;
+
+  FraudLabel(String type, FraudSeverity severity, String description) {
+    this.type = type;
+    this.severity = severity;
+    this.description = description;
+  }
+
+  @Override
+  public String getType() {
+    return type;
+  }
+
+  @Override
+  public FraudSeverity getSeverity() {
+    return severity;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+}
@@ -5,39 +5,144 @@ import jakarta.validation.constraints.PositiveOrZero;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
-public record Money(@NotNull @PositiveOrZero BigDecimal amount, @NotNull Currency currency) {
-  public Money {
-    // Ensure amount has the correct scale for the currency
-    amount = amount.setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_UP);
+/**
+ * Monetary amount stored as a whole number of minor units of its currency (cents, satoshis, ...),
+ * the number of decimals being {@link Currency#getDefaultFractionDigits()}. Creating, adding and
+ * formatting amounts only does long arithmetic; a {@link BigDecimal} is only built when {@link
+ * #amount()} is called or a double sits too close to a rounding tie to be rounded exactly.
+ */
+public record Money(@PositiveOrZero long minorUnits, @NotNull Currency currency) {
+
+  private static final long[] POWERS_OF_TEN = {
+    1L,
+    10L,
+    100L,
+    1_000L,
+    10_000L,
+    100_000L,
+    1_000_000L,
+    10_000_000L,
+    100_000_000L,
+    1_000_000_000L,
+    10_000_000_000L,
+    100_000_000_000L,
+    1_000_000_000_000L,
+    10_000_000_000_000L,
+    100_000_000_000_000L,
+    1_000_000_000_000_000L,
+    10_000_000_000_000_000L,
+    100_000_000_000_000_000L,
+    1_000_000_000_000_000_000L
+  };
+
+  // Above this magnitude a double no longer carries enough fraction bits to round reliably
+  private static final double MAX_FAST_SCALED = 0x1p50;
+
+  /* Creates money from a decimal amount, rounded HALF_UP to the currency's fraction digits. */
+  public Money(BigDecimal amount, Currency currency) {
+    this(
+        amount
+            .setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_UP)
+            .unscaledValue()
+            .longValueExact(),
+        currency);
   }
 
+  /**
+   * Creates money from a double, rounded HALF_UP to the currency's fraction digits as if the double
+   * had been written out in decimal first, like {@link BigDecimal#valueOf(double)} does. The
+   * rounding is done in floating point unless the value is within a few ulps of a tie.
+   *
+   * @param amount The amount, in major units
+   * @param currency The currency
+   * @return The money value
+   */
   public static Money of(double amount, Currency currency) {
-    return new Money(BigDecimal.valueOf(amount), currency);
+    return new Money(toMinorUnits(amount, currency), currency);
+  }
+
+  /* Converts a double to minor units with the rounding of {@link #of(double, Currency)}. */
+  public static long toMinorUnits(double amount, Currency currency) {
+    double scaled = amount * POWERS_OF_TEN[currency.getDefaultFractionDigits()];
+    if (Math.abs(scaled) < MAX_FAST_SCALED) {
+      double floor = Math.floor(scaled);
+      double fraction = scaled - floor;
+      if (Math.abs(fraction - 0.5) > 4 * Math.ulp(scaled)) {
+        return (long) floor + (fraction > 0.5 ? 1 : 0);
+      }
+    }
+    return BigDecimal.valueOf(amount)
+        .setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_UP)
+        .unscaledValue()
+        .longValueExact();
   }
 
   public static Money of(String amount, Currency currency) {
     return new Money(new BigDecimal(amount), currency);
   }
 
+  public static Money ofMinor(long minorUnits, Currency currency) {
+    return new Money(minorUnits, currency);
+  }
+
+  /* Returns the amount as a decimal with the currency's scale. Allocates, keep off hot paths. */
+  public BigDecimal amount() {
+    return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+  }
+
+  /* Returns the amount in major units. Exact for magnitudes below 2^53 minor units. */
+  public double toDouble() {
+    return (double) minorUnits / POWERS_OF_TEN[currency.getDefaultFractionDigits()];
+  }
+
   public Money withAmount(BigDecimal newAmount) {
     return new Money(newAmount, this.currency);
   }
 
+  public Money withMinorUnits(long newMinorUnits) {
+    return new Money(newMinorUnits, this.currency);
+  }
+
   public Money add(Money other) {
     if (!this.currency.equals(other.currency)) {
       throw new IllegalArgumentException("Cannot add different currencies");
     }
-    return new Money(this.amount.add(other.amount), this.currency);
+    return new Money(Math.addExact(this.minorUnits, other.minorUnits), this.currency);
   }
 
   public Money subtract(Money other) {
     if (!this.currency.equals(other.currency)) {
       throw new IllegalArgumentException("Cannot subtract different currencies");
     }
-    return new Money(this.amount.subtract(other.amount), this.currency);
+    return new Money(Math.subtractExact(this.minorUnits, other.minorUnits), this.currency);
+  }
+
+  /**
+   * Appends the amount in plain decimal notation, with exactly the currency's fraction digits (e.g.
+   * {@code 12.50}, {@code 0.00000001}), without going through a {@link BigDecimal}.
+   *
+   * @param target The builder to append to
+   * @return The same builder
+   */
+  public StringBuilder appendAmount(StringBuilder target) {
+    int digits = currency.getDefaultFractionDigits();
+    long unit = POWERS_OF_TEN[digits];
+    if (minorUnits < 0) {
+      target.append('-');
+    }
+    // Dividing before negating keeps Long.MIN_VALUE within range
+    target.append(Math.abs(minorUnits / unit));
+    if (digits > 0) {
+      long fraction = Math.abs(minorUnits % unit);
+      target.append('.');
+      for (long place = unit / 10; place > 0; place /= 10) {
+        target.append((char) ('0' + (fraction / place) % 10));
+      }
+    }
+    return target;
   }
 
   public String formatted() {
-    return currency.getSymbol() + amount.toString();
+    return appendAmount(new StringBuilder(24).append(currency.getSymbol())).toString();
   }
 }
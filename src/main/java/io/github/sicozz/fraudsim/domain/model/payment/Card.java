@@ -22,8 +22,11 @@ public record Card(
       String cardholderName,
       String expiryDate,
       String billingPostalCode) {
-    // Remove any spaces from the masked number
-    this.maskedNumber = maskedNumber.replaceAll("\\s+", "");
+    // Remove any spaces from the masked number, skipping the regex for the usual compact form
+    this.maskedNumber =
+        maskedNumber.chars().anyMatch(Character::isWhitespace)
+            ? maskedNumber.replaceAll("\\s+", "")
+            : maskedNumber;
     this.type = type;
     this.network = network;
     this.cardholderName = cardholderName;
@@ -43,7 +46,7 @@ public record Card(
 
   @Override
   public String getAccountHolderName() {
-    return this.getAccountHolderName();
+    return this.cardholderName;
   }
 
   @Override
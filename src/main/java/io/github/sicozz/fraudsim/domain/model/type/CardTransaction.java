@@ -20,18 +20,18 @@ public record CardTransaction(
     }
   }
 
-  /* Factory method for creating a standard card transaction. */
+  /* Factory method for creating a standard card transaction. Returns the canonical instance. */
   public static CardTransaction standard(String network) {
-    return new CardTransaction(network, false, false, false);
+    return TransactionTypes.card(network, false, false, false);
   }
 
-  /* Factory method for creating an online card transaction. */
+  /* Factory method for creating an online card transaction. Returns the canonical instance. */
   public static CardTransaction ecommerce(String network) {
-    return new CardTransaction(network, false, true, false);
+    return TransactionTypes.card(network, false, true, false);
   }
 
-  /* Factory method for creating a contactless card transaction. */
+  /* Factory method for creating a contactless card transaction. Returns the canonical instance. */
   public static CardTransaction contactless(String network) {
-    return new CardTransaction(network, true, false, false);
+    return TransactionTypes.card(network, true, false, false);
   }
 }
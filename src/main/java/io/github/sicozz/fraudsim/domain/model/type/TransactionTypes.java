@@ -0,0 +1,172 @@
+package io.github.sicozz.fraudsim.domain.model.type;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of canonical transaction type instances. The type space is tiny (card network times the
+ * contactless, e-commerce and international flags, plus a handful of standard transfers), so every
+ * registered type exists exactly once and is identified by a small ordinal. Generation paths get
+ * shared instances instead of a new record per event, equal types are the same reference, and
+ * serializers can write the ordinal instead of the fields.
+ *
+ * <p>The known networks and standard transfers are registered up front, in a fixed order, so their
+ * ordinals are the same in every JVM. Types and networks registered later get the next free
+ * ordinals in registration order. Lookups are lock-free; registration is synchronized.
+ */
+public final class TransactionTypes {
+
+  /* Card networks registered up front, in ordinal order. */
+  public static final List<String> KNOWN_NETWORKS =
+      List.of("VISA", "MASTERCARD", "AMEX", "DISCOVER", "JCB", "UNIONPAY");
+
+  private static final int CONTACTLESS = 1;
+  private static final int ECOMMERCE = 1 << 1;
+  private static final int INTERNATIONAL = 1 << 2;
+  private static final int CARD_VARIANTS = 8;
+
+  private static final Object LOCK = new Object();
+  private static final Map<String, Integer> networkOrdinals = new ConcurrentHashMap<>();
+  private static final Map<TransactionType, Integer> typeOrdinals = new ConcurrentHashMap<>();
+  // Copy-on-write, replaced under LOCK before the matching map entry is published
+  private static volatile String[] networks = new String[0];
+  private static volatile CardTransaction[] cards = new CardTransaction[0];
+  private static volatile TransactionType[] types = new TransactionType[0];
+
+  static {
+    KNOWN_NETWORKS.forEach(TransactionTypes::networkOrdinal);
+    register(TransferTransaction.ach(""));
+    register(TransferTransaction.wire(false, "PAYMENT"));
+    register(TransferTransaction.wire(true, "PAYMENT"));
+  }
+
+  private TransactionTypes() {}
+
+  /**
+   * Returns the canonical card transaction type with the given attributes, registering the network
+   * on first use. Allocation-free for known networks.
+   *
+   * @param network The card network
+   * @param contactless Whether the payment is contactless
+   * @param ecommerce Whether the payment is made online
+   * @param international Whether the payment crosses borders
+   * @return The canonical instance
+   */
+  public static CardTransaction card(
+      String network, boolean contactless, boolean ecommerce, boolean international) {
+    // Registering the network first, the array is read only once it holds the network's variants
+    int base = networkOrdinal(network) * CARD_VARIANTS;
+    int variant =
+        (contactless ? CONTACTLESS : 0)
+            | (ecommerce ? ECOMMERCE : 0)
+            | (international ? INTERNATIONAL : 0);
+    return cards[base + variant];
+  }
+
+  /* Returns the ordinal of a card network, registering it on first use. */
+  public static int networkOrdinal(String network) {
+    Integer ordinal = networkOrdinals.get(network);
+    return ordinal != null ? ordinal : registerNetwork(network);
+  }
+
+  /* Returns the canonical string of the network with the given ordinal. */
+  public static String network(int ordinal) {
+    return networks[ordinal];
+  }
+
+  /* Returns the canonical instance of a network string, so cards can share it. */
+  public static String canonicalNetwork(String network) {
+    return network(networkOrdinal(network));
+  }
+
+  /**
+   * Registers a type, returning its ordinal. Card types are registered along with their network;
+   * other types should be limited to a fixed set, since the registry never forgets a type.
+   *
+   * @param type The type to register
+   * @return The ordinal of the type
+   */
+  public static int register(TransactionType type) {
+    if (type instanceof CardTransaction card) {
+      networkOrdinal(card.network());
+    }
+    Integer ordinal = typeOrdinals.get(type);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    synchronized (LOCK) {
+      return typeOrdinals.computeIfAbsent(type, TransactionTypes::append);
+    }
+  }
+
+  /* Returns the canonical instance of a type if it is registered, or the type itself otherwise. */
+  public static <T extends TransactionType> T canonical(T type) {
+    if (type instanceof CardTransaction card) {
+      @SuppressWarnings("unchecked")
+      T canonical =
+          (T)
+              card(
+                  card.network(), card.isContactless(), card.isEcommerce(), card.isInternational());
+      return canonical;
+    }
+    Integer ordinal = typeOrdinals.get(type);
+    @SuppressWarnings("unchecked")
+    T canonical = ordinal == null ? type : (T) types[ordinal];
+    return canonical;
+  }
+
+  /* Returns the ordinal of a type, or -1 if it isn't registered. */
+  public static int ordinal(TransactionType type) {
+    return typeOrdinals.getOrDefault(type, -1);
+  }
+
+  /* Returns the type with the given ordinal. */
+  public static TransactionType byOrdinal(int ordinal) {
+    return types[ordinal];
+  }
+
+  /* Returns the number of registered types. */
+  public static int size() {
+    return types.length;
+  }
+
+  private static int registerNetwork(String network) {
+    Objects.requireNonNull(network, "network");
+    synchronized (LOCK) {
+      Integer existing = networkOrdinals.get(network);
+      if (existing != null) {
+        return existing;
+      }
+      int ordinal = networks.length;
+      String[] grownNetworks = Arrays.copyOf(networks, ordinal + 1);
+      grownNetworks[ordinal] = network;
+      CardTransaction[] grownCards = Arrays.copyOf(cards, (ordinal + 1) * CARD_VARIANTS);
+      for (int variant = 0; variant < CARD_VARIANTS; variant++) {
+        CardTransaction card =
+            new CardTransaction(
+                network,
+                (variant & CONTACTLESS) != 0,
+                (variant & ECOMMERCE) != 0,
+                (variant & INTERNATIONAL) != 0);
+        grownCards[ordinal * CARD_VARIANTS + variant] = card;
+        typeOrdinals.put(card, append(card));
+      }
+      networks = grownNetworks;
+      cards = grownCards;
+      networkOrdinals.put(network, ordinal);
+      return ordinal;
+    }
+  }
+
+  /* Appends a type to the ordinal table, must hold LOCK. */
+  private static int append(TransactionType type) {
+    int ordinal = types.length;
+    TransactionType[] grown = Arrays.copyOf(types, ordinal + 1);
+    grown[ordinal] = type;
+    types = grown;
+    return ordinal;
+  }
+}
@@ -0,0 +1,72 @@
+package io.github.sicozz.fraudsim.fraud;
+
+import io.github.sicozz.fraudsim.domain.model.party.Customer;
+import io.github.sicozz.fraudsim.domain.model.party.Merchant;
+import io.github.sicozz.fraudsim.domain.model.party.TransactionParty;
+import io.github.sicozz.fraudsim.fraud.campaign.CampaignScheduler;
+import io.github.sicozz.fraudsim.fraud.state.CustomerStateStore;
+import io.github.sicozz.fraudsim.fraud.state.VelocityWindows;
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import io.github.sicozz.fraudsim.generator.universe.EntityUniverse;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * What a {@link FraudPattern} works with: the entity universe transactions are drawn from, the
+ * behavioral state of its customers, the sliding-window activity of customers and cards, the
+ * campaign events scheduled for later in the stream, and a random generator. Shared by every inject
+ * worker; the generator returned by {@link #random()} belongs to the calling thread.
+ */
+public final class FraudContext {
+
+  private final EntityUniverse universe;
+  private final CustomerStateStore states;
+  private final VelocityWindows velocity;
+  private final CampaignScheduler campaigns;
+  private final RandomProvider random;
+
+  public FraudContext(
+      EntityUniverse universe,
+      CustomerStateStore states,
+      VelocityWindows velocity,
+      CampaignScheduler campaigns,
+      RandomProvider random) {
+    this.universe = universe;
+    this.states = states;
+    this.velocity = velocity;
+    this.campaigns = campaigns;
+    this.random = random;
+  }
+
+  public EntityUniverse universe() {
+    return universe;
+  }
+
+  public CustomerStateStore states() {
+    return states;
+  }
+
+  /* Returns the sliding windows of customers and cards, recorded before any pattern runs. */
+  public VelocityWindows velocity() {
+    return velocity;
+  }
+
+  /* Returns the scheduler a pattern registers later events of a campaign with. */
+  public CampaignScheduler campaigns() {
+    return campaigns;
+  }
+
+  /* Returns the random generator of the calling thread. */
+  public RandomGenerator random() {
+    return random.forThread();
+  }
+
+  /* Returns the universe id of a customer party, -1 for any other party. */
+  public int customerIndex(TransactionParty party) {
+    return party instanceof Customer customer ? universe.customerIndex(customer.id()) : -1;
+  }
+
+  /* Returns the universe id of a merchant party, -1 for any other party. */
+  public int merchantIndex(TransactionParty party) {
+    return party instanceof Merchant merchant ? universe.merchantIndex(merchant.id()) : -1;
+  }
+}
@@ -1,3 +1,270 @@
 package io.github.sicozz.fraudsim.fraud;
 
-public class FraudInjector {}
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.payment.Card;
+import io.github.sicozz.fraudsim.fraud.campaign.CampaignScheduler;
+import io.github.sicozz.fraudsim.fraud.rules.RuleStats;
+import io.github.sicozz.fraudsim.fraud.rules.ScenarioRules;
+import io.github.sicozz.fraudsim.fraud.state.CustomerStateStore;
+import io.github.sicozz.fraudsim.fraud.state.VelocityWindows;
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import io.github.sicozz.fraudsim.generator.universe.EntityUniverse;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies fraud patterns to the stream of generated transactions. Every transaction updates the
+ * state of its customer in a {@link CustomerStateStore} and the {@link VelocityWindows} of its
+ * customer and card, then a {@link WindowSampler} decides whether it gets fraud, so that the
+ * configured rate holds exactly over every window of transactions. A selected transaction is handed
+ * to one of the enabled {@link FraudPattern}s, picked at random among those that apply to it; when
+ * none applies, the selection moves on to the next transaction. Such a deferred selection can land
+ * in the next window, so the rate is exact per window only when every transaction has an applicable
+ * pattern, e.g. with {@code amountSpike} enabled; otherwise it is exact over the run, give or take
+ * the selections still deferred at its end.
+ *
+ * <p>The decision for a transaction is a state update, a bit test and a counter read: constant time
+ * and allocation-free, so the bulk of the traffic, left untouched, passes through at no cost. The
+ * injector is thread-safe and shared by the inject workers.
+ */
+public class FraudInjector {
+
+  // Random streams of the injector, on a shard index no generator shard uses
+  private static final int FRAUD_SHARD = -2;
+  private static final int SAMPLER_STREAM = 0;
+  private static final long CAMPAIGN_TICK_MILLIS = 1_000L;
+
+  private final FraudPattern[] patterns;
+  private final WindowSampler sampler;
+  private final FraudContext context;
+  private final ScenarioRules rules;
+  // Selections that found no applicable pattern, handed to the next transactions
+  private final AtomicInteger deferred = new AtomicInteger();
+  // Stream time from which the idle keys of the velocity windows are due to be freed again
+  private final AtomicLong nextVelocityEviction = new AtomicLong(Long.MIN_VALUE);
+
+  /* Creates an injector passing every transaction through unchanged. */
+  public FraudInjector() {
+    this.patterns = new FraudPattern[0];
+    this.sampler = null;
+    this.context = null;
+    this.rules = null;
+  }
+
+  /* Creates an injector applying the enabled patterns at random, without scenario rules. */
+  public FraudInjector(
+      FraudSettings settings,
+      EntityUniverse universe,
+      CustomerStateStore states,
+      VelocityWindows velocity) {
+    this(settings, universe, states, velocity, null);
+  }
+
+  /**
+   * Creates an injector applying the enabled patterns to transactions drawn from a universe.
+   *
+   * @param settings The rate, window and enabled patterns
+   * @param universe The universe the transactions are drawn from
+   * @param states The state of the universe's customers, updated by every transaction
+   * @param velocity The windows of customers and cards, updated by every transaction
+   * @param rules The scenario rules selecting transactions for a pattern, or null for none
+   * @throws IllegalArgumentException If a pattern name is unknown
+   */
+  public FraudInjector(
+      FraudSettings settings,
+      EntityUniverse universe,
+      CustomerStateStore states,
+      VelocityWindows velocity,
+      ScenarioRules rules) {
+    RandomProvider random = new RandomProvider(settings.seed());
+    this.patterns = FraudPatterns.get(settings.patterns()).toArray(FraudPattern[]::new);
+    this.sampler =
+        new WindowSampler(
+            patterns.length == 0 ? 0 : settings.rate(),
+            settings.windowSize(),
+            random.stream(FRAUD_SHARD, SAMPLER_STREAM));
+    this.context =
+        new FraudContext(
+            universe, states, velocity, new CampaignScheduler(CAMPAIGN_TICK_MILLIS), random);
+    this.rules = rules;
+  }
+
+  /* Returns the number of transactions worth handing over at once, 1 when there are no rules. */
+  public int batchSize() {
+    return rules == null || context == null ? 1 : rules.batchSize();
+  }
+
+  /**
+   * Returns whether the transactions should come in time order: the customer state, velocity
+   * windows and campaign events all run on the time of the stream, so only a pass-through injector
+   * does without.
+   */
+  public boolean needsTimeOrder() {
+    return context != null;
+  }
+
+  /* Returns the work of the scenario rules, null when there are none. */
+  public RuleStats ruleStats() {
+    return rules == null ? null : rules.stats();
+  }
+
+  /**
+   * Passes one generated transaction through the injector. The transaction is emitted downstream,
+   * possibly rewritten, along with any fraudulent transaction inserted after it.
+   *
+   * @param transaction The generated transaction
+   * @param downstream Receives the resulting transactions, in stream order
+   * @throws InterruptedException If interrupted while handing a transaction downstream
+   */
+  public void inject(Transaction transaction, Downstream downstream) throws InterruptedException {
+    if (context == null) {
+      downstream.accept(transaction);
+      return;
+    }
+    inject(
+        transaction,
+        rules == null ? null : rules.evaluate(List.of(transaction), context)[0],
+        downstream);
+  }
+
+  /**
+   * Passes a micro-batch of generated transactions through the injector, running the scenario rules
+   * over the whole batch at once. Transactions are then handled in batch order, as {@link
+   * #inject(Transaction, Downstream)} would.
+   *
+   * @param batch The generated transactions, in stream order
+   * @param downstream Receives the resulting transactions with the row they come from
+   * @throws InterruptedException If interrupted while handing a transaction downstream
+   */
+  public void inject(List<Transaction> batch, BatchDownstream downstream)
+      throws InterruptedException {
+    String[] scenarios = rules == null || context == null ? null : rules.evaluate(batch, context);
+    RowDownstream rowDownstream = new RowDownstream(downstream);
+    for (int row = 0; row < batch.size(); row++) {
+      rowDownstream.row = row;
+      if (context == null) {
+        rowDownstream.accept(batch.get(row));
+      } else {
+        inject(batch.get(row), scenarios == null ? null : scenarios[row], rowDownstream);
+      }
+    }
+  }
+
+  private void inject(Transaction transaction, String scenario, Downstream downstream)
+      throws InterruptedException {
+    emitDueCampaignEvents(transaction.timestamp().toEpochMilli(), downstream);
+    record(transaction);
+    boolean selected = sampler.next();
+    if (scenario != null) {
+      FraudPattern pattern = FraudPatterns.get(scenario);
+      if (pattern.appliesTo(transaction, context)) {
+        // The random selection, if any, moves on so the rate still holds
+        if (selected) {
+          deferred.incrementAndGet();
+        }
+        pattern.apply(transaction, context, downstream);
+        return;
+      }
+    }
+    if (!selected && deferred.get() == 0) {
+      downstream.accept(transaction);
+      return;
+    }
+
+    FraudPattern pattern = pick(transaction);
+    if (pattern == null) {
+      if (selected) {
+        deferred.incrementAndGet();
+      }
+      downstream.accept(transaction);
+    } else if (selected || takeDeferred()) {
+      pattern.apply(transaction, context, downstream);
+    } else {
+      downstream.accept(transaction);
+    }
+  }
+
+  /* Emits the campaign events due by the time of the stream, ahead of the transaction then. */
+  private void emitDueCampaignEvents(long nowMillis, Downstream downstream)
+      throws InterruptedException {
+    for (CampaignScheduler.Due due : context.campaigns().takeDue(nowMillis)) {
+      due.event().fire(due.dueMillis(), context, downstream);
+    }
+  }
+
+  private void record(Transaction transaction) {
+    long epochMillis = transaction.timestamp().toEpochMilli();
+    long amount = transaction.amount().minorUnits();
+    int customer = context.customerIndex(transaction.source());
+    if (customer >= 0) {
+      context
+          .states()
+          .record(customer, epochMillis, amount, context.merchantIndex(transaction.destination()));
+      context.velocity().record(VelocityWindows.customerKey(customer), epochMillis, amount);
+    }
+    if (customer >= 0 && transaction.paymentMethod() instanceof Card) {
+      // Universe customers hold one card each
+      context.velocity().record(VelocityWindows.cardKey(customer), epochMillis, amount);
+    }
+    evictIdleVelocity(epochMillis);
+  }
+
+  /* Frees the idle keys of the velocity windows, once per idle timeout of stream time. */
+  private void evictIdleVelocity(long nowMillis) {
+    long due = nextVelocityEviction.get();
+    VelocityWindows velocity = context.velocity();
+    if (nowMillis >= due
+        && nextVelocityEviction.compareAndSet(due, nowMillis + velocity.idleMillis())) {
+      velocity.evictIdle(nowMillis);
+    }
+  }
+
+  /* Picks a pattern applying to the transaction, starting the scan at a random one. */
+  private FraudPattern pick(Transaction transaction) {
+    int first = context.random().nextInt(patterns.length);
+    for (int i = 0; i < patterns.length; i++) {
+      FraudPattern pattern = patterns[(first + i) % patterns.length];
+      if (pattern.appliesTo(transaction, context)) {
+        return pattern;
+      }
+    }
+    return null;
+  }
+
+  private boolean takeDeferred() {
+    for (int count = deferred.get(); count > 0; count = deferred.get()) {
+      if (deferred.compareAndSet(count, count - 1)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /* Receives the output of the injector, may block while the next stage is full. */
+  @FunctionalInterface
+  public interface Downstream {
+    void accept(Transaction transaction) throws InterruptedException;
+  }
+
+  /* Receives the output of a batch, with the row of the transaction each one comes from. */
+  @FunctionalInterface
+  public interface BatchDownstream {
+    void accept(int row, Transaction transaction) throws InterruptedException;
+  }
+
+  /* Tags the output with the current row of a batch, one instance serving the whole batch. */
+  private static final class RowDownstream implements Downstream {
+    private final BatchDownstream target;
+    private int row;
+
+    RowDownstream(BatchDownstream target) {
+      this.target = target;
+    }
+
+    @Override
+    public void accept(Transaction transaction) throws InterruptedException {
+      target.accept(row, transaction);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package io.github.sicozz.fraudsim.fraud;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicator;
+
+/**
+ * A fraud pattern the {@link FraudInjector} can apply to a transaction it selected. A pattern may
+ * rewrite the transaction, insert transactions after it, or both, and labels what it produces with
+ * its {@link #indicator()}. Patterns are registered by name in {@link FraudPatterns} and enabled
+ * through {@code fraudsim.fraud.enabled-patterns}.
+ *
+ * <p>A pattern is shared by every inject worker: it must keep its state in the {@link
+ * FraudContext}, not in fields.
+ */
+public interface FraudPattern {
+
+  /* Returns the name the pattern is enabled by, e.g. {@code amountSpike}. */
+  String name();
+
+  /* Returns the indicator attached to the transactions the pattern produces. */
+  FraudIndicator indicator();
+
+  /**
+   * Returns whether the pattern can be applied to a transaction, e.g. a pattern rewriting the
+   * merchant needs a merchant. The injector offers a selection it can't apply to another pattern.
+   */
+  default boolean appliesTo(Transaction transaction, FraudContext context) {
+    return true;
+  }
+
+  /**
+   * Applies the pattern. Everything handed downstream, the original transaction included when it is
+   * kept, is emitted in stream order.
+   *
+   * @param transaction The selected transaction
+   * @param context The universe, customer state and randomness of the run
+   * @param downstream Receives the resulting transactions
+   * @throws InterruptedException If interrupted while handing a transaction downstream
+   */
+  void apply(Transaction transaction, FraudContext context, FraudInjector.Downstream downstream)
+      throws InterruptedException;
+}
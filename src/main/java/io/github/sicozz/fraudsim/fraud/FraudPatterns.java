@@ -0,0 +1,67 @@
+package io.github.sicozz.fraudsim.fraud;
+
+import io.github.sicozz.fraudsim.fraud.pattern.AccountTakeoverPattern;
+import io.github.sicozz.fraudsim.fraud.pattern.AmountSpikePattern;
+import io.github.sicozz.fraudsim.fraud.pattern.BotAttackPattern;
+import io.github.sicozz.fraudsim.fraud.pattern.MerchantAnomalyPattern;
+import io.github.sicozz.fraudsim.fraud.pattern.MerchantBreachPattern;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the fraud patterns, by name. The built-in patterns are registered up front; more can
+ * be added with {@link #register(FraudPattern)} before the injector is created.
+ */
+public final class FraudPatterns {
+
+  public static final String AMOUNT_SPIKE = "amountSpike";
+  public static final String MERCHANT_ANOMALY = "merchantAnomaly";
+  public static final String ACCOUNT_TAKEOVER = "accountTakeover";
+  public static final String MERCHANT_BREACH = "merchantBreach";
+  public static final String BOT_ATTACK = "botAttack";
+
+  private static final Map<String, FraudPattern> PATTERNS = new ConcurrentHashMap<>();
+
+  static {
+    register(new AmountSpikePattern());
+    register(new MerchantAnomalyPattern());
+    register(new AccountTakeoverPattern());
+    register(new MerchantBreachPattern());
+    register(new BotAttackPattern());
+  }
+
+  private FraudPatterns() {}
+
+  /* Registers a pattern under its name, replacing any pattern of the same name. */
+  public static void register(FraudPattern pattern) {
+    PATTERNS.put(pattern.name(), pattern);
+  }
+
+  /**
+   * Returns the pattern registered under a name.
+   *
+   * @param name The pattern name
+   * @return The pattern
+   * @throws IllegalArgumentException If no pattern has that name
+   */
+  public static FraudPattern get(String name) {
+    FraudPattern pattern = PATTERNS.get(name);
+    if (pattern == null) {
+      throw new IllegalArgumentException(
+          "Unknown fraud pattern: " + name + ", expected one of " + names());
+    }
+    return pattern;
+  }
+
+  /* Returns the patterns registered under the given names, in order. */
+  public static List<FraudPattern> get(List<String> names) {
+    return names.stream().map(FraudPatterns::get).toList();
+  }
+
+  public static Set<String> names() {
+    return new TreeSet<>(PATTERNS.keySet());
+  }
+}
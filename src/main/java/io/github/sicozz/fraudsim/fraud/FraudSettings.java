@@ -0,0 +1,36 @@
+package io.github.sicozz.fraudsim.fraud;
+
+import io.github.sicozz.fraudsim.config.properties.TransactionGeneratorProperties;
+import java.util.List;
+
+/**
+ * Parameters of fraud injection.
+ *
+ * @param rate The fraction of generated transactions fraud is applied to, in [0, 1]
+ * @param windowSize The number of consecutive transactions the rate holds exactly over, as long as
+ *     every selected transaction has an applicable pattern
+ * @param patterns The names of the enabled patterns, see {@link FraudPatterns}
+ * @param seed The seed of the injector's random streams
+ */
+public record FraudSettings(double rate, int windowSize, List<String> patterns, long seed) {
+
+  public FraudSettings {
+    if (!(rate >= 0 && rate <= 1)) {
+      throw new IllegalArgumentException("Fraud rate must be in [0, 1]: " + rate);
+    }
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Fraud window size must be positive: " + windowSize);
+    }
+    patterns = List.copyOf(patterns);
+  }
+
+  /* Creates settings from the application properties, seeded from the generator seed. */
+  public static FraudSettings from(TransactionGeneratorProperties properties) {
+    var fraud = properties.getFraud();
+    return new FraudSettings(
+        fraud.getDefaultRate(),
+        fraud.getWindowSize(),
+        fraud.getEnabledPatterns(),
+        properties.getTransaction().getSeed());
+  }
+}
@@ -0,0 +1,80 @@
+package io.github.sicozz.fraudsim.fraud;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Picks which transactions of a stream get fraud so that the rate holds exactly over every fixed
+ * window of {@code windowSize} transactions, not only on average. At the start of a window the
+ * positions to select are planned with selection sampling (Knuth's Algorithm S), which draws
+ * exactly {@code k} of {@code n} positions, each subset being equally likely, in one pass. A
+ * fractional {@code rate * windowSize} is carried over to the next window, so the long-run rate is
+ * exact as well.
+ *
+ * <p>{@link #next()} is then a bit test: constant time and allocation-free, the planning pass being
+ * amortized over the window. The sampler is thread-safe, callers share one window.
+ */
+final class WindowSampler {
+
+  private final double rate;
+  private final int windowSize;
+  private final RandomGenerator random;
+  private final long[] plan;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private int position;
+  private double carry;
+
+  /**
+   * Creates a sampler.
+   *
+   * @param rate The fraction of transactions to select, in [0, 1]
+   * @param windowSize The number of transactions the rate holds exactly over
+   * @param random The generator the windows are planned with
+   */
+  WindowSampler(double rate, int windowSize, RandomGenerator random) {
+    if (!(rate >= 0 && rate <= 1)) {
+      throw new IllegalArgumentException("Fraud rate must be in [0, 1]: " + rate);
+    }
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+    }
+    this.rate = rate;
+    this.windowSize = windowSize;
+    this.random = random;
+    this.plan = new long[(windowSize + 63) >>> 6];
+    this.position = windowSize;
+  }
+
+  /* Returns whether the next transaction of the stream is selected. */
+  boolean next() {
+    lock.lock();
+    try {
+      if (position == windowSize) {
+        planWindow();
+      }
+      int current = position++;
+      return (plan[current >>> 6] & 1L << current) != 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void planWindow() {
+    double wanted = rate * windowSize + carry;
+    int toSelect = (int) Math.min(windowSize, Math.floor(wanted));
+    carry = wanted - toSelect;
+
+    Arrays.fill(plan, 0L);
+    // Algorithm S: position t is selected with probability (still to select) / (still to visit)
+    int selected = 0;
+    for (int t = 0; t < windowSize && selected < toSelect; t++) {
+      if ((windowSize - t) * random.nextDouble() < toSelect - selected) {
+        plan[t >>> 6] |= 1L << t;
+        selected++;
+      }
+    }
+    position = 0;
+  }
+}
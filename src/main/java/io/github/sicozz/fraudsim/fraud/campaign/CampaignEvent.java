@@ -0,0 +1,24 @@
+package io.github.sicozz.fraudsim.fraud.campaign;
+
+import io.github.sicozz.fraudsim.fraud.FraudContext;
+import io.github.sicozz.fraudsim.fraud.FraudInjector;
+
+/**
+ * A fraud event of a campaign, scheduled in a {@link CampaignScheduler} and fired by the {@link
+ * FraudInjector} once the stream reaches its due time. Shared by every inject worker like a
+ * pattern, an event keeps its state in the {@link FraudContext}.
+ */
+@FunctionalInterface
+public interface CampaignEvent {
+
+  /**
+   * Fires the event.
+   *
+   * @param dueMillis The time the event was due, in UTC milliseconds since the epoch
+   * @param context The universe, customer state and randomness of the run
+   * @param downstream Receives the transactions the event produces, in timestamp order
+   * @throws InterruptedException If interrupted while handing a transaction downstream
+   */
+  void fire(long dueMillis, FraudContext context, FraudInjector.Downstream downstream)
+      throws InterruptedException;
+}
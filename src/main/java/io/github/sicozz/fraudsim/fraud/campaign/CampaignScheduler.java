@@ -0,0 +1,129 @@
+package io.github.sicozz.fraudsim.fraud.campaign;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delayed and recurring {@link CampaignEvent}s on the simulation clock, the time of the generated
+ * transactions. Events wait in a {@link TimerWheel}, so millions of pending events cost constant
+ * time to schedule and to expire; the {@link io.github.sicozz.fraudsim.fraud.FraudInjector} moves
+ * the clock with every transaction and takes the events due by then. The clock only moves forward:
+ * a time before one already taken hands over nothing, so the stream is expected in time order.
+ *
+ * <p>The scheduler is thread-safe. Checking for due events is a single volatile read until the next
+ * due time, the lock is only taken once the stream reaches it.
+ */
+public final class CampaignScheduler {
+
+  private static final Comparator<Due> BY_DUE_TIME = Comparator.comparingLong(Due::dueMillis);
+
+  private final TimerWheel<Occurrence> wheel;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final AtomicInteger pending = new AtomicInteger();
+  // No later than the earliest pending due time, updated under the lock
+  private volatile long nextDueMillis = Long.MAX_VALUE;
+
+  /**
+   * Creates a scheduler.
+   *
+   * @param tickMillis The resolution of the wheel; events are still handed over by exact due time
+   */
+  public CampaignScheduler(long tickMillis) {
+    this.wheel = new TimerWheel<>(tickMillis, 1_024);
+  }
+
+  /* Returns the number of pending occurrences, a recurring event counting once. */
+  public int pending() {
+    return pending.get();
+  }
+
+  /* Schedules an event to fire once. */
+  public void schedule(long dueMillis, CampaignEvent event) {
+    scheduleRecurring(dueMillis, 0, 1, event);
+  }
+
+  /**
+   * Schedules an event to fire a number of times at a fixed period.
+   *
+   * @param firstDueMillis The time of the first occurrence, in UTC milliseconds since the epoch
+   * @param periodMillis The time between occurrences
+   * @param occurrences The number of occurrences
+   * @param event The event
+   * @throws IllegalArgumentException If there are no occurrences, or several without a period
+   */
+  public void scheduleRecurring(
+      long firstDueMillis, long periodMillis, int occurrences, CampaignEvent event) {
+    if (occurrences < 1 || (occurrences > 1 && periodMillis < 1)) {
+      throw new IllegalArgumentException(
+          "Need a positive period for " + occurrences + " occurrences: " + periodMillis);
+    }
+    lock.lock();
+    try {
+      wheel.schedule(
+          firstDueMillis, new Occurrence(event, periodMillis, occurrences, firstDueMillis));
+      pending.incrementAndGet();
+      nextDueMillis = Math.min(nextDueMillis, firstDueMillis);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Moves the clock to a time and takes the occurrences due by then, rescheduling the next
+   * occurrence of recurring events.
+   *
+   * @param nowMillis The time of the stream, in UTC milliseconds since the epoch
+   * @return The due occurrences in due-time order, empty if none
+   */
+  public List<Due> takeDue(long nowMillis) {
+    if (nowMillis < nextDueMillis) {
+      return List.of();
+    }
+    List<Due> due = new ArrayList<>();
+    lock.lock();
+    try {
+      wheel.expire(
+          nowMillis,
+          occurrence -> {
+            pending.decrementAndGet();
+            long dueMillis = occurrence.dueMillis;
+            // Recurrences already due go straight out, the wheel only keeps future ones
+            do {
+              due.add(new Due(dueMillis, occurrence.event));
+              dueMillis += occurrence.periodMillis;
+            } while (--occurrence.remaining > 0 && dueMillis <= nowMillis);
+            if (occurrence.remaining > 0) {
+              occurrence.dueMillis = dueMillis;
+              wheel.schedule(dueMillis, occurrence);
+              pending.incrementAndGet();
+            }
+          });
+      nextDueMillis = wheel.nextDueLowerBound();
+    } finally {
+      lock.unlock();
+    }
+    due.sort(BY_DUE_TIME);
+    return due;
+  }
+
+  /* An occurrence handed over by {@link #takeDue(long)}. */
+  public record Due(long dueMillis, CampaignEvent event) {}
+
+  /* A scheduled event and its remaining occurrences, rescheduled in place. */
+  private static final class Occurrence {
+    private final CampaignEvent event;
+    private final long periodMillis;
+    private int remaining;
+    private long dueMillis;
+
+    Occurrence(CampaignEvent event, long periodMillis, int remaining, long dueMillis) {
+      this.event = event;
+      this.periodMillis = periodMillis;
+      this.remaining = remaining;
+      this.dueMillis = dueMillis;
+    }
+  }
+}
@@ -0,0 +1,260 @@
+package io.github.sicozz.fraudsim.fraud.campaign;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Pending events keyed by a due time on a simulated clock, in a hierarchical timer wheel. Time is
+ * cut into ticks of {@code tickMillis}; level 0 has one slot per tick for the next 64 ticks, level
+ * 1 one slot per 64 ticks for the next 4096, and so on over {@link #LEVELS} levels. An event goes
+ * to the slot of the lowest level that spans its due time, and when the clock enters the range of a
+ * higher-level slot its events cascade down to lower levels, ending in the level-0 slot of their
+ * tick. Scheduling and expiring an event are constant time, whatever the number of pending events;
+ * a clock jump over empty ticks costs one step per 64 ticks.
+ *
+ * <p>Events are nodes of int-linked lists in parallel arrays recycled through a free list, so a
+ * pending event takes 20 bytes besides its payload and scheduling allocates nothing once the arrays
+ * have grown. The clock only moves forward, through {@link #expire(long, Consumer)}. A wheel is not
+ * thread-safe.
+ *
+ * @param <T> The type of the event payloads
+ */
+public final class TimerWheel<T> {
+
+  public static final int LEVELS = 6;
+
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  private static final long MASK = SLOTS - 1;
+  private static final int NONE = -1;
+
+  private final long tickMillis;
+  private final int[] heads = new int[LEVELS * SLOTS];
+  private final int[] tails = new int[LEVELS * SLOTS];
+  // One bit per non-empty slot, per level
+  private final long[] occupied = new long[LEVELS];
+
+  private long[] dues;
+  private int[] next;
+  private Object[] payloads;
+  private int freeList = NONE;
+  private int allocated;
+  private int size;
+
+  private boolean started;
+  private long currentTick;
+  private long cascadedTick = Long.MIN_VALUE;
+  // No later than the earliest due time in the current tick's slot
+  private long currentTickMinDue = Long.MAX_VALUE;
+
+  /**
+   * Creates an empty wheel.
+   *
+   * @param tickMillis The length of a tick, the resolution of the level-0 slots
+   * @param initialCapacity The number of pending events the node arrays start with
+   * @throws IllegalArgumentException If the tick or capacity is not positive
+   */
+  public TimerWheel(long tickMillis, int initialCapacity) {
+    if (tickMillis < 1 || initialCapacity < 1) {
+      throw new IllegalArgumentException("Tick and initial capacity must be positive");
+    }
+    this.tickMillis = tickMillis;
+    this.dues = new long[initialCapacity];
+    this.next = new int[initialCapacity];
+    this.payloads = new Object[initialCapacity];
+    Arrays.fill(heads, NONE);
+    Arrays.fill(tails, NONE);
+  }
+
+  /* Returns the number of pending events. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a time no later than the earliest pending due time, so that expiring any earlier time
+   * hands over nothing. It is exact to the tick, or to the millisecond within the current tick, and
+   * takes one step.
+   *
+   * @return The time, in UTC milliseconds since the epoch, or {@link Long#MAX_VALUE} when empty
+   */
+  public long nextDueLowerBound() {
+    if (size == 0) {
+      return Long.MAX_VALUE;
+    }
+    // Events due in the current round all sit at level 0, the others are due in a later round
+    long pending = occupied[0] & -1L << (int) (currentTick & MASK);
+    if (pending == 0) {
+      return ((currentTick | MASK) + 1) * tickMillis;
+    }
+    long tick = (currentTick & ~MASK) + Long.numberOfTrailingZeros(pending);
+    return tick == currentTick ? currentTickMinDue : tick * tickMillis;
+  }
+
+  /**
+   * Schedules an event. An event due before the current tick fires on the next call to {@link
+   * #expire(long, Consumer)}.
+   *
+   * @param dueMillis The time the event is due, in UTC milliseconds since the epoch
+   * @param payload The event
+   */
+  public void schedule(long dueMillis, T payload) {
+    if (!started) {
+      currentTick = Math.floorDiv(dueMillis, tickMillis);
+      started = true;
+    }
+    int node = allocate();
+    dues[node] = dueMillis;
+    payloads[node] = payload;
+    place(node);
+    if (Math.floorDiv(dueMillis, tickMillis) <= currentTick) {
+      currentTickMinDue = Math.min(currentTickMinDue, dueMillis);
+    }
+    size++;
+  }
+
+  /**
+   * Moves the clock forward to a time and hands over every event due by then: the ticks are expired
+   * in order, and the events of a tick in the order they were scheduled.
+   *
+   * @param nowMillis The new time, in UTC milliseconds since the epoch
+   * @param consumer Receives the due events; it may schedule new ones
+   * @return The number of events handed over
+   */
+  public int expire(long nowMillis, Consumer<? super T> consumer) {
+    long nowTick = Math.floorDiv(nowMillis, tickMillis);
+    if (!started) {
+      currentTick = nowTick;
+      started = true;
+    }
+    if (size == 0) {
+      currentTick = Math.max(currentTick, nowTick);
+      return 0;
+    }
+
+    int expired = 0;
+    while (currentTick < nowTick) {
+      cascade(currentTick);
+      long pending = occupied[0] & -1L << (int) (currentTick & MASK);
+      if (pending == 0) {
+        // Nothing left at level 0 in this round, jump to the next one where a cascade may be due
+        currentTick = Math.min((currentTick | MASK) + 1, nowTick);
+        continue;
+      }
+      long dueTick = (currentTick & ~MASK) + Long.numberOfTrailingZeros(pending);
+      if (dueTick >= nowTick) {
+        currentTick = nowTick;
+        break;
+      }
+      currentTick = dueTick;
+      expired += fire(currentTick, Long.MAX_VALUE, consumer);
+      currentTick++;
+    }
+    cascade(currentTick);
+    // The current tick is only partly over
+    return expired + fire(currentTick, nowMillis, consumer);
+  }
+
+  /* Moves the events of the higher-level slots starting at a tick down, highest level first. */
+  private void cascade(long tick) {
+    if (tick == cascadedTick) {
+      return;
+    }
+    cascadedTick = tick;
+    int levels = 0;
+    while (levels < LEVELS - 1 && (tick & ((1L << SLOT_BITS * (levels + 1)) - 1)) == 0) {
+      levels++;
+    }
+    for (int level = levels; level >= 1; level--) {
+      int slot = slotIndex(level, tick);
+      int node = detach(slot);
+      while (node != NONE) {
+        int following = next[node];
+        place(node);
+        node = following;
+      }
+    }
+  }
+
+  /* Hands over the events of a tick's level-0 slot due by a time, keeping the others in place. */
+  @SuppressWarnings("unchecked")
+  private int fire(long tick, long maxDueMillis, Consumer<? super T> consumer) {
+    int slot = slotIndex(0, tick);
+    currentTickMinDue = Long.MAX_VALUE;
+    if ((occupied[0] & 1L << (slot & MASK)) == 0) {
+      return 0;
+    }
+    int fired = 0;
+    int node = detach(slot);
+    while (node != NONE) {
+      int following = next[node];
+      if (dues[node] > maxDueMillis) {
+        currentTickMinDue = Math.min(currentTickMinDue, dues[node]);
+        append(slot, node);
+      } else {
+        T payload = (T) payloads[node];
+        release(node);
+        size--;
+        fired++;
+        consumer.accept(payload);
+      }
+      node = following;
+    }
+    return fired;
+  }
+
+  private void place(int node) {
+    long tick = Math.max(Math.floorDiv(dues[node], tickMillis), currentTick);
+    long delta = tick - currentTick;
+    int level =
+        delta < SLOTS
+            ? 0
+            : Math.min(LEVELS - 1, (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS);
+    append(slotIndex(level, tick), node);
+  }
+
+  private static int slotIndex(int level, long tick) {
+    return level * SLOTS + (int) ((tick >> SLOT_BITS * level) & MASK);
+  }
+
+  private void append(int slot, int node) {
+    next[node] = NONE;
+    if (heads[slot] == NONE) {
+      heads[slot] = node;
+      occupied[slot / SLOTS] |= 1L << (slot & MASK);
+    } else {
+      next[tails[slot]] = node;
+    }
+    tails[slot] = node;
+  }
+
+  /* Empties a slot, returning its first node. */
+  private int detach(int slot) {
+    int head = heads[slot];
+    heads[slot] = NONE;
+    tails[slot] = NONE;
+    occupied[slot / SLOTS] &= ~(1L << (slot & MASK));
+    return head;
+  }
+
+  private int allocate() {
+    if (freeList != NONE) {
+      int node = freeList;
+      freeList = next[node];
+      return node;
+    }
+    if (allocated == dues.length) {
+      int capacity = dues.length * 2;
+      dues = Arrays.copyOf(dues, capacity);
+      next = Arrays.copyOf(next, capacity);
+      payloads = Arrays.copyOf(payloads, capacity);
+    }
+    return allocated++;
+  }
+
+  private void release(int node) {
+    payloads[node] = null;
+    next[node] = freeList;
+    freeList = node;
+  }
+}
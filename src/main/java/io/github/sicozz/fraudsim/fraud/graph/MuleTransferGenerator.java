@@ -0,0 +1,212 @@
+package io.github.sicozz.fraudsim.fraud.graph;
+
+import io.github.sicozz.fraudsim.domain.model.MetadataKeys;
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionTypes;
+import io.github.sicozz.fraudsim.domain.model.type.TransferTransaction;
+import io.github.sicozz.fraudsim.generator.GeneratorSettings;
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import io.github.sicozz.fraudsim.generator.universe.EntityUniverse;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Walks the fraud rings of a {@link TransferGraph} and emits the money they move as transfers, in
+ * timestamp order across all rings. Every ring is activated once, at a random time of the run's
+ * date range: its entry accounts send an amount along the ring's edges, and each mule receiving
+ * money forwards it, less a cut, to its payees in the ring after a delay of minutes to hours. A
+ * cycle stops when the money is back at its first member.
+ *
+ * <p>Only the transfers in flight are kept, in a priority queue ordered by time, so the memory of
+ * the walk is bounded by how many rings run at once rather than by the size of the graph. Transfers
+ * are labelled {@link FraudLabel#MULE_TRANSFER}; a hop to a mule that passes nothing on cashes the
+ * money out of the ring as an international wire, the others are ACH transfers, the closing hop of
+ * a cycle included. A generator is not thread-safe.
+ */
+public final class MuleTransferGenerator implements Iterator<Transaction> {
+
+  private static final int WALK_STREAM = 3;
+
+  private static final long MIN_DELAY_MILLIS = 10 * 60_000L;
+  private static final long MAX_DELAY_MILLIS = 6 * 3_600_000L;
+  private static final double MIN_CUT = 0.02;
+  private static final double MAX_CUT = 0.08;
+  // Amounts entering a ring, log-uniform between 1,000 and 50,000 major units
+  private static final double MIN_LOG_AMOUNT = Math.log(1_000);
+  private static final double MAX_LOG_AMOUNT = Math.log(50_000);
+  // Ring ids take the low bits of the sort keys of ring start times
+  private static final int RING_BITS = 24;
+
+  private static final TransferTransaction HOP =
+      TransactionTypes.canonical(TransferTransaction.ach(""));
+  private static final TransferTransaction CASH_OUT =
+      TransactionTypes.canonical(TransferTransaction.wire(true, "OTHER"));
+  private static final TransactionMetadata BANK_CHANNEL =
+      TransactionMetadata.of(MetadataKeys.CHANNEL, "bank");
+
+  private final TransferGraph graph;
+  private final EntityUniverse universe;
+  private final Currency currency;
+  private final RandomGenerator random;
+  // Ring start times relative to the start of the range, in the high bits, ring ids in the low
+  private final long[] starts;
+  private final long startMillis;
+  private final PriorityQueue<Hop> pending = new PriorityQueue<>();
+
+  private int nextRing;
+  private long sequence;
+
+  /**
+   * Creates a generator over the rings of a graph.
+   *
+   * @param graph The graph, whose accounts are customers of the universe
+   * @param universe The universe the accounts' parties and bank details are taken from
+   * @param settings The seed, currency and date range of the run
+   * @throws IllegalArgumentException If the universe has fewer customers than the graph accounts,
+   *     or the graph has more than 2^24 rings
+   */
+  public MuleTransferGenerator(
+      TransferGraph graph, EntityUniverse universe, GeneratorSettings settings) {
+    if (universe.customerCount() < graph.accountCount()) {
+      throw new IllegalArgumentException(
+          "Graph has "
+              + graph.accountCount()
+              + " accounts but the universe only "
+              + universe.customerCount()
+              + " customers");
+    }
+    if (graph.ringCount() > 1 << RING_BITS) {
+      throw new IllegalArgumentException("Too many rings: " + graph.ringCount());
+    }
+    this.graph = graph;
+    this.universe = universe;
+    this.currency = settings.currency();
+    this.random =
+        new RandomProvider(settings.seed()).stream(TransferGraph.GRAPH_SHARD, WALK_STREAM);
+    this.startMillis = settings.startDate().atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1_000L;
+    long endMillis =
+        settings.endDate().plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1_000L;
+
+    this.starts = new long[graph.ringCount()];
+    for (int ring = 0; ring < starts.length; ring++) {
+      long offset = (long) (random.nextDouble() * (endMillis - startMillis));
+      starts[ring] = offset << RING_BITS | ring;
+    }
+    Arrays.sort(starts);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return nextRing < starts.length || !pending.isEmpty();
+  }
+
+  /**
+   * Returns the next transfer. Rings are activated lazily, when the next transfer in flight is
+   * later than their start, so the output is in timestamp order.
+   *
+   * @return The next transfer of the walk
+   * @throws NoSuchElementException If every ring has been walked
+   */
+  @Override
+  public Transaction next() {
+    while (nextRing < starts.length
+        && (pending.isEmpty() || startOf(starts[nextRing]) <= pending.peek().epochMillis())) {
+      long start = starts[nextRing++];
+      activate((int) (start & (1 << RING_BITS) - 1), startOf(start));
+    }
+    Hop hop = pending.poll();
+    if (hop == null) {
+      throw new NoSuchElementException();
+    }
+
+    // Money back at a cycle's start stays in the ring, a receiver passing nothing on cashes out
+    boolean closesCycle = hop.to() == graph.ringMember(hop.ring(), 0);
+    boolean cashOut = !closesCycle && forward(hop) == 0;
+    return TransactionBuilder.forThread()
+        .withTimestamp(Instant.ofEpochMilli(hop.epochMillis()))
+        .withAmount(Money.ofMinor(hop.amountMinor(), currency))
+        .withStatus(TransactionStatus.COMPLETED)
+        .withType(cashOut ? CASH_OUT : HOP)
+        .withSource(universe.customer(hop.from()))
+        .withDestination(universe.customer(hop.to()))
+        .withPaymentMethod(universe.account(hop.from()))
+        .withMetadata(
+            BANK_CHANNEL.with(
+                MetadataKeys.ACCOUNT_NUMBER, Long.toString(universe.accountNumber(hop.to()))))
+        .addFraudIndicator(FraudLabel.MULE_TRANSFER)
+        .build();
+  }
+
+  private long startOf(long start) {
+    return startMillis + (start >>> RING_BITS);
+  }
+
+  /* Sends the ring's starting money from its entry accounts: every feeder of a fan-in, else the
+  first member. */
+  private void activate(int ring, long epochMillis) {
+    if (graph.ringKind(ring) == RingKind.FAN_IN) {
+      for (int position = 0; position < graph.ringSize(ring) - 1; position++) {
+        send(ring, graph.ringMember(ring, position), entryAmount(), epochMillis);
+      }
+    } else {
+      send(ring, graph.ringMember(ring, 0), entryAmount(), epochMillis);
+    }
+  }
+
+  /* Has the receiver of a hop pass the money on, returning the number of transfers it sends. */
+  private int forward(Hop hop) {
+    double cut = MIN_CUT + random.nextDouble() * (MAX_CUT - MIN_CUT);
+    return send(hop.ring(), hop.to(), Math.round(hop.amountMinor() * (1 - cut)), hop.epochMillis());
+  }
+
+  /* Splits an amount evenly across the ring payees of an account, each after its own delay. */
+  private int send(int ring, int from, long amountMinor, long epochMillis) {
+    int payees = 0;
+    for (int edge = graph.firstEdge(from); edge < graph.endEdge(from); edge++) {
+      if (graph.ringPosition(ring, graph.target(edge)) >= 0) {
+        payees++;
+      }
+    }
+    long share = payees == 0 ? 0 : amountMinor / payees;
+    if (share < 1) {
+      return 0;
+    }
+    for (int edge = graph.firstEdge(from); edge < graph.endEdge(from); edge++) {
+      int to = graph.target(edge);
+      if (graph.ringPosition(ring, to) >= 0) {
+        long delay =
+            MIN_DELAY_MILLIS + (long) (random.nextDouble() * (MAX_DELAY_MILLIS - MIN_DELAY_MILLIS));
+        pending.add(new Hop(epochMillis + delay, sequence++, ring, from, to, share));
+      }
+    }
+    return payees;
+  }
+
+  private long entryAmount() {
+    double major =
+        Math.exp(MIN_LOG_AMOUNT + random.nextDouble() * (MAX_LOG_AMOUNT - MIN_LOG_AMOUNT));
+    return Money.toMinorUnits(major, currency);
+  }
+
+  /* A transfer in flight, ordered by time then by creation, so the walk is deterministic. */
+  private record Hop(long epochMillis, long sequence, int ring, int from, int to, long amountMinor)
+      implements Comparable<Hop> {
+
+    @Override
+    public int compareTo(Hop other) {
+      int byTime = Long.compare(epochMillis, other.epochMillis);
+      return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+    }
+  }
+}
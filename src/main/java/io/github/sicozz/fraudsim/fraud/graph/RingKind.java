@@ -0,0 +1,13 @@
+package io.github.sicozz.fraudsim.fraud.graph;
+
+/* Shapes of the fraud rings planted in a {@link TransferGraph}, by how money flows through them. */
+public enum RingKind {
+  /* Money passes along a line of mules, each keeping a cut: member 0 -> 1 -> ... -> last. */
+  CHAIN,
+  /* One account splits money across many mules: member 0 -> every other member. */
+  FAN_OUT,
+  /* Many mules funnel money into one collector: every other member -> the last member. */
+  FAN_IN,
+  /* Money goes round and back to where it started: member 0 -> 1 -> ... -> last -> 0. */
+  CYCLE
+}
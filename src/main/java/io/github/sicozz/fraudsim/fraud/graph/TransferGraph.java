@@ -0,0 +1,302 @@
+package io.github.sicozz.fraudsim.fraud.graph;
+
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import java.util.Arrays;
+import java.util.BitSet;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Who sends money to whom, over the bank accounts of a population: account {@code i} is the account
+ * of customer {@code i} of the run's universe. The network is stored in compressed sparse row form,
+ * the payees of every account in one {@code int} array and the start of each account's run of
+ * payees in another, so an edge takes 4 bytes and an account 4 more, and walking the payees of an
+ * account is a scan of a contiguous range.
+ *
+ * <p>Most edges are background payees, drawn at random. On top of them the graph holds fraud rings,
+ * small groups of mule accounts whose edges follow the shape of their {@link RingKind}; an account
+ * belongs to at most one ring. A graph is immutable and can be shared across threads.
+ */
+public final class TransferGraph {
+
+  // Random streams of the graph, on a shard index no generator shard uses
+  static final int GRAPH_SHARD = -3;
+  private static final int RING_STREAM = 1;
+  private static final int EDGE_STREAM = 2;
+
+  private static final RingKind[] RING_KINDS = RingKind.values();
+  private static final int MAX_EDGES = Integer.MAX_VALUE - 8;
+
+  private final int[] offsets;
+  private final int[] targets;
+  private final int[] ringOffsets;
+  private final int[] ringMembers;
+  private final RingKind[] ringKinds;
+
+  private TransferGraph(
+      int[] offsets, int[] targets, int[] ringOffsets, int[] ringMembers, RingKind[] ringKinds) {
+    this.offsets = offsets;
+    this.targets = targets;
+    this.ringOffsets = ringOffsets;
+    this.ringMembers = ringMembers;
+    this.ringKinds = ringKinds;
+  }
+
+  public int accountCount() {
+    return offsets.length - 1;
+  }
+
+  public int edgeCount() {
+    return offsets[offsets.length - 1];
+  }
+
+  /* Returns the index of the first edge of an account, its payees being {@code target(e)} for e in
+  [firstEdge, endEdge). */
+  public int firstEdge(int account) {
+    return offsets[account];
+  }
+
+  /* Returns the index past the last edge of an account. */
+  public int endEdge(int account) {
+    return offsets[account + 1];
+  }
+
+  /* Returns the account an edge pays. */
+  public int target(int edge) {
+    return targets[edge];
+  }
+
+  public int outDegree(int account) {
+    return offsets[account + 1] - offsets[account];
+  }
+
+  public int ringCount() {
+    return ringKinds.length;
+  }
+
+  public RingKind ringKind(int ring) {
+    return ringKinds[ring];
+  }
+
+  public int ringSize(int ring) {
+    return ringOffsets[ring + 1] - ringOffsets[ring];
+  }
+
+  /* Returns the account at a position of a ring, positions following the ring's money flow. */
+  public int ringMember(int ring, int position) {
+    return ringMembers[ringOffsets[ring] + position];
+  }
+
+  /* Returns the position of an account in a ring, -1 if it isn't a member. */
+  public int ringPosition(int ring, int account) {
+    for (int i = ringOffsets[ring]; i < ringOffsets[ring + 1]; i++) {
+      if (ringMembers[i] == account) {
+        return i - ringOffsets[ring];
+      }
+    }
+    return -1;
+  }
+
+  /* Returns the memory taken by the graph's arrays, in bytes. */
+  public long byteSize() {
+    return 4L * (offsets.length + targets.length + ringOffsets.length + ringMembers.length)
+        + ringKinds.length;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /* Builds a graph. Two builds with the same parameters produce the same graph. */
+  public static final class Builder {
+
+    private long seed;
+    private int accountCount;
+    private double averageDegree = 3;
+    private int ringCount;
+    private int minRingSize = 3;
+    private int maxRingSize = 8;
+
+    private Builder() {}
+
+    public Builder withSeed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /* Sets the number of accounts, usually the customer count of the universe. */
+    public Builder withAccountCount(int accountCount) {
+      this.accountCount = accountCount;
+      return this;
+    }
+
+    /* Sets the mean number of background payees per account. */
+    public Builder withAverageDegree(double averageDegree) {
+      this.averageDegree = averageDegree;
+      return this;
+    }
+
+    public Builder withRingCount(int ringCount) {
+      this.ringCount = ringCount;
+      return this;
+    }
+
+    /* Sets the range of ring sizes, in accounts, both ends included. */
+    public Builder withRingSize(int minRingSize, int maxRingSize) {
+      this.minRingSize = minRingSize;
+      this.maxRingSize = maxRingSize;
+      return this;
+    }
+
+    public TransferGraph build() {
+      if (accountCount < 2) {
+        throw new IllegalArgumentException("A transfer graph needs at least 2 accounts");
+      }
+      if (!(averageDegree >= 0)) {
+        throw new IllegalArgumentException("Average degree must not be negative: " + averageDegree);
+      }
+      if (minRingSize < 2 || maxRingSize < minRingSize) {
+        throw new IllegalArgumentException(
+            "Ring sizes must be at least 2: " + minRingSize + ".." + maxRingSize);
+      }
+      // Keep rings sparse, so drawing their members rarely hits a taken account
+      if (ringCount < 0 || (long) ringCount * maxRingSize > accountCount / 2) {
+        throw new IllegalArgumentException(
+            ringCount + " rings don't fit in half of " + accountCount + " accounts");
+      }
+
+      RandomProvider random = new RandomProvider(seed);
+      int[] ringOffsets = new int[ringCount + 1];
+      RingKind[] ringKinds = new RingKind[ringCount];
+      int[] ringMembers =
+          planRings(random.stream(GRAPH_SHARD, RING_STREAM), ringOffsets, ringKinds);
+
+      // Where each ring member sits in ringMembers, -1 for accounts outside any ring
+      int[] memberIndex = new int[accountCount];
+      Arrays.fill(memberIndex, -1);
+      for (int i = 0; i < ringMembers.length; i++) {
+        memberIndex[ringMembers[i]] = i;
+      }
+
+      // Accounts are visited in order, so every account's edges are appended as one contiguous run
+      // and the rows come out sorted without buffering an edge list
+      RandomGenerator edges = random.stream(GRAPH_SHARD, EDGE_STREAM);
+      int[] offsets = new int[accountCount + 1];
+      int[] targets = new int[(int) Math.min(MAX_EDGES, accountCount * (averageDegree + 0.5) + 16)];
+      int edgeCount = 0;
+      for (int account = 0; account < accountCount; account++) {
+        offsets[account] = edgeCount;
+        int member = memberIndex[account];
+        int ring = -1;
+        int position = 0;
+        int ringEdges = 0;
+        if (member >= 0) {
+          ring = ringOf(ringOffsets, member);
+          position = member - ringOffsets[ring];
+          ringEdges = ringEdgeCount(ringKinds[ring], ringSize(ringOffsets, ring), position);
+        }
+        // Exponential draw rounded down: mostly a few payees, now and then many
+        int background = (int) (-Math.log(1 - edges.nextDouble()) * (averageDegree + 0.5));
+        if ((long) edgeCount + ringEdges + background > MAX_EDGES) {
+          throw new IllegalArgumentException("Transfer graph exceeds " + MAX_EDGES + " edges");
+        }
+        if (edgeCount + ringEdges + background > targets.length) {
+          long grown = Math.max((long) targets.length * 3 / 2, edgeCount + ringEdges + background);
+          targets = Arrays.copyOf(targets, (int) Math.min(MAX_EDGES, grown));
+        }
+        if (member >= 0) {
+          edgeCount =
+              addRingEdges(
+                  ringKinds[ring],
+                  ringMembers,
+                  ringOffsets[ring],
+                  ringSize(ringOffsets, ring),
+                  position,
+                  targets,
+                  edgeCount);
+        }
+        for (int i = 0; i < background; i++) {
+          int payee = edges.nextInt(accountCount - 1);
+          targets[edgeCount++] = payee >= account ? payee + 1 : payee;
+        }
+      }
+      offsets[accountCount] = edgeCount;
+
+      return new TransferGraph(
+          offsets,
+          edgeCount == targets.length ? targets : Arrays.copyOf(targets, edgeCount),
+          ringOffsets,
+          ringMembers,
+          ringKinds);
+    }
+
+    /* Draws the kind, size and distinct member accounts of every ring. */
+    private int[] planRings(RandomGenerator random, int[] ringOffsets, RingKind[] ringKinds) {
+      for (int ring = 0; ring < ringCount; ring++) {
+        ringKinds[ring] = RING_KINDS[random.nextInt(RING_KINDS.length)];
+        int size = minRingSize + random.nextInt(maxRingSize - minRingSize + 1);
+        ringOffsets[ring + 1] = ringOffsets[ring] + size;
+      }
+      int[] members = new int[ringOffsets[ringCount]];
+      BitSet taken = new BitSet(accountCount);
+      for (int i = 0; i < members.length; i++) {
+        int account;
+        do {
+          account = random.nextInt(accountCount);
+        } while (taken.get(account));
+        taken.set(account);
+        members[i] = account;
+      }
+      return members;
+    }
+
+    private static int ringOf(int[] ringOffsets, int member) {
+      int found = Arrays.binarySearch(ringOffsets, member);
+      // An exact hit is the first member of that ring, otherwise the ring starting before it
+      return found >= 0 ? found : -found - 2;
+    }
+
+    private static int ringSize(int[] ringOffsets, int ring) {
+      return ringOffsets[ring + 1] - ringOffsets[ring];
+    }
+
+    private static int ringEdgeCount(RingKind kind, int size, int position) {
+      return switch (kind) {
+        case CHAIN, FAN_IN -> position == size - 1 ? 0 : 1;
+        case CYCLE -> 1;
+        case FAN_OUT -> position == 0 ? size - 1 : 0;
+      };
+    }
+
+    /* Appends the ring edges of the member at a position of a ring, see {@link RingKind}. */
+    private static int addRingEdges(
+        RingKind kind,
+        int[] ringMembers,
+        int first,
+        int size,
+        int position,
+        int[] targets,
+        int edgeCount) {
+      switch (kind) {
+        case CHAIN -> {
+          if (position < size - 1) {
+            targets[edgeCount++] = ringMembers[first + position + 1];
+          }
+        }
+        case CYCLE -> targets[edgeCount++] = ringMembers[first + (position + 1) % size];
+        case FAN_OUT -> {
+          if (position == 0) {
+            for (int i = 1; i < size; i++) {
+              targets[edgeCount++] = ringMembers[first + i];
+            }
+          }
+        }
+        case FAN_IN -> {
+          if (position < size - 1) {
+            targets[edgeCount++] = ringMembers[first + size - 1];
+          }
+        }
+      }
+      return edgeCount;
+    }
+  }
+}
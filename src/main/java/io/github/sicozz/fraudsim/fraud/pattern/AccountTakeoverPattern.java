@@ -0,0 +1,104 @@
+package io.github.sicozz.fraudsim.fraud.pattern;
+
+import io.github.sicozz.fraudsim.domain.model.MetadataKeys;
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicator;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.payment.Card;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionTypes;
+import io.github.sicozz.fraudsim.fraud.FraudContext;
+import io.github.sicozz.fraudsim.fraud.FraudInjector;
+import io.github.sicozz.fraudsim.fraud.FraudPattern;
+import io.github.sicozz.fraudsim.fraud.FraudPatterns;
+import io.github.sicozz.fraudsim.fraud.campaign.CampaignEvent;
+import io.github.sicozz.fraudsim.generator.universe.EntityUniverse;
+import java.time.Instant;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Keeps the transaction and follows it with a burst of online card purchases from an unknown
+ * device, as a fraudster who just took over the account would: a few minutes apart, at random
+ * merchants, for amounts around the customer's largest purchase. Each purchase is a campaign event,
+ * so it enters the stream at its own time.
+ */
+public final class AccountTakeoverPattern implements FraudPattern {
+
+  private static final int MIN_BURST = 2;
+  private static final int MAX_BURST = 5;
+  private static final long MIN_GAP_MILLIS = 5_000L;
+  private static final long MAX_GAP_MILLIS = 180_000L;
+
+  private static final TransactionMetadata TAKEOVER_SESSION =
+      TransactionMetadata.of(MetadataKeys.CHANNEL, "web").with(MetadataKeys.DEVICE, "unrecognized");
+
+  @Override
+  public String name() {
+    return FraudPatterns.ACCOUNT_TAKEOVER;
+  }
+
+  @Override
+  public FraudIndicator indicator() {
+    return FraudLabel.ACCOUNT_TAKEOVER;
+  }
+
+  @Override
+  public boolean appliesTo(Transaction transaction, FraudContext context) {
+    return context.customerIndex(transaction.source()) >= 0;
+  }
+
+  @Override
+  public void apply(
+      Transaction transaction, FraudContext context, FraudInjector.Downstream downstream)
+      throws InterruptedException {
+    downstream.accept(transaction);
+
+    EntityUniverse universe = context.universe();
+    RandomGenerator random = context.random();
+    int customer = context.customerIndex(transaction.source());
+    Card card = transaction.paymentMethod() instanceof Card used ? used : universe.card(customer);
+    long largest =
+        Math.max(
+            context.states().snapshot(customer).maxAmount(), transaction.amount().minorUnits());
+
+    int burst = MIN_BURST + random.nextInt(MAX_BURST - MIN_BURST + 1);
+    long epochMillis = transaction.timestamp().toEpochMilli();
+    for (int i = 0; i < burst; i++) {
+      epochMillis += MIN_GAP_MILLIS + (long) (random.nextDouble() * MAX_GAP_MILLIS);
+      long amount = Math.max(1, Math.round(largest * (0.5 + random.nextDouble() * 1.5)));
+      context
+          .campaigns()
+          .schedule(
+              epochMillis,
+              new TakeoverPurchase(customer, card, amount, transaction.amount().currency()));
+    }
+  }
+
+  /* One purchase of the burst, at a random merchant. */
+  private record TakeoverPurchase(int customer, Card card, long amount, Currency currency)
+      implements CampaignEvent {
+
+    @Override
+    public void fire(long dueMillis, FraudContext context, FraudInjector.Downstream downstream)
+        throws InterruptedException {
+      EntityUniverse universe = context.universe();
+      downstream.accept(
+          TransactionBuilder.forThread()
+              .withTimestamp(Instant.ofEpochMilli(dueMillis))
+              .withAmount(Money.ofMinor(amount, currency))
+              .withStatus(TransactionStatus.COMPLETED)
+              .withType(TransactionTypes.card(card.network(), false, true, true))
+              .withSource(universe.customer(customer))
+              .withDestination(
+                  universe.merchant(context.random().nextInt(universe.merchantCount())))
+              .withPaymentMethod(card)
+              .withMetadata(TAKEOVER_SESSION)
+              .addFraudIndicator(FraudLabel.ACCOUNT_TAKEOVER)
+              .build());
+    }
+  }
+}
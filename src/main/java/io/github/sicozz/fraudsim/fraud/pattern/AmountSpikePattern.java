@@ -0,0 +1,40 @@
+package io.github.sicozz.fraudsim.fraud.pattern;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicator;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.fraud.FraudContext;
+import io.github.sicozz.fraudsim.fraud.FraudInjector;
+import io.github.sicozz.fraudsim.fraud.FraudPattern;
+import io.github.sicozz.fraudsim.fraud.FraudPatterns;
+
+/* Rewrites the amount to several times the customer's usual spending. */
+public final class AmountSpikePattern implements FraudPattern {
+
+  private static final double MIN_FACTOR = 5.0;
+  private static final double MAX_FACTOR = 20.0;
+
+  @Override
+  public String name() {
+    return FraudPatterns.AMOUNT_SPIKE;
+  }
+
+  @Override
+  public FraudIndicator indicator() {
+    return FraudLabel.AMOUNT_SPIKE;
+  }
+
+  @Override
+  public void apply(
+      Transaction transaction, FraudContext context, FraudInjector.Downstream downstream)
+      throws InterruptedException {
+    int customer = context.customerIndex(transaction.source());
+    long usual = customer < 0 ? 0 : context.states().snapshot(customer).averageAmount();
+    long base = Math.max(usual, transaction.amount().minorUnits());
+    double factor = MIN_FACTOR + context.random().nextDouble() * (MAX_FACTOR - MIN_FACTOR);
+
+    Money spiked = Money.ofMinor(Math.round(base * factor), transaction.amount().currency());
+    downstream.accept(transaction.withAmount(spiked).withFraudIndicator(indicator()));
+  }
+}
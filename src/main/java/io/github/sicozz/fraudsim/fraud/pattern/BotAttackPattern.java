@@ -0,0 +1,107 @@
+package io.github.sicozz.fraudsim.fraud.pattern;
+
+import io.github.sicozz.fraudsim.domain.model.MetadataKeys;
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicator;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.payment.Card;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionTypes;
+import io.github.sicozz.fraudsim.fraud.FraudContext;
+import io.github.sicozz.fraudsim.fraud.FraudInjector;
+import io.github.sicozz.fraudsim.fraud.FraudPattern;
+import io.github.sicozz.fraudsim.fraud.FraudPatterns;
+import io.github.sicozz.fraudsim.fraud.campaign.CampaignEvent;
+import io.github.sicozz.fraudsim.generator.universe.EntityUniverse;
+import java.time.Instant;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Keeps the transaction and, a few minutes later, starts a bot testing cards on its merchant's
+ * checkout: a small online purchase with another customer's card every few seconds, for a few
+ * minutes. The attack is one recurring campaign event.
+ */
+public final class BotAttackPattern implements FraudPattern {
+
+  private static final long MIN_DELAY_MILLIS = 60_000L;
+  private static final long MAX_DELAY_MILLIS = 5 * 60_000L;
+  private static final long MIN_PERIOD_MILLIS = 2_000L;
+  private static final long MAX_PERIOD_MILLIS = 10_000L;
+  private static final int MIN_ATTEMPTS = 20;
+  private static final int MAX_ATTEMPTS = 100;
+  // Card testing amounts, uniform in major units
+  private static final double MIN_AMOUNT = 1;
+  private static final double MAX_AMOUNT = 5;
+
+  private static final TransactionMetadata BOT_SESSION =
+      TransactionMetadata.of(MetadataKeys.CHANNEL, "web").with(MetadataKeys.DEVICE, "headless");
+
+  @Override
+  public String name() {
+    return FraudPatterns.BOT_ATTACK;
+  }
+
+  @Override
+  public FraudIndicator indicator() {
+    return FraudLabel.VELOCITY;
+  }
+
+  @Override
+  public boolean appliesTo(Transaction transaction, FraudContext context) {
+    return context.merchantIndex(transaction.destination()) >= 0;
+  }
+
+  @Override
+  public void apply(
+      Transaction transaction, FraudContext context, FraudInjector.Downstream downstream)
+      throws InterruptedException {
+    downstream.accept(transaction);
+
+    RandomGenerator random = context.random();
+    long start =
+        transaction.timestamp().toEpochMilli()
+            + MIN_DELAY_MILLIS
+            + (long) (random.nextDouble() * (MAX_DELAY_MILLIS - MIN_DELAY_MILLIS));
+    long period =
+        MIN_PERIOD_MILLIS + (long) (random.nextDouble() * (MAX_PERIOD_MILLIS - MIN_PERIOD_MILLIS));
+    int attempts = MIN_ATTEMPTS + random.nextInt(MAX_ATTEMPTS - MIN_ATTEMPTS + 1);
+    context
+        .campaigns()
+        .scheduleRecurring(
+            start,
+            period,
+            attempts,
+            new CardTest(
+                context.merchantIndex(transaction.destination()), transaction.amount().currency()));
+  }
+
+  /* One attempt of the bot, with the card of a random customer. */
+  private record CardTest(int merchant, Currency currency) implements CampaignEvent {
+
+    @Override
+    public void fire(long dueMillis, FraudContext context, FraudInjector.Downstream downstream)
+        throws InterruptedException {
+      EntityUniverse universe = context.universe();
+      RandomGenerator random = context.random();
+      int customer = random.nextInt(universe.customerCount());
+      Card card = universe.card(customer);
+      double amount = MIN_AMOUNT + random.nextDouble() * (MAX_AMOUNT - MIN_AMOUNT);
+      downstream.accept(
+          TransactionBuilder.forThread()
+              .withTimestamp(Instant.ofEpochMilli(dueMillis))
+              .withAmount(Money.of(amount, currency))
+              .withStatus(TransactionStatus.COMPLETED)
+              .withType(TransactionTypes.card(card.network(), false, true, false))
+              .withSource(universe.customer(customer))
+              .withDestination(universe.merchant(merchant))
+              .withPaymentMethod(card)
+              .withMetadata(BOT_SESSION)
+              .addFraudIndicator(FraudLabel.VELOCITY)
+              .build());
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package io.github.sicozz.fraudsim.fraud.pattern;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicator;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.fraud.FraudContext;
+import io.github.sicozz.fraudsim.fraud.FraudInjector;
+import io.github.sicozz.fraudsim.fraud.FraudPattern;
+import io.github.sicozz.fraudsim.fraud.FraudPatterns;
+import io.github.sicozz.fraudsim.generator.universe.EntityUniverse;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Moves the transaction to a merchant the customer doesn't use, in another category than the
+ * original merchant when one can be found in a few draws.
+ */
+public final class MerchantAnomalyPattern implements FraudPattern {
+
+  private static final int MAX_DRAWS = 8;
+
+  @Override
+  public String name() {
+    return FraudPatterns.MERCHANT_ANOMALY;
+  }
+
+  @Override
+  public FraudIndicator indicator() {
+    return FraudLabel.MERCHANT_ANOMALY;
+  }
+
+  @Override
+  public boolean appliesTo(Transaction transaction, FraudContext context) {
+    return context.customerIndex(transaction.source()) >= 0
+        && context.merchantIndex(transaction.destination()) >= 0
+        && context.universe().merchantCount() > 1;
+  }
+
+  @Override
+  public void apply(
+      Transaction transaction, FraudContext context, FraudInjector.Downstream downstream)
+      throws InterruptedException {
+    EntityUniverse universe = context.universe();
+    RandomGenerator random = context.random();
+    int customer = context.customerIndex(transaction.source());
+    int original = context.merchantIndex(transaction.destination());
+    String originalMcc = universe.merchantMcc(original);
+
+    int merchant = original;
+    for (int draw = 0; draw < MAX_DRAWS; draw++) {
+      int candidate = random.nextInt(universe.merchantCount());
+      if (candidate == original || context.states().isHomeMerchant(customer, candidate)) {
+        continue;
+      }
+      merchant = candidate;
+      if (!universe.merchantMcc(candidate).equals(originalMcc)) {
+        break;
+      }
+    }
+    if (merchant == original) {
+      merchant = (original + 1) % universe.merchantCount();
+    }
+
+    downstream.accept(
+        transaction.withDestination(universe.merchant(merchant)).withFraudIndicator(indicator()));
+  }
+}
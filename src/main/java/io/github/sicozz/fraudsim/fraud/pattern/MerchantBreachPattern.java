@@ -0,0 +1,101 @@
+package io.github.sicozz.fraudsim.fraud.pattern;
+
+import io.github.sicozz.fraudsim.domain.model.MetadataKeys;
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicator;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.payment.Card;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionTypes;
+import io.github.sicozz.fraudsim.fraud.FraudContext;
+import io.github.sicozz.fraudsim.fraud.FraudInjector;
+import io.github.sicozz.fraudsim.fraud.FraudPattern;
+import io.github.sicozz.fraudsim.fraud.FraudPatterns;
+import io.github.sicozz.fraudsim.fraud.campaign.CampaignEvent;
+import io.github.sicozz.fraudsim.generator.universe.EntityUniverse;
+import java.time.Instant;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Keeps the transaction and treats its merchant as breached: hours later, the stolen card data
+ * comes back as a wave of card-not-present purchases at other merchants, spread over a few hours.
+ * The wave is scheduled as one campaign event per compromised card.
+ */
+public final class MerchantBreachPattern implements FraudPattern {
+
+  private static final int MIN_CARDS = 5;
+  private static final int MAX_CARDS = 20;
+  private static final long MIN_DELAY_MILLIS = 2 * 3_600_000L;
+  private static final long MAX_DELAY_MILLIS = 12 * 3_600_000L;
+  private static final long WAVE_MILLIS = 3 * 3_600_000L;
+  // Amounts of the fraudulent purchases, uniform in major units
+  private static final double MIN_AMOUNT = 50;
+  private static final double MAX_AMOUNT = 800;
+
+  private static final TransactionMetadata CARD_NOT_PRESENT =
+      TransactionMetadata.of(MetadataKeys.CHANNEL, "web").with(MetadataKeys.DEVICE, "unrecognized");
+
+  @Override
+  public String name() {
+    return FraudPatterns.MERCHANT_BREACH;
+  }
+
+  @Override
+  public FraudIndicator indicator() {
+    return FraudLabel.BREACHED_CARD;
+  }
+
+  @Override
+  public boolean appliesTo(Transaction transaction, FraudContext context) {
+    return context.merchantIndex(transaction.destination()) >= 0;
+  }
+
+  @Override
+  public void apply(
+      Transaction transaction, FraudContext context, FraudInjector.Downstream downstream)
+      throws InterruptedException {
+    downstream.accept(transaction);
+
+    RandomGenerator random = context.random();
+    Currency currency = transaction.amount().currency();
+    long waveStart =
+        transaction.timestamp().toEpochMilli()
+            + MIN_DELAY_MILLIS
+            + (long) (random.nextDouble() * (MAX_DELAY_MILLIS - MIN_DELAY_MILLIS));
+    int cards = MIN_CARDS + random.nextInt(MAX_CARDS - MIN_CARDS + 1);
+    for (int i = 0; i < cards; i++) {
+      int customer = random.nextInt(context.universe().customerCount());
+      long dueMillis = waveStart + (long) (random.nextDouble() * WAVE_MILLIS);
+      context.campaigns().schedule(dueMillis, new StolenCardPurchase(customer, currency));
+    }
+  }
+
+  /* A purchase with the card of a customer whose data was stolen. */
+  private record StolenCardPurchase(int customer, Currency currency) implements CampaignEvent {
+
+    @Override
+    public void fire(long dueMillis, FraudContext context, FraudInjector.Downstream downstream)
+        throws InterruptedException {
+      EntityUniverse universe = context.universe();
+      RandomGenerator random = context.random();
+      Card card = universe.card(customer);
+      double amount = MIN_AMOUNT + random.nextDouble() * (MAX_AMOUNT - MIN_AMOUNT);
+      downstream.accept(
+          TransactionBuilder.forThread()
+              .withTimestamp(Instant.ofEpochMilli(dueMillis))
+              .withAmount(Money.of(amount, currency))
+              .withStatus(TransactionStatus.COMPLETED)
+              .withType(TransactionTypes.card(card.network(), false, true, random.nextBoolean()))
+              .withSource(universe.customer(customer))
+              .withDestination(universe.merchant(random.nextInt(universe.merchantCount())))
+              .withPaymentMethod(card)
+              .withMetadata(CARD_NOT_PRESENT)
+              .addFraudIndicator(FraudLabel.BREACHED_CARD)
+              .build());
+    }
+  }
+}
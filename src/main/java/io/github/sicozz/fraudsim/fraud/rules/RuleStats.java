@@ -0,0 +1,38 @@
+package io.github.sicozz.fraudsim.fraud.rules;
+
+/**
+ * Snapshot of the work of {@link ScenarioRules}. Rates are per second of rule evaluation, i.e. what
+ * one inject worker can push through the rules; when they approach the generation rate the
+ * scenarios, not the generator, cap the run.
+ *
+ * @param batches Micro-batches evaluated
+ * @param facts Transactions evaluated
+ * @param fired Rule activations fired
+ * @param evaluationNanos Time spent in rule sessions, summed over workers
+ */
+public record RuleStats(long batches, long facts, long fired, long evaluationNanos) {
+
+  public double factsPerSecond() {
+    return evaluationNanos == 0 ? 0 : facts * 1e9 / evaluationNanos;
+  }
+
+  public double firingsPerSecond() {
+    return evaluationNanos == 0 ? 0 : fired * 1e9 / evaluationNanos;
+  }
+
+  /* Returns the work done since an earlier snapshot. */
+  public RuleStats since(RuleStats earlier) {
+    return new RuleStats(
+        batches - earlier.batches,
+        facts - earlier.facts,
+        fired - earlier.fired,
+        evaluationNanos - earlier.evaluationNanos);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "batches=%d, facts=%d, fired=%d, evaluation=%.1f facts/s, %.1f firings/s",
+        batches, facts, fired, factsPerSecond(), firingsPerSecond());
+  }
+}
@@ -0,0 +1,104 @@
+package io.github.sicozz.fraudsim.fraud.rules;
+
+import io.github.sicozz.fraudsim.domain.model.MetadataKeys;
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.fraud.FraudContext;
+import io.github.sicozz.fraudsim.fraud.FraudPatterns;
+import io.github.sicozz.fraudsim.fraud.state.VelocityWindows;
+
+/**
+ * What a scenario rule matches on: a generated transaction seen through JavaBean properties, e.g.
+ * {@code ScenarioFact(channel == "web", amountMinor > 50000)}. Properties reading the customer's
+ * history are computed on first use and reflect the state at the start of the micro-batch.
+ *
+ * <p>A rule selects the transaction for a fraud pattern with {@link #inject(String)}; the first
+ * rule to fire wins, so rules that may select the same transaction need a {@code salience} to
+ * decide which one does.
+ */
+public final class ScenarioFact {
+
+  private static final long MINUTE_MILLIS = 60_000L;
+
+  private final Transaction transaction;
+  private final FraudContext context;
+  private String pattern;
+  // History properties, -1 until first read: rules may read them many times per fact
+  private int customerTransactionsLastMinute = -1;
+  private long customerMaxAmountMinor = -1;
+
+  ScenarioFact(Transaction transaction, FraudContext context) {
+    this.transaction = transaction;
+    this.context = context;
+  }
+
+  public Transaction getTransaction() {
+    return transaction;
+  }
+
+  public long getAmountMinor() {
+    return transaction.amount().minorUnits();
+  }
+
+  public String getCurrency() {
+    return transaction.amount().currency().name();
+  }
+
+  /* Returns the type code, e.g. {@code CARD} or {@code TRANSFER}. */
+  public String getTypeCode() {
+    return transaction.type().getTypeCode();
+  }
+
+  /* Returns the channel metadata, e.g. {@code web}, {@code pos} or {@code bank}, null if unset. */
+  public String getChannel() {
+    return transaction.metadata() == null ? null : transaction.metadata().get(MetadataKeys.CHANNEL);
+  }
+
+  /* Returns the hour of the transaction time, 0 to 23, in UTC. */
+  public int getHourOfDay() {
+    return (int) Math.floorMod(transaction.timestamp().getEpochSecond() / 3_600, 24L);
+  }
+
+  /* Returns the number of transactions of the customer in the minute before this one. */
+  public int getCustomerTransactionsLastMinute() {
+    if (customerTransactionsLastMinute < 0) {
+      int customer = context.customerIndex(transaction.source());
+      customerTransactionsLastMinute =
+          customer < 0
+              ? 0
+              : context
+                  .velocity()
+                  .count(
+                      VelocityWindows.customerKey(customer),
+                      transaction.timestamp().toEpochMilli(),
+                      MINUTE_MILLIS);
+    }
+    return customerTransactionsLastMinute;
+  }
+
+  /* Returns the largest amount the customer spent before, 0 for an unknown customer. */
+  public long getCustomerMaxAmountMinor() {
+    if (customerMaxAmountMinor < 0) {
+      int customer = context.customerIndex(transaction.source());
+      customerMaxAmountMinor = customer < 0 ? 0 : context.states().snapshot(customer).maxAmount();
+    }
+    return customerMaxAmountMinor;
+  }
+
+  /* Returns the pattern a rule selected the transaction for, null if none did. */
+  public String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Selects the transaction for a fraud pattern, unless a rule did already.
+   *
+   * @param pattern The name of a pattern registered in {@link FraudPatterns}
+   * @throws IllegalArgumentException If no pattern has that name
+   */
+  public void inject(String pattern) {
+    FraudPatterns.get(pattern);
+    if (this.pattern == null) {
+      this.pattern = pattern;
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package io.github.sicozz.fraudsim.fraud.rules;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.fraud.FraudContext;
+import io.github.sicozz.fraudsim.fraud.FraudPatterns;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.Results;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.io.KieResources;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.StatelessKieSession;
+import org.kie.api.runtime.rule.ConsequenceException;
+import org.kie.internal.utils.KieHelper;
+
+/**
+ * Fraud scenarios written as DRL rules over {@link ScenarioFact}s. The rules are compiled into a
+ * {@link KieBase} once, when the set is created, and every evaluation runs a stateless session over
+ * a micro-batch of transactions: the facts are inserted and the rules fired in a single session
+ * call, so the cost of a session is spread over the batch. Evaluation is thread-safe.
+ *
+ * <p>Every evaluation is counted in {@link #stats()}, so a run can tell whether the rules keep up
+ * with the generator.
+ *
+ * <p>The pattern names rules pass to {@link ScenarioFact#inject(String)} as string literals are
+ * checked against {@link FraudPatterns} when the rules are compiled. A name computed at run time is
+ * checked when its rule fires, failing the evaluation with the name of the rule.
+ */
+public final class ScenarioRules {
+
+  // A literal pattern name passed to inject()
+  private static final Pattern INJECTED_PATTERN =
+      Pattern.compile("\\.inject\\(\\s*\"([^\"]*)\"\\s*\\)");
+
+  private final StatelessKieSession session;
+  private final int batchSize;
+
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder facts = new LongAdder();
+  private final LongAdder fired = new LongAdder();
+  private final LongAdder evaluationNanos = new LongAdder();
+
+  private ScenarioRules(KieBase base, int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Rule batch size must be positive: " + batchSize);
+    }
+    this.session = base.newStatelessKieSession();
+    this.session.addEventListener(
+        new DefaultAgendaEventListener() {
+          @Override
+          public void afterMatchFired(AfterMatchFiredEvent event) {
+            fired.increment();
+          }
+        });
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Compiles the DRL files at the given classpath locations.
+   *
+   * @param paths The classpath locations, e.g. {@code rules/fraud-scenarios.drl}
+   * @param batchSize The number of transactions evaluated per session
+   * @return The compiled rules
+   * @throws IllegalArgumentException If a file is missing, doesn't compile or names an unknown
+   *     pattern
+   */
+  public static ScenarioRules fromClasspath(List<String> paths, int batchSize) {
+    KieResources resources = KieServices.get().getResources();
+    KieHelper helper = new KieHelper();
+    for (String path : paths) {
+      URL resource = ScenarioRules.class.getClassLoader().getResource(path);
+      if (resource == null) {
+        throw new IllegalArgumentException("Scenario rules not found on the classpath: " + path);
+      }
+      checkPatternNames(read(resource), path);
+      helper.addResource(resources.newClassPathResource(path), ResourceType.DRL);
+    }
+    return new ScenarioRules(compile(helper), batchSize);
+  }
+
+  /**
+   * Compiles rules given as DRL source.
+   *
+   * @param drl The DRL source
+   * @param batchSize The number of transactions evaluated per session
+   * @return The compiled rules
+   * @throws IllegalArgumentException If the source doesn't compile or names an unknown pattern
+   */
+  public static ScenarioRules fromDrl(String drl, int batchSize) {
+    checkPatternNames(drl, "DRL source");
+    return new ScenarioRules(compile(new KieHelper().addContent(drl, ResourceType.DRL)), batchSize);
+  }
+
+  /* Checks the pattern names given to inject() as literals, the others are checked on firing. */
+  private static void checkPatternNames(String drl, String origin) {
+    Matcher matcher = INJECTED_PATTERN.matcher(drl);
+    while (matcher.find()) {
+      if (!FraudPatterns.names().contains(matcher.group(1))) {
+        throw new IllegalArgumentException(
+            "Scenario rules in "
+                + origin
+                + " inject unknown fraud pattern "
+                + matcher.group(1)
+                + ", expected one of "
+                + FraudPatterns.names());
+      }
+    }
+  }
+
+  private static String read(URL resource) {
+    try (InputStream in = resource.openStream()) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Can't read scenario rules: " + resource, e);
+    }
+  }
+
+  private static KieBase compile(KieHelper helper) {
+    Results results = helper.verify();
+    if (results.hasMessages(Message.Level.ERROR)) {
+      throw new IllegalArgumentException(
+          "Invalid scenario rules: " + results.getMessages(Message.Level.ERROR));
+    }
+    return helper.build();
+  }
+
+  /* Returns the number of transactions to evaluate per call to {@link #evaluate}. */
+  public int batchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Runs the rules over a micro-batch of transactions.
+   *
+   * @param batch The transactions
+   * @param context The universe and state the facts read the customer history from
+   * @return For every transaction, the pattern a rule selected it for, or null
+   */
+  public String[] evaluate(List<Transaction> batch, FraudContext context) {
+    List<ScenarioFact> batchFacts = new ArrayList<>(batch.size());
+    for (Transaction transaction : batch) {
+      batchFacts.add(new ScenarioFact(transaction, context));
+    }
+
+    // Inserts the whole batch and fires the rules in a single session
+    long start = System.nanoTime();
+    try {
+      session.execute(batchFacts);
+    } catch (ConsequenceException e) {
+      throw new IllegalArgumentException(
+          "Scenario rule \"" + e.getMatch().getRule().getName() + "\" failed: " + e.getCause(), e);
+    }
+    evaluationNanos.add(System.nanoTime() - start);
+    batches.increment();
+    facts.add(batch.size());
+
+    String[] patterns = new String[batch.size()];
+    for (int i = 0; i < patterns.length; i++) {
+      patterns[i] = batchFacts.get(i).getPattern();
+    }
+    return patterns;
+  }
+
+  public RuleStats stats() {
+    return new RuleStats(batches.sum(), facts.sum(), fired.sum(), evaluationNanos.sum());
+  }
+}
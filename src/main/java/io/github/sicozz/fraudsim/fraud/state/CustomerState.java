@@ -0,0 +1,23 @@
+package io.github.sicozz.fraudsim.fraud.state;
+
+/**
+ * Copy of the state of one customer, as kept by {@link CustomerStateStore}.
+ *
+ * @param lastTransactionMillis The time of the last transaction, epoch milliseconds, 0 if none
+ * @param transactionCount The number of transactions recorded
+ * @param totalSpend The sum of the amounts, in minor units
+ * @param maxAmount The largest amount, in minor units
+ * @param homeMerchants The ids of the customer's home merchants, in slot order
+ */
+public record CustomerState(
+    long lastTransactionMillis,
+    int transactionCount,
+    long totalSpend,
+    long maxAmount,
+    int[] homeMerchants) {
+
+  /* Returns the mean amount, in minor units, 0 before the first transaction. */
+  public long averageAmount() {
+    return transactionCount == 0 ? 0 : totalSpend / transactionCount;
+  }
+}
@@ -0,0 +1,259 @@
+package io.github.sicozz.fraudsim.fraud.state;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mutable behavioral state of every customer of a universe, kept off heap so its size doesn't weigh
+ * on the garbage collector whatever the population. The state of customer {@code i} is a fixed
+ * block of {@link #STRIDE} bytes at offset {@code i * STRIDE} of a single {@link MemorySegment}, in
+ * native byte order:
+ *
+ * <pre>
+ *   0  long   last transaction time, epoch milliseconds, 0 before the first one
+ *   8  long   total spend, minor units
+ *  16  long   largest amount, minor units
+ *  24  long   index of the current velocity window
+ *  32  int    transaction count
+ *  36  int    transactions in the current velocity window
+ *  40  4 x int home merchants, merchant id + 1, 0 for an empty slot
+ *  56  8 reserved bytes
+ * </pre>
+ *
+ * A block is exactly one cache line, so updates to different customers don't contend. Updates of a
+ * block take one of a fixed set of striped locks, picked by customer id, which keeps every block
+ * consistent while letting unrelated customers proceed in parallel. The memory is released by
+ * {@link #close()}.
+ */
+public final class CustomerStateStore implements AutoCloseable {
+
+  public static final int STRIDE = 64;
+  public static final int HOME_MERCHANT_SLOTS = 4;
+
+  private static final int DEFAULT_STRIPES = 1024;
+
+  private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG;
+  private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT;
+
+  private static final int LAST_MILLIS = 0;
+  private static final int TOTAL_SPEND = 8;
+  private static final int MAX_AMOUNT = 16;
+  private static final int VELOCITY_WINDOW = 24;
+  private static final int COUNT = 32;
+  private static final int VELOCITY_COUNT = 36;
+  private static final int HOME_MERCHANTS = 40;
+
+  private final Arena arena;
+  private final MemorySegment states;
+  private final int customerCount;
+  private final long velocityWindowMillis;
+  private final ReentrantLock[] stripes;
+
+  /**
+   * Allocates a zeroed state for every customer, with the default number of lock stripes.
+   *
+   * @param customerCount The number of customers, ids being in [0, customerCount)
+   * @param velocityWindowMillis The length of the fixed windows velocity is counted over
+   */
+  public CustomerStateStore(int customerCount, long velocityWindowMillis) {
+    this(customerCount, velocityWindowMillis, DEFAULT_STRIPES);
+  }
+
+  /**
+   * Allocates a zeroed state for every customer.
+   *
+   * @param customerCount The number of customers, ids being in [0, customerCount)
+   * @param velocityWindowMillis The length of the fixed windows velocity is counted over
+   * @param stripeCount The number of locks, rounded up to a power of two
+   */
+  public CustomerStateStore(int customerCount, long velocityWindowMillis, int stripeCount) {
+    if (customerCount < 1) {
+      throw new IllegalArgumentException("Customer count must be positive: " + customerCount);
+    }
+    if (velocityWindowMillis < 1) {
+      throw new IllegalArgumentException("Velocity window must be positive");
+    }
+    if (stripeCount < 1 || stripeCount > 1 << 16) {
+      throw new IllegalArgumentException("Stripe count must be in [1, 65536]: " + stripeCount);
+    }
+    this.customerCount = customerCount;
+    this.velocityWindowMillis = velocityWindowMillis;
+    this.arena = Arena.ofShared();
+    this.states = arena.allocate((long) STRIDE * customerCount, STRIDE);
+    this.stripes =
+        new ReentrantLock[stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  public int customerCount() {
+    return customerCount;
+  }
+
+  /* Returns the off-heap memory taken by the states, in bytes. */
+  public long byteSize() {
+    return states.byteSize();
+  }
+
+  /**
+   * Records a transaction of a customer: updates the last transaction time, the spend totals, the
+   * velocity count and the home merchants.
+   *
+   * @param customer The customer id
+   * @param epochMillis The transaction time, in UTC milliseconds since the epoch
+   * @param amountMinorUnits The amount, in minor units
+   * @param merchant The merchant id, or -1 when the transaction has no merchant
+   */
+  public void record(int customer, long epochMillis, long amountMinorUnits, int merchant) {
+    long base = offset(customer);
+    ReentrantLock lock = stripe(customer);
+    lock.lock();
+    try {
+      states.set(LONG, base + LAST_MILLIS, Math.max(epochMillis, lastMillis(base)));
+      states.set(LONG, base + TOTAL_SPEND, states.get(LONG, base + TOTAL_SPEND) + amountMinorUnits);
+      if (amountMinorUnits > states.get(LONG, base + MAX_AMOUNT)) {
+        states.set(LONG, base + MAX_AMOUNT, amountMinorUnits);
+      }
+      int count = states.get(INT, base + COUNT);
+      states.set(INT, base + COUNT, count + 1);
+
+      long window = Math.floorDiv(epochMillis, velocityWindowMillis);
+      if (window == states.get(LONG, base + VELOCITY_WINDOW)) {
+        states.set(INT, base + VELOCITY_COUNT, states.get(INT, base + VELOCITY_COUNT) + 1);
+      } else if (window > states.get(LONG, base + VELOCITY_WINDOW) || count == 0) {
+        states.set(LONG, base + VELOCITY_WINDOW, window);
+        states.set(INT, base + VELOCITY_COUNT, 1);
+      }
+
+      if (merchant >= 0) {
+        addHomeMerchant(base, merchant, count);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* Keeps the last distinct merchants, replacing slots round robin once they are all taken. */
+  private void addHomeMerchant(long base, int merchant, int count) {
+    int free = -1;
+    for (int slot = 0; slot < HOME_MERCHANT_SLOTS; slot++) {
+      int stored = states.get(INT, base + HOME_MERCHANTS + 4L * slot);
+      if (stored == merchant + 1) {
+        return;
+      }
+      if (stored == 0 && free < 0) {
+        free = slot;
+      }
+    }
+    int slot = free >= 0 ? free : count % HOME_MERCHANT_SLOTS;
+    states.set(INT, base + HOME_MERCHANTS + 4L * slot, merchant + 1);
+  }
+
+  /* Returns the time of the customer's last transaction, 0 before the first one. */
+  public long lastTransactionMillis(int customer) {
+    long base = offset(customer);
+    ReentrantLock lock = stripe(customer);
+    lock.lock();
+    try {
+      return lastMillis(base);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns how many transactions the customer made in the velocity window holding the given time,
+   * 0 once the window is over.
+   *
+   * @param customer The customer id
+   * @param epochMillis The current time, in UTC milliseconds since the epoch
+   * @return The transaction count of the window
+   */
+  public int velocity(int customer, long epochMillis) {
+    long base = offset(customer);
+    ReentrantLock lock = stripe(customer);
+    lock.lock();
+    try {
+      boolean current =
+          states.get(LONG, base + VELOCITY_WINDOW)
+              == Math.floorDiv(epochMillis, velocityWindowMillis);
+      return current ? states.get(INT, base + VELOCITY_COUNT) : 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* Returns whether the merchant is one of the customer's home merchants. */
+  public boolean isHomeMerchant(int customer, int merchant) {
+    long base = offset(customer);
+    ReentrantLock lock = stripe(customer);
+    lock.lock();
+    try {
+      for (int slot = 0; slot < HOME_MERCHANT_SLOTS; slot++) {
+        if (states.get(INT, base + HOME_MERCHANTS + 4L * slot) == merchant + 1) {
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* Returns a consistent copy of the customer's state. */
+  public CustomerState snapshot(int customer) {
+    long base = offset(customer);
+    ReentrantLock lock = stripe(customer);
+    lock.lock();
+    try {
+      int[] homeMerchants = new int[HOME_MERCHANT_SLOTS];
+      int homeMerchantCount = 0;
+      for (int slot = 0; slot < HOME_MERCHANT_SLOTS; slot++) {
+        int stored = states.get(INT, base + HOME_MERCHANTS + 4L * slot);
+        if (stored != 0) {
+          homeMerchants[homeMerchantCount++] = stored - 1;
+        }
+      }
+      return new CustomerState(
+          lastMillis(base),
+          states.get(INT, base + COUNT),
+          states.get(LONG, base + TOTAL_SPEND),
+          states.get(LONG, base + MAX_AMOUNT),
+          Arrays.copyOf(homeMerchants, homeMerchantCount));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* Clears the state of every customer. Not atomic with respect to concurrent updates. */
+  public void clear() {
+    states.fill((byte) 0);
+  }
+
+  /* Releases the memory. The store must not be used afterwards. */
+  @Override
+  public void close() {
+    arena.close();
+  }
+
+  private long lastMillis(long base) {
+    return states.get(LONG, base + LAST_MILLIS);
+  }
+
+  private long offset(int customer) {
+    if (customer < 0 || customer >= customerCount) {
+      throw new IndexOutOfBoundsException(
+          "Customer " + customer + " out of bounds for " + customerCount);
+    }
+    return (long) customer * STRIDE;
+  }
+
+  private ReentrantLock stripe(int customer) {
+    // Neighbouring customers land on different stripes
+    return stripes[customer & (stripes.length - 1)];
+  }
+}
@@ -0,0 +1,336 @@
+package io.github.sicozz.fraudsim.fraud.state;
+
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sliding-window activity of keys (customers, cards), for questions like "how many transactions in
+ * the last 60 seconds". Every key gets a fixed-size ring buffer of its latest events (time and
+ * amount) plus a ring of time buckets counting events and summing amounts per {@code bucketMillis},
+ * so a window is answered exactly from the events when they cover it, and to whole buckets when the
+ * key is busier than the ring holds.
+ *
+ * <p>All keys live off heap in one {@link MemorySegment} sized from a memory budget at creation,
+ * which is a hard cap: the table never grows. A key is stored in one of the {@link #GROUP_SIZE}
+ * slots of the group its hash picks; when they are all taken the least recently active key of the
+ * group is evicted, and {@link #evictIdle(long)} frees the keys idle for longer than the idle
+ * timeout. A slot is laid out as follows, in native byte order:
+ *
+ * <pre>
+ *   0  long   key
+ *   8  long   time of the latest event, epoch milliseconds
+ *  16  long   index of the newest time bucket
+ *  24  int    next ring position    28  int   events in the ring, 0 for a free slot
+ *  32  ring:    ringSize x (long time, long amount)
+ *      buckets: bucketCount x int count, then bucketCount x long amount, 8-byte aligned
+ * </pre>
+ *
+ * Updates and reads of a group take one of a fixed set of striped locks. Events of a key are
+ * expected in roughly increasing time order, as the injector sees them.
+ */
+public final class VelocityWindows implements AutoCloseable {
+
+  public static final int GROUP_SIZE = 8;
+
+  private static final int MAX_STRIPES = 1024;
+  private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG;
+  private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT;
+
+  // Key kinds, in the high bits of a key so customer and card keys never collide
+  private static final long CUSTOMER_KEY = 1L << 56;
+  private static final long CARD_KEY = 2L << 56;
+
+  private static final int KEY = 0;
+  private static final int LAST_SEEN = 8;
+  private static final int NEWEST_BUCKET = 16;
+  private static final int RING_HEAD = 24;
+  private static final int RING_COUNT = 28;
+  private static final int RING = 32;
+
+  private final int ringSize;
+  private final int bucketCount;
+  private final long bucketMillis;
+  private final long idleMillis;
+  private final long bucketCountsOffset;
+  private final long bucketSumsOffset;
+  private final long stride;
+  private final int groupCount;
+
+  private final Arena arena;
+  private final MemorySegment slots;
+  private final ReentrantLock[] stripes;
+  private final AtomicInteger keyCount = new AtomicInteger();
+
+  /**
+   * Allocates the table.
+   *
+   * @param memoryBudgetBytes The most memory the table may take, in bytes
+   * @param ringSize The number of latest events kept per key
+   * @param bucketCount The number of time buckets kept per key
+   * @param bucketMillis The length of a time bucket
+   * @param idleMillis How long a key stays without events before {@link #evictIdle(long)} frees it
+   * @throws IllegalArgumentException If the budget doesn't fit a single group of keys
+   */
+  public VelocityWindows(
+      long memoryBudgetBytes, int ringSize, int bucketCount, long bucketMillis, long idleMillis) {
+    if (ringSize < 1 || bucketCount < 1 || bucketMillis < 1 || idleMillis < 1) {
+      throw new IllegalArgumentException("Ring, buckets, bucket length and idle time must be set");
+    }
+    this.ringSize = ringSize;
+    this.bucketCount = bucketCount;
+    this.bucketMillis = bucketMillis;
+    this.idleMillis = idleMillis;
+    this.bucketCountsOffset = RING + 16L * ringSize;
+    this.bucketSumsOffset = align(bucketCountsOffset + 4L * bucketCount);
+    this.stride = bucketSumsOffset + 8L * bucketCount;
+
+    long groups = memoryBudgetBytes / (stride * GROUP_SIZE);
+    if (groups < 1) {
+      throw new IllegalArgumentException(
+          "Memory budget of " + memoryBudgetBytes + " bytes can't hold " + GROUP_SIZE + " keys");
+    }
+    this.groupCount = Integer.highestOneBit((int) Math.min(groups, 1 << 30));
+    this.arena = Arena.ofShared();
+    this.slots = arena.allocate(stride * GROUP_SIZE * groupCount, 8);
+    this.stripes = new ReentrantLock[Math.min(groupCount, MAX_STRIPES)];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  /* Returns the key of a customer of the universe. */
+  public static long customerKey(int customer) {
+    return CUSTOMER_KEY | customer;
+  }
+
+  /**
+   * Returns the key of the card of a customer of the universe, which holds exactly one. Cards are
+   * keyed by their holder rather than by their masked number, which many cards share.
+   */
+  public static long cardKey(int customer) {
+    return CARD_KEY | customer;
+  }
+
+  /* Returns how long a key stays without events before {@link #evictIdle(long)} frees it. */
+  public long idleMillis() {
+    return idleMillis;
+  }
+
+  /* Returns the most keys the table holds at once. */
+  public int keyCapacity() {
+    return groupCount * GROUP_SIZE;
+  }
+
+  /* Returns the number of keys currently held. */
+  public int size() {
+    return keyCount.get();
+  }
+
+  /* Returns the memory taken by the table, in bytes. */
+  public long byteSize() {
+    return slots.byteSize();
+  }
+
+  /**
+   * Records an event of a key, evicting the least recently active key of its group if the key is
+   * new and the group full.
+   *
+   * @param key The key
+   * @param epochMillis The event time, in UTC milliseconds since the epoch
+   * @param amount The event amount, e.g. in minor units
+   */
+  public void record(long key, long epochMillis, long amount) {
+    int group = groupOf(key);
+    ReentrantLock lock = stripe(group);
+    lock.lock();
+    try {
+      long slot = find(group, key);
+      if (slot < 0) {
+        slot = claim(group, key, epochMillis);
+      }
+
+      int head = slots.get(INT, slot + RING_HEAD);
+      long entry = slot + RING + 16L * head;
+      slots.set(LONG, entry, epochMillis);
+      slots.set(LONG, entry + 8, amount);
+      slots.set(INT, slot + RING_HEAD, (head + 1) % ringSize);
+      slots.set(INT, slot + RING_COUNT, Math.min(slots.get(INT, slot + RING_COUNT) + 1, ringSize));
+      if (epochMillis > slots.get(LONG, slot + LAST_SEEN)) {
+        slots.set(LONG, slot + LAST_SEEN, epochMillis);
+      }
+      addToBucket(slot, Math.floorDiv(epochMillis, bucketMillis), amount);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of events of a key in the window {@code (now - windowMillis, now]}.
+   *
+   * @param key The key
+   * @param nowMillis The end of the window, in UTC milliseconds since the epoch
+   * @param windowMillis The length of the window
+   * @return The count, exact when the ring holds every event of the window, otherwise rounded out
+   *     to whole buckets
+   */
+  public int count(long key, long nowMillis, long windowMillis) {
+    return (int) aggregate(key, nowMillis, windowMillis, false);
+  }
+
+  /* Returns the sum of the amounts of a key in a window, with the precision of {@link #count}. */
+  public long sum(long key, long nowMillis, long windowMillis) {
+    return aggregate(key, nowMillis, windowMillis, true);
+  }
+
+  /**
+   * Frees every key without events in the last idle timeout.
+   *
+   * @param nowMillis The current time, in UTC milliseconds since the epoch
+   * @return The number of keys freed
+   */
+  public int evictIdle(long nowMillis) {
+    int evicted = 0;
+    for (int group = 0; group < groupCount; group++) {
+      ReentrantLock lock = stripe(group);
+      lock.lock();
+      try {
+        for (int i = 0; i < GROUP_SIZE; i++) {
+          long slot = slotOffset(group, i);
+          if (slots.get(INT, slot + RING_COUNT) > 0
+              && slots.get(LONG, slot + LAST_SEEN) <= nowMillis - idleMillis) {
+            slots.set(INT, slot + RING_COUNT, 0);
+            evicted++;
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    keyCount.addAndGet(-evicted);
+    return evicted;
+  }
+
+  /* Releases the memory. The table must not be used afterwards. */
+  @Override
+  public void close() {
+    arena.close();
+  }
+
+  private long aggregate(long key, long nowMillis, long windowMillis, boolean amounts) {
+    int group = groupOf(key);
+    ReentrantLock lock = stripe(group);
+    lock.lock();
+    try {
+      long slot = find(group, key);
+      if (slot < 0) {
+        return 0;
+      }
+      long start = nowMillis - windowMillis;
+      int events = slots.get(INT, slot + RING_COUNT);
+      long total = 0;
+      long oldest = Long.MAX_VALUE;
+      for (int i = 0; i < events; i++) {
+        long time = slots.get(LONG, slot + RING + 16L * i);
+        oldest = Math.min(oldest, time);
+        if (time > start && time <= nowMillis) {
+          total += amounts ? slots.get(LONG, slot + RING + 16L * i + 8) : 1;
+        }
+      }
+      if (events < ringSize || oldest <= start) {
+        return total;
+      }
+      return fromBuckets(slot, start + 1, nowMillis, amounts);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long fromBuckets(long slot, long fromMillis, long toMillis, boolean amounts) {
+    long newest = slots.get(LONG, slot + NEWEST_BUCKET);
+    long first = Math.max(Math.floorDiv(fromMillis, bucketMillis), newest - bucketCount + 1);
+    long last = Math.min(Math.floorDiv(toMillis, bucketMillis), newest);
+    long total = 0;
+    for (long bucket = first; bucket <= last; bucket++) {
+      int index = Math.floorMod(bucket, bucketCount);
+      total +=
+          amounts
+              ? slots.get(LONG, slot + bucketSumsOffset + 8L * index)
+              : slots.get(INT, slot + bucketCountsOffset + 4L * index);
+    }
+    return total;
+  }
+
+  private void addToBucket(long slot, long bucket, long amount) {
+    long newest = slots.get(LONG, slot + NEWEST_BUCKET);
+    if (bucket > newest) {
+      // Clear the buckets the window slid over, at most all of them
+      for (long stale = Math.max(newest + 1, bucket - bucketCount + 1); stale <= bucket; stale++) {
+        int index = Math.floorMod(stale, bucketCount);
+        slots.set(INT, slot + bucketCountsOffset + 4L * index, 0);
+        slots.set(LONG, slot + bucketSumsOffset + 8L * index, 0L);
+      }
+      slots.set(LONG, slot + NEWEST_BUCKET, bucket);
+    } else if (bucket <= newest - bucketCount) {
+      return;
+    }
+    int index = Math.floorMod(bucket, bucketCount);
+    long counts = slot + bucketCountsOffset + 4L * index;
+    long sums = slot + bucketSumsOffset + 8L * index;
+    slots.set(INT, counts, slots.get(INT, counts) + 1);
+    slots.set(LONG, sums, slots.get(LONG, sums) + amount);
+  }
+
+  private long find(int group, long key) {
+    for (int i = 0; i < GROUP_SIZE; i++) {
+      long slot = slotOffset(group, i);
+      if (slots.get(INT, slot + RING_COUNT) > 0 && slots.get(LONG, slot + KEY) == key) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /* Takes a free slot of the group, or the least recently active one, for a new key. */
+  private long claim(int group, long key, long epochMillis) {
+    long victim = -1;
+    long victimLastSeen = Long.MAX_VALUE;
+    for (int i = 0; i < GROUP_SIZE; i++) {
+      long slot = slotOffset(group, i);
+      if (slots.get(INT, slot + RING_COUNT) == 0) {
+        victim = slot;
+        keyCount.incrementAndGet();
+        break;
+      }
+      long lastSeen = slots.get(LONG, slot + LAST_SEEN);
+      if (lastSeen < victimLastSeen) {
+        victim = slot;
+        victimLastSeen = lastSeen;
+      }
+    }
+    slots.asSlice(victim, stride).fill((byte) 0);
+    slots.set(LONG, victim + KEY, key);
+    slots.set(LONG, victim + LAST_SEEN, epochMillis);
+    slots.set(LONG, victim + NEWEST_BUCKET, Math.floorDiv(epochMillis, bucketMillis));
+    return victim;
+  }
+
+  private int groupOf(long key) {
+    return (int) (RandomProvider.mix(key) & (groupCount - 1));
+  }
+
+  private long slotOffset(int group, int index) {
+    return ((long) group * GROUP_SIZE + index) * stride;
+  }
+
+  private ReentrantLock stripe(int group) {
+    return stripes[group & (stripes.length - 1)];
+  }
+
+  private static long align(long offset) {
+    return (offset + 7) & ~7L;
+  }
+}
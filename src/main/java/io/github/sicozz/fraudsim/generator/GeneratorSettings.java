@@ -0,0 +1,87 @@
+package io.github.sicozz.fraudsim.generator;
+
+import io.github.sicozz.fraudsim.config.properties.TransactionGeneratorProperties;
+import io.github.sicozz.fraudsim.domain.id.UuidV7Generator;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import java.time.LocalDate;
+
+/**
+ * Immutable parameters of a generation run. Two runs with equal settings produce identical output.
+ *
+ * @param seed The master seed every shard seed is derived from
+ * @param shardCount The number of independent shards the run is split into
+ * @param currency The currency of the generated amounts
+ * @param startDate The first day of generated timestamps (inclusive)
+ * @param endDate The last day of generated timestamps (inclusive)
+ * @param customerCount The size of the customer population
+ * @param merchantCount The size of the merchant population
+ * @param nodeId The id of this node, embedded in every transaction id to keep ids unique across the
+ *     nodes of a deployment
+ */
+public record GeneratorSettings(
+    long seed,
+    int shardCount,
+    Currency currency,
+    LocalDate startDate,
+    LocalDate endDate,
+    int customerCount,
+    int merchantCount,
+    int nodeId) {
+
+  public GeneratorSettings {
+    if (shardCount < 1 || shardCount > UuidV7Generator.FIRST_THREAD_STREAM) {
+      throw new IllegalArgumentException(
+          "Shard count must be in [1, " + UuidV7Generator.FIRST_THREAD_STREAM + "]: " + shardCount);
+    }
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("End date must not be before start date");
+    }
+    if (customerCount < 1 || merchantCount < 1) {
+      throw new IllegalArgumentException("Customer and merchant populations must not be empty");
+    }
+    if ((nodeId & ~0xFFFF) != 0) {
+      throw new IllegalArgumentException("Node id must fit in 16 bits: " + nodeId);
+    }
+  }
+
+  /* Creates settings for node 0. */
+  public GeneratorSettings(
+      long seed,
+      int shardCount,
+      Currency currency,
+      LocalDate startDate,
+      LocalDate endDate,
+      int customerCount,
+      int merchantCount) {
+    this(seed, shardCount, currency, startDate, endDate, customerCount, merchantCount, 0);
+  }
+
+  /* Creates settings from the application properties, using one shard per core when unset. */
+  public static GeneratorSettings from(TransactionGeneratorProperties properties) {
+    var transaction = properties.getTransaction();
+    int shards =
+        transaction.getShards() > 0
+            ? transaction.getShards()
+            : Runtime.getRuntime().availableProcessors();
+
+    return new GeneratorSettings(
+        transaction.getSeed(),
+        shards,
+        Currency.USD,
+        transaction.getStartDate(),
+        transaction.getEndDate(),
+        transaction.getCustomers(),
+        transaction.getMerchants(),
+        transaction.getNodeId());
+  }
+
+  public GeneratorSettings withShardCount(int shardCount) {
+    return new GeneratorSettings(
+        seed, shardCount, currency, startDate, endDate, customerCount, merchantCount, nodeId);
+  }
+
+  public GeneratorSettings withSeed(long seed) {
+    return new GeneratorSettings(
+        seed, shardCount, currency, startDate, endDate, customerCount, merchantCount, nodeId);
+  }
+}
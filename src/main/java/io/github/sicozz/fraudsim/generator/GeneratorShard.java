@@ -0,0 +1,225 @@
+package io.github.sicozz.fraudsim.generator;
+
+import io.github.sicozz.fraudsim.domain.batch.TransactionBatch;
+import io.github.sicozz.fraudsim.domain.id.IdStream;
+import io.github.sicozz.fraudsim.domain.id.UuidV7Generator;
+import io.github.sicozz.fraudsim.domain.model.MetadataKeys;
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.party.Merchant;
+import io.github.sicozz.fraudsim.domain.model.payment.PaymentMethod;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.CardTransaction;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionType;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionTypes;
+import io.github.sicozz.fraudsim.generator.distribution.Distribution;
+import io.github.sicozz.fraudsim.generator.distribution.DistributionFactory;
+import io.github.sicozz.fraudsim.generator.distribution.PoissonArrivalProcess;
+import io.github.sicozz.fraudsim.generator.distribution.TransactionAmountDistribution;
+import io.github.sicozz.fraudsim.generator.distribution.TransactionTimeDistribution;
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import io.github.sicozz.fraudsim.generator.universe.EntityUniverse;
+import java.time.Instant;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * One shard of a generation run. Owns a private sampler graph (amount, time, type, parties) whose
+ * generators are seeded from the master seed and the shard index only, so a shard always emits the
+ * same sequence. Parties and their cards and accounts are looked up in the run's shared {@link
+ * EntityUniverse}, a card transaction using the network of the customer's card. Transaction ids are
+ * version 7 UUIDs stamped with the transaction time, drawn from an {@link IdStream} whose stream id
+ * is the shard index. A shard is not thread-safe and must be driven by a single thread.
+ */
+public class GeneratorShard {
+
+  // Stream identifiers, each sampler gets its own generator so they don't perturb each other
+  private static final int AMOUNT_STREAM = 1;
+  private static final int TIME_STREAM = 2;
+  private static final int TYPE_STREAM = 3;
+  private static final int PARTY_STREAM = 6;
+  private static final int ARRIVAL_STREAM = 8;
+
+  private static final TransactionMetadata WEB_CHANNEL =
+      TransactionMetadata.of(MetadataKeys.CHANNEL, "web");
+  private static final TransactionMetadata POS_CHANNEL =
+      TransactionMetadata.of(MetadataKeys.CHANNEL, "pos");
+  private static final TransactionMetadata BANK_CHANNEL =
+      TransactionMetadata.of(MetadataKeys.CHANNEL, "bank");
+
+  private final int index;
+  private final GeneratorSettings settings;
+  private final RandomProvider random;
+  private final EntityUniverse universe;
+
+  private final TransactionAmountDistribution amounts;
+  private final TransactionTimeDistribution times;
+  private final Distribution<TransactionType> types;
+  private final RandomGenerator parties;
+  private final IdStream ids;
+  private final TransactionBuilder builder = new TransactionBuilder();
+
+  GeneratorShard(
+      int index, GeneratorSettings settings, RandomProvider random, EntityUniverse universe) {
+    this.index = index;
+    this.settings = settings;
+    this.random = random;
+    this.universe = universe;
+
+    this.amounts =
+        DistributionFactory.createAmountDistribution(
+            settings.currency(), streamRandom(AMOUNT_STREAM));
+    this.times =
+        DistributionFactory.createTimeDistribution(
+            settings.startDate(), settings.endDate(), streamRandom(TIME_STREAM));
+    this.types = DistributionFactory.createTransactionTypeDistribution(streamRandom(TYPE_STREAM));
+    this.parties = streamRandom(PARTY_STREAM);
+    // Ids are sequence-based: the shard index is the stream id, below those of the thread streams,
+    // and the seed picks the first sequence
+    this.ids =
+        new UuidV7Generator(settings.nodeId()).stream(index, RandomProvider.mix(settings.seed()));
+  }
+
+  private RandomGenerator streamRandom(int stream) {
+    return random.stream(index, stream);
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  /* Generates the next transaction of this shard's sequence. */
+  public Transaction next() {
+    return next(times.sampleEpochMillis());
+  }
+
+  /**
+   * Generates the next transaction of this shard's sequence at a given time, typically taken from
+   * {@link #arrivals(double)}.
+   *
+   * @param epochMillis The transaction time, in UTC milliseconds since the epoch
+   * @return The transaction
+   */
+  public Transaction next(long epochMillis) {
+    int customer = parties.nextInt(universe.customerCount());
+    Merchant merchant = universe.merchant(parties.nextInt(universe.merchantCount()));
+    TransactionType type = sampleType(customer);
+
+    return builder
+        .reset()
+        .withId(ids.next(epochMillis))
+        .withTimestamp(Instant.ofEpochMilli(epochMillis))
+        .withAmount(amounts.sample(merchant))
+        .withStatus(TransactionStatus.COMPLETED)
+        .withType(type)
+        .withSource(universe.customer(customer))
+        .withDestination(merchant)
+        .withPaymentMethod(paymentMethod(type, customer))
+        .withMetadata(channel(type))
+        .build();
+  }
+
+  /**
+   * Appends the next {@code count} transactions of this shard's sequence to a batch, one column at
+   * a time. Every sampler has its own random stream, so the rows are exactly the transactions that
+   * as many calls to {@link #next()} would have produced.
+   *
+   * @param batch The batch to append to
+   * @param count The number of transactions
+   * @throws IllegalStateException If the batch doesn't have room for them
+   */
+  public void fill(TransactionBatch batch, int count) {
+    int first = batch.allocate(count);
+    int end = first + count;
+
+    long[] epochSeconds = batch.epochSeconds();
+    int[] nanos = batch.nanos();
+    long[] idMsb = batch.idMostSignificantBits();
+    long[] idLsb = batch.idLeastSignificantBits();
+    for (int row = first; row < end; row++) {
+      long epochMillis = times.sampleEpochMillis();
+      epochSeconds[row] = Math.floorDiv(epochMillis, 1_000L);
+      nanos[row] = (int) Math.floorMod(epochMillis, 1_000L) * 1_000_000;
+      ids.advance(epochMillis);
+      idMsb[row] = ids.mostSignificantBits();
+      idLsb[row] = ids.leastSignificantBits();
+    }
+
+    int[] customers = batch.sourceIndexes();
+    int[] merchants = batch.destinationIndexes();
+    for (int row = first; row < end; row++) {
+      int customer = parties.nextInt(universe.customerCount());
+      int merchant = parties.nextInt(universe.merchantCount());
+      batch.setSource(row, universe.customer(customer));
+      batch.setDestination(row, universe.merchant(merchant));
+      customers[row] = customer;
+      merchants[row] = merchant;
+
+      TransactionType type = sampleType(customer);
+      batch.setType(row, type);
+      batch.setPaymentMethod(row, paymentMethod(type, customer));
+      batch.setMetadata(row, channel(type));
+    }
+
+    long[] amountMinorUnits = batch.amountMinorUnits();
+    byte[] currencies = batch.currencies();
+    byte[] statuses = batch.statuses();
+    byte currency = (byte) settings.currency().ordinal();
+    byte completed = (byte) TransactionStatus.COMPLETED.ordinal();
+    for (int row = first; row < end; row++) {
+      amountMinorUnits[row] =
+          Money.toMinorUnits(
+              amounts.sampleAsDouble(universe.merchantMcc(merchants[row])), settings.currency());
+      currencies[row] = currency;
+      statuses[row] = completed;
+    }
+  }
+
+  /* Samples a transaction type, card transactions going over the network of the customer's card. */
+  private TransactionType sampleType(int customer) {
+    TransactionType type = types.sample();
+    if (type instanceof CardTransaction card) {
+      return TransactionTypes.card(
+          universe.cardNetwork(customer),
+          card.isContactless(),
+          card.isEcommerce(),
+          card.isInternational());
+    }
+    return type;
+  }
+
+  private PaymentMethod paymentMethod(TransactionType type, int customer) {
+    return type instanceof CardTransaction ? universe.card(customer) : universe.account(customer);
+  }
+
+  private static TransactionMetadata channel(TransactionType type) {
+    if (type instanceof CardTransaction card) {
+      return card.isEcommerce() ? WEB_CHANNEL : POS_CHANNEL;
+    }
+    return BANK_CHANNEL;
+  }
+
+  /**
+   * Creates a time-ordered arrival process over the shard's date range, with the same day-of-week
+   * and hourly mix as the random timestamps of {@link #next()}. It has its own random stream, so
+   * creating it doesn't change the rest of the shard's sequence.
+   *
+   * @param expectedCount The expected number of arrivals over the whole range
+   * @return A new arrival process
+   */
+  public PoissonArrivalProcess arrivals(double expectedCount) {
+    return new PoissonArrivalProcess(times, expectedCount, streamRandom(ARRIVAL_STREAM));
+  }
+
+  /**
+   * Creates a time-ordered arrival process like {@link #arrivals(double)}, emitting exactly the
+   * given number of arrivals.
+   *
+   * @param count The number of arrivals over the whole range
+   * @return A new arrival process
+   */
+  public PoissonArrivalProcess exactArrivals(long count) {
+    return PoissonArrivalProcess.ofCount(times, count, streamRandom(ARRIVAL_STREAM));
+  }
+}
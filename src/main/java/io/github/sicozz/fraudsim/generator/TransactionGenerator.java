@@ -1,3 +1,213 @@
 package io.github.sicozz.fraudsim.generator;
 
-public class TransactionGenerator {}
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.generator.distribution.DistributionFactory;
+import io.github.sicozz.fraudsim.generator.distribution.PoissonArrivalProcess;
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import io.github.sicozz.fraudsim.generator.universe.EntityUniverse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sharded transaction generation engine. A run is split across a fixed number of shards, each
+ * owning an independently seeded sampler graph, so shards never share a random generator and scale
+ * with the number of cores. The output of a run only depends on the master seed and the shard
+ * count: shard {@code i} always emits the same sequence, and the merged output of a run is the
+ * concatenation of the shard outputs in shard order.
+ *
+ * <p>The customers and merchants of a run are generated once, as an {@link EntityUniverse} shared
+ * by every shard.
+ */
+public class TransactionGenerator {
+
+  /* Receives the transactions of a run, called concurrently from the shard threads. */
+  @FunctionalInterface
+  public interface ShardConsumer {
+    void accept(int shardIndex, Transaction transaction);
+  }
+
+  private final GeneratorSettings settings;
+  private final RandomProvider random;
+  private final EntityUniverse universe;
+
+  public TransactionGenerator(GeneratorSettings settings) {
+    this(settings, createUniverse(settings));
+  }
+
+  /* Creates a generator drawing its parties from an existing universe. */
+  public TransactionGenerator(GeneratorSettings settings, EntityUniverse universe) {
+    this.settings = settings;
+    this.random = new RandomProvider(settings.seed());
+    this.universe = universe;
+  }
+
+  /* Generates the universe of a run, merchant categories being those of the amount model. */
+  public static EntityUniverse createUniverse(GeneratorSettings settings) {
+    var amounts = DistributionFactory.createAmountDistribution(settings.currency());
+    return EntityUniverse.builder()
+        .withSeed(settings.seed())
+        .withCustomerCount(settings.customerCount())
+        .withMerchantCount(settings.merchantCount())
+        .withMerchantCategories(amounts.getMerchantCategories())
+        .build();
+  }
+
+  /**
+   * Maps the universe saved in a file, generating and saving it first when the file doesn't exist.
+   * An existing file is used as is, whatever the settings it was generated with, so every run
+   * pointed at the same file draws from the same customers and merchants.
+   *
+   * @param settings The settings to generate the universe with when the file doesn't exist
+   * @param file The universe file
+   * @return The mapped universe
+   * @throws IOException If the file can't be read or written
+   */
+  public static EntityUniverse loadUniverse(GeneratorSettings settings, Path file)
+      throws IOException {
+    if (Files.notExists(file)) {
+      createUniverse(settings).save(file);
+    }
+    return EntityUniverse.open(file);
+  }
+
+  public GeneratorSettings getSettings() {
+    return settings;
+  }
+
+  public EntityUniverse getUniverse() {
+    return universe;
+  }
+
+  public int getShardCount() {
+    return settings.shardCount();
+  }
+
+  /**
+   * Creates a fresh shard positioned at the start of its sequence.
+   *
+   * @param shardIndex The shard index, in [0, shardCount)
+   * @return A new shard
+   */
+  public GeneratorShard createShard(int shardIndex) {
+    if (shardIndex < 0 || shardIndex >= settings.shardCount()) {
+      throw new IllegalArgumentException("Shard index out of range: " + shardIndex);
+    }
+    return new GeneratorShard(shardIndex, settings, random, universe);
+  }
+
+  /**
+   * Returns how many of {@code total} transactions the given shard produces. The remainder of the
+   * division goes to the lowest shard indexes.
+   */
+  public static long shardQuota(long total, int shardCount, int shardIndex) {
+    return total / shardCount + (shardIndex < total % shardCount ? 1 : 0);
+  }
+
+  /**
+   * Generates {@code count} transactions, running every shard on its own platform thread. Blocks
+   * until all shards are done.
+   *
+   * @param count The total number of transactions to generate
+   * @param consumer Receives each transaction along with the index of the shard that produced it
+   */
+  public void generate(long count, ShardConsumer consumer) {
+    int shardCount = settings.shardCount();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<Thread> threads = new ArrayList<>(shardCount);
+
+    for (int i = 0; i < shardCount; i++) {
+      GeneratorShard shard = createShard(i);
+      long quota = shardQuota(count, shardCount, i);
+      Runnable task =
+          () -> {
+            try {
+              for (long n = 0; n < quota && failure.get() == null; n++) {
+                consumer.accept(shard.getIndex(), shard.next());
+              }
+            } catch (Throwable t) {
+              failure.compareAndSet(null, t);
+            }
+          };
+      threads.add(Thread.ofPlatform().name("fraudsim-shard-" + i).start(task));
+    }
+
+    for (Thread thread : threads) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for generator shards", e);
+      }
+    }
+
+    if (failure.get() != null) {
+      throw new IllegalStateException("Generator shard failed", failure.get());
+    }
+  }
+
+  /**
+   * Streams transactions in non-decreasing timestamp order on the calling thread. Every shard
+   * contributes its own Poisson arrival process with an equal share of the expected volume, and the
+   * shard streams are merged on the fly, so memory use only depends on the shard count and the
+   * output is the same for a given seed and shard count.
+   *
+   * @param expectedCount The expected number of transactions over the configured date range
+   * @param consumer Receives each transaction along with the index of the shard that produced it
+   * @return The number of transactions generated
+   */
+  public long generateInTimeOrder(double expectedCount, ShardConsumer consumer) {
+    int shardCount = settings.shardCount();
+    GeneratorShard[] shards = new GeneratorShard[shardCount];
+    PoissonArrivalProcess[] arrivals = new PoissonArrivalProcess[shardCount];
+    long[] heads = new long[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = createShard(i);
+      arrivals[i] = shards[i].arrivals(expectedCount / shardCount);
+      heads[i] = arrivals[i].hasNext() ? arrivals[i].nextEpochMillis() : Long.MAX_VALUE;
+    }
+
+    long generated = 0;
+    while (true) {
+      // Linear scan, shard counts are in the tens so a heap would not pay off
+      int earliest = 0;
+      for (int i = 1; i < shardCount; i++) {
+        if (heads[i] < heads[earliest]) {
+          earliest = i;
+        }
+      }
+      if (heads[earliest] == Long.MAX_VALUE) {
+        return generated;
+      }
+
+      consumer.accept(earliest, shards[earliest].next(heads[earliest]));
+      generated++;
+      PoissonArrivalProcess process = arrivals[earliest];
+      heads[earliest] = process.hasNext() ? process.nextEpochMillis() : Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Generates {@code count} transactions and returns them in deterministic order, shard by shard.
+   *
+   * @param count The total number of transactions to generate
+   * @return The generated transactions
+   */
+  public List<Transaction> generate(long count) {
+    int shardCount = settings.shardCount();
+    List<List<Transaction>> perShard = new ArrayList<>(shardCount);
+    for (int i = 0; i < shardCount; i++) {
+      perShard.add(new ArrayList<>((int) shardQuota(count, shardCount, i)));
+    }
+
+    // Each shard thread only ever touches its own list
+    generate(count, (shardIndex, transaction) -> perShard.get(shardIndex).add(transaction));
+
+    List<Transaction> result = new ArrayList<>((int) count);
+    perShard.forEach(result::addAll);
+    return result;
+  }
+}
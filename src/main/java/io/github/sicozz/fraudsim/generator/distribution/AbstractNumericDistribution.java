@@ -1,7 +1,8 @@
 package io.github.sicozz.fraudsim.generator.distribution;
 
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import java.util.Objects;
 import org.apache.commons.math3.random.RandomGenerator;
-import org.apache.commons.math3.random.Well19937c;
 
 public abstract class AbstractNumericDistribution implements NumericDistribution {
   protected final RandomGenerator random;
@@ -10,7 +11,7 @@ public abstract class AbstractNumericDistribution implements NumericDistribution
   /* Creates a distribution with the given name and a default random generator */
   protected AbstractNumericDistribution(String name) {
     this.name = name;
-    this.random = new Well19937c();
+    this.random = RandomProvider.getDefault().newStream();
   }
 
   protected AbstractNumericDistribution(String name, RandomGenerator random) {
@@ -23,6 +24,27 @@ public abstract class AbstractNumericDistribution implements NumericDistribution
     return name;
   }
 
+  @Override
+  public void fill(double[] out, int off, int len) {
+    Objects.checkFromIndexSize(off, len, out.length);
+    for (int i = off, end = off + len; i < end; i++) {
+      out[i] = sampleAsDouble();
+    }
+  }
+
+  /**
+   * Draws a uniform variate restricted to [lowerCdf, upperCdf], the part of the unit interval that
+   * the inverse CDF maps into [minimum, maximum]. Feeding it to the inverse CDF samples the
+   * truncated distribution directly, at a fixed cost and without any rejection.
+   *
+   * @param lowerCdf The CDF at the minimum
+   * @param upperCdf The CDF at the maximum
+   * @return A uniform variate in [lowerCdf, upperCdf]
+   */
+  protected double truncatedUniform(double lowerCdf, double upperCdf) {
+    return lowerCdf + random.nextDouble() * (upperCdf - lowerCdf);
+  }
+
   /* Enforces minimum and maximum bounds on a sampled value. */
   protected double clamToBounds(double value) {
     return Math.min(Math.max(value, getMinimum()), getMaximum());
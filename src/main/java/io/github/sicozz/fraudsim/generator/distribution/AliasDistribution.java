@@ -0,0 +1,129 @@
+package io.github.sicozz.fraudsim.generator.distribution;
+
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Discrete distribution backed by an {@link AliasTable}. Sampling is O(1) regardless of the number
+ * of values, and reads two primitive arrays plus the value array instead of searching a cumulative
+ * table. This is the default categorical distribution of {@link DistributionFactory}; prefer it
+ * over {@link DiscreteDistribution} for large universes such as merchants or customers.
+ */
+public class AliasDistribution<T> implements Distribution<T> {
+
+  private final String name;
+  private final Object[] values;
+  private final AliasTable table;
+  private final RandomGenerator random;
+
+  /**
+   * Creates a new alias distribution from a map of values to probabilities.
+   *
+   * @param name The distribution name
+   * @param probabilities Map of values to their probabilities, in iteration order
+   */
+  public AliasDistribution(String name, Map<T, Double> probabilities) {
+    this(name, probabilities, RandomProvider.getDefault().newStream());
+  }
+
+  /**
+   * Creates a new alias distribution with a custom random generator.
+   *
+   * @param name The distribution name
+   * @param probabilities Map of values to their probabilities, in iteration order
+   * @param random The random number generator to use
+   */
+  public AliasDistribution(String name, Map<T, Double> probabilities, RandomGenerator random) {
+    this(name, new ArrayList<>(probabilities.keySet()), weightsOf(probabilities), random);
+  }
+
+  /**
+   * Creates a new alias distribution from parallel value and weight arrays, which avoids boxing the
+   * weights of very large universes.
+   *
+   * @param name The distribution name
+   * @param values The values
+   * @param weights The weight of each value, need not be normalized
+   * @param random The random number generator to use
+   */
+  public AliasDistribution(String name, List<T> values, double[] weights, RandomGenerator random) {
+    if (values.size() != weights.length) {
+      throw new IllegalArgumentException("Every value needs exactly one weight");
+    }
+    this.name = name;
+    this.values = values.toArray();
+    this.table = new AliasTable(weights);
+    this.random = random;
+  }
+
+  private static <T> double[] weightsOf(Map<T, Double> probabilities) {
+    double[] weights = new double[probabilities.size()];
+    int i = 0;
+    for (double weight : probabilities.values()) {
+      weights[i++] = weight;
+    }
+    return weights;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T sample() {
+    return (T) values[table.sample(random)];
+  }
+
+  /* Samples the index of a value, for callers that keep their own value storage. */
+  public int sampleIndex() {
+    return table.sample(random);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the probability of a specific value. This is a linear scan, meant for inspection and
+   * not for the sampling path.
+   *
+   * @param value The value to check
+   * @return The probability of the value
+   */
+  public double getProbability(T value) {
+    double probability = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i].equals(value)) {
+        probability += table.getProbability(i);
+      }
+    }
+    return probability;
+  }
+
+  /**
+   * Returns a map of all values to their probabilities.
+   *
+   * @return The probability map, in value order
+   */
+  @SuppressWarnings("unchecked")
+  public Map<T, Double> getProbabilities() {
+    Map<T, Double> probabilities = new LinkedHashMap<>();
+    for (int i = 0; i < values.length; i++) {
+      probabilities.merge((T) values[i], table.getProbability(i), Double::sum);
+    }
+    return Collections.unmodifiableMap(probabilities);
+  }
+
+  @Override
+  public String getDescription() {
+    return "Alias distribution with " + values.length + " possible values";
+  }
+
+  @Override
+  public String toString() {
+    return getName() + ": " + getDescription();
+  }
+}
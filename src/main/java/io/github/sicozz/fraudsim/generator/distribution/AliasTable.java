@@ -0,0 +1,113 @@
+package io.github.sicozz.fraudsim.generator.distribution;
+
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Walker's alias table, built with Vose's method. Turns an arbitrary set of weights into two flat
+ * arrays so that drawing an index costs one uniform variate, one array read and one comparison,
+ * whatever the number of outcomes. Building the table is O(n). Immutable and thread-safe, the
+ * random generator is supplied by the caller.
+ */
+public final class AliasTable {
+
+  // Probability of keeping column i rather than jumping to its alias
+  private final double[] threshold;
+  private final int[] alias;
+  private final double[] probability;
+
+  /**
+   * Builds an alias table from non-negative weights, which don't need to be normalized.
+   *
+   * @param weights The weight of each outcome
+   */
+  public AliasTable(double[] weights) {
+    int n = weights.length;
+    if (n == 0) {
+      throw new IllegalArgumentException("At least one weight is required");
+    }
+
+    double total = 0;
+    for (double weight : weights) {
+      if (!(weight >= 0) || Double.isInfinite(weight)) {
+        throw new IllegalArgumentException("Weights must be finite and non-negative: " + weight);
+      }
+      total += weight;
+    }
+    if (total <= 0) {
+      throw new IllegalArgumentException("Weights must not all be zero");
+    }
+
+    this.threshold = new double[n];
+    this.alias = new int[n];
+    this.probability = new double[n];
+
+    // Scale so the average column holds exactly 1, then pair small columns with large ones
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < n; i++) {
+      probability[i] = weights[i] / total;
+      scaled[i] = probability[i] * n;
+      if (scaled[i] < 1.0) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+
+    while (smallCount > 0 && largeCount > 0) {
+      int less = small[--smallCount];
+      int more = large[--largeCount];
+      threshold[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+      if (scaled[more] < 1.0) {
+        small[smallCount++] = more;
+      } else {
+        large[largeCount++] = more;
+      }
+    }
+
+    // Whatever is left is 1 up to rounding error
+    while (largeCount > 0) {
+      int i = large[--largeCount];
+      threshold[i] = 1.0;
+      alias[i] = i;
+    }
+    while (smallCount > 0) {
+      int i = small[--smallCount];
+      threshold[i] = 1.0;
+      alias[i] = i;
+    }
+  }
+
+  /* Draws an outcome index using a single uniform variate from the given generator. */
+  public int sample(RandomGenerator random) {
+    return sample(random.nextDouble());
+  }
+
+  /**
+   * Maps a uniform variate to an outcome index. The integer part of {@code u * n} picks the column
+   * and the fractional part decides between the column and its alias.
+   *
+   * @param u A uniform variate in [0, 1)
+   * @return The outcome index
+   */
+  public int sample(double u) {
+    double scaled = u * threshold.length;
+    // u * n can round up to n for very large tables
+    int column = Math.min((int) scaled, threshold.length - 1);
+    return (scaled - column) < threshold[column] ? column : alias[column];
+  }
+
+  public int size() {
+    return threshold.length;
+  }
+
+  /* Returns the normalized probability of the given outcome. */
+  public double getProbability(int index) {
+    return probability[index];
+  }
+}
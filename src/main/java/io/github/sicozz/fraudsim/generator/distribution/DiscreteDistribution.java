@@ -1,5 +1,6 @@
 package io.github.sicozz.fraudsim.generator.distribution;
 
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,7 +35,7 @@ public class DiscreteDistribution<T> implements Distribution<T> {
             .map(entry -> new Pair<>(entry.getKey(), entry.getValue()))
             .collect(Collectors.toList());
 
-    this.distribution = new EnumeratedDistribution<>(pmf);
+    this.distribution = new EnumeratedDistribution<>(RandomProvider.getDefault().newStream(), pmf);
   }
 
   /**
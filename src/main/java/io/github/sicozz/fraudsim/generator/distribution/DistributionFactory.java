@@ -4,9 +4,12 @@ import io.github.sicozz.fraudsim.domain.model.money.Currency;
 import io.github.sicozz.fraudsim.domain.model.payment.CardType;
 import io.github.sicozz.fraudsim.domain.model.type.CardTransaction;
 import io.github.sicozz.fraudsim.domain.model.type.TransactionType;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionTypes;
 import io.github.sicozz.fraudsim.domain.model.type.TransferTransaction;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import org.apache.commons.math3.random.RandomGenerator;
 
 /* Factory class for creating common distributions used in transaction generation. */
 public class DistributionFactory {
@@ -21,58 +24,113 @@ public class DistributionFactory {
     return new TransactionAmountDistribution(currency);
   }
 
+  /**
+   * Creates a default transaction amount distribution for the given currency and random generator.
+   *
+   * @param currency The currency to use
+   * @param random The random number generator to use
+   * @return A transaction amount distribution
+   */
+  public static TransactionAmountDistribution createAmountDistribution(
+      Currency currency, RandomGenerator random) {
+    return new TransactionAmountDistribution(currency, random);
+  }
+
   /**
    * Creates a distribution for transaction types.
    *
-   * @return A discrete distribution of transaction types
+   * @return An alias distribution of transaction types
    */
-  public static DiscreteDistribution<TransactionType> createTransactionTypeDistribution() {
-    // Default distribution: 80% card transactions, 20% transfers
-    Map<TransactionType, Double> typeWeights =
-        Map.of(
-            CardTransaction.ecommerce("VISA"), 0.3,
-            CardTransaction.contactless("VISA"), 0.3,
-            CardTransaction.standard("VISA"), 0.2,
-            TransferTransaction.ach(""), 0.15,
-            TransferTransaction.wire(false, "PAYMENT"), 0.05);
+  public static AliasDistribution<TransactionType> createTransactionTypeDistribution() {
+    return new AliasDistribution<>("TransactionType", transactionTypeWeights());
+  }
 
-    return new DiscreteDistribution<>("TransactionType", typeWeights);
+  /**
+   * Creates a distribution for transaction types with a custom random generator.
+   *
+   * @param random The random number generator to use
+   * @return An alias distribution of transaction types
+   */
+  public static AliasDistribution<TransactionType> createTransactionTypeDistribution(
+      RandomGenerator random) {
+    return new AliasDistribution<>("TransactionType", transactionTypeWeights(), random);
   }
 
   /**
    * Creates a distribution for card networks.
    *
-   * @return A discrete distribution of card networks
+   * @return An alias distribution of card networks
    */
-  public static DiscreteDistribution<String> createCardNetworkDistribution() {
-    // Default distribution based on market share
-    Map<String, Double> networkWeights =
-        Map.of(
-            "VISA", 0.35,
-            "MASTERCARD", 0.30,
-            "AMEX", 0.15,
-            "DISCOVER", 0.10,
-            "JCB", 0.05,
-            "UNIONPAY", 0.05);
+  public static AliasDistribution<String> createCardNetworkDistribution() {
+    return new AliasDistribution<>("CardNetwork", cardNetworkWeights());
+  }
 
-    return new DiscreteDistribution<>("CardNetwork", networkWeights);
+  /**
+   * Creates a distribution for card networks with a custom random generator.
+   *
+   * @param random The random number generator to use
+   * @return An alias distribution of card networks
+   */
+  public static AliasDistribution<String> createCardNetworkDistribution(RandomGenerator random) {
+    return new AliasDistribution<>("CardNetwork", cardNetworkWeights(), random);
   }
 
   /**
    * Creates a distribution for card types.
    *
-   * @return A discrete distribution of card types
+   * @return An alias distribution of card types
    */
-  public static DiscreteDistribution<CardType> createCardTypeDistribution() {
-    // Default distribution based on typical usage
-    Map<CardType, Double> typeWeights =
-        Map.of(
-            CardType.CREDIT, 0.50,
-            CardType.DEBIT, 0.40,
-            CardType.PREPAID, 0.08,
-            CardType.GIFT, 0.02);
+  public static AliasDistribution<CardType> createCardTypeDistribution() {
+    return new AliasDistribution<>("CardType", cardTypeWeights());
+  }
+
+  /**
+   * Creates a distribution for card types with a custom random generator.
+   *
+   * @param random The random number generator to use
+   * @return An alias distribution of card types
+   */
+  public static AliasDistribution<CardType> createCardTypeDistribution(RandomGenerator random) {
+    return new AliasDistribution<>("CardType", cardTypeWeights(), random);
+  }
 
-    return new DiscreteDistribution<>("CardType", typeWeights);
+  /*
+   * The weight tables below use insertion-ordered maps on purpose: the samplers map a uniform draw
+   * onto entries by iteration order, and Map.of() iteration order changes from one JVM to the next,
+   * which would make seeded runs irreproducible.
+   */
+
+  private static Map<TransactionType, Double> transactionTypeWeights() {
+    // Default distribution: 80% card transactions, 20% transfers
+    Map<TransactionType, Double> typeWeights = new LinkedHashMap<>();
+    typeWeights.put(CardTransaction.ecommerce("VISA"), 0.3);
+    typeWeights.put(CardTransaction.contactless("VISA"), 0.3);
+    typeWeights.put(CardTransaction.standard("VISA"), 0.2);
+    typeWeights.put(TransactionTypes.canonical(TransferTransaction.ach("")), 0.15);
+    typeWeights.put(TransactionTypes.canonical(TransferTransaction.wire(false, "PAYMENT")), 0.05);
+    return typeWeights;
+  }
+
+  private static Map<String, Double> cardNetworkWeights() {
+    // Default distribution based on market share
+    Map<String, Double> networkWeights = new LinkedHashMap<>();
+    networkWeights.put("VISA", 0.35);
+    networkWeights.put("MASTERCARD", 0.30);
+    networkWeights.put("AMEX", 0.15);
+    networkWeights.put("DISCOVER", 0.10);
+    networkWeights.put("JCB", 0.05);
+    networkWeights.put("UNIONPAY", 0.05);
+    return networkWeights;
+  }
+
+  private static Map<CardType, Double> cardTypeWeights() {
+    // Default distribution based on typical usage
+    Map<CardType, Double> typeWeights = new LinkedHashMap<>();
+    typeWeights.put(CardType.CREDIT, 0.50);
+    typeWeights.put(CardType.DEBIT, 0.40);
+    typeWeights.put(CardType.PREPAID, 0.08);
+    typeWeights.put(CardType.GIFT, 0.02);
+    return typeWeights;
   }
 
   /**
@@ -87,6 +145,19 @@ public class DistributionFactory {
     return new TransactionTimeDistribution(startDate, endDate);
   }
 
+  /**
+   * Creates a transaction time distribution for the given date range and random generator.
+   *
+   * @param startDate The start date (inclusive)
+   * @param endDate The end date (inclusive)
+   * @param random The random number generator to use
+   * @return A transaction time distribution
+   */
+  public static TransactionTimeDistribution createTimeDistribution(
+      LocalDate startDate, LocalDate endDate, RandomGenerator random) {
+    return new TransactionTimeDistribution(startDate, endDate, random);
+  }
+
   /**
    * Creates a log-normal distribution with the given parameters.
    *
@@ -1,6 +1,7 @@
 package io.github.sicozz.fraudsim.generator.distribution;
 
 import org.apache.commons.math3.distribution.ExponentialDistribution;
+import org.apache.commons.math3.random.RandomGenerator;
 
 /**
  * Implementation of an exponential distribution. Useful for modeling time intervals between events,
@@ -12,6 +13,8 @@ public class ExponentialNumericDistribution extends AbstractNumericDistribution
   private final double mean;
   private final double minimum;
   private final double maximum;
+  // Mass of the [minimum, maximum] window, relative to the mass above minimum
+  private final double windowMass;
 
   /**
    * Creates a new exponential distribution.
@@ -26,6 +29,25 @@ public class ExponentialNumericDistribution extends AbstractNumericDistribution
     this.minimum = minimum;
     this.maximum = maximum;
     this.distribution = new ExponentialDistribution(random, mean);
+    this.windowMass = windowMass(mean, minimum, maximum);
+  }
+
+  /**
+   * Creates a new exponential distribution with custom random generator.
+   *
+   * @param mean The mean value
+   * @param minimum The minimum allowed value
+   * @param maximum The maximum allowed value
+   * @param random The random number generator to use
+   */
+  public ExponentialNumericDistribution(
+      double mean, double minimum, double maximum, RandomGenerator random) {
+    super("Exponential", random);
+    this.mean = mean;
+    this.minimum = minimum;
+    this.maximum = maximum;
+    this.distribution = new ExponentialDistribution(random, mean);
+    this.windowMass = windowMass(mean, minimum, maximum);
   }
 
   /**
@@ -47,15 +69,19 @@ public class ExponentialNumericDistribution extends AbstractNumericDistribution
     this(mean, 0, Double.POSITIVE_INFINITY);
   }
 
-  @Override
-  public Double sample() {
-    double value;
-    do {
-      value = distribution.sample();
-    } while (value < minimum || value > maximum);
-    // TODO: This loop condition seems wrong, verify its working
+  private static double windowMass(double mean, double minimum, double maximum) {
+    return -Math.expm1(-(maximum - Math.max(minimum, 0)) / mean);
+  }
 
-    return value;
+  /*
+   * The exponential distribution is memoryless, so truncating it to [minimum, maximum] is the
+   * same as shifting an exponential truncated to [0, maximum - minimum] by minimum, whose inverse
+   * CDF has a closed form.
+   */
+  @Override
+  public double sampleAsDouble() {
+    double u = random.nextDouble() * windowMass;
+    return clamToBounds(Math.max(minimum, 0) - mean * Math.log1p(-u));
   }
 
   @Override
@@ -1,12 +1,16 @@
 package io.github.sicozz.fraudsim.generator.distribution;
 
 import org.apache.commons.math3.distribution.LogNormalDistribution;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.special.Erf;
 
 /**
  * Implementation of a log-normal distribution. Particularly useful for modeling transaction amounts
  * where values are skewed.
  */
 public class LogNormalNumericDistribution extends AbstractNumericDistribution {
+  private static final double SQRT2 = Math.sqrt(2);
+
   private final LogNormalDistribution distribution;
   private final double scale;
   private final double shape;
@@ -14,6 +18,8 @@ public class LogNormalNumericDistribution extends AbstractNumericDistribution {
   private final double calculatedStdDev;
   private final double minimum;
   private final double maximum;
+  private final double lowerCdf;
+  private final double upperCdf;
 
   public LogNormalNumericDistribution(double scale, double shape, double minimum, double maximum) {
     super("LogNormal");
@@ -27,6 +33,34 @@ public class LogNormalNumericDistribution extends AbstractNumericDistribution {
     this.calculatedMean = Math.exp(scale + (shape * shape) / 2);
     this.calculatedStdDev =
         Math.sqrt((Math.exp(shape * shape) - 1) * Math.exp(2 * scale + shape * shape));
+    this.lowerCdf = distribution.cumulativeProbability(minimum);
+    this.upperCdf = distribution.cumulativeProbability(maximum);
+  }
+
+  /**
+   * Creates a new log-normal distribution with custom random generator.
+   *
+   * @param scale The scale parameter (mu)
+   * @param shape The shape parameter (sigma)
+   * @param minimum The minimum allowed value
+   * @param maximum The maximum allowed value
+   * @param random The random number generator to use
+   */
+  public LogNormalNumericDistribution(
+      double scale, double shape, double minimum, double maximum, RandomGenerator random) {
+    super("LogNormal", random);
+    this.scale = scale;
+    this.shape = shape;
+    this.minimum = minimum;
+    this.maximum = maximum;
+    this.distribution = new LogNormalDistribution(random, scale, shape);
+
+    // Calculate the actual mean and standard deviation
+    this.calculatedMean = Math.exp(scale + (shape * shape) / 2);
+    this.calculatedStdDev =
+        Math.sqrt((Math.exp(shape * shape) - 1) * Math.exp(2 * scale + shape * shape));
+    this.lowerCdf = distribution.cumulativeProbability(minimum);
+    this.upperCdf = distribution.cumulativeProbability(maximum);
   }
 
   /**
@@ -58,15 +92,32 @@ public class LogNormalNumericDistribution extends AbstractNumericDistribution {
     return new LogNormalNumericDistribution(scale, shape, minimum, maximum);
   }
 
+  /**
+   * Creates a new log-normal distribution from desired mean and standard deviation, drawing from
+   * the given random generator.
+   *
+   * @param mean The desired mean
+   * @param stdDev The desired standard deviation
+   * @param minimum The minimum allowed value
+   * @param maximum The maximum allowed value
+   * @param random The random number generator to use
+   * @return A log-normal distribution with parameters calculated to match the desired mean and
+   *     standard deviation
+   */
+  public static LogNormalNumericDistribution fromMeanAndStdDev(
+      double mean, double stdDev, double minimum, double maximum, RandomGenerator random) {
+    double variance = stdDev * stdDev;
+    double shape = Math.sqrt(Math.log(variance / (mean * mean) + 1));
+    double scale = Math.log(mean) - shape * shape / 2;
+
+    return new LogNormalNumericDistribution(scale, shape, minimum, maximum, random);
+  }
+
   @Override
-  public Double sample() {
-    double value = distribution.sample();
-    do {
-      value = distribution.sample();
-    } while (value < minimum || value > maximum);
-    // TODO: This loop condition seems wrong, verify its working
-
-    return value;
+  public double sampleAsDouble() {
+    // Closed-form inverse, LogNormalDistribution only has the generic solver
+    double u = truncatedUniform(lowerCdf, upperCdf);
+    return clamToBounds(Math.exp(scale + shape * SQRT2 * Erf.erfInv(2 * u - 1)));
   }
 
   @Override
@@ -14,6 +14,10 @@ public class NormalNumericDistribution extends AbstractNumericDistribution {
   private final double standardDeviation;
   private final double minimum;
   private final double maximum;
+  // Bounds are mirrored around the mean when they lie above it, where the CDF loses precision
+  private final boolean mirrored;
+  private final double lowerCdf;
+  private final double upperCdf;
 
   /**
    * Creates a new normal distribution with default random generator
@@ -31,6 +35,9 @@ public class NormalNumericDistribution extends AbstractNumericDistribution {
     this.minimum = minimum;
     this.maximum = maximum;
     this.distribution = new NormalDistribution(random, mean, standardDeviation);
+    this.mirrored = minimum > mean;
+    this.lowerCdf = distribution.cumulativeProbability(mirrored ? 2 * mean - maximum : minimum);
+    this.upperCdf = distribution.cumulativeProbability(mirrored ? 2 * mean - minimum : maximum);
   }
 
   /**
@@ -48,22 +55,21 @@ public class NormalNumericDistribution extends AbstractNumericDistribution {
       double minimum,
       double maximum,
       RandomGenerator random) {
-    super("Normal");
+    super("Normal", random);
     this.mean = mean;
     this.standardDeviation = standardDeviation;
     this.minimum = minimum;
     this.maximum = maximum;
     this.distribution = new NormalDistribution(random, mean, standardDeviation);
+    this.mirrored = minimum > mean;
+    this.lowerCdf = distribution.cumulativeProbability(mirrored ? 2 * mean - maximum : minimum);
+    this.upperCdf = distribution.cumulativeProbability(mirrored ? 2 * mean - minimum : maximum);
   }
 
   @Override
-  public Double sample() {
-    double value;
-    do {
-      value = distribution.sample();
-    } while (value < minimum || value > maximum);
-    // TODO: This loop condition seems wrong, verify its working
-    return value;
+  public double sampleAsDouble() {
+    double value = distribution.inverseCumulativeProbability(truncatedUniform(lowerCdf, upperCdf));
+    return clamToBounds(mirrored ? 2 * mean - value : value);
   }
 
   @Override
@@ -1,6 +1,28 @@
 package io.github.sicozz.fraudsim.generator.distribution;
 
 public interface NumericDistribution extends Distribution<Double> {
+  /* Samples a single value without boxing it. */
+  double sampleAsDouble();
+
+  /**
+   * Fills a range of an array with independent samples, without allocating.
+   *
+   * @param out The array to fill
+   * @param off The index of the first sample
+   * @param len The number of samples
+   */
+  default void fill(double[] out, int off, int len) {
+    for (int i = off, end = off + len; i < end; i++) {
+      out[i] = sampleAsDouble();
+    }
+  }
+
+  /* Boxing variant of {@link #sampleAsDouble()}, prefer the primitive one on hot paths. */
+  @Override
+  default Double sample() {
+    return sampleAsDouble();
+  }
+
   double getMean();
 
   double getStandardDeviation();
@@ -1,6 +1,7 @@
 package io.github.sicozz.fraudsim.generator.distribution;
 
 import org.apache.commons.math3.distribution.ParetoDistribution;
+import org.apache.commons.math3.random.RandomGenerator;
 
 /**
  * Implementation of a Pareto distribution. Useful for modeling quantities where the "80-20 rule"
@@ -13,6 +14,8 @@ public class ParetoNumericDistribution extends AbstractNumericDistribution {
   private final double shape;
   private final double minimum;
   private final double maximum;
+  // CDF at the maximum, the share of the distribution that lies within bounds
+  private final double upperCdf;
 
   /**
    * Creates a new Pareto distribution.
@@ -28,6 +31,26 @@ public class ParetoNumericDistribution extends AbstractNumericDistribution {
     this.minimum = scale; // In Pareto, minimum = scale
     this.maximum = maximum;
     this.distribution = new ParetoDistribution(random, scale, shape);
+    this.upperCdf = -Math.expm1(shape * Math.log(scale / maximum));
+  }
+
+  /**
+   * Creates a new Pareto distribution with custom random generator.
+   *
+   * @param scale The scale parameter (minimum value)
+   * @param shape The shape parameter (tail index)
+   * @param maximum The maximum allowed value
+   * @param random The random number generator to use
+   */
+  public ParetoNumericDistribution(
+      double scale, double shape, double maximum, RandomGenerator random) {
+    super("Pareto", random);
+    this.scale = scale;
+    this.shape = shape;
+    this.minimum = scale; // In Pareto, minimum = scale
+    this.maximum = maximum;
+    this.distribution = new ParetoDistribution(random, scale, shape);
+    this.upperCdf = -Math.expm1(shape * Math.log(scale / maximum));
   }
 
   /**
@@ -40,15 +63,11 @@ public class ParetoNumericDistribution extends AbstractNumericDistribution {
     this(scale, shape, Double.POSITIVE_INFINITY);
   }
 
+  /* Inverse CDF of the Pareto distribution truncated to [scale, maximum]. */
   @Override
-  public Double sample() {
-    double value;
-    do {
-      value = distribution.sample();
-    } while (value > maximum);
-    // TODO: This loop condition seems wrong, verify its working
-
-    return value;
+  public double sampleAsDouble() {
+    double u = random.nextDouble() * upperCdf;
+    return clamToBounds(scale * Math.exp(-Math.log1p(-u) / shape));
   }
 
   @Override
@@ -0,0 +1,173 @@
+package io.github.sicozz.fraudsim.generator.distribution;
+
+import java.time.DayOfWeek;
+import java.time.ZoneOffset;
+import java.util.NoSuchElementException;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Non-homogeneous Poisson arrival process over the date range of a {@link
+ * TransactionTimeDistribution}, whose hourly weights become a piecewise-constant intensity. As in
+ * the distribution, which draws days uniformly, the weights only shape the hours of a day: every
+ * day of the range gets the same expected volume, whatever its day of week. Arrival times come out
+ * in non-decreasing order, one at a time, so any date range can be streamed to a sink in event-time
+ * order without sorting. Memory use is constant.
+ *
+ * <p>Rather than thinning a homogeneous process, which would waste most draws in the quiet night
+ * hours, each gap is sampled exactly by time rescaling: a unit exponential variate is spent against
+ * the integrated intensity, hour by hour, until it runs out. A gap costs one variate plus one step
+ * per hour boundary crossed.
+ *
+ * <p>{@link #ofCount} streams an exact number of arrivals instead: the process conditioned on its
+ * count, whose arrivals are that many independent draws of the intensity. They come out sorted by
+ * spending the spacings of sorted uniforms, drawn one at a time, in place of exponential gaps.
+ */
+public final class PoissonArrivalProcess {
+
+  private static final int HOURS_PER_DAY = 24;
+  private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+  private final RandomGenerator random;
+  private final double expectedCount;
+  private final long startMillis;
+  private final long hourCount;
+  private final int startDayOfWeek;
+  // Expected arrivals per millisecond, by day of week and hour of day
+  private final double[][] ratePerMilli = new double[7][HOURS_PER_DAY];
+
+  // Current position: hour since the start of the range, and milliseconds into that hour
+  private long hour;
+  private double offset;
+  private long next;
+  private boolean exhausted;
+  // Arrivals left to emit with a fixed count, negative for a Poisson count
+  private long remaining;
+  // Share of the integrated intensity not yet spent with a fixed count
+  private double unspent = 1;
+
+  /**
+   * Creates an arrival process with the intensity profile of the given time distribution, scaled so
+   * that the whole range holds {@code expectedCount} arrivals on average.
+   *
+   * @param profile The time distribution providing the date range and hourly weights
+   * @param expectedCount The expected number of arrivals over the whole range
+   * @param random The random number generator to use
+   */
+  public PoissonArrivalProcess(
+      TransactionTimeDistribution profile, double expectedCount, RandomGenerator random) {
+    this(profile, expectedCount, -1, random);
+  }
+
+  /**
+   * Creates an arrival process emitting exactly {@code count} arrivals over the range, with the
+   * intensity profile of the given time distribution.
+   *
+   * @param profile The time distribution providing the date range and hourly weights
+   * @param count The number of arrivals
+   * @param random The random number generator to use
+   * @return A new arrival process
+   * @throws IllegalArgumentException If the count is negative
+   */
+  public static PoissonArrivalProcess ofCount(
+      TransactionTimeDistribution profile, long count, RandomGenerator random) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Count must not be negative: " + count);
+    }
+    return new PoissonArrivalProcess(profile, Math.max(count, 1), count, random);
+  }
+
+  private PoissonArrivalProcess(
+      TransactionTimeDistribution profile,
+      double expectedCount,
+      long count,
+      RandomGenerator random) {
+    if (!(expectedCount > 0) || Double.isInfinite(expectedCount)) {
+      throw new IllegalArgumentException("Expected count must be positive: " + expectedCount);
+    }
+    this.random = random;
+    this.expectedCount = expectedCount;
+    this.startMillis = profile.getStartDate().atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1_000L;
+    long dayCount = profile.getEndDate().toEpochDay() - profile.getStartDate().toEpochDay() + 1;
+    this.hourCount = dayCount * HOURS_PER_DAY;
+    this.startDayOfWeek = profile.getStartDate().getDayOfWeek().ordinal();
+    this.remaining = count;
+
+    // Each day of week normalized to the same share of the expected count
+    double perDay = expectedCount / dayCount;
+    for (DayOfWeek day : DayOfWeek.values()) {
+      double[] weights = profile.getHourlyWeights(day);
+      double dayWeight = 0;
+      for (double weight : weights) {
+        dayWeight += weight;
+      }
+      for (int h = 0; h < HOURS_PER_DAY; h++) {
+        ratePerMilli[day.ordinal()][h] = perDay * weights[h] / (dayWeight * MILLIS_PER_HOUR);
+      }
+    }
+
+    advance();
+  }
+
+  public boolean hasNext() {
+    return !exhausted;
+  }
+
+  /**
+   * Returns the next arrival time. Consecutive calls never go back in time, though two arrivals can
+   * share the same millisecond.
+   *
+   * @return The arrival time, in UTC milliseconds since the epoch
+   * @throws NoSuchElementException If the end of the range has been reached
+   */
+  public long nextEpochMillis() {
+    if (exhausted) {
+      throw new NoSuchElementException("No arrivals left in the range");
+    }
+    long arrival = next;
+    advance();
+    return arrival;
+  }
+
+  public double getExpectedCount() {
+    return expectedCount;
+  }
+
+  /* Moves to the following arrival by spending an exponential gap, or a spacing, of intensity. */
+  private void advance() {
+    double budget;
+    if (remaining < 0) {
+      budget = -Math.log1p(-random.nextDouble());
+    } else if (remaining == 0) {
+      exhausted = true;
+      return;
+    } else {
+      // The smallest of the remaining sorted uniforms, as a share of what is left to spend
+      double share = -Math.expm1(Math.log1p(-random.nextDouble()) / remaining);
+      budget = expectedCount * unspent * share;
+      unspent -= unspent * share;
+      remaining--;
+    }
+    while (hour < hourCount) {
+      double rate =
+          ratePerMilli[(int) ((startDayOfWeek + hour / HOURS_PER_DAY) % 7)][
+              (int) (hour % HOURS_PER_DAY)];
+      double hourIntensity = rate * (MILLIS_PER_HOUR - offset);
+      if (budget < hourIntensity) {
+        offset += budget / rate;
+        next = startMillis + hour * (long) MILLIS_PER_HOUR + (long) offset;
+        return;
+      }
+      budget -= hourIntensity;
+      hour++;
+      offset = 0;
+    }
+    if (remaining >= 0) {
+      // Rounding overshot the range, the arrival belongs to its last millisecond
+      hour = hourCount - 1;
+      offset = MILLIS_PER_HOUR - 1;
+      next = startMillis + hourCount * (long) MILLIS_PER_HOUR - 1;
+      return;
+    }
+    exhausted = true;
+  }
+}
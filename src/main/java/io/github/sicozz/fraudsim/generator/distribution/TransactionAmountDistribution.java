@@ -3,10 +3,11 @@ package io.github.sicozz.fraudsim.generator.distribution;
 import io.github.sicozz.fraudsim.domain.model.money.Currency;
 import io.github.sicozz.fraudsim.domain.model.money.Money;
 import io.github.sicozz.fraudsim.domain.model.party.Merchant;
-import java.util.HashMap;
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.commons.math3.random.RandomGenerator;
-import org.apache.commons.math3.random.Well19937c;
 
 /**
  * Specialized distribution for generating realistic transaction amounts. Models different patterns
@@ -25,11 +26,22 @@ public class TransactionAmountDistribution implements Distribution<Money> {
    * @param currency The currency to use for the amounts
    */
   public TransactionAmountDistribution(Currency currency) {
+    this(currency, RandomProvider.getDefault().newStream());
+  }
+
+  /**
+   * Creates a new transaction amount distribution for the given currency where every category
+   * distribution draws from the given random generator.
+   *
+   * @param currency The currency to use for the amounts
+   * @param random The random number generator to use
+   */
+  public TransactionAmountDistribution(Currency currency, RandomGenerator random) {
     // Default distribution - a log-normal distribution that models general spending
     this(
         currency,
-        new Well19937c(),
-        LogNormalNumericDistribution.fromMeanAndStdDev(50.0, 75.0, 1.0, 5000.0));
+        random,
+        LogNormalNumericDistribution.fromMeanAndStdDev(50.0, 75.0, 1.0, 5000.0, random));
   }
 
   /**
@@ -43,7 +55,7 @@ public class TransactionAmountDistribution implements Distribution<Money> {
       Currency currency, RandomGenerator random, NumericDistribution defaultDistribution) {
     this.random = random;
     this.currency = currency;
-    this.merchantCategoryDistributions = new HashMap<>();
+    this.merchantCategoryDistributions = new LinkedHashMap<>();
     this.defaultDistribution = defaultDistribution;
 
     // Initialize with common merchant category distributions
@@ -57,35 +69,36 @@ public class TransactionAmountDistribution implements Distribution<Money> {
   private void initializeDefaultCategoryDistributions() {
     // Grocery stores - clustered around smaller amounts
     merchantCategoryDistributions.put(
-        "5411", LogNormalNumericDistribution.fromMeanAndStdDev(65.0, 40.0, 5.0, 500.0));
+        "5411", LogNormalNumericDistribution.fromMeanAndStdDev(65.0, 40.0, 5.0, 500.0, random));
 
     // Restaurants - smaller average amounts
     merchantCategoryDistributions.put(
-        "5812", LogNormalNumericDistribution.fromMeanAndStdDev(35.0, 25.0, 5.0, 300.0));
+        "5812", LogNormalNumericDistribution.fromMeanAndStdDev(35.0, 25.0, 5.0, 300.0, random));
 
     // Gas stations - fairly uniform within a range
     merchantCategoryDistributions.put(
-        "5541", new NormalNumericDistribution(45.0, 15.0, 10.0, 150.0));
+        "5541", new NormalNumericDistribution(45.0, 15.0, 10.0, 150.0, random));
 
     // Department stores - wider range
     merchantCategoryDistributions.put(
-        "5311", LogNormalNumericDistribution.fromMeanAndStdDev(85.0, 100.0, 10.0, 1000.0));
+        "5311", LogNormalNumericDistribution.fromMeanAndStdDev(85.0, 100.0, 10.0, 1000.0, random));
 
     // Electronics - higher amounts
     merchantCategoryDistributions.put(
-        "5732", LogNormalNumericDistribution.fromMeanAndStdDev(250.0, 300.0, 20.0, 5000.0));
+        "5732", LogNormalNumericDistribution.fromMeanAndStdDev(250.0, 300.0, 20.0, 5000.0, random));
 
     // Utility bills - fairly consistent
     merchantCategoryDistributions.put(
-        "4900", new NormalNumericDistribution(120.0, 50.0, 20.0, 500.0));
+        "4900", new NormalNumericDistribution(120.0, 50.0, 20.0, 500.0, random));
 
     // Travel - high amounts with high variance
     merchantCategoryDistributions.put(
-        "4722", LogNormalNumericDistribution.fromMeanAndStdDev(500.0, 700.0, 50.0, 10000.0));
+        "4722",
+        LogNormalNumericDistribution.fromMeanAndStdDev(500.0, 700.0, 50.0, 10000.0, random));
 
     // Healthcare - moderate to high amounts
     merchantCategoryDistributions.put(
-        "8099", LogNormalNumericDistribution.fromMeanAndStdDev(150.0, 200.0, 20.0, 3000.0));
+        "8099", LogNormalNumericDistribution.fromMeanAndStdDev(150.0, 200.0, 20.0, 3000.0, random));
   }
 
   /**
@@ -101,6 +114,15 @@ public class TransactionAmountDistribution implements Distribution<Money> {
     return this;
   }
 
+  /**
+   * Returns the merchant category codes that have a dedicated distribution, in registration order.
+   *
+   * @return The known merchant category codes
+   */
+  public List<String> getMerchantCategories() {
+    return List.copyOf(merchantCategoryDistributions.keySet());
+  }
+
   /**
    * Samples a transaction amount based on the merchant.
    *
@@ -108,39 +130,66 @@ public class TransactionAmountDistribution implements Distribution<Money> {
    * @return A money value representing the transaction amount
    */
   public Money sample(Merchant merchant) {
-    NumericDistribution distribution =
-        merchantCategoryDistributions.getOrDefault(merchant.mcc(), defaultDistribution);
+    return Money.of(sampleAsDouble(merchant.mcc()), currency);
+  }
 
-    double amount = distribution.sample();
+  @Override
+  public Money sample() {
+    return Money.of(sampleAsDouble(), currency);
+  }
 
-    // Apply common price patterns (e.g., $XX.99)
-    if (random.nextDouble() < 0.7) { // 70% chance of price ending in .99 or .95
-      amount = Math.floor(amount);
-      if (random.nextDouble() < 0.8) { // 80% chance of .99 vs .95
-        amount += 0.99;
-      } else {
-        amount += 0.95;
-      }
+  /**
+   * Samples a transaction amount for the given merchant category without allocating.
+   *
+   * @param mcc The merchant category code
+   * @return The amount, in major units of the currency
+   */
+  public double sampleAsDouble(String mcc) {
+    return applyPricePattern(distributionFor(mcc).sampleAsDouble());
+  }
+
+  /* Samples a transaction amount from the default distribution without allocating. */
+  public double sampleAsDouble() {
+    return applyPricePattern(defaultDistribution.sampleAsDouble());
+  }
+
+  /**
+   * Fills a range of an array with amounts for the given merchant category. The category lookup is
+   * done once for the whole batch.
+   *
+   * @param mcc The merchant category code, or null for the default distribution
+   * @param out The array to fill
+   * @param off The index of the first amount
+   * @param len The number of amounts
+   */
+  public void fill(String mcc, double[] out, int off, int len) {
+    NumericDistribution distribution = mcc == null ? defaultDistribution : distributionFor(mcc);
+    distribution.fill(out, off, len);
+    for (int i = off, end = off + len; i < end; i++) {
+      out[i] = applyPricePattern(out[i]);
     }
+  }
 
-    return Money.of(amount, currency);
+  /* Fills a range of an array with amounts from the default distribution. */
+  public void fill(double[] out, int off, int len) {
+    fill(null, out, off, len);
   }
 
-  @Override
-  public Money sample() {
-    double amount = defaultDistribution.sample();
+  private NumericDistribution distributionFor(String mcc) {
+    return merchantCategoryDistributions.getOrDefault(mcc, defaultDistribution);
+  }
 
-    // Apply common price patterns
-    if (random.nextDouble() < 0.7) {
+  /* Applies common price patterns (e.g., $XX.99) to a raw amount. */
+  private double applyPricePattern(double amount) {
+    if (random.nextDouble() < 0.7) { // 70% chance of price ending in .99 or .95
       amount = Math.floor(amount);
-      if (random.nextDouble() < 0.8) {
+      if (random.nextDouble() < 0.8) { // 80% chance of .99 vs .95
         amount += 0.99;
       } else {
         amount += 0.95;
       }
     }
-
-    return Money.of(amount, currency);
+    return amount;
   }
 
   @Override
@@ -1,25 +1,41 @@
 package io.github.sicozz.fraudsim.generator.distribution;
 
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
-import java.util.Map;
 import org.apache.commons.math3.random.RandomGenerator;
-import org.apache.commons.math3.random.Well19937c;
 
 /**
- * Distribution for generating realistic transaction timestamps.
- * Models daily and weekly patterns seen in real-world transaction data.
+ * Distribution for generating realistic transaction timestamps. Models daily and weekly patterns
+ * seen in real-world transaction data.
+ *
+ * <p>Everything that only depends on the configuration (the date range, and one {@link AliasTable}
+ * of hourly weights per day of week) is computed up front, so a sample costs a few uniform variates
+ * and some integer arithmetic. {@link #sampleEpochSecond()} and {@link #sampleEpochMillis()} return
+ * UTC epoch timestamps without allocating; {@link #sample()} wraps the same draw in a {@link
+ * LocalDateTime}.
  */
 public class TransactionTimeDistribution implements Distribution<LocalDateTime> {
 
+  private static final int HOURS_PER_DAY = 24;
+  private static final int SECONDS_PER_HOUR = 3_600;
+  private static final int SECONDS_PER_DAY = 86_400;
+  private static final int MILLIS_PER_HOUR = 3_600_000;
+
   private final RandomGenerator random;
-  private final Map<DayOfWeek, double[]> hourlyWeights;
   private final LocalDate startDate;
   private final LocalDate endDate;
+  private final long startEpochDay;
+  private final int dayCount;
+  // Day of week of the start date, 0 being Monday
+  private final int startDayOfWeek;
+
+  // Indexed by DayOfWeek.ordinal()
+  private final double[][] hourlyWeights = new double[7][];
+  private final AliasTable[] hourTables = new AliasTable[7];
 
   /**
    * Creates a new transaction time distribution with the given date range.
@@ -28,7 +44,7 @@ public class TransactionTimeDistribution implements Distribution<LocalDateTime>
    * @param endDate The end date (inclusive)
    */
   public TransactionTimeDistribution(LocalDate startDate, LocalDate endDate) {
-    this(startDate, endDate, new Well19937c());
+    this(startDate, endDate, RandomProvider.getDefault().newStream());
   }
 
   /**
@@ -38,103 +54,123 @@ public class TransactionTimeDistribution implements Distribution<LocalDateTime>
    * @param endDate The end date (inclusive)
    * @param random The random number generator to use
    */
-  public TransactionTimeDistribution(LocalDate startDate, LocalDate endDate, RandomGenerator random) {
+  public TransactionTimeDistribution(
+      LocalDate startDate, LocalDate endDate, RandomGenerator random) {
+    if (endDate.isBefore(startDate)) {
+      throw new IllegalArgumentException("End date must not be before start date");
+    }
+    long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    if (days > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Date range is too long: " + days + " days");
+    }
+
     this.random = random;
     this.startDate = startDate;
     this.endDate = endDate;
-    this.hourlyWeights = createDefaultHourlyWeights();
+    this.startEpochDay = startDate.toEpochDay();
+    this.dayCount = (int) days;
+    this.startDayOfWeek = startDate.getDayOfWeek().ordinal();
+    applyDefaultHourlyWeights();
   }
 
   /**
-   * Creates default hourly weights for each day of the week.
-   * These model typical patterns where transactions peak during business hours,
-   * with different patterns on weekends.
-   *
-   * @return A map of day of week to hourly weights
+   * Applies default hourly weights for each day of the week. These model typical patterns where
+   * transactions peak during business hours, with different patterns on weekends.
    */
-  private Map<DayOfWeek, double[]> createDefaultHourlyWeights() {
-    Map<DayOfWeek, double[]> weights = new HashMap<>();
-
+  private void applyDefaultHourlyWeights() {
     // Weekday pattern (Monday to Friday)
     // Low overnight, increasing during morning, peak at lunch, high afternoon, tapering in evening
     double[] weekdayWeights = {
-        0.2, 0.1, 0.1, 0.1, 0.2, 0.5, 1.0, 2.0, // 12am-8am
-        3.0, 3.5, 4.0, 4.5, 5.0, 4.5, 4.0, 3.5, // 8am-4pm
-        3.0, 3.0, 2.5, 2.0, 1.5, 1.0, 0.5, 0.3  // 4pm-12am
+      0.2, 0.1, 0.1, 0.1, 0.2, 0.5, 1.0, 2.0, // 12am-8am
+      3.0, 3.5, 4.0, 4.5, 5.0, 4.5, 4.0, 3.5, // 8am-4pm
+      3.0, 3.0, 2.5, 2.0, 1.5, 1.0, 0.5, 0.3 // 4pm-12am
     };
 
     // Weekend pattern (Saturday and Sunday)
     // Later start, more even distribution, peak in afternoon
     double[] weekendWeights = {
-        0.3, 0.2, 0.1, 0.1, 0.1, 0.2, 0.5, 1.0, // 12am-8am
-        1.5, 2.0, 2.5, 3.0, 3.5, 4.0, 4.0, 3.5, // 8am-4pm
-        3.0, 2.5, 2.0, 1.5, 1.0, 0.8, 0.5, 0.4  // 4pm-12am
+      0.3, 0.2, 0.1, 0.1, 0.1, 0.2, 0.5, 1.0, // 12am-8am
+      1.5, 2.0, 2.5, 3.0, 3.5, 4.0, 4.0, 3.5, // 8am-4pm
+      3.0, 2.5, 2.0, 1.5, 1.0, 0.8, 0.5, 0.4 // 4pm-12am
     };
 
     // Assign patterns to days
     for (DayOfWeek day : DayOfWeek.values()) {
       if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
-        weights.put(day, weekendWeights);
+        putHourlyWeights(day, weekendWeights);
       } else {
-        weights.put(day, weekdayWeights);
+        putHourlyWeights(day, weekdayWeights);
       }
     }
-
-    return weights;
   }
 
   /**
-   * Sets custom hourly weights for a specific day of the week.
+   * Sets custom hourly weights for a specific day of the week. The hour table of that day is
+   * rebuilt immediately, so this is not meant to be called while sampling.
    *
    * @param dayOfWeek The day of the week
    * @param hourlyWeights Array of 24 weights, one for each hour of the day
    * @return This distribution, for method chaining
    */
   public TransactionTimeDistribution setHourlyWeights(DayOfWeek dayOfWeek, double[] hourlyWeights) {
-    if (hourlyWeights.length != 24) {
+    putHourlyWeights(dayOfWeek, hourlyWeights);
+    return this;
+  }
+
+  /* Stores the weights and hour table of a day, private so the constructor can call it safely. */
+  private void putHourlyWeights(DayOfWeek dayOfWeek, double[] hourlyWeights) {
+    if (hourlyWeights.length != HOURS_PER_DAY) {
       throw new IllegalArgumentException("Hourly weights must have exactly 24 values");
     }
 
-    this.hourlyWeights.put(dayOfWeek, hourlyWeights.clone());
-    return this;
+    double[] copy = hourlyWeights.clone();
+    this.hourTables[dayOfWeek.ordinal()] = new AliasTable(copy);
+    this.hourlyWeights[dayOfWeek.ordinal()] = copy;
+  }
+
+  /* Samples a UTC timestamp, in whole seconds since the epoch. */
+  public long sampleEpochSecond() {
+    long day = sampleDay();
+    int hour = sampleHour(day);
+    return (startEpochDay + day) * SECONDS_PER_DAY
+        + (long) hour * SECONDS_PER_HOUR
+        + random.nextInt(SECONDS_PER_HOUR);
+  }
+
+  /* Samples a UTC timestamp, in milliseconds since the epoch. */
+  public long sampleEpochMillis() {
+    long day = sampleDay();
+    int hour = sampleHour(day);
+    return ((startEpochDay + day) * SECONDS_PER_DAY + (long) hour * SECONDS_PER_HOUR) * 1_000L
+        + random.nextInt(MILLIS_PER_HOUR);
   }
 
   @Override
   public LocalDateTime sample() {
-    // First, select a random date in the range
-    long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-    long randomDay = (long) (random.nextDouble() * days);
-    LocalDate date = startDate.plusDays(randomDay);
-
-    // Then, select a time based on the hourly weights for this day
-    DayOfWeek dayOfWeek = date.getDayOfWeek();
-    double[] weights = hourlyWeights.get(dayOfWeek);
-
-    /* Random Weighted Selection Algorithm */
-    // Calculate total weight for the day
-    double totalWeight = 0;
-    for (double weight : weights) {
-      totalWeight += weight;
-    }
+    return LocalDateTime.ofEpochSecond(sampleEpochSecond(), 0, ZoneOffset.UTC);
+  }
 
-    // Select a random hour based on weights
-    double randomValue = random.nextDouble() * totalWeight;
-    double cumulativeWeight = 0;
-    int selectedHour = 0;
+  /* Picks a day offset from the start date, uniformly over the range. */
+  private long sampleDay() {
+    return random.nextInt(dayCount);
+  }
 
-    for (int hour = 0; hour < weights.length; hour++) {
-      cumulativeWeight += weights[hour];
-      if (randomValue < cumulativeWeight) {
-        selectedHour = hour;
-        break;
-      }
-    }
+  /* Picks an hour of the given day offset according to the weights of its day of week. */
+  private int sampleHour(long day) {
+    return hourTables[(int) ((startDayOfWeek + day) % 7)].sample(random);
+  }
 
-    // Add random minutes and seconds
-    int minutes = random.nextInt(60);
-    int seconds = random.nextInt(60);
+  /* Returns a copy of the hourly weights of the given day of week. */
+  public double[] getHourlyWeights(DayOfWeek dayOfWeek) {
+    return hourlyWeights[dayOfWeek.ordinal()].clone();
+  }
+
+  public LocalDate getStartDate() {
+    return startDate;
+  }
 
-    return LocalDateTime.of(date, LocalTime.of(selectedHour, minutes, seconds));
+  public LocalDate getEndDate() {
+    return endDate;
   }
 
   @Override
@@ -144,7 +180,6 @@ public class TransactionTimeDistribution implements Distribution<LocalDateTime>
 
   @Override
   public String getDescription() {
-    return String.format("Time distribution from %s to %s with daily patterns",
-        startDate, endDate);
+    return String.format("Time distribution from %s to %s with daily patterns", startDate, endDate);
   }
-}
\ No newline at end of file
+}
@@ -1,20 +1,21 @@
 package io.github.sicozz.fraudsim.generator.distribution;
 
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
 import java.util.Map;
-import java.util.NavigableMap;
-import java.util.TreeMap;
 import java.util.function.Function;
 import org.apache.commons.math3.random.RandomGenerator;
-import org.apache.commons.math3.random.Well19937c;
 
 /**
  * Distribution for selecting entities based on weighted probabilities. This is a specialized
  * version of discrete distribution optimized for selecting entities like merchants, card types,
- * etc.
+ * etc. Entities and weights are kept in flat arrays and sampled through an {@link AliasTable}, so a
+ * draw is O(1) however many entities there are.
  */
 public class WeightedEntityDistribution<T> implements Distribution<T> {
 
-  private final NavigableMap<Double, T> weightMap = new TreeMap<>();
+  private final Object[] entities;
+  private final double[] weights;
+  private final AliasTable table;
   private final RandomGenerator random;
   private final String name;
   private final double totalWeight;
@@ -29,7 +30,7 @@ public class WeightedEntityDistribution<T> implements Distribution<T> {
    */
   public WeightedEntityDistribution(
       String name, Map<T, Double> weights, Function<T, String> labelFunction) {
-    this(name, weights, labelFunction, new Well19937c());
+    this(name, weights, labelFunction, RandomProvider.getDefault().newStream());
   }
 
   /**
@@ -49,20 +50,25 @@ public class WeightedEntityDistribution<T> implements Distribution<T> {
     this.random = random;
     this.labelFunction = labelFunction;
 
-    // Calculate the cumulative weights
+    this.entities = new Object[weights.size()];
+    this.weights = new double[weights.size()];
     double runningSum = 0;
+    int i = 0;
     for (Map.Entry<T, Double> entry : weights.entrySet()) {
+      entities[i] = entry.getKey();
+      this.weights[i] = entry.getValue();
       runningSum += entry.getValue();
-      weightMap.put(runningSum, entry.getKey());
+      i++;
     }
 
     this.totalWeight = runningSum;
+    this.table = new AliasTable(this.weights);
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public T sample() {
-    double value = random.nextDouble() * totalWeight;
-    return weightMap.higherEntry(value).getValue();
+    return (T) entities[table.sample(random)];
   }
 
   @Override
@@ -72,7 +78,7 @@ public class WeightedEntityDistribution<T> implements Distribution<T> {
 
   @Override
   public String getDescription() {
-    return "Weighted distribution with " + weightMap.size() + " possible entities";
+    return "Weighted distribution with " + entities.length + " possible entities";
   }
 
   /**
@@ -80,20 +86,17 @@ public class WeightedEntityDistribution<T> implements Distribution<T> {
    *
    * @return A string representation of this distribution
    */
+  @SuppressWarnings("unchecked")
   public String getDetailedDescription() {
     StringBuilder sb = new StringBuilder(getDescription());
     sb.append(":\n");
 
-    // Track the previous weight to get the individual weights
-    double prevWeight = 0;
-    for (Map.Entry<Double, T> entry : weightMap.entrySet()) {
-      double weight = entry.getKey() - prevWeight;
-      double percentage = (weight / totalWeight) * 100;
+    for (int i = 0; i < entities.length; i++) {
+      double percentage = (weights[i] / totalWeight) * 100;
       sb.append(
           String.format(
               "  - %s: %.2f (%.2f%%)\n",
-              labelFunction.apply(entry.getValue()), weight, percentage));
-      prevWeight = entry.getKey();
+              labelFunction.apply((T) entities[i]), weights[i], percentage));
     }
 
     return sb.toString();
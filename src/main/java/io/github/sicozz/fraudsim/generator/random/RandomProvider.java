@@ -0,0 +1,123 @@
+package io.github.sicozz.fraudsim.generator.random;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Central source of random generators. Every generator it hands out is derived from a single master
+ * seed, so a run is reproducible however many threads or shards take part in it, and is a
+ * lightweight {@code java.util.random} splittable generator ({@code L64X128MixRandom} by default)
+ * adapted to the commons-math {@link RandomGenerator} used by the samplers.
+ *
+ * <p>Three kinds of streams are available:
+ *
+ * <ul>
+ *   <li>{@link #stream(int, int)}, addressed by shard and stream number. The seed only depends on
+ *       those two numbers, so the result doesn't depend on creation order.
+ *   <li>{@link #forThread()}, one generator per thread, split from the master generator the first
+ *       time a thread asks for it.
+ *   <li>{@link #newStream()}, a fresh generator on every call, which is what the default
+ *       constructors of the samplers use.
+ * </ul>
+ *
+ * The generators themselves are not thread-safe, only the provider is.
+ */
+public final class RandomProvider {
+
+  public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+  private static volatile RandomProvider defaultProvider =
+      new RandomProvider(System.nanoTime() ^ Runtime.getRuntime().hashCode());
+
+  private final long masterSeed;
+  private final RandomGeneratorFactory<SplittableGenerator> factory;
+  private final AtomicLong streamCounter = new AtomicLong();
+  private final ThreadLocal<SplittableRandomAdapter> threadStreams;
+
+  public RandomProvider(long masterSeed) {
+    this(masterSeed, DEFAULT_ALGORITHM);
+  }
+
+  /**
+   * Creates a provider using the given {@code java.util.random} algorithm.
+   *
+   * @param masterSeed The seed every generator is derived from
+   * @param algorithm The name of a splittable algorithm, e.g. {@code L64X128MixRandom}
+   */
+  public RandomProvider(long masterSeed, String algorithm) {
+    RandomGeneratorFactory<?> candidate = RandomGeneratorFactory.of(algorithm);
+    if (!candidate.isSplittable()) {
+      throw new IllegalArgumentException("Random algorithm is not splittable: " + algorithm);
+    }
+    @SuppressWarnings("unchecked")
+    RandomGeneratorFactory<SplittableGenerator> splittable =
+        (RandomGeneratorFactory<SplittableGenerator>) candidate;
+    this.masterSeed = masterSeed;
+    this.factory = splittable;
+
+    // Threads split off a single root so that their streams never overlap
+    SplittableRandomAdapter root = create(mix(masterSeed ^ 0x5851F42D4C957F2DL));
+    this.threadStreams =
+        ThreadLocal.withInitial(
+            () -> {
+              synchronized (root) {
+                return root.split();
+              }
+            });
+  }
+
+  /* Returns the provider backing the default constructors of the samplers. */
+  public static RandomProvider getDefault() {
+    return defaultProvider;
+  }
+
+  /* Replaces the default provider, making the default constructors reproducible. */
+  public static void setDefault(RandomProvider provider) {
+    defaultProvider = provider;
+  }
+
+  public long getMasterSeed() {
+    return masterSeed;
+  }
+
+  /**
+   * Returns a new generator for one sampler stream of one shard. Asking twice for the same shard
+   * and stream yields two generators producing the same sequence.
+   *
+   * @param shardIndex The shard index
+   * @param stream The stream number within the shard
+   * @return A new generator
+   */
+  public SplittableRandomAdapter stream(int shardIndex, int stream) {
+    return create(streamSeed(masterSeed, shardIndex, stream));
+  }
+
+  /* Returns the generator of the calling thread, created on first use. */
+  public SplittableRandomAdapter forThread() {
+    return threadStreams.get();
+  }
+
+  /* Returns a new generator, each call moving on to the next independent seed. */
+  public SplittableRandomAdapter newStream() {
+    return create(mix(masterSeed + 0x9E3779B97F4A7C15L * streamCounter.incrementAndGet()));
+  }
+
+  private SplittableRandomAdapter create(long seed) {
+    return new SplittableRandomAdapter(factory, seed);
+  }
+
+  /* Derives the seed of one sampler stream of one shard from the master seed. */
+  public static long streamSeed(long masterSeed, int shardIndex, int stream) {
+    long shardSeed = mix(masterSeed + 0x9E3779B97F4A7C15L * (shardIndex + 1));
+    return mix(shardSeed ^ (0xC2B2AE3D27D4EB4FL * stream));
+  }
+
+  /* SplitMix64 finalizer, spreads nearby seeds into statistically independent ones. */
+  public static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
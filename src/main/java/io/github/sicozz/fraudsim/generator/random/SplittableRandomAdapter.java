@@ -0,0 +1,104 @@
+package io.github.sicozz.fraudsim.generator.random;
+
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * Exposes a {@code java.util.random} splittable generator through the commons-math {@link
+ * RandomGenerator} interface, so every sampler of the project can run on a small, fast LXM
+ * generator instead of {@code Well19937c}. Like the generator it wraps, an instance is not
+ * thread-safe: give each thread its own, either through {@link #split()} or through {@link
+ * RandomProvider}.
+ */
+public final class SplittableRandomAdapter implements RandomGenerator {
+
+  private final RandomGeneratorFactory<SplittableGenerator> factory;
+  private SplittableGenerator delegate;
+
+  /**
+   * Creates an adapter over a freshly seeded generator of the given algorithm.
+   *
+   * @param factory The factory of the algorithm, e.g. {@code L64X128MixRandom}
+   * @param seed The seed
+   */
+  public SplittableRandomAdapter(RandomGeneratorFactory<SplittableGenerator> factory, long seed) {
+    this(factory, factory.create(seed));
+  }
+
+  private SplittableRandomAdapter(
+      RandomGeneratorFactory<SplittableGenerator> factory, SplittableGenerator delegate) {
+    this.factory = factory;
+    this.delegate = delegate;
+  }
+
+  /* Splits off a statistically independent generator, advancing this one. */
+  public SplittableRandomAdapter split() {
+    return new SplittableRandomAdapter(factory, delegate.split());
+  }
+
+  /* Returns the wrapped generator, for callers that work with java.util.random directly. */
+  public SplittableGenerator unwrap() {
+    return delegate;
+  }
+
+  @Override
+  public void setSeed(int seed) {
+    setSeed((long) seed);
+  }
+
+  @Override
+  public void setSeed(int[] seed) {
+    // Same folding as commons-math's own generators use for int[] seeds
+    long combined = 0;
+    for (int s : seed) {
+      combined = combined * 4294967291L + s;
+    }
+    setSeed(combined);
+  }
+
+  @Override
+  public void setSeed(long seed) {
+    this.delegate = factory.create(seed);
+  }
+
+  @Override
+  public void nextBytes(byte[] bytes) {
+    delegate.nextBytes(bytes);
+  }
+
+  @Override
+  public int nextInt() {
+    return delegate.nextInt();
+  }
+
+  @Override
+  public int nextInt(int n) {
+    return delegate.nextInt(n);
+  }
+
+  @Override
+  public long nextLong() {
+    return delegate.nextLong();
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    return delegate.nextBoolean();
+  }
+
+  @Override
+  public float nextFloat() {
+    return delegate.nextFloat();
+  }
+
+  @Override
+  public double nextDouble() {
+    return delegate.nextDouble();
+  }
+
+  @Override
+  public double nextGaussian() {
+    return delegate.nextGaussian();
+  }
+}
@@ -0,0 +1,95 @@
+package io.github.sicozz.fraudsim.generator.rate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of nanosecond delays. Every power of two is split into {@link
+ * #SUB_BUCKETS} linear sub-buckets, which bounds the relative error of a reported percentile to
+ * about 1/SUB_BUCKETS while keeping the whole range (1ns to ~292 years) in a few hundred counters.
+ */
+public class LagHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  /* Records one delay, negative values (ahead of schedule) count as zero. */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucketOf(value));
+    totalCount.incrementAndGet();
+    totalNanos.addAndGet(value);
+    maxNanos.accumulateAndGet(value, Math::max);
+  }
+
+  public long getCount() {
+    return totalCount.get();
+  }
+
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  public double getMeanNanos() {
+    long count = totalCount.get();
+    return count == 0 ? 0 : (double) totalNanos.get() / count;
+  }
+
+  /**
+   * Returns an upper bound of the given percentile.
+   *
+   * @param percentile The percentile, in [0, 100]
+   * @return The upper bound of the bucket holding the percentile, in nanoseconds
+   */
+  public long getPercentileNanos(double percentile) {
+    long count = totalCount.get();
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      seen += counts.get(bucket);
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(bucket), maxNanos.get());
+      }
+    }
+    return maxNanos.get();
+  }
+
+  public void reset() {
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      counts.set(bucket, 0);
+    }
+    totalCount.set(0);
+    totalNanos.set(0);
+    maxNanos.set(0);
+  }
+
+  /* Values below SUB_BUCKETS map linearly, larger ones by exponent and leading mantissa bits. */
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+  }
+
+  static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long mantissa = bucket % SUB_BUCKETS;
+    long lower = (SUB_BUCKETS + mantissa) << (exponent - SUB_BUCKET_BITS);
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+    return lower + width - 1;
+  }
+}
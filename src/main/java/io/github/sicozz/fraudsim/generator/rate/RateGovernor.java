@@ -0,0 +1,167 @@
+package io.github.sicozz.fraudsim.generator.rate;
+
+import io.github.sicozz.fraudsim.config.properties.TransactionGeneratorProperties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Open-loop rate governor. Emission slot {@code n} has a fixed intended send time of {@code start +
+ * n / tps} that never moves, no matter how long earlier emissions took. A slow sink therefore does
+ * not lower the offered load: once it recovers, the overdue slots are released back-to-back until
+ * the schedule is caught up.
+ *
+ * <p>The governor is shared by all emitting threads, each call to {@link #acquire()} claims the
+ * next slot. Waits longer than {@link #SPIN_THRESHOLD_NANOS} park the thread and the tail is spun,
+ * which keeps jitter in the microsecond range from 1 TPS to well above 500k TPS.
+ *
+ * <p>Two delays are tracked, both measured from the intended send time:
+ *
+ * <ul>
+ *   <li>emission lag, how late the slot was handed to the caller. A growing value means the
+ *       generator itself can't keep up with the target rate.
+ *   <li>completion lag, reported by the caller through {@link #recordCompletion(long)} once the
+ *       event has been delivered. It includes queueing behind a stalled sink, so it doesn't suffer
+ *       from coordinated omission.
+ * </ul>
+ */
+public class RateGovernor {
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+  private static final long SPIN_THRESHOLD_NANOS = 50_000L;
+
+  private final long tps;
+  private final LongSupplier clock;
+  private final long startNanos;
+  private final AtomicLong nextSlot = new AtomicLong();
+  // Slots handed out, a batched acquire counting all of its permits but recording one lag sample
+  private final LongAdder emitted = new LongAdder();
+  private final LagHistogram emissionLag = new LagHistogram();
+  private final LagHistogram completionLag = new LagHistogram();
+
+  /**
+   * Creates a governor whose schedule starts now.
+   *
+   * @param tps The target rate, in transactions per second
+   */
+  public RateGovernor(long tps) {
+    this(tps, System::nanoTime);
+  }
+
+  /**
+   * Creates a governor with a custom nanosecond clock, whose schedule starts at the clock's current
+   * value.
+   *
+   * @param tps The target rate, in transactions per second
+   * @param clock The monotonic nanosecond clock
+   */
+  public RateGovernor(long tps, LongSupplier clock) {
+    if (tps <= 0) {
+      throw new IllegalArgumentException("Target TPS must be positive");
+    }
+    this.tps = tps;
+    this.clock = clock;
+    this.startNanos = clock.getAsLong();
+  }
+
+  /* Creates a governor enforcing fraudsim.transaction.default-tps. */
+  public static RateGovernor fromProperties(TransactionGeneratorProperties properties) {
+    return new RateGovernor(properties.getTransaction().getDefaultTps());
+  }
+
+  public long getTargetTps() {
+    return tps;
+  }
+
+  /**
+   * Claims the next slot and waits until its intended send time.
+   *
+   * @return The intended send time of the claimed slot, to pass to {@link #recordCompletion(long)}
+   * @throws InterruptedException If the thread is interrupted while waiting
+   */
+  public long acquire() throws InterruptedException {
+    return acquire(1);
+  }
+
+  /**
+   * Claims {@code permits} consecutive slots at once and waits until the first one is due. Useful
+   * at very high rates, where the caller emits a small burst of {@code permits} events per call.
+   *
+   * @param permits The number of slots to claim
+   * @return The intended send time of the first claimed slot
+   * @throws InterruptedException If the thread is interrupted while waiting
+   */
+  public long acquire(int permits) throws InterruptedException {
+    long slot = nextSlot.getAndAdd(permits);
+    long intended = intendedTime(slot);
+
+    long remaining = intended - clock.getAsLong();
+    while (remaining > 0) {
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      if (remaining > 2 * SPIN_THRESHOLD_NANOS) {
+        LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+      } else {
+        Thread.onSpinWait();
+      }
+      remaining = intended - clock.getAsLong();
+    }
+
+    emissionLag.record(-remaining);
+    emitted.add(permits);
+    return intended;
+  }
+
+  /**
+   * Records that the event emitted for the given slot has been fully delivered.
+   *
+   * @param intendedNanos The value returned by {@link #acquire()} for the event
+   */
+  public void recordCompletion(long intendedNanos) {
+    completionLag.record(clock.getAsLong() - intendedNanos);
+  }
+
+  /**
+   * Returns the intended send time of the given slot. Computed with integer arithmetic from the
+   * start of the schedule, so it doesn't drift however many slots have been emitted.
+   */
+  public long intendedTime(long slot) {
+    return startNanos + (slot / tps) * NANOS_PER_SECOND + (slot % tps) * NANOS_PER_SECOND / tps;
+  }
+
+  /* Returns how many slots are already due but haven't been claimed yet. */
+  public long getBacklog() {
+    long elapsed = clock.getAsLong() - startNanos;
+    long due =
+        (elapsed / NANOS_PER_SECOND) * tps + (elapsed % NANOS_PER_SECOND) * tps / NANOS_PER_SECOND;
+    return Math.max(0, due - nextSlot.get());
+  }
+
+  public LagHistogram getEmissionLag() {
+    return emissionLag;
+  }
+
+  public LagHistogram getCompletionLag() {
+    return completionLag;
+  }
+
+  /* Takes a snapshot of the governor's counters. */
+  public RateStats stats() {
+    long elapsed = clock.getAsLong() - startNanos;
+    long emittedSlots = emitted.sum();
+    double achieved = elapsed <= 0 ? 0 : emittedSlots * (double) NANOS_PER_SECOND / elapsed;
+    return new RateStats(
+        tps,
+        achieved,
+        emittedSlots,
+        getBacklog(),
+        emissionLag.getPercentileNanos(50),
+        emissionLag.getPercentileNanos(99),
+        emissionLag.getMaxNanos(),
+        completionLag.getPercentileNanos(50),
+        completionLag.getPercentileNanos(99),
+        completionLag.getMaxNanos());
+  }
+}
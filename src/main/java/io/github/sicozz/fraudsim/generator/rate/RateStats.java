@@ -0,0 +1,44 @@
+package io.github.sicozz.fraudsim.generator.rate;
+
+/**
+ * Snapshot of a {@link RateGovernor}. Lag values are in nanoseconds, measured from the intended
+ * send time of each slot.
+ */
+public record RateStats(
+    long targetTps,
+    double achievedTps,
+    long emitted,
+    long backlog,
+    long emissionLagP50,
+    long emissionLagP99,
+    long emissionLagMax,
+    long completionLagP50,
+    long completionLagP99,
+    long completionLagMax) {
+
+  /**
+   * Returns whether the generator itself is the bottleneck: slots are piling up unclaimed, or the
+   * median slot is handed out more than a millisecond late.
+   */
+  public boolean isGeneratorBound() {
+    return backlog > targetTps / 10 || emissionLagP50 > 1_000_000L;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "target=%d tps, achieved=%.1f tps, emitted=%d, backlog=%d, "
+            + "emission lag p50/p99/max=%.3f/%.3f/%.3f ms, "
+            + "completion lag p50/p99/max=%.3f/%.3f/%.3f ms",
+        targetTps,
+        achievedTps,
+        emitted,
+        backlog,
+        emissionLagP50 / 1e6,
+        emissionLagP99 / 1e6,
+        emissionLagMax / 1e6,
+        completionLagP50 / 1e6,
+        completionLagP99 / 1e6,
+        completionLagMax / 1e6);
+  }
+}
@@ -0,0 +1,528 @@
+package io.github.sicozz.fraudsim.generator.universe;
+
+import static io.github.sicozz.fraudsim.generator.universe.UniverseLayout.*;
+
+import io.github.sicozz.fraudsim.domain.model.party.Customer;
+import io.github.sicozz.fraudsim.domain.model.party.Merchant;
+import io.github.sicozz.fraudsim.domain.model.payment.BankAccount;
+import io.github.sicozz.fraudsim.domain.model.payment.Card;
+import io.github.sicozz.fraudsim.domain.model.payment.CardType;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionTypes;
+import io.github.sicozz.fraudsim.generator.distribution.Distribution;
+import io.github.sicozz.fraudsim.generator.distribution.DistributionFactory;
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.apache.commons.math3.random.RandomGenerator;
+
+/**
+ * The population a run draws its parties from: customers, each with one card and one bank account,
+ * and merchants. Entities are generated once and stored column by column, one dense column per
+ * attribute indexed by the entity's int id, strings being ids into a shared {@link StringPool}, so
+ * reading an attribute is a single read at a computed offset. The record views ({@link
+ * #customer(int)}, {@link #card(int)}, ...) are materialized on demand from the columns.
+ *
+ * <p>The columns live in a {@link MemorySegment} with the layout of {@link UniverseLayout}, which
+ * is also the file format: {@link #save(Path)} writes the segments out as they are and {@link
+ * #open(Path)} maps them back without decoding anything, so a large universe is built once and
+ * reused by later runs and by other processes on the same host.
+ *
+ * <p>Entity UUIDs are derived from the seed and the int id: customers are {@code (tag, id)} and
+ * merchants {@code (~tag, id)}, the tag being the mixed seed. A universe is immutable and can be
+ * shared by every shard of a run.
+ */
+public final class EntityUniverse {
+
+  private static final String EMAIL_DOMAIN = "@fraudsim.io";
+  private static final String ROUTING_NUMBER = "021000021";
+  private static final String BANK_NAME = "Fraudsim Bank";
+  private static final CardType[] CARD_TYPES = CardType.values();
+  private static final long WRITE_CHUNK = 1 << 30;
+
+  // Random streams of the universe, on a shard index no generator shard uses
+  private static final int UNIVERSE_SHARD = -1;
+  private static final int CUSTOMER_STREAM = 1;
+  private static final int MERCHANT_STREAM = 2;
+  private static final int NETWORK_STREAM = 3;
+  private static final int CARD_TYPE_STREAM = 4;
+  private static final int INSTRUMENT_STREAM = 5;
+
+  private static final List<String> FIRST_NAMES =
+      List.of(
+          "James",
+          "Mary",
+          "John",
+          "Patricia",
+          "Robert",
+          "Jennifer",
+          "Michael",
+          "Linda",
+          "William",
+          "Elizabeth",
+          "David",
+          "Barbara",
+          "Richard",
+          "Susan",
+          "Joseph",
+          "Jessica",
+          "Thomas",
+          "Sarah",
+          "Carlos",
+          "Karen",
+          "Daniel",
+          "Lisa",
+          "Matthew",
+          "Nancy",
+          "Anthony",
+          "Sofia",
+          "Mark",
+          "Ana",
+          "Wei",
+          "Priya",
+          "Ahmed",
+          "Yuki");
+  private static final List<String> LAST_NAMES =
+      List.of(
+          "Smith",
+          "Johnson",
+          "Williams",
+          "Brown",
+          "Jones",
+          "Garcia",
+          "Miller",
+          "Davis",
+          "Rodriguez",
+          "Martinez",
+          "Hernandez",
+          "Lopez",
+          "Gonzalez",
+          "Wilson",
+          "Anderson",
+          "Thomas",
+          "Taylor",
+          "Moore",
+          "Jackson",
+          "Martin",
+          "Lee",
+          "Perez",
+          "Thompson",
+          "White",
+          "Harris",
+          "Sanchez",
+          "Clark",
+          "Lewis",
+          "Chen",
+          "Patel",
+          "Kim",
+          "Nguyen");
+  private static final List<String> MERCHANT_PREFIXES =
+      List.of(
+          "Main Street",
+          "Corner",
+          "City",
+          "Sunrise",
+          "Blue Sky",
+          "Golden",
+          "Harbor",
+          "Maple",
+          "Summit",
+          "Riverside",
+          "Central",
+          "Evergreen",
+          "Union",
+          "Pioneer",
+          "Northside",
+          "Metro");
+  private static final List<String> MERCHANT_SUFFIXES =
+      List.of(
+          "Market",
+          "Store",
+          "Shop",
+          "Cafe",
+          "Outlet",
+          "Supply",
+          "Services",
+          "Center",
+          "Express",
+          "Depot",
+          "Goods",
+          "Mart");
+
+  private final MemorySegment table;
+  private final StringPool strings;
+  private final long populationTag;
+  private final int customerCount;
+  private final int merchantCount;
+  private final String[] merchantCategories;
+
+  // Column slices of the table, one value per entity
+  private final MemorySegment accountNumbers;
+  private final MemorySegment customerNames;
+  private final MemorySegment customerEmails;
+  private final MemorySegment cardNumbers;
+  private final MemorySegment cardExpiries;
+  private final MemorySegment cardNetworks;
+  private final MemorySegment cardTypes;
+  private final MemorySegment merchantNames;
+  private final MemorySegment merchantCategoryIndexes;
+
+  /**
+   * Creates a universe over encoded columns, with the layout described in {@link UniverseLayout}.
+   *
+   * @param table The header and the columns
+   * @param strings The string pool the columns refer to
+   */
+  EntityUniverse(MemorySegment table, StringPool strings) {
+    this.table = table;
+    this.strings = strings;
+    this.populationTag = table.get(LONG, POPULATION_TAG);
+    this.customerCount = table.get(INT, CUSTOMER_COUNT);
+    this.merchantCount = table.get(INT, MERCHANT_COUNT);
+    int categoryCount = table.get(INT, CATEGORY_COUNT);
+
+    UniverseLayout layout = new UniverseLayout(customerCount, merchantCount, categoryCount);
+    this.accountNumbers = table.asSlice(layout.accountNumbers, 8L * customerCount);
+    this.customerNames = table.asSlice(layout.customerNames, 4L * customerCount);
+    this.customerEmails = table.asSlice(layout.customerEmails, 4L * customerCount);
+    this.cardNumbers = table.asSlice(layout.cardNumbers, 4L * customerCount);
+    this.cardExpiries = table.asSlice(layout.cardExpiries, 4L * customerCount);
+    this.cardNetworks = table.asSlice(layout.cardNetworks, customerCount);
+    this.cardTypes = table.asSlice(layout.cardTypes, customerCount);
+    this.merchantNames = table.asSlice(layout.merchantNames, 4L * merchantCount);
+    this.merchantCategoryIndexes =
+        table.asSlice(layout.merchantCategoryIndexes, 2L * merchantCount);
+    this.merchantCategories = new String[categoryCount];
+    for (int i = 0; i < categoryCount; i++) {
+      merchantCategories[i] = strings.get(table.get(INT, layout.merchantCategories + 4L * i));
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Maps a universe saved by {@link #save(Path)}. Nothing is read up front but the header and the
+   * merchant categories: entities are read straight from the mapping, so pages are loaded when
+   * first touched and processes mapping the same file share them through the page cache. The
+   * mapping is released when the universe is no longer reachable.
+   *
+   * @param file The universe file
+   * @return The mapped universe
+   * @throws IOException If the file can't be read, or isn't a universe file of this version
+   */
+  public static EntityUniverse open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      if (fileSize < HEADER_SIZE) {
+        throw new IOException("Not an entity universe file: " + file);
+      }
+      MemorySegment mapped =
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize, Arena.ofAuto());
+      if (mapped.get(LONG, MAGIC_OFFSET) != MAGIC) {
+        throw new IOException("Not an entity universe file: " + file);
+      }
+      int version = mapped.get(INT, VERSION_OFFSET);
+      if (version != VERSION) {
+        throw new IOException("Unsupported entity universe version " + version + ": " + file);
+      }
+
+      UniverseLayout layout =
+          new UniverseLayout(
+              mapped.get(INT, CUSTOMER_COUNT),
+              mapped.get(INT, MERCHANT_COUNT),
+              mapped.get(INT, CATEGORY_COUNT));
+      int stringCount = mapped.get(INT, STRING_COUNT);
+      long stringBytesLength = mapped.get(LONG, STRING_BYTES_LENGTH);
+      if (layout.totalSize(stringCount, stringBytesLength) != fileSize) {
+        throw new IOException("Truncated or corrupt entity universe file: " + file);
+      }
+
+      long offsetsSize = 8L * (stringCount + 1);
+      StringPool strings =
+          new StringPool(
+              mapped.asSlice(layout.tableSize, offsetsSize),
+              mapped.asSlice(layout.tableSize + offsetsSize, stringBytesLength));
+      return new EntityUniverse(mapped.asSlice(0, layout.tableSize), strings);
+    }
+  }
+
+  /**
+   * Saves the universe to a file that {@link #open(Path)} maps back. The file is written next to
+   * the target and moved in place, so a concurrent reader never sees a partial file.
+   *
+   * @param file The universe file, replaced if it exists
+   * @throws IOException If the file can't be written
+   */
+  public void save(Path file) throws IOException {
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      writeFully(channel, table);
+      writeFully(channel, strings.offsets());
+      writeFully(channel, strings.bytes());
+    }
+    Files.move(
+        temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static void writeFully(FileChannel channel, MemorySegment segment) throws IOException {
+    // Byte buffers are int-indexed, so large segments go out in slices
+    for (long position = 0; position < segment.byteSize(); position += WRITE_CHUNK) {
+      ByteBuffer chunk =
+          segment
+              .asSlice(position, Math.min(WRITE_CHUNK, segment.byteSize() - position))
+              .asByteBuffer();
+      while (chunk.hasRemaining()) {
+        channel.write(chunk);
+      }
+    }
+  }
+
+  public int customerCount() {
+    return customerCount;
+  }
+
+  public int merchantCount() {
+    return merchantCount;
+  }
+
+  public StringPool strings() {
+    return strings;
+  }
+
+  public UUID customerId(int customer) {
+    return new UUID(populationTag, customer);
+  }
+
+  /* Returns the int id of the customer with the given UUID, -1 if it isn't one of this universe. */
+  public int customerIndex(UUID id) {
+    long index = id.getLeastSignificantBits();
+    return id.getMostSignificantBits() == populationTag && index >= 0 && index < customerCount
+        ? (int) index
+        : -1;
+  }
+
+  public String customerName(int customer) {
+    return strings.get(customerNames.getAtIndex(INT, customer));
+  }
+
+  public String customerEmail(int customer) {
+    return strings.get(customerEmails.getAtIndex(INT, customer));
+  }
+
+  /* Returns the network of the customer's card, canonical as per {@link TransactionTypes}. */
+  public String cardNetwork(int customer) {
+    return TransactionTypes.network(cardNetworks.getAtIndex(BYTE, customer));
+  }
+
+  public CardType cardType(int customer) {
+    return CARD_TYPES[cardTypes.getAtIndex(BYTE, customer)];
+  }
+
+  public String maskedCardNumber(int customer) {
+    return strings.get(cardNumbers.getAtIndex(INT, customer));
+  }
+
+  public String cardExpiry(int customer) {
+    return strings.get(cardExpiries.getAtIndex(INT, customer));
+  }
+
+  public long accountNumber(int customer) {
+    return accountNumbers.getAtIndex(LONG, customer);
+  }
+
+  public UUID merchantId(int merchant) {
+    return new UUID(~populationTag, merchant);
+  }
+
+  /* Returns the int id of the merchant with the given UUID, -1 if it isn't one of this universe. */
+  public int merchantIndex(UUID id) {
+    long index = id.getLeastSignificantBits();
+    return id.getMostSignificantBits() == ~populationTag && index >= 0 && index < merchantCount
+        ? (int) index
+        : -1;
+  }
+
+  public String merchantName(int merchant) {
+    return strings.get(merchantNames.getAtIndex(INT, merchant));
+  }
+
+  public String merchantMcc(int merchant) {
+    return merchantCategories[merchantCategoryIndexes.getAtIndex(SHORT, merchant)];
+  }
+
+  public Customer customer(int customer) {
+    return new Customer(customerId(customer), customerName(customer), customerEmail(customer));
+  }
+
+  public Merchant merchant(int merchant) {
+    return new Merchant(merchantId(merchant), merchantName(merchant), merchantMcc(merchant));
+  }
+
+  public Card card(int customer) {
+    return new Card(
+        maskedCardNumber(customer),
+        cardType(customer),
+        cardNetwork(customer),
+        customerName(customer),
+        cardExpiry(customer),
+        "");
+  }
+
+  public BankAccount account(int customer) {
+    return BankAccount.checking(
+        Long.toString(accountNumber(customer)), ROUTING_NUMBER, customerName(customer), BANK_NAME);
+  }
+
+  /* Generates a universe. Equal settings give an identical universe. */
+  public static final class Builder {
+
+    private long seed;
+    private int customerCount;
+    private int merchantCount;
+    private List<String> merchantCategories = List.of();
+
+    private Builder() {}
+
+    public Builder withSeed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    public Builder withCustomerCount(int customerCount) {
+      this.customerCount = customerCount;
+      return this;
+    }
+
+    public Builder withMerchantCount(int merchantCount) {
+      this.merchantCount = merchantCount;
+      return this;
+    }
+
+    /* Sets the codes merchant categories are drawn from, uniformly. */
+    public Builder withMerchantCategories(List<String> merchantCategories) {
+      this.merchantCategories = List.copyOf(merchantCategories);
+      return this;
+    }
+
+    public EntityUniverse build() {
+      if (customerCount < 1 || merchantCount < 1) {
+        throw new IllegalArgumentException("Customer and merchant populations must not be empty");
+      }
+      if (merchantCategories.isEmpty() || merchantCategories.size() > Short.MAX_VALUE) {
+        throw new IllegalArgumentException(
+            "Merchant categories must hold 1 to 32767 codes: " + merchantCategories.size());
+      }
+      RandomProvider random = new RandomProvider(seed);
+      StringPool.Builder pool = StringPool.builder();
+      UniverseLayout layout =
+          new UniverseLayout(customerCount, merchantCount, merchantCategories.size());
+      MemorySegment table = Arena.ofAuto().allocate(layout.tableSize, 8);
+
+      RandomGenerator people = random.stream(UNIVERSE_SHARD, CUSTOMER_STREAM);
+      StringBuilder email = new StringBuilder(48);
+      for (int i = 0; i < customerCount; i++) {
+        String first = FIRST_NAMES.get(people.nextInt(FIRST_NAMES.size()));
+        String last = LAST_NAMES.get(people.nextInt(LAST_NAMES.size()));
+        table.set(INT, layout.customerNames + 4L * i, pool.intern(first + " " + last));
+        email.setLength(0);
+        email.append(first).append('.').append(last).append(i).append(EMAIL_DOMAIN);
+        table.set(
+            INT,
+            layout.customerEmails + 4L * i,
+            pool.add(email.toString().toLowerCase(Locale.ROOT)));
+      }
+
+      Distribution<String> networks =
+          DistributionFactory.createCardNetworkDistribution(
+              random.stream(UNIVERSE_SHARD, NETWORK_STREAM));
+      Distribution<CardType> types =
+          DistributionFactory.createCardTypeDistribution(
+              random.stream(UNIVERSE_SHARD, CARD_TYPE_STREAM));
+      RandomGenerator instruments = random.stream(UNIVERSE_SHARD, INSTRUMENT_STREAM);
+      char[] digits = "0XXXXXXXXXXX0000".toCharArray();
+      for (int i = 0; i < customerCount; i++) {
+        String network = networks.sample();
+        int networkOrdinal = TransactionTypes.networkOrdinal(network);
+        // Only the pre-registered networks have the same ordinal in every JVM
+        if (networkOrdinal >= TransactionTypes.KNOWN_NETWORKS.size()) {
+          throw new IllegalStateException("Card network can't be stored in a universe: " + network);
+        }
+        table.set(BYTE, layout.cardNetworks + i, (byte) networkOrdinal);
+        table.set(BYTE, layout.cardTypes + i, (byte) types.sample().ordinal());
+
+        digits[0] = issuerDigit(network);
+        int last4 = instruments.nextInt(10_000);
+        for (int d = digits.length - 1; d >= digits.length - 4; d--) {
+          digits[d] = (char) ('0' + last4 % 10);
+          last4 /= 10;
+        }
+        table.set(INT, layout.cardNumbers + 4L * i, pool.intern(new String(digits)));
+
+        int month = 1 + instruments.nextInt(12);
+        int year = 26 + instruments.nextInt(5);
+        table.set(
+            INT,
+            layout.cardExpiries + 4L * i,
+            pool.intern((month < 10 ? "0" : "") + month + "/" + year));
+        table.set(
+            LONG,
+            layout.accountNumbers + 8L * i,
+            1_000_000_000L + Math.floorMod(instruments.nextLong(), 9_000_000_000L));
+      }
+
+      RandomGenerator shops = random.stream(UNIVERSE_SHARD, MERCHANT_STREAM);
+      for (int i = 0; i < merchantCount; i++) {
+        String name =
+            MERCHANT_PREFIXES.get(shops.nextInt(MERCHANT_PREFIXES.size()))
+                + " "
+                + MERCHANT_SUFFIXES.get(shops.nextInt(MERCHANT_SUFFIXES.size()));
+        table.set(INT, layout.merchantNames + 4L * i, pool.intern(name));
+        table.set(
+            SHORT,
+            layout.merchantCategoryIndexes + 2L * i,
+            (short) shops.nextInt(merchantCategories.size()));
+      }
+      for (int i = 0; i < merchantCategories.size(); i++) {
+        table.set(INT, layout.merchantCategories + 4L * i, pool.intern(merchantCategories.get(i)));
+      }
+
+      StringPool strings = pool.build();
+      table.set(LONG, MAGIC_OFFSET, MAGIC);
+      table.set(INT, VERSION_OFFSET, VERSION);
+      table.set(INT, CUSTOMER_COUNT, customerCount);
+      table.set(INT, MERCHANT_COUNT, merchantCount);
+      table.set(INT, CATEGORY_COUNT, merchantCategories.size());
+      table.set(LONG, POPULATION_TAG, RandomProvider.mix(seed));
+      table.set(INT, STRING_COUNT, strings.size());
+      table.set(LONG, STRING_BYTES_LENGTH, strings.bytes().byteSize());
+      return new EntityUniverse(table, strings);
+    }
+
+    /* Returns the leading digit of the card numbers of a network. */
+    private static char issuerDigit(String network) {
+      return switch (network) {
+        case "VISA" -> '4';
+        case "MASTERCARD" -> '5';
+        case "AMEX", "JCB" -> '3';
+        case "DISCOVER", "UNIONPAY" -> '6';
+        default -> '9';
+      };
+    }
+  }
+}
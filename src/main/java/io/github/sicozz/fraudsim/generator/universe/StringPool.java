@@ -0,0 +1,148 @@
+package io.github.sicozz.fraudsim.generator.universe;
+
+import static io.github.sicozz.fraudsim.generator.universe.UniverseLayout.BYTE;
+import static io.github.sicozz.fraudsim.generator.universe.UniverseLayout.LONG;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable pool of strings addressed by dense int ids. Entity tables store ids into a shared pool
+ * instead of string references, so repeated values (first names, expiry dates, masked numbers) are
+ * held once and a table column is a plain int column. Built with {@link Builder}, which hands out
+ * the same id for equal strings.
+ *
+ * <p>The strings are kept as UTF-8 bytes in a {@link MemorySegment}, located by a column of
+ * offsets, so a pool can live in a mapped file as well as in memory. A string is decoded when it is
+ * read; recently read strings are kept in a small cache, which mostly holds the frequent ones. A
+ * pool is safe for concurrent reads.
+ */
+public final class StringPool {
+
+  private static final int CACHE_SIZE = 1 << 12;
+
+  // Ids and strings are published together, so a racy read sees a consistent pair or nothing
+  private record Entry(int id, String value) {}
+
+  private final MemorySegment offsets;
+  private final MemorySegment bytes;
+  private final int size;
+  private final Entry[] cache = new Entry[CACHE_SIZE];
+
+  /**
+   * Creates a pool over encoded strings.
+   *
+   * @param offsets The start of every string in {@code bytes}, plus the end of the last one
+   * @param bytes The UTF-8 bytes of the strings, back to back
+   */
+  StringPool(MemorySegment offsets, MemorySegment bytes) {
+    this.offsets = offsets;
+    this.bytes = bytes;
+    this.size = (int) (offsets.byteSize() / LONG.byteSize()) - 1;
+  }
+
+  /* Returns the string with the given id. */
+  public String get(int id) {
+    int slot = id & (CACHE_SIZE - 1);
+    Entry entry = cache[slot];
+    if (entry != null && entry.id() == id) {
+      return entry.value();
+    }
+    if (id < 0 || id >= size) {
+      throw new IndexOutOfBoundsException("String id " + id + " out of bounds for " + size);
+    }
+    long start = offsets.getAtIndex(LONG, id);
+    long end = offsets.getAtIndex(LONG, id + 1);
+    String value =
+        new String(bytes.asSlice(start, end - start).toArray(BYTE), StandardCharsets.UTF_8);
+    cache[slot] = new Entry(id, value);
+    return value;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  MemorySegment offsets() {
+    return offsets;
+  }
+
+  MemorySegment bytes() {
+    return bytes;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Adds strings to a pool. The lookup map is dropped with the builder. The bytes grow in a scratch
+   * segment, freed as soon as it is outgrown, and are copied once into a right-sized segment by
+   * {@link #build()}, so the pool holds no slack. A builder is confined to the thread that created
+   * it and can build one pool.
+   */
+  public static final class Builder {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private Arena scratch = Arena.ofConfined();
+    private long[] offsets = new long[64];
+    private MemorySegment bytes = scratch.allocate(1024);
+    private int size;
+
+    private Builder() {}
+
+    /* Returns the id of a string, adding it to the pool if it's new. */
+    public int intern(String value) {
+      Integer id = ids.get(value);
+      if (id != null) {
+        return id;
+      }
+      id = add(value);
+      ids.put(value, id);
+      return id;
+    }
+
+    /**
+     * Adds a string without looking for an equal one, for values known to be unique (emails). It is
+     * not returned by later calls to {@link #intern(String)}.
+     *
+     * @param value The string
+     * @return The id of the new string
+     */
+    public int add(String value) {
+      byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+      long start = offsets[size];
+      long end = start + encoded.length;
+      if (end > bytes.byteSize()) {
+        Arena grownScratch = Arena.ofConfined();
+        MemorySegment grown = grownScratch.allocate(Math.max(end, bytes.byteSize() * 2));
+        MemorySegment.copy(bytes, 0, grown, 0, start);
+        scratch.close();
+        scratch = grownScratch;
+        bytes = grown;
+      }
+      MemorySegment.copy(encoded, 0, bytes, BYTE, start, encoded.length);
+      if (size + 1 == offsets.length) {
+        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+      }
+      offsets[++size] = end;
+      return size - 1;
+    }
+
+    public StringPool build() {
+      Arena arena = Arena.ofAuto();
+      MemorySegment offsetColumn = arena.allocate(LONG.byteSize() * (size + 1), 8);
+      for (int i = 0; i <= size; i++) {
+        offsetColumn.setAtIndex(LONG, i, offsets[i]);
+      }
+      MemorySegment pooled = arena.allocate(Math.max(1, offsets[size]));
+      MemorySegment.copy(bytes, 0, pooled, 0, offsets[size]);
+      scratch.close();
+      return new StringPool(offsetColumn, pooled.asSlice(0, offsets[size]));
+    }
+  }
+}
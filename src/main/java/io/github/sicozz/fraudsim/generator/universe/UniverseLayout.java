@@ -0,0 +1,107 @@
+package io.github.sicozz.fraudsim.generator.universe;
+
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Byte layout of an entity universe, the same in memory and on disk. A universe is a table (header
+ * and columns) followed by its string pool:
+ *
+ * <pre>
+ *   0  long   magic, "FSIMUNIV" in ASCII
+ *   8  int    layout version
+ *  12  int    customer count
+ *  16  int    merchant count
+ *  20  int    merchant category count
+ *  24  long   population tag
+ *  32  int    string count
+ *  36  int    reserved
+ *  40  long   string bytes length
+ *  48  16 reserved bytes
+ *  64  columns, one value per entity, each starting on an 8-byte boundary:
+ *        long   account numbers              [customers]
+ *        int    customer names               [customers]   string ids
+ *        int    customer emails              [customers]   string ids
+ *        int    card numbers                 [customers]   string ids
+ *        int    card expiries                [customers]   string ids
+ *        byte   card networks                [customers]   TransactionTypes network ordinals
+ *        byte   card types                   [customers]   CardType ordinals
+ *        int    merchant names               [merchants]   string ids
+ *        short  merchant category indexes    [merchants]
+ *        int    merchant categories          [categories]  string ids
+ *      long   string offsets                 [strings + 1] relative to the string bytes
+ *      UTF-8  string bytes
+ * </pre>
+ *
+ * Multi-byte values are little-endian. The section offsets only depend on the counts in the header,
+ * so a reader locates every column without an index.
+ */
+final class UniverseLayout {
+
+  static final long MAGIC = 0x5649_4E55_4D49_5346L; // "FSIMUNIV" read as a little-endian long
+  static final int VERSION = 1;
+
+  static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+  static final ValueLayout.OfShort SHORT =
+      ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+  static final ValueLayout.OfInt INT =
+      ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+  static final ValueLayout.OfLong LONG =
+      ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+  static final int MAGIC_OFFSET = 0;
+  static final int VERSION_OFFSET = 8;
+  static final int CUSTOMER_COUNT = 12;
+  static final int MERCHANT_COUNT = 16;
+  static final int CATEGORY_COUNT = 20;
+  static final int POPULATION_TAG = 24;
+  static final int STRING_COUNT = 32;
+  static final int STRING_BYTES_LENGTH = 40;
+  static final int HEADER_SIZE = 64;
+
+  final long accountNumbers;
+  final long customerNames;
+  final long customerEmails;
+  final long cardNumbers;
+  final long cardExpiries;
+  final long cardNetworks;
+  final long cardTypes;
+  final long merchantNames;
+  final long merchantCategoryIndexes;
+  final long merchantCategories;
+  /* Size of the table, header and columns, padded to 8 bytes. */
+  final long tableSize;
+
+  UniverseLayout(int customers, int merchants, int categories) {
+    long offset = HEADER_SIZE;
+    accountNumbers = offset;
+    offset = align(offset + 8L * customers);
+    customerNames = offset;
+    offset = align(offset + 4L * customers);
+    customerEmails = offset;
+    offset = align(offset + 4L * customers);
+    cardNumbers = offset;
+    offset = align(offset + 4L * customers);
+    cardExpiries = offset;
+    offset = align(offset + 4L * customers);
+    cardNetworks = offset;
+    offset = align(offset + customers);
+    cardTypes = offset;
+    offset = align(offset + customers);
+    merchantNames = offset;
+    offset = align(offset + 4L * merchants);
+    merchantCategoryIndexes = offset;
+    offset = align(offset + 2L * merchants);
+    merchantCategories = offset;
+    tableSize = align(offset + 4L * categories);
+  }
+
+  /* Returns the size of a whole universe: table, string offsets and string bytes. */
+  long totalSize(int stringCount, long stringBytesLength) {
+    return tableSize + 8L * (stringCount + 1) + stringBytesLength;
+  }
+
+  static long align(long offset) {
+    return (offset + 7) & ~7L;
+  }
+}
@@ -0,0 +1,9 @@
+package io.github.sicozz.fraudsim.pipeline;
+
+/* Kind of threads a pipeline stage runs its workers on. */
+public enum ExecutorKind {
+  /* Virtual threads, for stages that mostly block on I/O such as sinks. */
+  VIRTUAL,
+  /* Platform threads, for CPU-bound stages such as generation and serialization. */
+  PLATFORM
+}
@@ -0,0 +1,48 @@
+package io.github.sicozz.fraudsim.pipeline;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+
+/**
+ * Unit of work travelling through the pipeline. Each stage fills in its part (the transaction, then
+ * the serialized key and payload) and hands the same event to the next stage, so a transaction
+ * costs a single envelope however many stages it crosses. An event is owned by exactly one stage at
+ * a time.
+ */
+public final class PipelineEvent {
+
+  private Transaction transaction;
+  private long intendedNanos;
+  private String key;
+  private byte[] payload;
+
+  public PipelineEvent(Transaction transaction, long intendedNanos) {
+    this.transaction = transaction;
+    this.intendedNanos = intendedNanos;
+  }
+
+  public Transaction getTransaction() {
+    return transaction;
+  }
+
+  public void setTransaction(Transaction transaction) {
+    this.transaction = transaction;
+  }
+
+  /* Intended send time assigned by the rate governor, used to measure end-to-end lag. */
+  public long getIntendedNanos() {
+    return intendedNanos;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public byte[] getPayload() {
+    return payload;
+  }
+
+  public void setSerialized(String key, byte[] payload) {
+    this.key = key;
+    this.payload = payload;
+  }
+}
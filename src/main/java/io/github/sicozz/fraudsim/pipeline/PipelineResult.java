@@ -0,0 +1,21 @@
+package io.github.sicozz.fraudsim.pipeline;
+
+import io.github.sicozz.fraudsim.fraud.rules.RuleStats;
+import io.github.sicozz.fraudsim.generator.rate.RateStats;
+
+/**
+ * Outcome of a pipeline run.
+ *
+ * @param generated Transactions produced by the generation stage
+ * @param delivered Transactions acknowledged by the sink
+ * @param elapsedNanos Wall-clock duration of the run
+ * @param rate Rate governor statistics, or null if the run was not rate limited
+ * @param rules Work of the scenario rules during the run, or null if the injector has none
+ */
+public record PipelineResult(
+    long generated, long delivered, long elapsedNanos, RateStats rate, RuleStats rules) {
+
+  public double getThroughput() {
+    return elapsedNanos == 0 ? 0 : delivered * 1e9 / elapsedNanos;
+  }
+}
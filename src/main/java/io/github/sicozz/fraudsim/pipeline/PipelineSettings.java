@@ -0,0 +1,54 @@
+package io.github.sicozz.fraudsim.pipeline;
+
+import io.github.sicozz.fraudsim.config.properties.TransactionGeneratorProperties;
+
+/**
+ * Sizing of a pipeline run.
+ *
+ * @param queueCapacity Capacity of each bounded queue between two stages
+ * @param generateExecutor Executor of the generation workers, one per generator shard
+ * @param inject The fraud injection stage
+ * @param serialize The serialization stage
+ * @param sink The sink stage
+ */
+public record PipelineSettings(
+    int queueCapacity,
+    ExecutorKind generateExecutor,
+    StageSettings inject,
+    StageSettings serialize,
+    StageSettings sink) {
+
+  public PipelineSettings {
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("Queue capacity must be positive");
+    }
+  }
+
+  /**
+   * Worker count and executor of one stage.
+   *
+   * @param workers Number of concurrent workers
+   * @param executor Kind of threads the workers run on
+   */
+  public record StageSettings(int workers, ExecutorKind executor) {
+    public StageSettings {
+      if (workers < 1) {
+        throw new IllegalArgumentException("A stage needs at least one worker");
+      }
+    }
+  }
+
+  public static PipelineSettings from(TransactionGeneratorProperties properties) {
+    var pipeline = properties.getPipeline();
+    return new PipelineSettings(
+        pipeline.getQueueCapacity(),
+        pipeline.getGenerate().getExecutor(),
+        stage(pipeline.getInject()),
+        stage(pipeline.getSerialize()),
+        stage(pipeline.getSink()));
+  }
+
+  private static StageSettings stage(TransactionGeneratorProperties.Pipeline.Stage stage) {
+    return new StageSettings(stage.getWorkers(), stage.getExecutor());
+  }
+}
@@ -0,0 +1,21 @@
+package io.github.sicozz.fraudsim.pipeline;
+
+/* Processing step of a pipeline stage, called by every worker of the stage for each event. */
+@FunctionalInterface
+public interface StageHandler {
+
+  /**
+   * Processes one event. The handler may emit zero, one or several events downstream.
+   *
+   * @param event The event to process
+   * @param downstream Receives the events passed to the next stage
+   * @throws Exception If the event can't be processed, which fails the whole pipeline run
+   */
+  void handle(PipelineEvent event, Emitter downstream) throws Exception;
+
+  /* Hands events to the next stage, blocking while its queue is full. */
+  @FunctionalInterface
+  interface Emitter {
+    void emit(PipelineEvent event) throws InterruptedException;
+  }
+}
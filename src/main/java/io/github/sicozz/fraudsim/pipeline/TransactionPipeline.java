@@ -0,0 +1,413 @@
+package io.github.sicozz.fraudsim.pipeline;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.fraud.FraudInjector;
+import io.github.sicozz.fraudsim.fraud.rules.RuleStats;
+import io.github.sicozz.fraudsim.generator.GeneratorShard;
+import io.github.sicozz.fraudsim.generator.TransactionGenerator;
+import io.github.sicozz.fraudsim.generator.distribution.PoissonArrivalProcess;
+import io.github.sicozz.fraudsim.generator.rate.RateGovernor;
+import io.github.sicozz.fraudsim.pipeline.serialization.TransactionSerializer;
+import io.github.sicozz.fraudsim.pipeline.sink.TransactionSink;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Staged pipeline wiring generation, fraud injection, serialization and output:
+ *
+ * <pre>
+ *   generate ──▶ [queue] ──▶ inject ──▶ [queue] ──▶ serialize ──▶ [queue] ──▶ sink
+ * </pre>
+ *
+ * <p>Every stage runs a configurable number of workers on either virtual or platform threads, and
+ * stages only communicate through bounded queues. A stage that falls behind fills its input queue,
+ * which blocks the stage before it, and so on up to the generator: a stalled sink stops the run
+ * instead of growing the heap. When a rate governor is used the stall shows up as emission lag,
+ * since the governor schedule keeps running.
+ *
+ * <p>Workers may be virtual threads, so the state they share, from the injector down to the sinks,
+ * guards its critical sections with a {@link java.util.concurrent.locks.ReentrantLock}: on Java 21
+ * a thread blocking inside {@code synchronized} pins its carrier thread.
+ *
+ * <p>When the injector runs scenario rules, inject workers take micro-batches: whatever is already
+ * queued, up to the injector's batch size, without waiting for a batch to fill up.
+ *
+ * <p>Generation runs one worker per generator shard. For an injector that {@linkplain
+ * FraudInjector#needsTimeOrder() needs time order}, each shard streams its quota in time order from
+ * its {@linkplain GeneratorShard#exactArrivals(long) arrivals}, into a queue of its own, and a
+ * merge worker feeds the earliest head of those queues to the inject stage:
+ *
+ * <pre>
+ *   generate ──▶ [queue per shard] ──▶ merge ──▶ [queue] ──▶ inject ──▶ ...
+ * </pre>
+ *
+ * <p>Such an injector also gets a single inject worker, whatever the configured count, so its
+ * campaign events come out in time order among the transactions. Parallel workers of the later
+ * stages only reorder the events they hold at once. For a pass-through injector, the set of
+ * generated transactions is the same as {@link TransactionGenerator#generate(long)}, and only their
+ * interleaving depends on timing.
+ */
+public class TransactionPipeline {
+
+  // Marks the end of the stream, one per downstream worker
+  private static final PipelineEvent END = new PipelineEvent(null, 0);
+
+  private final TransactionGenerator generator;
+  private final FraudInjector injector;
+  private final TransactionSerializer serializer;
+  private final TransactionSink sink;
+  private final PipelineSettings settings;
+  private final Executor virtualExecutor;
+  private final Executor platformExecutor;
+
+  public TransactionPipeline(
+      TransactionGenerator generator,
+      FraudInjector injector,
+      TransactionSerializer serializer,
+      TransactionSink sink,
+      PipelineSettings settings,
+      Executor virtualExecutor,
+      Executor platformExecutor) {
+    this.generator = generator;
+    this.injector = injector;
+    this.serializer = serializer;
+    this.sink = sink;
+    this.settings = settings;
+    this.virtualExecutor = virtualExecutor;
+    this.platformExecutor = platformExecutor;
+  }
+
+  /**
+   * Pushes {@code count} transactions through the pipeline as fast as the slowest stage allows.
+   *
+   * @param count The number of transactions to generate
+   * @return The result of the run
+   * @throws InterruptedException If interrupted while waiting for the run to complete
+   */
+  public PipelineResult run(long count) throws InterruptedException {
+    return run(count, null);
+  }
+
+  /**
+   * Pushes {@code count} transactions through the pipeline at the pace set by the given governor.
+   * Blocks until every transaction has been acknowledged by the sink.
+   *
+   * @param count The number of transactions to generate
+   * @param governor The rate governor, or null to run unthrottled
+   * @return The result of the run
+   * @throws InterruptedException If interrupted while waiting for the run to complete
+   */
+  public PipelineResult run(long count, RateGovernor governor) throws InterruptedException {
+    return new Run(count, governor).execute();
+  }
+
+  /* State of a single run. */
+  private final class Run {
+    private final long count;
+    private final RateGovernor governor;
+    private final PipelineSettings.StageSettings injectStage;
+
+    private final BlockingQueue<PipelineEvent> toInject;
+    private final BlockingQueue<PipelineEvent> toSerialize;
+    private final BlockingQueue<PipelineEvent> toSink;
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch done;
+
+    Run(long count, RateGovernor governor) {
+      this.count = count;
+      this.governor = governor;
+      // Parallel inject workers would interleave the stream time the injector runs on
+      this.injectStage =
+          injector.needsTimeOrder()
+              ? new PipelineSettings.StageSettings(1, settings.inject().executor())
+              : settings.inject();
+      this.toInject = new ArrayBlockingQueue<>(settings.queueCapacity());
+      this.toSerialize = new ArrayBlockingQueue<>(settings.queueCapacity());
+      this.toSink = new ArrayBlockingQueue<>(settings.queueCapacity());
+      this.done =
+          new CountDownLatch(
+              generator.getShardCount()
+                  + (injector.needsTimeOrder() ? 1 : 0)
+                  + injectStage.workers()
+                  + settings.serialize().workers()
+                  + settings.sink().workers());
+    }
+
+    PipelineResult execute() throws InterruptedException {
+      long start = System.nanoTime();
+      RuleStats rulesBefore = injector.ruleStats();
+
+      if (injector.needsTimeOrder()) {
+        startTimeOrderedGenerateStage();
+      } else {
+        startGenerateStage();
+      }
+      if (injector.batchSize() > 1) {
+        startBatchedInjectStage(injector.batchSize());
+      } else {
+        startStage(injectStage, toInject, toSerialize, settings.serialize(), this::inject);
+      }
+      startStage(settings.serialize(), toSerialize, toSink, settings.sink(), this::serialize);
+      startStage(settings.sink(), toSink, null, null, this::write);
+
+      try {
+        done.await();
+        if (failure.get() == null) {
+          sink.flush();
+        }
+      } catch (InterruptedException e) {
+        fail(e);
+        throw e;
+      } catch (Exception e) {
+        fail(e);
+      }
+
+      if (failure.get() != null) {
+        throw new IllegalStateException("Pipeline run failed", failure.get());
+      }
+
+      return new PipelineResult(
+          generated.sum(),
+          delivered.sum(),
+          System.nanoTime() - start,
+          governor == null ? null : governor.stats(),
+          rulesBefore == null ? null : injector.ruleStats().since(rulesBefore));
+    }
+
+    private void startGenerateStage() {
+      int shardCount = generator.getShardCount();
+      AtomicInteger remaining = new AtomicInteger(shardCount);
+
+      for (int i = 0; i < shardCount; i++) {
+        GeneratorShard shard = generator.createShard(i);
+        long quota = TransactionGenerator.shardQuota(count, shardCount, i);
+        startWorker(
+            settings.generateExecutor(),
+            () -> {
+              for (long n = 0; n < quota; n++) {
+                long intended = governor == null ? System.nanoTime() : governor.acquire();
+                toInject.put(new PipelineEvent(shard.next(), intended));
+                generated.increment();
+              }
+              endStage(remaining, toInject, injectStage.workers());
+            });
+      }
+    }
+
+    private void startTimeOrderedGenerateStage() {
+      int shardCount = generator.getShardCount();
+      List<BlockingQueue<PipelineEvent>> toMerge = new ArrayList<>(shardCount);
+
+      for (int i = 0; i < shardCount; i++) {
+        GeneratorShard shard = generator.createShard(i);
+        long quota = TransactionGenerator.shardQuota(count, shardCount, i);
+        BlockingQueue<PipelineEvent> out = new ArrayBlockingQueue<>(settings.queueCapacity());
+        toMerge.add(out);
+        startWorker(
+            settings.generateExecutor(),
+            () -> {
+              PoissonArrivalProcess arrivals = shard.exactArrivals(quota);
+              while (arrivals.hasNext()) {
+                long intended = governor == null ? System.nanoTime() : governor.acquire();
+                out.put(new PipelineEvent(shard.next(arrivals.nextEpochMillis()), intended));
+                generated.increment();
+              }
+              out.put(END);
+            });
+      }
+
+      startWorker(
+          settings.generateExecutor(),
+          () -> {
+            PipelineEvent[] heads = new PipelineEvent[shardCount];
+            for (int i = 0; i < shardCount; i++) {
+              heads[i] = toMerge.get(i).take();
+            }
+            while (true) {
+              // Linear scan, as in TransactionGenerator#generateInTimeOrder
+              int earliest = -1;
+              for (int i = 0; i < shardCount; i++) {
+                if (heads[i] != END && (earliest < 0 || isBefore(heads[i], heads[earliest]))) {
+                  earliest = i;
+                }
+              }
+              if (earliest < 0) {
+                break;
+              }
+              toInject.put(heads[earliest]);
+              heads[earliest] = toMerge.get(earliest).take();
+            }
+            for (int i = 0; i < injectStage.workers(); i++) {
+              toInject.put(END);
+            }
+          });
+    }
+
+    private void startStage(
+        PipelineSettings.StageSettings stage,
+        BlockingQueue<PipelineEvent> in,
+        BlockingQueue<PipelineEvent> out,
+        PipelineSettings.StageSettings next,
+        StageHandler handler) {
+      AtomicInteger remaining = new AtomicInteger(stage.workers());
+      StageHandler.Emitter downstream = out == null ? event -> {} : out::put;
+
+      for (int i = 0; i < stage.workers(); i++) {
+        startWorker(
+            stage.executor(),
+            () -> {
+              for (PipelineEvent event = in.take(); event != END; event = in.take()) {
+                handler.handle(event, downstream);
+              }
+              if (out != null) {
+                endStage(remaining, out, next.workers());
+              }
+            });
+      }
+    }
+
+    private void startBatchedInjectStage(int batchSize) {
+      PipelineSettings.StageSettings stage = injectStage;
+      AtomicInteger remaining = new AtomicInteger(stage.workers());
+
+      for (int i = 0; i < stage.workers(); i++) {
+        startWorker(
+            stage.executor(),
+            () -> {
+              List<PipelineEvent> events = new ArrayList<>(batchSize);
+              List<Transaction> batch = new ArrayList<>(batchSize);
+              boolean ended = false;
+              while (!ended) {
+                // Block for the first event only, then take what is already queued
+                PipelineEvent event = toInject.take();
+                while (event != END) {
+                  events.add(event);
+                  batch.add(event.getTransaction());
+                  if (events.size() == batchSize || (event = toInject.poll()) == null) {
+                    break;
+                  }
+                }
+                ended = event == END;
+                if (!events.isEmpty()) {
+                  injectBatch(events, batch);
+                  events.clear();
+                  batch.clear();
+                }
+              }
+              endStage(remaining, toSerialize, settings.serialize().workers());
+            });
+      }
+    }
+
+    private void injectBatch(List<PipelineEvent> events, List<Transaction> batch)
+        throws InterruptedException {
+      injector.inject(
+          batch,
+          (row, transaction) -> {
+            PipelineEvent event = events.get(row);
+            toSerialize.put(
+                transaction == event.getTransaction()
+                    ? event
+                    : new PipelineEvent(transaction, event.getIntendedNanos()));
+          });
+    }
+
+    private void inject(PipelineEvent event, StageHandler.Emitter downstream) throws Exception {
+      injector.inject(
+          event.getTransaction(),
+          transaction -> {
+            if (transaction == event.getTransaction()) {
+              downstream.emit(event);
+            } else {
+              downstream.emit(new PipelineEvent(transaction, event.getIntendedNanos()));
+            }
+          });
+    }
+
+    private void serialize(PipelineEvent event, StageHandler.Emitter downstream) throws Exception {
+      var transaction = event.getTransaction();
+      event.setSerialized(serializer.key(transaction), serializer.serialize(transaction));
+      downstream.emit(event);
+    }
+
+    private void write(PipelineEvent event, StageHandler.Emitter downstream) throws Exception {
+      sink.write(
+          event.getKey(),
+          event.getPayload(),
+          error -> {
+            if (error != null) {
+              fail(error);
+              return;
+            }
+            delivered.increment();
+            if (governor != null) {
+              governor.recordCompletion(event.getIntendedNanos());
+            }
+          });
+    }
+
+    /* Called by each worker once its input is exhausted, the last one closes the next queue. */
+    private void endStage(AtomicInteger remaining, BlockingQueue<PipelineEvent> out, int readers)
+        throws InterruptedException {
+      if (remaining.decrementAndGet() == 0) {
+        for (int i = 0; i < readers; i++) {
+          out.put(END);
+        }
+      }
+    }
+
+    private void startWorker(ExecutorKind kind, Work work) {
+      Executor executor = kind == ExecutorKind.VIRTUAL ? virtualExecutor : platformExecutor;
+      executor.execute(
+          () -> {
+            workers.add(Thread.currentThread());
+            try {
+              if (failure.get() == null) {
+                work.run();
+              }
+            } catch (InterruptedException e) {
+              // Expected when another worker failed, anything else is a failure in its own right
+              if (failure.get() == null) {
+                fail(e);
+              }
+            } catch (Throwable t) {
+              fail(t);
+            } finally {
+              workers.remove(Thread.currentThread());
+              // Clear a pending interrupt so the pooled thread is handed back clean
+              Thread.interrupted();
+              done.countDown();
+            }
+          });
+    }
+
+    /* Records the first failure and interrupts every worker so blocked queues are released. */
+    private void fail(Throwable cause) {
+      if (failure.compareAndSet(null, cause)) {
+        workers.forEach(Thread::interrupt);
+      }
+    }
+  }
+
+  private static boolean isBefore(PipelineEvent event, PipelineEvent other) {
+    return event.getTransaction().timestamp().isBefore(other.getTransaction().timestamp());
+  }
+
+  @FunctionalInterface
+  private interface Work {
+    void run() throws Exception;
+  }
+}
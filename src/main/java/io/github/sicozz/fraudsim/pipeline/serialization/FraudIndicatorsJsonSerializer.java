@@ -0,0 +1,28 @@
+package io.github.sicozz.fraudsim.pipeline.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicators;
+import java.io.IOException;
+
+/**
+ * Writes {@link FraudIndicators} as the single number of {@link FraudIndicators#toLong()}: the kind
+ * mask in the low 32 bits, the risk score bits in the high 32. Only the bits of {@link
+ * FraudIndicators#isPortable() portable} kinds mean the same thing to every reader.
+ */
+public class FraudIndicatorsJsonSerializer extends StdSerializer<FraudIndicators> {
+
+  private static final long serialVersionUID = 1L;
+
+  public FraudIndicatorsJsonSerializer() {
+    super(FraudIndicators.class);
+  }
+
+  @Override
+  public void serialize(
+      FraudIndicators indicators, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    generator.writeNumber(indicators.toLong());
+  }
+}
@@ -0,0 +1,41 @@
+package io.github.sicozz.fraudsim.pipeline.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+
+/* Serializes transactions as UTF-8 JSON documents. */
+public class JsonTransactionSerializer implements TransactionSerializer {
+
+  private final ObjectWriter writer;
+
+  public JsonTransactionSerializer() {
+    this(
+        new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(
+                new SimpleModule()
+                    .addSerializer(new MoneyJsonSerializer())
+                    .addSerializer(new MetadataJsonSerializer())
+                    .addSerializer(new FraudIndicatorsJsonSerializer()))
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+  }
+
+  public JsonTransactionSerializer(ObjectMapper mapper) {
+    // ObjectWriter is immutable and caches the serializer lookup for Transaction
+    this.writer = mapper.writerFor(Transaction.class);
+  }
+
+  @Override
+  public byte[] serialize(Transaction transaction) throws Exception {
+    return writer.writeValueAsBytes(transaction);
+  }
+
+  @Override
+  public String getFormat() {
+    return "json";
+  }
+}
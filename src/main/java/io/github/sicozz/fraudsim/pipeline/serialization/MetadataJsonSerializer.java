@@ -0,0 +1,34 @@
+package io.github.sicozz.fraudsim.pipeline.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import java.io.IOException;
+
+/**
+ * Writes {@link TransactionMetadata} as {@code {"values": {"channel": "web", ...}}}, walking the
+ * entries by index. Keeps the JSON shape the pipeline had when metadata was backed by a map.
+ */
+public class MetadataJsonSerializer extends StdSerializer<TransactionMetadata> {
+
+  private static final long serialVersionUID = 1L;
+
+  public MetadataJsonSerializer() {
+    super(TransactionMetadata.class);
+  }
+
+  @Override
+  public void serialize(
+      TransactionMetadata metadata, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeFieldName("values");
+    generator.writeStartObject();
+    for (int i = 0; i < metadata.size(); i++) {
+      generator.writeStringField(metadata.key(i), metadata.value(i));
+    }
+    generator.writeEndObject();
+    generator.writeEndObject();
+  }
+}
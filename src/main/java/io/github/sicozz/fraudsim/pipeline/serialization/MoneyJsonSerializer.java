@@ -0,0 +1,31 @@
+package io.github.sicozz.fraudsim.pipeline.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import java.io.IOException;
+
+/**
+ * Writes {@link Money} as {@code {"amount": 12.50, "currency": "USD"}}, the decimal amount being
+ * formatted straight from the minor units. Keeps the JSON shape the pipeline had when money was
+ * backed by a {@code BigDecimal}.
+ */
+public class MoneyJsonSerializer extends StdSerializer<Money> {
+
+  private static final long serialVersionUID = 1L;
+
+  public MoneyJsonSerializer() {
+    super(Money.class);
+  }
+
+  @Override
+  public void serialize(Money money, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeFieldName("amount");
+    generator.writeNumber(money.appendAmount(new StringBuilder(24)).toString());
+    generator.writeStringField("currency", money.currency().name());
+    generator.writeEndObject();
+  }
+}
@@ -0,0 +1,17 @@
+package io.github.sicozz.fraudsim.pipeline.serialization;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+
+/* Encodes transactions for the output sinks. Implementations must be thread-safe. */
+public interface TransactionSerializer {
+
+  /* Returns the record key, used by partitioned sinks to keep a customer's events in order. */
+  default String key(Transaction transaction) {
+    return transaction.source().getId().toString();
+  }
+
+  byte[] serialize(Transaction transaction) throws Exception;
+
+  /* Returns the name of the encoding, as used by fraudsim.output.kafka.format and file.format. */
+  String getFormat();
+}
@@ -0,0 +1,105 @@
+package io.github.sicozz.fraudsim.pipeline.sink;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends serialized transactions to a file, one record per line. Records are buffered, and their
+ * callbacks held back until the buffer is written out to the file: when it fills up, or on {@link
+ * #flush()}, which also forces the file to disk.
+ */
+public class FileTransactionSink implements TransactionSink {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final FileChannel channel;
+  private final OutputStream out;
+  private final ReentrantLock lock = new ReentrantLock();
+  // Callbacks of the records still in the buffer, and the size of those records
+  private final List<Callback> pending = new ArrayList<>();
+  private int buffered;
+
+  public FileTransactionSink(Path file) throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    this.channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    this.out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+  }
+
+  @Override
+  public void write(String key, byte[] payload, Callback callback) throws IOException {
+    lock.lock();
+    try {
+      if (buffered + payload.length + 1 > BUFFER_SIZE) {
+        writeOut(false);
+      }
+      out.write(payload);
+      out.write('\n');
+      pending.add(callback);
+      buffered += payload.length + 1;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    lock.lock();
+    try {
+      writeOut(true);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      try {
+        writeOut(true);
+      } finally {
+        out.close();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* Writes the buffer out, optionally forcing it to disk, then completes its records. */
+  private void writeOut(boolean force) throws IOException {
+    IOException failure = null;
+    try {
+      out.flush();
+      if (force) {
+        channel.force(false);
+      }
+    } catch (IOException e) {
+      failure = e;
+    }
+    for (Callback callback : pending) {
+      callback.onComplete(failure);
+    }
+    pending.clear();
+    buffered = 0;
+    if (failure != null) {
+      throw failure;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package io.github.sicozz.fraudsim.pipeline.sink;
+
+import java.util.concurrent.Semaphore;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Sends serialized transactions to a Kafka topic. The number of records handed to the producer but
+ * not yet acknowledged is capped, so a stalled broker blocks the sink workers (and, through the
+ * bounded queues, the whole pipeline) instead of buffering an unbounded backlog on the heap.
+ */
+public class KafkaTransactionSink implements TransactionSink {
+
+  private final KafkaTemplate<String, byte[]> template;
+  private final String topic;
+  private final int maxInFlight;
+  private final Semaphore inFlight;
+
+  public KafkaTransactionSink(
+      KafkaTemplate<String, byte[]> template, String topic, int maxInFlight) {
+    this.template = template;
+    this.topic = topic;
+    this.maxInFlight = maxInFlight;
+    this.inFlight = new Semaphore(maxInFlight);
+  }
+
+  @Override
+  public void write(String key, byte[] payload, Callback callback) throws InterruptedException {
+    inFlight.acquire();
+    try {
+      template
+          .send(topic, key, payload)
+          .whenComplete(
+              (result, error) -> {
+                // Released last, so that flush() returning means every callback has run
+                try {
+                  callback.onComplete(error == null ? null : asException(error));
+                } finally {
+                  inFlight.release();
+                }
+              });
+    } catch (RuntimeException e) {
+      inFlight.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public void flush() throws InterruptedException {
+    template.flush();
+    // Wait for the outstanding acknowledgements
+    inFlight.acquire(maxInFlight);
+    inFlight.release(maxInFlight);
+  }
+
+  private static Exception asException(Throwable error) {
+    return error instanceof Exception e ? e : new IllegalStateException(error);
+  }
+}
@@ -0,0 +1,35 @@
+package io.github.sicozz.fraudsim.pipeline.sink;
+
+import java.io.IOException;
+
+/**
+ * Destination of serialized transactions. Implementations must be thread-safe, every worker of the
+ * sink stage writes to the same instance.
+ */
+public interface TransactionSink extends AutoCloseable {
+
+  /**
+   * Writes one record. May block to apply backpressure when the destination falls behind.
+   *
+   * @param key The record key
+   * @param payload The serialized transaction
+   * @param callback Called once the record has been durably written, or has failed. A sink may hold
+   *     it back until the record is written out, at the latest on {@link #flush()}
+   * @throws IOException If the record can't be handed to the destination
+   * @throws InterruptedException If interrupted while waiting for the destination to catch up
+   */
+  void write(String key, byte[] payload, Callback callback)
+      throws IOException, InterruptedException;
+
+  /* Blocks until every record written so far has completed. */
+  default void flush() throws IOException, InterruptedException {}
+
+  @Override
+  default void close() throws IOException {}
+
+  @FunctionalInterface
+  interface Callback {
+    /* Called with null on success, or with the failure cause. */
+    void onComplete(Exception error);
+  }
+}
@@ -0,0 +1,104 @@
+package io.github.sicozz.fraudsim.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicator;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicators;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.domain.model.fraud.RiskScore;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.party.Customer;
+import io.github.sicozz.fraudsim.domain.model.party.Merchant;
+import io.github.sicozz.fraudsim.domain.model.payment.BankAccount;
+import io.github.sicozz.fraudsim.domain.model.type.TransferTransaction;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Fraud Indicators Tests")
+class FraudIndicatorsTest {
+
+  @Test
+  @DisplayName("Should add indicators to a built transaction")
+  void shouldAddIndicatorsToTransaction() {
+    // Given
+    var transaction =
+        TransactionBuilder.builder()
+            .withAmount(Money.of(500, Currency.EUR))
+            .withType(TransferTransaction.sepa("Rent"))
+            .withSource(new Customer(UUID.randomUUID(), "Jane Doe", "jane@example.com"))
+            .withDestination(new Merchant(UUID.randomUUID(), "Landlord", "6513"))
+            .withPaymentMethod(BankAccount.checking("123456789", "021000021", "Jane Doe", "Bank"))
+            .build();
+
+    // When
+    var flagged =
+        transaction
+            .withFraudIndicator(FraudLabel.ACCOUNT_TAKEOVER)
+            .withFraudIndicator(new RiskScore(0.9f));
+
+    // Then the original is untouched and the indicators read back in bit order
+    assertFalse(transaction.hasFraudIndicators());
+    assertEquals(
+        List.of(new RiskScore(0.9f), FraudLabel.ACCOUNT_TAKEOVER), flagged.fraudIndicators());
+    assertTrue(flagged.fraudIndicators().contains(FraudLabel.ACCOUNT_TAKEOVER));
+    assertFalse(flagged.fraudIndicators().contains(new RiskScore(0.1f)));
+  }
+
+  @Test
+  @DisplayName("Should pack portable indicators into a single long")
+  void shouldPackIntoLong() {
+    // Given
+    var indicators =
+        FraudIndicators.copyOf(
+            List.of(FraudLabel.VELOCITY, new RiskScore(0.25f), FraudLabel.VELOCITY));
+
+    // When
+    long packed = indicators.toLong();
+
+    // Then
+    assertEquals(2, indicators.size());
+    assertTrue(indicators.isPortable());
+    assertEquals(indicators, FraudIndicators.fromLong(packed));
+    assertEquals(0.25f, FraudIndicators.fromLong(packed).riskScore());
+    assertSame(FraudIndicators.NONE, FraudIndicators.fromLong(0));
+    assertEquals(List.of(), FraudIndicators.NONE);
+  }
+
+  @Test
+  @DisplayName("Should give other indicators a bit of their own that doesn't travel")
+  void shouldRegisterCustomIndicators() {
+    // Given
+    FraudIndicator custom =
+        new FraudIndicator() {
+          @Override
+          public String getType() {
+            return "Custom";
+          }
+
+          @Override
+          public FraudSeverity getSeverity() {
+            return FraudSeverity.LOW;
+          }
+
+          @Override
+          public String getDescription() {
+            return "Custom indicator";
+          }
+        };
+
+    // When
+    var indicators = FraudIndicators.NONE.with(custom).with(FraudLabel.MULE_TRANSFER);
+
+    // Then
+    assertEquals(List.of(FraudLabel.MULE_TRANSFER, custom), indicators);
+    assertFalse(indicators.isPortable());
+    assertEquals(indicators.hashCode(), List.of(FraudLabel.MULE_TRANSFER, custom).hashCode());
+  }
+}
@@ -116,6 +116,40 @@ class MoneyTest {
     assertTrue(gbp.formatted().contains("1234.56"));
   }
 
+  @Test
+  @DisplayName("Should round doubles exactly like the decimal conversion")
+  void shouldRoundDoublesLikeDecimalConversion() {
+    // Given a mix of ordinary values and values sitting on rounding ties
+    double[] amounts = {0.005, 1.005, 2.675, 100.125, 0.1 + 0.2, 19.99, 1e-9, 123456789.995};
+
+    for (Currency currency : Currency.values()) {
+      for (double amount : amounts) {
+        // When
+        Money money = Money.of(amount, currency);
+
+        // Then
+        assertEquals(
+            new Money(BigDecimal.valueOf(amount), currency), money, amount + " " + currency);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should store amounts as minor units of the currency")
+  void shouldStoreMinorUnits() {
+    // Given
+    Money usd = Money.of("12.34", Currency.USD);
+    Money btc = Money.ofMinor(1, Currency.BTC);
+
+    // Then
+    assertEquals(1234, usd.minorUnits());
+    assertEquals(12.34, usd.toDouble());
+    assertEquals(new BigDecimal("0.00000001"), btc.amount());
+    assertEquals("₿0.00000001", btc.formatted());
+    assertEquals("¥7", Money.ofMinor(7, Currency.JPY).formatted());
+    assertEquals("$0.05", Money.ofMinor(5, Currency.USD).formatted());
+  }
+
   @ParameterizedTest
   @MethodSource("provideCurrenciesWithScales")
   @DisplayName("Should honor currency's fraction digits")
@@ -156,6 +156,44 @@ public class TransactionBuilderTest {
     assertEquals("LOCATION_MISMATCH", transaction.fraudIndicators().get(1).getType());
   }
 
+  @Test
+  @DisplayName("Should start from defaults again after a reset")
+  void shouldStartFromDefaultsAfterReset() {
+    // Given a builder that already built a flagged transaction
+    var builder = TransactionBuilder.forThread();
+    var first =
+        builder
+            .withAmount(Money.of(100, Currency.USD))
+            .withStatus(TransactionStatus.COMPLETED)
+            .withType(CardTransaction.standard("VISA"))
+            .withSource(new Customer(UUID.randomUUID(), "Jane Doe", "jane@example.com"))
+            .withDestination(new Merchant(UUID.randomUUID(), "Store", "5999"))
+            .withPaymentMethod(
+                new Card("4111XXXXXXXX1111", CardType.CREDIT, "VISA", "Jane Doe", "12/25", ""))
+            .withMetadata(TransactionMetadata.of("channel", "pos"))
+            .addFraudIndicator(
+                createFraudIndicator("UNUSUAL_AMOUNT", FraudIndicator.FraudSeverity.LOW))
+            .build();
+
+    // When
+    var second =
+        TransactionBuilder.forThread()
+            .withAmount(Money.of(50, Currency.USD))
+            .withType(CardTransaction.standard("VISA"))
+            .withSource(first.source())
+            .withDestination(first.destination())
+            .withPaymentMethod(first.paymentMethod())
+            .build();
+
+    // Then the thread's builder was reused and nothing leaked into the second transaction
+    assertSame(builder, TransactionBuilder.forThread());
+    assertNotEquals(first.id(), second.id());
+    assertEquals(TransactionStatus.PENDING, second.status());
+    assertNull(second.metadata());
+    assertFalse(second.hasFraudIndicators());
+    assertEquals(1, first.fraudIndicators().size());
+  }
+
   // Helper method to create fraud indicators
   private FraudIndicator createFraudIndicator(String type, FraudIndicator.FraudSeverity severity) {
     return new FraudIndicator() {
@@ -0,0 +1,85 @@
+package io.github.sicozz.fraudsim.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.sicozz.fraudsim.domain.model.MetadataKeys;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Transaction Metadata Tests")
+class TransactionMetadataTest {
+
+  @Test
+  @DisplayName("Should build the same metadata as chained with calls")
+  void shouldBuildSameMetadataAsChainedWith() {
+    // Given
+    var chained =
+        TransactionMetadata.of(MetadataKeys.IP, "10.0.0.1")
+            .with(MetadataKeys.CHANNEL, "web")
+            .with("custom_key", "custom")
+            .with(MetadataKeys.DEVICE, "phone");
+
+    // When
+    var built =
+        TransactionMetadata.builder()
+            .put("custom_key", "custom")
+            .put(MetadataKeys.DEVICE, "tablet")
+            .put(MetadataKeys.CHANNEL, "web")
+            .put(MetadataKeys.IP, "10.0.0.1")
+            .put(MetadataKeys.DEVICE, "phone")
+            .build();
+
+    // Then
+    assertEquals(chained, built);
+    assertEquals(chained.hashCode(), built.hashCode());
+    assertEquals(4, built.size());
+    assertEquals("phone", built.get(MetadataKeys.DEVICE));
+    assertEquals("custom", built.get(MetadataKeys.id("custom_key")));
+  }
+
+  @Test
+  @DisplayName("Should iterate entries in key id order")
+  void shouldIterateEntriesInKeyIdOrder() {
+    // Given
+    var metadata =
+        new TransactionMetadata(
+            new LinkedHashMap<>(Map.of(MetadataKeys.GEO, "US", MetadataKeys.CHANNEL, "pos")));
+
+    // When
+    List<String> entries = new ArrayList<>();
+    metadata.forEach((key, value) -> entries.add(key + "=" + value));
+
+    // Then
+    assertEquals(List.of("channel=pos", "geo=US"), entries);
+    assertEquals(MetadataKeys.CHANNEL, metadata.key(0));
+    assertEquals("US", metadata.value(1));
+    assertEquals(Map.of("channel", "pos", "geo", "US"), metadata.values());
+  }
+
+  @Test
+  @DisplayName("Should remove entries and ignore unknown keys")
+  void shouldRemoveEntries() {
+    // Given
+    var metadata = TransactionMetadata.of(MetadataKeys.CHANNEL, "web").with(MetadataKeys.IP, "::1");
+
+    // When
+    var removed = metadata.without(MetadataKeys.CHANNEL);
+
+    // Then
+    assertEquals(TransactionMetadata.of(MetadataKeys.IP, "::1"), removed);
+    assertNull(removed.get(MetadataKeys.CHANNEL));
+    assertSame(metadata, metadata.without("never_registered_key"));
+    assertNull(metadata.get("never_registered_key"));
+    assertEquals(-1, MetadataKeys.find("never_registered_key"));
+    assertSame(TransactionMetadata.empty(), TransactionMetadata.builder().build());
+    assertThrows(NullPointerException.class, () -> metadata.with(MetadataKeys.GEO, null));
+  }
+}
@@ -0,0 +1,77 @@
+package io.github.sicozz.fraudsim.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.sicozz.fraudsim.domain.model.type.CardTransaction;
+import io.github.sicozz.fraudsim.domain.model.type.TransactionTypes;
+import io.github.sicozz.fraudsim.domain.model.type.TransferTransaction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Transaction Types Registry Tests")
+class TransactionTypesTest {
+
+  @Test
+  @DisplayName("Should return the same instance for equal card types")
+  void shouldReturnCanonicalCardInstances() {
+    // Given
+    var allocated = new CardTransaction("VISA", false, true, false);
+
+    // When
+    var canonical = TransactionTypes.canonical(allocated);
+
+    // Then
+    assertSame(CardTransaction.ecommerce("VISA"), canonical);
+    assertSame(TransactionTypes.card("VISA", false, true, false), canonical);
+    assertNotSame(allocated, canonical);
+    assertEquals(allocated, canonical);
+  }
+
+  @Test
+  @DisplayName("Should assign stable ordinals to the known networks")
+  void shouldAssignStableOrdinalsToKnownNetworks() {
+    for (int i = 0; i < TransactionTypes.KNOWN_NETWORKS.size(); i++) {
+      String network = TransactionTypes.KNOWN_NETWORKS.get(i);
+      assertEquals(i, TransactionTypes.networkOrdinal(network));
+      assertSame(network, TransactionTypes.network(i));
+      assertSame(network, TransactionTypes.canonicalNetwork(new String(network)));
+    }
+  }
+
+  @Test
+  @DisplayName("Should round-trip types through their ordinal")
+  void shouldRoundTripTypesThroughOrdinal() {
+    // Given
+    var card = CardTransaction.contactless("AMEX");
+    var transfer = TransactionTypes.canonical(TransferTransaction.ach(""));
+
+    // When
+    int cardOrdinal = TransactionTypes.ordinal(card);
+    int transferOrdinal = TransactionTypes.ordinal(transfer);
+
+    // Then
+    assertSame(card, TransactionTypes.byOrdinal(cardOrdinal));
+    assertSame(transfer, TransactionTypes.byOrdinal(transferOrdinal));
+    assertTrue(cardOrdinal < TransactionTypes.size() && transferOrdinal < TransactionTypes.size());
+  }
+
+  @Test
+  @DisplayName("Should register new networks and leave unknown transfers alone")
+  void shouldRegisterNewNetworksOnly() {
+    // Given
+    var transfer = TransferTransaction.sepa("invoice 42");
+    int sizeBefore = TransactionTypes.size();
+
+    // When
+    var card = TransactionTypes.card("TEST-NETWORK", true, false, true);
+
+    // Then all variants of the network are registered, the free-text transfer is not
+    assertSame(card, TransactionTypes.card("TEST-NETWORK", true, false, true));
+    assertEquals(sizeBefore + 8, TransactionTypes.size());
+    assertSame(transfer, TransactionTypes.canonical(transfer));
+    assertEquals(-1, TransactionTypes.ordinal(transfer));
+  }
+}
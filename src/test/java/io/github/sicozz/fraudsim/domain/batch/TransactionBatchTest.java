@@ -0,0 +1,123 @@
+package io.github.sicozz.fraudsim.domain.batch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import io.github.sicozz.fraudsim.domain.model.fraud.RiskScore;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.party.Customer;
+import io.github.sicozz.fraudsim.domain.model.party.Merchant;
+import io.github.sicozz.fraudsim.domain.model.payment.BankAccount;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.TransferTransaction;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Transaction Batch Tests")
+class TransactionBatchTest {
+
+  private static Transaction transfer(String merchantName, double amount) {
+    return transferBuilder(merchantName, amount).build();
+  }
+
+  private static TransactionBuilder transferBuilder(String merchantName, double amount) {
+    return TransactionBuilder.builder()
+        .withTimestamp(Instant.parse("2024-02-03T04:05:06.789Z"))
+        .withAmount(Money.of(amount, Currency.GBP))
+        .withStatus(TransactionStatus.COMPLETED)
+        .withType(TransferTransaction.sepa("Invoice"))
+        .withSource(new Customer(UUID.randomUUID(), "Jane Doe", "jane@example.com"))
+        .withDestination(new Merchant(UUID.randomUUID(), merchantName, "5411"))
+        .withPaymentMethod(BankAccount.checking("987654321", "021000021", "Jane Doe", "Bank"))
+        .withMetadata(TransactionMetadata.of("channel", "bank"))
+        .addFraudIndicator(new RiskScore(0.5f));
+  }
+
+  @Test
+  @DisplayName("Should rebuild added transactions from their columns")
+  void shouldRebuildAddedTransactions() {
+    // Given
+    var batch = new TransactionBatch(4);
+    Transaction first = transfer("Grocer", 12.5);
+    Transaction second = transfer("Grocer", 99.99);
+
+    // When
+    batch.add(first);
+    batch.add(second);
+
+    // Then
+    assertEquals(2, batch.size());
+    assertEquals(1250, batch.amountMinorUnits()[0]);
+    assertEquals(9999, batch.amountMinorUnits()[1]);
+    assertEquals(batch.destinationNames()[0], batch.destinationNames()[1]);
+    assertEquals(1, batch.typeDictionary().size());
+
+    TransactionBatch.Row row = batch.row();
+    assertEquals(first, row.at(0).toTransaction());
+    assertEquals(second, row.at(1).toTransaction());
+    assertEquals(second.timestamp().toEpochMilli(), row.epochMillis());
+  }
+
+  @Test
+  @DisplayName("Should keep low-cardinality dictionaries and reject rows past the capacity")
+  void shouldKeepDictionariesAcrossClear() {
+    // Given
+    var batch = new TransactionBatch(1);
+    batch.add(transfer("Grocer", 1));
+
+    // Then
+    assertThrows(IllegalStateException.class, () -> batch.add(transfer("Baker", 2)));
+
+    // When
+    batch.clear();
+    batch.add(transfer("Grocer", 3));
+
+    // Then
+    assertEquals(1, batch.size());
+    assertEquals("Grocer", batch.strings().decode(batch.destinationNames()[0]));
+    assertEquals(1, batch.typeDictionary().size());
+    assertThrows(IndexOutOfBoundsException.class, () -> batch.row().at(1));
+  }
+
+  @Test
+  @DisplayName("Should bound the party and payment method dictionaries to one batch")
+  void shouldResetPerBatchDictionaries() {
+    // Given
+    var batch = new TransactionBatch(2);
+
+    // When every batch holds new parties
+    for (int i = 0; i < 100; i++) {
+      batch.clear();
+      batch.add(transfer("Grocer " + i, 1));
+      batch.add(transfer("Baker " + i, 2));
+    }
+
+    // Then
+    assertEquals("Baker 99", batch.row().at(1).destination().getName());
+    // Customer name and email, merchant names and their shared category code
+    assertEquals(5, batch.strings().size());
+    assertEquals(1, batch.paymentMethodDictionary().size());
+    assertEquals(-1, batch.destinationIndexes()[1]);
+  }
+
+  @Test
+  @DisplayName("Should add a builder as the transaction it would build")
+  void shouldAddBuilderAsBuiltTransaction() {
+    // Given
+    var batch = new TransactionBatch(2);
+    TransactionBuilder builder = transferBuilder("Grocer", 42);
+
+    // When
+    batch.add(builder);
+    Transaction built = builder.build();
+
+    // Then
+    assertEquals(built, batch.row().at(0).toTransaction());
+    assertSame(built.fraudIndicators(), builder.fraudIndicators());
+  }
+}
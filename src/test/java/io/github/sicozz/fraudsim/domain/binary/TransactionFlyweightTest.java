@@ -0,0 +1,118 @@
+package io.github.sicozz.fraudsim.domain.binary;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import io.github.sicozz.fraudsim.domain.model.fraud.RiskScore;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.party.Customer;
+import io.github.sicozz.fraudsim.domain.model.party.Merchant;
+import io.github.sicozz.fraudsim.domain.model.payment.BankAccount;
+import io.github.sicozz.fraudsim.domain.model.payment.Card;
+import io.github.sicozz.fraudsim.domain.model.payment.CardType;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.CardTransaction;
+import io.github.sicozz.fraudsim.domain.model.type.TransferTransaction;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Transaction Flyweight Tests")
+class TransactionFlyweightTest {
+
+  private static Transaction cardTransaction() {
+    return TransactionBuilder.builder()
+        .withReferenceId("REF-ü-€-💳")
+        .withTimestamp(Instant.parse("2024-03-01T12:34:56.123456789Z"))
+        .withAmount(Money.of(42.99, Currency.EUR))
+        .withStatus(TransactionStatus.AUTHORIZED)
+        .withType(CardTransaction.contactless("VISA"))
+        .withSource(new Customer(UUID.randomUUID(), "José Smith", "jose@example.com"))
+        .withDestination(new Merchant(UUID.randomUUID(), "Café", "5812"))
+        .withPaymentMethod(
+            new Card("4111XXXXXXXX1111", CardType.DEBIT, "VISA", "José Smith", "12/27", ""))
+        .withMetadata(TransactionMetadata.of("channel", "pos").with("device", "terminal-7"))
+        .addFraudIndicator(new RiskScore(0.87f))
+        .build();
+  }
+
+  private static Transaction transferTransaction() {
+    return TransactionBuilder.builder()
+        .withAmount(Money.of(150_000, Currency.JPY))
+        .withStatus(TransactionStatus.COMPLETED)
+        .withType(TransferTransaction.recurringAch("Rent"))
+        .withSource(new Merchant(UUID.randomUUID(), "Payroll Inc", "8999"))
+        .withDestination(new Customer(UUID.randomUUID(), "Jane Doe", "jane@example.com"))
+        .withPaymentMethod(BankAccount.savings("123456789", "021000021", "Jane Doe", "Bank"))
+        .build();
+  }
+
+  @Test
+  @DisplayName("Should round-trip transactions losslessly through a memory segment")
+  void shouldRoundTripThroughSegment() {
+    // Given
+    var flyweight = new TransactionFlyweight();
+    Transaction card = cardTransaction();
+    Transaction transfer = transferTransaction();
+
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment segment = arena.allocate(4_096);
+
+      // When both records are written back to back
+      int first = flyweight.encode(card, segment, 0);
+      int second = flyweight.encode(transfer, segment, first);
+
+      // Then
+      assertEquals(first, flyweight.encodedLength(card));
+      assertEquals(card, flyweight.wrap(segment, 0).toTransaction());
+      assertEquals(first, flyweight.length());
+      assertEquals(transfer, flyweight.wrap(segment, first).toTransaction());
+      assertEquals(second, flyweight.length());
+    }
+  }
+
+  @Test
+  @DisplayName("Should read and update fixed fields in place")
+  void shouldReadAndUpdateFixedFieldsInPlace() {
+    // Given
+    var flyweight = new TransactionFlyweight();
+    Transaction card = cardTransaction();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(1_024);
+    flyweight.encode(card, MemorySegment.ofBuffer(buffer), 16);
+
+    // When
+    flyweight.wrap(buffer, 16).setStatus(TransactionStatus.DECLINED).setAmountMinorUnits(100);
+
+    // Then
+    var reader = new TransactionFlyweight().wrap(buffer, 16);
+    assertEquals(card.id(), reader.id());
+    assertEquals(card.timestamp(), reader.timestamp());
+    assertEquals(card.timestamp().toEpochMilli(), reader.epochMillis());
+    assertEquals(Money.of(1.00, Currency.EUR), reader.amount());
+    assertEquals(TransactionStatus.DECLINED, reader.status());
+    assertTrue(reader.isCardTransaction());
+    assertEquals(0.87f, reader.fraudIndicators().riskScore());
+    assertEquals(card.referenceId(), reader.referenceId());
+  }
+
+  @Test
+  @DisplayName("Should refuse to write past the end of the segment")
+  void shouldRefuseToOverflow() {
+    // Given
+    var flyweight = new TransactionFlyweight();
+    Transaction card = cardTransaction();
+    MemorySegment segment = MemorySegment.ofArray(new byte[flyweight.encodedLength(card) - 1]);
+
+    // Then
+    assertThrows(IndexOutOfBoundsException.class, () -> flyweight.encode(card, segment, 0));
+    assertEquals(0, segment.get(ValueLayout.JAVA_BYTE, 0));
+  }
+}
@@ -0,0 +1,136 @@
+package io.github.sicozz.fraudsim.domain.id;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UUIDv7 Generator Tests")
+class UuidV7GeneratorTest {
+
+  @Test
+  @DisplayName("Should produce strictly increasing version 7 ids within a stream")
+  void shouldProduceIncreasingIds() {
+    // Given
+    IdStream stream = new UuidV7Generator(3).stream(5, 0);
+    long millis = 1_700_000_000_000L;
+
+    // When
+    UUID previous = stream.next(millis);
+    for (int i = 1; i < 10_000; i++) {
+      UUID current = stream.next(millis + i / 100);
+
+      // Then
+      assertEquals(7, current.version());
+      assertEquals(2, current.variant());
+      assertEquals(millis + i / 100, current.getMostSignificantBits() >>> 16);
+      assertTrue(current.compareTo(previous) > 0, "ids must increase");
+      previous = current;
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep ids unique across streams and nodes for the same timestamp")
+  void shouldKeepIdsUniqueAcrossStreamsAndNodes() {
+    // Given streams that only differ by node or stream id, all stamped with the same millisecond
+    IdStream[] streams = {
+      new IdStream(0, 0, 0), new IdStream(0, 1, 0), new IdStream(1, 0, 0), new IdStream(1, 1, 0)
+    };
+    Set<UUID> ids = new HashSet<>();
+    Set<String> references = new HashSet<>();
+
+    // When
+    for (IdStream stream : streams) {
+      for (int i = 0; i < 1_000; i++) {
+        UUID id = stream.next(42L);
+        ids.add(id);
+        references.add(ReferenceIds.of(id));
+      }
+    }
+
+    // Then
+    assertEquals(4_000, ids.size());
+    assertEquals(4_000, references.size());
+  }
+
+  @Test
+  @DisplayName("Should give concurrent threads distinct ids")
+  void shouldGiveConcurrentThreadsDistinctIds() throws InterruptedException {
+    // Given
+    var generator = new UuidV7Generator(7);
+    Set<UUID> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    // When
+    for (int t = 0; t < 8; t++) {
+      executor.execute(
+          () -> {
+            for (int i = 0; i < 10_000; i++) {
+              ids.add(generator.next());
+            }
+          });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+    // Then
+    assertEquals(80_000, ids.size());
+  }
+
+  @Test
+  @DisplayName("Should keep thread streams apart from caller streams, on the generator's node")
+  void shouldSplitStreamIdsBetweenThreadsAndCallers() throws InterruptedException {
+    // Given
+    var generator = new UuidV7Generator(9);
+    Set<Long> streamIds = ConcurrentHashMap.newKeySet();
+
+    // When
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] =
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    long lsb = generator.next().getLeastSignificantBits();
+                    assertEquals(9, (lsb >>> 46) & 0xFFFF);
+                    streamIds.add((lsb >>> 30) & 0xFFFF);
+                  });
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // Then
+    assertEquals(threads.length, streamIds.size());
+    for (long streamId : streamIds) {
+      assertTrue(streamId >= UuidV7Generator.FIRST_THREAD_STREAM, "stream " + streamId);
+    }
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> generator.stream(UuidV7Generator.FIRST_THREAD_STREAM, 0));
+  }
+
+  @Test
+  @DisplayName("Should encode reference ids into a caller buffer")
+  void shouldEncodeReferenceIds() {
+    // Given
+    UUID id = new IdStream(0xFFFF, 0xFFFF, -1).next(0L);
+    char[] buffer = new char[ReferenceIds.LENGTH + 2];
+
+    // When
+    int written =
+        ReferenceIds.encode(id.getMostSignificantBits(), id.getLeastSignificantBits(), buffer, 2);
+
+    // Then every one of the 74 bits is set, which gives the largest 15-digit value
+    assertEquals(ReferenceIds.LENGTH, written);
+    assertEquals("TX-FZZZZZZZZZZZZZZ", new String(buffer, 2, written));
+    assertEquals("TX-000000000000000", ReferenceIds.of(new UUID(0x7000L, 0x8000000000000000L)));
+  }
+}
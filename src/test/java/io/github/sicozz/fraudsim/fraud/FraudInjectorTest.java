@@ -0,0 +1,218 @@
+package io.github.sicozz.fraudsim.fraud;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.party.Customer;
+import io.github.sicozz.fraudsim.domain.model.payment.Card;
+import io.github.sicozz.fraudsim.fraud.state.CustomerStateStore;
+import io.github.sicozz.fraudsim.fraud.state.VelocityWindows;
+import io.github.sicozz.fraudsim.generator.GeneratorSettings;
+import io.github.sicozz.fraudsim.generator.TransactionGenerator;
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Fraud Injector Tests")
+class FraudInjectorTest {
+
+  private static final GeneratorSettings SETTINGS =
+      new GeneratorSettings(
+          99L, 1, Currency.USD, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 200, 40);
+
+  private final TransactionGenerator generator = new TransactionGenerator(SETTINGS);
+  private final CustomerStateStore states =
+      new CustomerStateStore(SETTINGS.customerCount(), 60_000L);
+  private final VelocityWindows velocity = new VelocityWindows(1 << 20, 8, 60, 60_000L, 3_600_000L);
+
+  @AfterEach
+  void closeStates() {
+    states.close();
+    velocity.close();
+  }
+
+  private FraudInjector injector(double rate, int windowSize, List<String> patterns) {
+    return new FraudInjector(
+        new FraudSettings(rate, windowSize, patterns, 5L),
+        generator.getUniverse(),
+        states,
+        velocity);
+  }
+
+  @Test
+  @DisplayName("Should select exactly the configured share of every window")
+  void shouldSelectExactShareOfEveryWindow() {
+    // Given
+    var sampler = new WindowSampler(0.05, 1_000, new RandomProvider(1L).stream(0, 0));
+
+    // When / Then
+    for (int window = 0; window < 20; window++) {
+      int selected = 0;
+      for (int i = 0; i < 1_000; i++) {
+        selected += sampler.next() ? 1 : 0;
+      }
+      assertEquals(50, selected, "window " + window);
+    }
+  }
+
+  @Test
+  @DisplayName("Should carry a fractional share over to the next windows")
+  void shouldCarryFractionalShare() {
+    // Given 0.25 selections per window of 10
+    var sampler = new WindowSampler(0.025, 10, new RandomProvider(1L).stream(0, 0));
+
+    // When
+    int selected = 0;
+    for (int i = 0; i < 400; i++) {
+      selected += sampler.next() ? 1 : 0;
+    }
+
+    // Then
+    assertEquals(10, selected);
+  }
+
+  @Test
+  @DisplayName("Should pass untouched transactions through as they are")
+  void shouldPassUntouchedTransactionsThrough() throws InterruptedException {
+    // Given
+    var injector = injector(0.05, 100, List.of(FraudPatterns.AMOUNT_SPIKE));
+    var input = generator.generate(1_000);
+
+    // When
+    var output = new ArrayList<Transaction>();
+    for (Transaction transaction : input) {
+      injector.inject(transaction, output::add);
+    }
+
+    // Then exactly 5% are rewritten, the others are the very same instances
+    assertEquals(input.size(), output.size());
+    int spiked = 0;
+    for (int i = 0; i < input.size(); i++) {
+      if (output.get(i) == input.get(i)) {
+        assertFalse(output.get(i).hasFraudIndicators());
+      } else {
+        spiked++;
+        assertTrue(output.get(i).fraudIndicators().contains(FraudLabel.AMOUNT_SPIKE));
+        assertTrue(output.get(i).amount().minorUnits() > input.get(i).amount().minorUnits());
+      }
+    }
+    assertEquals(50, spiked);
+  }
+
+  @Test
+  @DisplayName("Should insert labelled transactions after an account takeover")
+  void shouldInsertTransactionsOnAccountTakeover() throws InterruptedException {
+    // Given
+    var injector = injector(0.01, 100, List.of(FraudPatterns.ACCOUNT_TAKEOVER));
+    var input = new ArrayList<Transaction>();
+    generator.generateInTimeOrder(100, (shard, transaction) -> input.add(transaction));
+
+    // When
+    var output = new ArrayList<Transaction>();
+    for (Transaction transaction : input) {
+      injector.inject(transaction, output::add);
+    }
+
+    // Then one takeover burst follows its trigger, from the same customer and later on
+    var burst = output.stream().filter(Transaction::hasFraudIndicators).toList();
+    assertTrue(burst.size() >= 2 && burst.size() <= 5, "burst of " + burst.size());
+    assertEquals(input.size() + burst.size(), output.size());
+    int first = output.indexOf(burst.get(0));
+    var trigger = output.get(first - 1);
+    for (Transaction inserted : burst) {
+      assertTrue(inserted.fraudIndicators().contains(FraudLabel.ACCOUNT_TAKEOVER));
+      assertEquals(trigger.source(), inserted.source());
+      assertTrue(inserted.timestamp().isAfter(trigger.timestamp()));
+    }
+    for (int i = 1; i < output.size(); i++) {
+      assertFalse(output.get(i).timestamp().isBefore(output.get(i - 1).timestamp()), "at " + i);
+    }
+  }
+
+  @Test
+  @DisplayName("Should move a merchant anomaly away from the customer's merchants")
+  void shouldMoveMerchantAnomaly() throws InterruptedException {
+    // Given
+    var injector = injector(0.1, 100, List.of(FraudPatterns.MERCHANT_ANOMALY));
+
+    // When
+    var output = new ArrayList<Transaction>();
+    var input = generator.generate(500);
+    for (Transaction transaction : input) {
+      injector.inject(transaction, output::add);
+    }
+
+    // Then
+    int anomalies = 0;
+    for (int i = 0; i < input.size(); i++) {
+      if (output.get(i).hasFraudIndicators()) {
+        anomalies++;
+        assertNotEquals(input.get(i).destination(), output.get(i).destination());
+        assertEquals(input.get(i).amount(), output.get(i).amount());
+      }
+    }
+    assertEquals(50, anomalies);
+  }
+
+  @Test
+  @DisplayName("Should emit a bot attack as it comes due, between the later transactions")
+  void shouldEmitCampaignEventsInStreamOrder() throws InterruptedException {
+    // Given a single selection among 2000 transactions spread over the month
+    var injector = injector(0.0005, 2_000, List.of(FraudPatterns.BOT_ATTACK));
+    var input = new ArrayList<Transaction>();
+    generator.generateInTimeOrder(2_000, (shard, transaction) -> input.add(transaction));
+
+    // When
+    var output = new ArrayList<Transaction>();
+    for (Transaction transaction : input) {
+      injector.inject(transaction, output::add);
+    }
+
+    // Then the attempts all hit the trigger's merchant and the stream stays in time order
+    var attempts = output.stream().filter(Transaction::hasFraudIndicators).toList();
+    assertTrue(attempts.size() >= 20 && attempts.size() <= 100, attempts.size() + " attempts");
+    assertEquals(input.size() + attempts.size(), output.size());
+    for (Transaction attempt : attempts) {
+      assertTrue(attempt.fraudIndicators().contains(FraudLabel.VELOCITY));
+      assertEquals(attempts.get(0).destination(), attempt.destination());
+    }
+    for (int i = 1; i < output.size(); i++) {
+      assertFalse(output.get(i).timestamp().isBefore(output.get(i - 1).timestamp()), "at " + i);
+    }
+  }
+
+  @Test
+  @DisplayName("Should key card windows by holder and free the keys idle for an hour")
+  void shouldKeyCardsByHolderAndEvictIdleKeys() throws InterruptedException {
+    // Given a month of transactions, about 20 minutes apart
+    var injector = injector(0, 1_000, List.of());
+    var input = new ArrayList<Transaction>();
+    generator.generateInTimeOrder(2_000, (shard, transaction) -> input.add(transaction));
+
+    // When
+    for (Transaction transaction : input) {
+      injector.inject(transaction, output -> {});
+    }
+
+    // Then only the keys of the last hour or so are left
+    assertTrue(velocity.size() < 40, velocity.size() + " keys");
+    Transaction last = input.get(input.size() - 1);
+    int customer = generator.getUniverse().customerIndex(((Customer) last.source()).id());
+    long now = last.timestamp().toEpochMilli();
+    assertEquals(1, velocity.count(VelocityWindows.customerKey(customer), now, 1_000L));
+    int cardEvents = last.paymentMethod() instanceof Card ? 1 : 0;
+    assertEquals(cardEvents, velocity.count(VelocityWindows.cardKey(customer), now, 1_000L));
+  }
+
+  @Test
+  @DisplayName("Should reject an unknown pattern")
+  void shouldRejectUnknownPattern() {
+    assertThrows(IllegalArgumentException.class, () -> injector(0.05, 100, List.of("phishing")));
+  }
+}
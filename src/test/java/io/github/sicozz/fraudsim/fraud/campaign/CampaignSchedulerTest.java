@@ -0,0 +1,81 @@
+package io.github.sicozz.fraudsim.fraud.campaign;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Campaign Scheduler Tests")
+class CampaignSchedulerTest {
+
+  private static final long START = 1_704_067_200_000L;
+  private static final CampaignEvent NOTHING = (dueMillis, context, downstream) -> {};
+
+  private static List<Long> dueTimes(List<CampaignScheduler.Due> due) {
+    return due.stream().map(CampaignScheduler.Due::dueMillis).toList();
+  }
+
+  @Test
+  @DisplayName("Should hand over due events sorted by due time")
+  void shouldSortDueEvents() {
+    // Given
+    var scheduler = new CampaignScheduler(1_000L);
+    scheduler.takeDue(START);
+    scheduler.schedule(START + 1_900L, NOTHING);
+    scheduler.schedule(START + 1_100L, NOTHING);
+    scheduler.schedule(START + 9_000L, NOTHING);
+
+    // When
+    var due = scheduler.takeDue(START + 5_000L);
+
+    // Then
+    assertEquals(List.of(START + 1_100L, START + 1_900L), dueTimes(due));
+    assertEquals(1, scheduler.pending());
+  }
+
+  @Test
+  @DisplayName("Should fire every occurrence of a recurring event, however far the clock jumps")
+  void shouldFireRecurringOccurrences() {
+    // Given 10 occurrences, 2 seconds apart
+    var scheduler = new CampaignScheduler(1_000L);
+    scheduler.takeDue(START);
+    scheduler.scheduleRecurring(START + 2_000L, 2_000L, 10, NOTHING);
+
+    // When
+    var first = scheduler.takeDue(START + 4_500L);
+    var rest = scheduler.takeDue(START + 60_000L);
+
+    // Then
+    assertEquals(List.of(START + 2_000L, START + 4_000L), dueTimes(first));
+    assertEquals(8, rest.size());
+    assertEquals(START + 20_000L, rest.get(7).dueMillis());
+    assertEquals(0, scheduler.pending());
+    assertTrue(scheduler.takeDue(START + 120_000L).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should hand over an event scheduled after the clock reached it on the next check")
+  void shouldFireEventScheduledInThePast() {
+    // Given a clock past the event, and a next due time far ahead
+    var scheduler = new CampaignScheduler(1_000L);
+    scheduler.schedule(START + 60_000L, NOTHING);
+    assertTrue(scheduler.takeDue(START + 10_000L).isEmpty());
+    scheduler.schedule(START + 5_000L, NOTHING);
+
+    // When
+    var due = scheduler.takeDue(START + 10_001L);
+
+    // Then
+    assertEquals(List.of(START + 5_000L), dueTimes(due));
+    assertEquals(1, scheduler.pending());
+  }
+
+  @Test
+  @DisplayName("Should reject several occurrences without a period")
+  void shouldRejectRecurrenceWithoutPeriod() {
+    var scheduler = new CampaignScheduler(1_000L);
+    assertThrows(
+        IllegalArgumentException.class, () -> scheduler.scheduleRecurring(START, 0L, 3, NOTHING));
+  }
+}
@@ -0,0 +1,159 @@
+package io.github.sicozz.fraudsim.fraud.campaign;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Timer Wheel Tests")
+class TimerWheelTest {
+
+  private static final long TICK = 1_000L;
+  private static final long START = 1_704_067_200_000L;
+
+  @Test
+  @DisplayName("Should hand over events by tick, then in scheduling order")
+  void shouldExpireInTickOrder() {
+    // Given
+    var wheel = new TimerWheel<String>(TICK, 4);
+    wheel.expire(START, event -> fail("nothing is due"));
+    wheel.schedule(START + 5_500L, "c");
+    wheel.schedule(START + 2_000L, "a");
+    wheel.schedule(START + 5_100L, "d");
+    wheel.schedule(START + 2_999L, "b");
+
+    // When
+    var expired = new ArrayList<String>();
+    int count = wheel.expire(START + 6_000L, expired::add);
+
+    // Then
+    assertEquals(4, count);
+    assertEquals(List.of("a", "b", "c", "d"), expired);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  @DisplayName("Should not hand over the events of a tick before they are due")
+  void shouldNotFireEarlyWithinATick() {
+    // Given
+    var wheel = new TimerWheel<String>(TICK, 4);
+    wheel.expire(START, event -> {});
+    wheel.schedule(START + 3_200L, "early");
+    wheel.schedule(START + 3_800L, "late");
+
+    // When / Then
+    var expired = new ArrayList<String>();
+    assertEquals(1, wheel.expire(START + 3_500L, expired::add));
+    assertEquals(List.of("early"), expired);
+    assertEquals(1, wheel.size());
+    assertEquals(1, wheel.expire(START + 3_800L, expired::add));
+    assertEquals(List.of("early", "late"), expired);
+  }
+
+  @Test
+  @DisplayName("Should bound the next due time by tick, and to the millisecond in the current one")
+  void shouldBoundNextDueTime() {
+    // Given
+    var wheel = new TimerWheel<String>(TICK, 4);
+    wheel.expire(START, event -> {});
+    assertEquals(Long.MAX_VALUE, wheel.nextDueLowerBound());
+    wheel.schedule(START + 3_800L, "late");
+    wheel.schedule(START + 3_200L, "early");
+    wheel.schedule(START + 7_200_000L, "hours ahead");
+
+    // When / Then
+    assertEquals(START + 3_000L, wheel.nextDueLowerBound());
+    wheel.expire(START + 3_100L, event -> fail("nothing is due"));
+    assertEquals(START + 3_200L, wheel.nextDueLowerBound());
+    wheel.expire(START + 3_500L, event -> {});
+    assertEquals(START + 3_800L, wheel.nextDueLowerBound());
+    wheel.expire(START + 3_800L, event -> {});
+    long bound = wheel.nextDueLowerBound();
+    assertTrue(bound > START + 3_800L && bound <= START + 7_200_000L, "bound " + bound);
+    wheel.expire(bound - 1, event -> fail("nothing is due"));
+  }
+
+  @Test
+  @DisplayName("Should cascade events scheduled hours and weeks ahead down to their tick")
+  void shouldCascadeFromHigherLevels() {
+    // Given
+    var wheel = new TimerWheel<Long>(TICK, 4);
+    wheel.expire(START, event -> {});
+    long[] dues = {START + 90_000L, START + 5 * 3_600_000L + 7L, START + 21 * 86_400_000L};
+    for (long due : dues) {
+      wheel.schedule(due, due);
+    }
+
+    // When / Then every event comes out exactly when the clock reaches it
+    var expired = new ArrayList<Long>();
+    for (long due : dues) {
+      wheel.expire(due - 1, expired::add);
+      assertFalse(expired.contains(due), "early at " + due);
+      wheel.expire(due, expired::add);
+      assertTrue(expired.contains(due), "missed at " + due);
+    }
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  @DisplayName("Should hand over events scheduled in the past on the next expiry")
+  void shouldFireOverdueEvents() {
+    // Given
+    var wheel = new TimerWheel<String>(TICK, 4);
+    wheel.expire(START + 60_000L, event -> {});
+    wheel.schedule(START, "overdue");
+
+    // When
+    var expired = new ArrayList<String>();
+    wheel.expire(START + 60_000L, expired::add);
+
+    // Then
+    assertEquals(List.of("overdue"), expired);
+  }
+
+  @Test
+  @DisplayName("Should hand over a million random events in due order, reusing their nodes")
+  void shouldExpireManyEventsInOrder() {
+    // Given events over a week, expired by a clock moving a few minutes at a time
+    var wheel = new TimerWheel<Long>(TICK, 16);
+    var random = new Random(7L);
+    wheel.expire(START, event -> {});
+    for (int i = 0; i < 1_000_000; i++) {
+      long due = START + (long) (random.nextDouble() * 7 * 86_400_000L);
+      wheel.schedule(due, due);
+    }
+
+    // When
+    long[] lastTick = {Long.MIN_VALUE};
+    int expired = 0;
+    for (long now = START; now <= START + 7 * 86_400_000L; now += 300_000L) {
+      long clock = now;
+      expired +=
+          wheel.expire(
+              clock,
+              due -> {
+                assertTrue(due <= clock, "fired early");
+                // In tick order across calls; within a tick, in scheduling order
+                assertTrue(Math.floorDiv(due, TICK) >= lastTick[0], "out of tick order");
+                lastTick[0] = Math.floorDiv(due, TICK);
+              });
+    }
+
+    // Then
+    assertEquals(1_000_000, expired);
+    assertEquals(0, wheel.size());
+
+    // And the freed nodes are reused
+    wheel.schedule(START + 8 * 86_400_000L, 1L);
+    assertEquals(1, wheel.size());
+  }
+
+  @Test
+  @DisplayName("Should reject a non-positive tick")
+  void shouldRejectNonPositiveTick() {
+    assertThrows(IllegalArgumentException.class, () -> new TimerWheel<String>(0L, 4));
+  }
+}
@@ -0,0 +1,130 @@
+package io.github.sicozz.fraudsim.fraud.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.type.TransferTransaction;
+import io.github.sicozz.fraudsim.generator.GeneratorSettings;
+import io.github.sicozz.fraudsim.generator.universe.EntityUniverse;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Mule Transfer Generator Tests")
+class MuleTransferGeneratorTest {
+
+  private static final GeneratorSettings SETTINGS =
+      new GeneratorSettings(
+          11L, 1, Currency.USD, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 2_000, 50);
+  private static final EntityUniverse UNIVERSE =
+      EntityUniverse.builder()
+          .withSeed(11L)
+          .withCustomerCount(2_000)
+          .withMerchantCount(50)
+          .withMerchantCategories(List.of("5411"))
+          .build();
+  private static final TransferGraph GRAPH =
+      TransferGraph.builder().withSeed(11L).withAccountCount(2_000).withRingCount(40).build();
+
+  private static List<Transaction> walk() {
+    var generator = new MuleTransferGenerator(GRAPH, UNIVERSE, SETTINGS);
+    var transfers = new ArrayList<Transaction>();
+    generator.forEachRemaining(transfers::add);
+    return transfers;
+  }
+
+  @Test
+  @DisplayName("Should emit labelled transfers in timestamp order")
+  void shouldEmitTransfersInTimestampOrder() {
+    // When
+    var transfers = walk();
+
+    // Then
+    assertFalse(transfers.isEmpty());
+    Instant previous = Instant.MIN;
+    for (Transaction transfer : transfers) {
+      assertFalse(transfer.timestamp().isBefore(previous));
+      previous = transfer.timestamp();
+      assertInstanceOf(TransferTransaction.class, transfer.type());
+      assertTrue(transfer.fraudIndicators().contains(FraudLabel.MULE_TRANSFER));
+      assertTrue(transfer.amount().minorUnits() > 0);
+      assertNotEquals(transfer.source(), transfer.destination());
+    }
+    assertFalse(transfers.get(0).timestamp().isBefore(Instant.parse("2024-01-01T00:00:00Z")));
+  }
+
+  @Test
+  @DisplayName("Should walk every ring edge once")
+  void shouldWalkEveryRingEdgeOnce() {
+    // Given a chain, fan-out and fan-in move money over size - 1 edges, a cycle over size
+    int expected = 0;
+    for (int ring = 0; ring < GRAPH.ringCount(); ring++) {
+      int size = GRAPH.ringSize(ring);
+      expected += GRAPH.ringKind(ring) == RingKind.CYCLE ? size : size - 1;
+    }
+
+    // When / Then
+    assertEquals(expected, walk().size());
+  }
+
+  @Test
+  @DisplayName("Should only label the hops leaving a ring as cash-outs")
+  void shouldLabelOnlyExitsAsCashOut() {
+    // Given the accounts where cycles start, and end
+    var cycleStarts = new HashSet<UUID>();
+    for (int ring = 0; ring < GRAPH.ringCount(); ring++) {
+      if (GRAPH.ringKind(ring) == RingKind.CYCLE) {
+        cycleStarts.add(UNIVERSE.customer(GRAPH.ringMember(ring, 0)).getId());
+      }
+    }
+
+    // When
+    var transfers = walk();
+
+    // Then money going back round a cycle is an ACH hop, and some money does leave
+    assertFalse(cycleStarts.isEmpty());
+    int cashOuts = 0;
+    for (Transaction transfer : transfers) {
+      boolean wire = ((TransferTransaction) transfer.type()).isWireTransfer();
+      cashOuts += wire ? 1 : 0;
+      if (cycleStarts.contains(transfer.destination().getId())) {
+        assertFalse(wire, "cycle closed by a cash-out");
+      }
+    }
+    assertTrue(cashOuts > 0);
+  }
+
+  @Test
+  @DisplayName("Should produce the same walk for the same settings")
+  void shouldProduceSameWalkForSameSettings() {
+    // When
+    var first = walk();
+    var second = walk();
+
+    // Then
+    assertEquals(first.size(), second.size());
+    for (int i = 0; i < first.size(); i++) {
+      assertEquals(first.get(i).timestamp(), second.get(i).timestamp());
+      assertEquals(first.get(i).amount(), second.get(i).amount());
+      assertEquals(first.get(i).destination(), second.get(i).destination());
+    }
+  }
+
+  @Test
+  @DisplayName("Should end the walk once every ring is drained")
+  void shouldEndTheWalk() {
+    var generator = new MuleTransferGenerator(GRAPH, UNIVERSE, SETTINGS);
+    generator.forEachRemaining(transfer -> {});
+
+    assertFalse(generator.hasNext());
+    assertThrows(NoSuchElementException.class, generator::next);
+  }
+}
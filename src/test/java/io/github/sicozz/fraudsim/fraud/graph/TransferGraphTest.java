@@ -0,0 +1,106 @@
+package io.github.sicozz.fraudsim.fraud.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Transfer Graph Tests")
+class TransferGraphTest {
+
+  private static TransferGraph graph(long seed) {
+    return TransferGraph.builder()
+        .withSeed(seed)
+        .withAccountCount(10_000)
+        .withAverageDegree(3)
+        .withRingCount(200)
+        .build();
+  }
+
+  @Test
+  @DisplayName("Should store the edges of every account as one contiguous row")
+  void shouldStoreCompressedRows() {
+    // When
+    var graph = graph(1L);
+
+    // Then
+    assertEquals(10_000, graph.accountCount());
+    long degrees = 0;
+    for (int account = 0; account < graph.accountCount(); account++) {
+      assertEquals(graph.endEdge(account), graph.firstEdge(account) + graph.outDegree(account));
+      for (int edge = graph.firstEdge(account); edge < graph.endEdge(account); edge++) {
+        int payee = graph.target(edge);
+        assertTrue(payee >= 0 && payee < graph.accountCount());
+        assertNotEquals(account, payee);
+      }
+      degrees += graph.outDegree(account);
+    }
+    assertEquals(graph.edgeCount(), degrees);
+    // Around 3 payees per account, at 4 bytes an edge plus 4 an account
+    assertTrue(graph.edgeCount() > 25_000 && graph.edgeCount() < 40_000);
+    assertTrue(graph.byteSize() < 4L * (graph.edgeCount() + graph.accountCount()) + 16_000);
+  }
+
+  @Test
+  @DisplayName("Should plant rings of distinct accounts shaped by their kind")
+  void shouldPlantRingsByKind() {
+    // When
+    var graph = graph(2L);
+
+    // Then
+    var members = new HashSet<Integer>();
+    var kinds = new HashSet<RingKind>();
+    for (int ring = 0; ring < graph.ringCount(); ring++) {
+      int size = graph.ringSize(ring);
+      assertTrue(size >= 3 && size <= 8);
+      kinds.add(graph.ringKind(ring));
+      for (int position = 0; position < size; position++) {
+        int account = graph.ringMember(ring, position);
+        assertTrue(members.add(account), "Account in two rings: " + account);
+        assertEquals(position, graph.ringPosition(ring, account));
+      }
+      int first = graph.ringMember(ring, 0);
+      int last = graph.ringMember(ring, size - 1);
+      switch (graph.ringKind(ring)) {
+        case CHAIN -> assertTrue(pays(graph, first, graph.ringMember(ring, 1)));
+        case CYCLE -> assertTrue(pays(graph, last, first));
+        case FAN_OUT -> assertTrue(pays(graph, first, last));
+        case FAN_IN -> assertTrue(pays(graph, first, last));
+      }
+    }
+    assertEquals(RingKind.values().length, kinds.size());
+  }
+
+  @Test
+  @DisplayName("Should build the same graph for the same seed")
+  void shouldBuildSameGraphForSameSeed() {
+    // When
+    var first = graph(3L);
+    var second = graph(3L);
+
+    // Then
+    assertEquals(first.edgeCount(), second.edgeCount());
+    for (int edge = 0; edge < first.edgeCount(); edge++) {
+      assertEquals(first.target(edge), second.target(edge));
+    }
+    assertEquals(first.ringMember(7, 0), second.ringMember(7, 0));
+  }
+
+  @Test
+  @DisplayName("Should reject more rings than the accounts can hold")
+  void shouldRejectTooManyRings() {
+    var builder = TransferGraph.builder().withAccountCount(100).withRingCount(10);
+
+    assertThrows(IllegalArgumentException.class, builder::build);
+  }
+
+  private static boolean pays(TransferGraph graph, int from, int to) {
+    for (int edge = graph.firstEdge(from); edge < graph.endEdge(from); edge++) {
+      if (graph.target(edge) == to) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
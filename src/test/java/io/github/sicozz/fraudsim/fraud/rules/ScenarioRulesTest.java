@@ -0,0 +1,200 @@
+package io.github.sicozz.fraudsim.fraud.rules;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.fraud.FraudContext;
+import io.github.sicozz.fraudsim.fraud.FraudInjector;
+import io.github.sicozz.fraudsim.fraud.FraudPatterns;
+import io.github.sicozz.fraudsim.fraud.FraudSettings;
+import io.github.sicozz.fraudsim.fraud.campaign.CampaignScheduler;
+import io.github.sicozz.fraudsim.fraud.state.CustomerStateStore;
+import io.github.sicozz.fraudsim.fraud.state.VelocityWindows;
+import io.github.sicozz.fraudsim.generator.GeneratorSettings;
+import io.github.sicozz.fraudsim.generator.TransactionGenerator;
+import io.github.sicozz.fraudsim.generator.random.RandomProvider;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Scenario Rules Tests")
+class ScenarioRulesTest {
+
+  private static final GeneratorSettings SETTINGS =
+      new GeneratorSettings(
+          21L, 1, Currency.USD, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 200, 40);
+  private static final long THRESHOLD = 20_000;
+  private static final String LARGE_AMOUNTS =
+      """
+      import io.github.sicozz.fraudsim.fraud.rules.ScenarioFact;
+
+      rule "Large amount"
+      when
+          $fact : ScenarioFact(amountMinor > 20000)
+      then
+          $fact.inject("amountSpike");
+      end
+      """;
+
+  private final TransactionGenerator generator = new TransactionGenerator(SETTINGS);
+  private final CustomerStateStore states =
+      new CustomerStateStore(SETTINGS.customerCount(), 60_000L);
+  private final VelocityWindows velocity = new VelocityWindows(1 << 20, 8, 60, 60_000L, 3_600_000L);
+  private final FraudContext context =
+      new FraudContext(
+          generator.getUniverse(),
+          states,
+          velocity,
+          new CampaignScheduler(1_000L),
+          new RandomProvider(3L));
+
+  @AfterEach
+  void closeStates() {
+    states.close();
+    velocity.close();
+  }
+
+  private List<Transaction> batch(int size) {
+    var shard = generator.createShard(0);
+    var batch = new ArrayList<Transaction>();
+    for (int i = 0; i < size; i++) {
+      batch.add(shard.next());
+    }
+    return batch;
+  }
+
+  @Test
+  @DisplayName("Should select the transactions the rules match, in one session per batch")
+  void shouldSelectMatchedTransactions() {
+    // Given
+    var rules = ScenarioRules.fromDrl(LARGE_AMOUNTS, 100);
+    var batch = batch(300);
+
+    // When
+    String[] patterns = new String[0];
+    for (int from = 0; from < batch.size(); from += rules.batchSize()) {
+      patterns = rules.evaluate(batch.subList(from, from + rules.batchSize()), context);
+      for (int row = 0; row < patterns.length; row++) {
+        boolean large = batch.get(from + row).amount().minorUnits() > THRESHOLD;
+        assertEquals(large ? FraudPatterns.AMOUNT_SPIKE : null, patterns[row]);
+      }
+    }
+
+    // Then
+    long large = batch.stream().filter(t -> t.amount().minorUnits() > THRESHOLD).count();
+    var stats = rules.stats();
+    assertEquals(100, patterns.length);
+    assertEquals(3, stats.batches());
+    assertEquals(300, stats.facts());
+    assertEquals(large, stats.fired());
+    assertTrue(stats.factsPerSecond() > 0);
+  }
+
+  @Test
+  @DisplayName("Should compile the bundled scenarios")
+  void shouldCompileBundledScenarios() {
+    // Given
+    var rules = ScenarioRules.fromClasspath(List.of("rules/fraud-scenarios.drl"), 64);
+
+    // When
+    String[] patterns = rules.evaluate(batch(64), context);
+
+    // Then
+    var known = Set.of(FraudPatterns.AMOUNT_SPIKE, FraudPatterns.ACCOUNT_TAKEOVER);
+    for (String pattern : patterns) {
+      assertTrue(pattern == null || known.contains(pattern), pattern);
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject rules that don't compile or can't be found")
+  void shouldRejectInvalidRules() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ScenarioRules.fromDrl("rule \"Broken\" when Nothing( then end", 10));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ScenarioRules.fromClasspath(List.of("rules/missing.drl"), 10));
+  }
+
+  @Test
+  @DisplayName("Should reject a literal unknown pattern when compiling")
+  void shouldRejectUnknownLiteralPattern() {
+    var drl = LARGE_AMOUNTS.replace("amountSpike", "phishing");
+    var error = assertThrows(IllegalArgumentException.class, () -> ScenarioRules.fromDrl(drl, 10));
+    assertTrue(error.getMessage().contains("phishing"), error.getMessage());
+  }
+
+  @Test
+  @DisplayName("Should name the rule injecting a computed unknown pattern")
+  void shouldNameRuleInjectingUnknownPattern() {
+    // Given
+    var drl = LARGE_AMOUNTS.replace("\"amountSpike\"", "\"phish\" + \"ing\"");
+    var rules = ScenarioRules.fromDrl(drl, 100);
+
+    // When / Then
+    var error =
+        assertThrows(IllegalArgumentException.class, () -> rules.evaluate(batch(100), context));
+    assertTrue(error.getMessage().contains("Large amount"), error.getMessage());
+  }
+
+  @Test
+  @DisplayName("Should read the customer history once per fact")
+  void shouldReadHistoryOncePerFact() {
+    // Given
+    Transaction transaction = batch(1).get(0);
+    var fact = new ScenarioFact(transaction, context);
+    int before = fact.getCustomerTransactionsLastMinute();
+
+    // When the history changes after the first read
+    long key = VelocityWindows.customerKey(context.customerIndex(transaction.source()));
+    velocity.record(key, transaction.timestamp().toEpochMilli(), 1);
+
+    // Then
+    assertEquals(before, fact.getCustomerTransactionsLastMinute());
+    assertEquals(fact.getCustomerMaxAmountMinor(), fact.getCustomerMaxAmountMinor());
+  }
+
+  @Test
+  @DisplayName("Should apply the pattern a rule names to the transactions it selects")
+  void shouldApplyRulePatterns() throws InterruptedException {
+    // Given no random selection, only the rule's
+    var injector =
+        new FraudInjector(
+            new FraudSettings(0, 1_000, List.of(), 5L),
+            generator.getUniverse(),
+            states,
+            velocity,
+            ScenarioRules.fromDrl(LARGE_AMOUNTS, 50));
+    var batch = batch(50);
+
+    // When
+    var rows = new ArrayList<Integer>();
+    var output = new ArrayList<Transaction>();
+    injector.inject(
+        batch,
+        (row, transaction) -> {
+          rows.add(row);
+          output.add(transaction);
+        });
+
+    // Then
+    assertEquals(50, injector.batchSize());
+    assertEquals(batch.size(), output.size());
+    for (int i = 0; i < output.size(); i++) {
+      var original = batch.get(rows.get(i));
+      boolean spiked = output.get(i).fraudIndicators().contains(FraudLabel.AMOUNT_SPIKE);
+      assertEquals(original.amount().minorUnits() > THRESHOLD, spiked);
+      if (!spiked) {
+        assertSame(original, output.get(i));
+      }
+    }
+    assertEquals(1, injector.ruleStats().batches());
+  }
+}
@@ -0,0 +1,107 @@
+package io.github.sicozz.fraudsim.fraud.state;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Customer State Store Tests")
+class CustomerStateStoreTest {
+
+  private static final long MINUTE = 60_000L;
+
+  @Test
+  @DisplayName("Should keep each customer's state in its own slot")
+  void shouldKeepStatePerCustomer() {
+    try (var store = new CustomerStateStore(1_000, MINUTE)) {
+      // When
+      store.record(7, 1_000L, 2_500, 3);
+      store.record(7, 2_000L, 10_000, 4);
+      store.record(8, 5_000L, 100, 3);
+
+      // Then
+      var state = store.snapshot(7);
+      assertEquals(2_000L, state.lastTransactionMillis());
+      assertEquals(2, state.transactionCount());
+      assertEquals(12_500, state.totalSpend());
+      assertEquals(10_000, state.maxAmount());
+      assertEquals(6_250, state.averageAmount());
+      assertArrayEquals(new int[] {3, 4}, state.homeMerchants());
+      assertEquals(1, store.snapshot(8).transactionCount());
+      assertEquals(0, store.snapshot(9).transactionCount());
+      assertEquals(64_000, store.byteSize());
+    }
+  }
+
+  @Test
+  @DisplayName("Should count velocity over fixed windows")
+  void shouldCountVelocityOverFixedWindows() {
+    try (var store = new CustomerStateStore(10, MINUTE)) {
+      // When
+      store.record(1, 10 * MINUTE + 1, 100, -1);
+      store.record(1, 10 * MINUTE + 2, 100, -1);
+      store.record(1, 10 * MINUTE + 3, 100, -1);
+
+      // Then the count only holds within its window
+      assertEquals(3, store.velocity(1, 10 * MINUTE + 30_000));
+      assertEquals(0, store.velocity(1, 11 * MINUTE));
+      store.record(1, 11 * MINUTE, 100, -1);
+      assertEquals(1, store.velocity(1, 11 * MINUTE + 1));
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep the last distinct merchants as home merchants")
+  void shouldKeepLastDistinctMerchants() {
+    try (var store = new CustomerStateStore(10, MINUTE)) {
+      // When six distinct merchants are seen, one of them twice
+      for (int merchant : new int[] {0, 1, 1, 2, 3, 4, 5}) {
+        store.record(2, 1_000L, 100, merchant);
+      }
+
+      // Then the slots hold four merchants, the latest included
+      assertEquals(
+          CustomerStateStore.HOME_MERCHANT_SLOTS, store.snapshot(2).homeMerchants().length);
+      assertTrue(store.isHomeMerchant(2, 5));
+      assertFalse(store.isHomeMerchant(2, 42));
+    }
+  }
+
+  @Test
+  @DisplayName("Should not lose updates made concurrently")
+  void shouldNotLoseConcurrentUpdates() throws InterruptedException {
+    try (var store = new CustomerStateStore(64, MINUTE, 8)) {
+      // When
+      var threads = new ArrayList<Thread>();
+      for (int t = 0; t < 4; t++) {
+        threads.add(
+            Thread.ofPlatform()
+                .start(
+                    () -> {
+                      for (int i = 0; i < 10_000; i++) {
+                        store.record(i % 64, i, 1, -1);
+                      }
+                    }));
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+
+      // Then
+      long total = 0;
+      for (int customer = 0; customer < 64; customer++) {
+        total += store.snapshot(customer).totalSpend();
+      }
+      assertEquals(40_000, total);
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject a customer outside the population")
+  void shouldRejectUnknownCustomer() {
+    try (var store = new CustomerStateStore(10, MINUTE)) {
+      assertThrows(IndexOutOfBoundsException.class, () -> store.record(10, 0L, 1, -1));
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package io.github.sicozz.fraudsim.fraud.state;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Velocity Windows Tests")
+class VelocityWindowsTest {
+
+  // Ring of 4 events and 10 buckets of a second: 216-byte slots, 1728-byte groups
+  private static final int RING = 4;
+  private static final int BUCKETS = 10;
+  private static final long BUCKET_MILLIS = 1_000L;
+  private static final long IDLE_MILLIS = 60_000L;
+  private static final long GROUP_BYTES = 1_728L;
+
+  private static VelocityWindows windows(long budget) {
+    return new VelocityWindows(budget, RING, BUCKETS, BUCKET_MILLIS, IDLE_MILLIS);
+  }
+
+  @Test
+  @DisplayName("Should count and sum exactly when the ring holds the window")
+  void shouldAggregateExactlyFromTheRing() {
+    try (VelocityWindows windows = windows(GROUP_BYTES * 4)) {
+      // Given
+      long key = VelocityWindows.customerKey(7);
+      windows.record(key, 1_000L, 10);
+      windows.record(key, 2_000L, 20);
+      windows.record(key, 3_000L, 30);
+
+      // When / Then
+      assertEquals(2, windows.count(key, 3_000L, 1_500L));
+      assertEquals(50L, windows.sum(key, 3_000L, 1_500L));
+      assertEquals(3, windows.count(key, 3_000L, 60_000L));
+      assertEquals(0, windows.count(VelocityWindows.customerKey(8), 3_000L, 60_000L));
+    }
+  }
+
+  @Test
+  @DisplayName("Should fall back to the time buckets when the ring overflows")
+  void shouldFallBackToBuckets() {
+    try (VelocityWindows windows = windows(GROUP_BYTES * 4)) {
+      // Given
+      long key = VelocityWindows.customerKey(1);
+      for (int i = 0; i < 10; i++) {
+        windows.record(key, i * 1_000L, 100);
+      }
+
+      // When / Then
+      assertEquals(10, windows.count(key, 9_000L, 10_000L));
+      assertEquals(1_000L, windows.sum(key, 9_000L, 10_000L));
+      // Still exact from the ring when it covers the window
+      assertEquals(3, windows.count(key, 9_000L, 2_500L));
+    }
+  }
+
+  @Test
+  @DisplayName("Should free the keys idle for longer than the timeout")
+  void shouldEvictIdleKeys() {
+    try (VelocityWindows windows = windows(GROUP_BYTES * 4)) {
+      // Given
+      long idle = VelocityWindows.customerKey(1);
+      long active = VelocityWindows.customerKey(2);
+      windows.record(idle, 0L, 10);
+      windows.record(active, 100_000L, 10);
+
+      // When
+      int evicted = windows.evictIdle(100_000L);
+
+      // Then
+      assertEquals(1, evicted);
+      assertEquals(1, windows.size());
+      assertEquals(0, windows.count(idle, 100_000L, Long.MAX_VALUE / 2));
+      assertEquals(1, windows.count(active, 100_000L, 1_000L));
+    }
+  }
+
+  @Test
+  @DisplayName("Should stay within the memory budget by evicting the least recently active keys")
+  void shouldHoldTheMemoryCap() {
+    long budget = GROUP_BYTES * 4;
+    try (VelocityWindows windows = windows(budget)) {
+      // When
+      for (int customer = 0; customer < 1_000; customer++) {
+        windows.record(VelocityWindows.customerKey(customer), customer, 1);
+      }
+
+      // Then
+      assertTrue(windows.byteSize() <= budget);
+      assertEquals(windows.keyCapacity(), windows.size());
+      assertEquals(1, windows.count(VelocityWindows.customerKey(999), 999L, 1_000L));
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep customer and card keys apart")
+  void shouldSeparateKeyKinds() {
+    // When / Then
+    assertNotEquals(VelocityWindows.customerKey(0), VelocityWindows.cardKey(0));
+    assertNotEquals(VelocityWindows.cardKey(0), VelocityWindows.cardKey(1));
+    assertEquals(VelocityWindows.cardKey(7), VelocityWindows.cardKey(7));
+  }
+
+  @Test
+  @DisplayName("Should reject a budget that doesn't fit a group of keys")
+  void shouldRejectTooSmallBudget() {
+    assertThrows(IllegalArgumentException.class, () -> windows(GROUP_BYTES - 1));
+  }
+}
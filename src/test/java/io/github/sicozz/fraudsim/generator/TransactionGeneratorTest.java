@@ -0,0 +1,122 @@
+package io.github.sicozz.fraudsim.generator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.sicozz.fraudsim.domain.batch.TransactionBatch;
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Transaction Generator Tests")
+class TransactionGeneratorTest {
+
+  private static final GeneratorSettings SETTINGS =
+      new GeneratorSettings(
+          1234L, 4, Currency.USD, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 500, 50);
+
+  @Test
+  @DisplayName("Should reproduce identical output for the same seed and shard count")
+  void shouldReproduceIdenticalOutput() {
+    // When
+    var first = new TransactionGenerator(SETTINGS).generate(2_000);
+    var second = new TransactionGenerator(SETTINGS).generate(2_000);
+
+    // Then
+    assertEquals(2_000, first.size());
+    assertEquals(first, second);
+  }
+
+  @Test
+  @DisplayName("Should produce different output for a different seed")
+  void shouldProduceDifferentOutputForDifferentSeed() {
+    // When
+    var first = new TransactionGenerator(SETTINGS).generate(100);
+    var second = new TransactionGenerator(SETTINGS.withSeed(4321L)).generate(100);
+
+    // Then
+    assertNotEquals(first, second);
+  }
+
+  @Test
+  @DisplayName("Should give every shard an independent sequence")
+  void shouldGiveEveryShardAnIndependentSequence() {
+    // Given
+    var generator = new TransactionGenerator(SETTINGS);
+
+    // When
+    var shard0 = generator.createShard(0).next();
+    var shard1 = generator.createShard(1).next();
+
+    // Then
+    assertNotEquals(shard0.id(), shard1.id());
+    assertEquals(shard0, generator.createShard(0).next());
+  }
+
+  @Test
+  @DisplayName("Should split the requested volume across shards")
+  void shouldSplitVolumeAcrossShards() {
+    // When
+    long total = 0;
+    for (int i = 0; i < 4; i++) {
+      total += TransactionGenerator.shardQuota(10, 4, i);
+    }
+
+    // Then
+    assertEquals(10, total);
+    assertEquals(3, TransactionGenerator.shardQuota(10, 4, 0));
+    assertEquals(2, TransactionGenerator.shardQuota(10, 4, 3));
+  }
+
+  @Test
+  @DisplayName("Should stream merged shard output in timestamp order")
+  void shouldStreamInTimestampOrder() {
+    // Given
+    var generator = new TransactionGenerator(SETTINGS);
+    List<Transaction> output = new ArrayList<>();
+    int[] perShard = new int[SETTINGS.shardCount()];
+
+    // When
+    long generated =
+        generator.generateInTimeOrder(
+            5_000,
+            (shardIndex, transaction) -> {
+              perShard[shardIndex]++;
+              output.add(transaction);
+            });
+
+    // Then
+    assertEquals(output.size(), generated);
+    for (int i = 1; i < output.size(); i++) {
+      assertFalse(output.get(i).timestamp().isBefore(output.get(i - 1).timestamp()));
+    }
+    for (int count : perShard) {
+      assertTrue(count > 0);
+    }
+  }
+
+  @Test
+  @DisplayName("Should fill a columnar batch with the same rows as the shard sequence")
+  void shouldFillBatchWithShardSequence() {
+    // Given
+    var generator = new TransactionGenerator(SETTINGS);
+    var shard = generator.createShard(2);
+    var batch = new TransactionBatch(300);
+
+    // When
+    generator.createShard(2).fill(batch, 100);
+
+    // Then
+    TransactionBatch.Row row = batch.row();
+    for (int i = 0; i < 100; i++) {
+      Transaction expected = shard.next();
+      assertEquals(expected, row.at(i).toTransaction(), "row " + i);
+      assertEquals(
+          generator.getUniverse().merchantIndex(expected.destination().getId()),
+          batch.destinationIndexes()[i]);
+    }
+  }
+}
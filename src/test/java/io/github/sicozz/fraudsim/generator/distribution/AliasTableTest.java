@@ -0,0 +1,74 @@
+package io.github.sicozz.fraudsim.generator.distribution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Alias Table Tests")
+class AliasTableTest {
+
+  @Test
+  @DisplayName("Should sample outcomes with the frequencies of their weights")
+  void shouldSampleWithWeightFrequencies() {
+    // Given
+    double[] weights = {0.35, 0.30, 0.15, 0.10, 0.05, 0.05};
+    var table = new AliasTable(weights);
+    var random = new Well19937c(42L);
+    int draws = 500_000;
+
+    // When
+    int[] counts = new int[weights.length];
+    for (int i = 0; i < draws; i++) {
+      counts[table.sample(random)]++;
+    }
+
+    // Then
+    for (int i = 0; i < weights.length; i++) {
+      assertEquals(weights[i], counts[i] / (double) draws, 0.005, "outcome " + i);
+    }
+  }
+
+  @Test
+  @DisplayName("Should never sample zero-weight outcomes")
+  void shouldNeverSampleZeroWeightOutcomes() {
+    // Given
+    var table = new AliasTable(new double[] {0, 3, 0, 1});
+
+    // Then
+    for (int i = 0; i < 10_000; i++) {
+      int outcome = table.sample(i / 10_000.0);
+      assertTrue(outcome == 1 || outcome == 3);
+    }
+    assertEquals(0.75, table.getProbability(1), 1e-12);
+  }
+
+  @Test
+  @DisplayName("Should reject invalid weights")
+  void shouldRejectInvalidWeights() {
+    assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+    assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {0, 0}));
+    assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1, -1}));
+    assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {Double.NaN}));
+  }
+
+  @Test
+  @DisplayName("Should expose the probabilities of an alias distribution")
+  void shouldExposeAliasDistributionProbabilities() {
+    // Given
+    Map<String, Double> weights = new LinkedHashMap<>();
+    weights.put("VISA", 3.0);
+    weights.put("AMEX", 1.0);
+
+    // When
+    var distribution = new AliasDistribution<>("Network", weights, new Well19937c(1L));
+
+    // Then
+    assertEquals(0.75, distribution.getProbability("VISA"), 1e-12);
+    assertEquals(0.0, distribution.getProbability("JCB"));
+    assertTrue(weights.containsKey(distribution.sample()));
+  }
+}
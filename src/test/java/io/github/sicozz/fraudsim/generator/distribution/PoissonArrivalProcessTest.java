@@ -0,0 +1,131 @@
+package io.github.sicozz.fraudsim.generator.distribution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Poisson Arrival Process Tests")
+class PoissonArrivalProcessTest {
+
+  private static final LocalDate START = LocalDate.of(2024, 1, 1);
+  private static final LocalDate END = LocalDate.of(2024, 1, 28);
+
+  @Test
+  @DisplayName("Should emit the expected volume in time order within the range")
+  void shouldEmitExpectedVolumeInOrder() {
+    // Given
+    var profile = new TransactionTimeDistribution(START, END, new Well19937c(1L));
+    var process = new PoissonArrivalProcess(profile, 100_000, new Well19937c(2L));
+    long from = START.atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1_000;
+    long to = END.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1_000;
+
+    // When
+    long count = 0;
+    long previous = Long.MIN_VALUE;
+    while (process.hasNext()) {
+      long arrival = process.nextEpochMillis();
+      assertTrue(arrival >= previous, "arrival went back in time");
+      assertTrue(arrival >= from && arrival < to, "arrival out of range");
+      previous = arrival;
+      count++;
+    }
+
+    // Then the count is within five standard deviations of the Poisson mean
+    assertEquals(100_000, count, 5 * Math.sqrt(100_000));
+    assertThrows(NoSuchElementException.class, process::nextEpochMillis);
+  }
+
+  @Test
+  @DisplayName("Should emit an exact count in time order, spread over the range")
+  void shouldEmitExactCountInOrder() {
+    // Given
+    var profile = new TransactionTimeDistribution(START, END, new Well19937c(1L));
+    var process = PoissonArrivalProcess.ofCount(profile, 100_000, new Well19937c(2L));
+    long from = START.atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1_000;
+    long to = END.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC) * 1_000;
+    long middle = from + (to - from) / 2;
+
+    // When
+    long count = 0;
+    long firstHalf = 0;
+    long previous = Long.MIN_VALUE;
+    while (process.hasNext()) {
+      long arrival = process.nextEpochMillis();
+      assertTrue(arrival >= previous, "arrival went back in time");
+      assertTrue(arrival >= from && arrival < to, "arrival out of range");
+      firstHalf += arrival < middle ? 1 : 0;
+      previous = arrival;
+      count++;
+    }
+
+    // Then the first two of the four weeks hold half the arrivals, give or take five deviations
+    assertEquals(100_000, count);
+    assertEquals(50_000, firstHalf, 5 * Math.sqrt(100_000 * 0.25));
+    assertTrue(previous > to - 86_400_000L, "last arrival on the last day");
+    assertThrows(NoSuchElementException.class, process::nextEpochMillis);
+  }
+
+  @Test
+  @DisplayName("Should follow the hourly intensity profile")
+  void shouldFollowHourlyProfile() {
+    // Given a profile where 3pm is nine times as busy as 3am, and every other hour is closed
+    var profile = new TransactionTimeDistribution(START, END, new Well19937c(3L));
+    double[] weights = new double[24];
+    weights[3] = 1;
+    weights[15] = 9;
+    for (DayOfWeek day : DayOfWeek.values()) {
+      profile.setHourlyWeights(day, weights);
+    }
+    var process = new PoissonArrivalProcess(profile, 50_000, new Well19937c(4L));
+
+    // When
+    int[] perHour = new int[24];
+    while (process.hasNext()) {
+      Instant arrival = Instant.ofEpochMilli(process.nextEpochMillis());
+      perHour[LocalDateTime.ofInstant(arrival, ZoneOffset.UTC).getHour()]++;
+    }
+
+    // Then
+    assertEquals(perHour[3] + perHour[15], Arrays.stream(perHour).sum());
+    assertEquals(0.9, perHour[15] / (double) (perHour[3] + perHour[15]), 0.01);
+  }
+
+  @Test
+  @DisplayName("Should give weekend days the same volume as the time distribution")
+  void shouldMatchDayOfWeekMixOfTimeDistribution() {
+    // Given the default profile, whose weekend hours weigh less in total
+    var profile = new TransactionTimeDistribution(START, END, new Well19937c(7L));
+    var process = new PoissonArrivalProcess(profile, 100_000, new Well19937c(8L));
+
+    // When
+    int[] perDayOfWeek = new int[7];
+    while (process.hasNext()) {
+      Instant arrival = Instant.ofEpochMilli(process.nextEpochMillis());
+      perDayOfWeek[LocalDateTime.ofInstant(arrival, ZoneOffset.UTC).getDayOfWeek().ordinal()]++;
+    }
+
+    // Then every day of week gets a seventh, as days are drawn uniformly by the distribution
+    int total = Arrays.stream(perDayOfWeek).sum();
+    for (DayOfWeek day : DayOfWeek.values()) {
+      assertEquals(1 / 7.0, perDayOfWeek[day.ordinal()] / (double) total, 0.005, day.name());
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject a non-positive expected count")
+  void shouldRejectNonPositiveExpectedCount() {
+    var profile = new TransactionTimeDistribution(START, END, new Well19937c(5L));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PoissonArrivalProcess(profile, 0, new Well19937c(6L)));
+  }
+}
@@ -0,0 +1,67 @@
+package io.github.sicozz.fraudsim.generator.distribution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Transaction Time Distribution Tests")
+class TransactionTimeDistributionTest {
+
+  private static final LocalDate START = LocalDate.of(2024, 1, 1);
+  private static final LocalDate END = LocalDate.of(2024, 1, 14);
+
+  @Test
+  @DisplayName("Should keep epoch timestamps within the date range")
+  void shouldKeepTimestampsWithinRange() {
+    // Given
+    var distribution = new TransactionTimeDistribution(START, END, new Well19937c(1L));
+    long from = START.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    long to = END.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+
+    // Then
+    for (int i = 0; i < 100_000; i++) {
+      long second = distribution.sampleEpochSecond();
+      long millis = distribution.sampleEpochMillis();
+      assertTrue(second >= from && second < to, "second " + second);
+      assertTrue(millis >= from * 1_000 && millis < to * 1_000, "millis " + millis);
+    }
+  }
+
+  @Test
+  @DisplayName("Should follow the hourly weights of each day of week")
+  void shouldFollowHourlyWeights() {
+    // Given weights that only allow 9am on Mondays and 9pm on other days
+    var distribution = new TransactionTimeDistribution(START, END, new Well19937c(2L));
+    double[] monday = new double[24];
+    monday[9] = 1;
+    double[] otherDays = new double[24];
+    otherDays[21] = 1;
+    for (DayOfWeek day : DayOfWeek.values()) {
+      distribution.setHourlyWeights(day, day == DayOfWeek.MONDAY ? monday : otherDays);
+    }
+
+    // Then
+    for (int i = 0; i < 10_000; i++) {
+      LocalDateTime time =
+          LocalDateTime.ofInstant(
+              Instant.ofEpochMilli(distribution.sampleEpochMillis()), ZoneOffset.UTC);
+      int expectedHour = time.getDayOfWeek() == DayOfWeek.MONDAY ? 9 : 21;
+      assertEquals(expectedHour, time.getHour(), time.toString());
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject an inverted date range")
+  void shouldRejectInvertedRange() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new TransactionTimeDistribution(END, START, new Well19937c(3L)));
+  }
+}
@@ -0,0 +1,116 @@
+package io.github.sicozz.fraudsim.generator.distribution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.stream.Stream;
+import org.apache.commons.math3.distribution.LogNormalDistribution;
+import org.apache.commons.math3.random.Well19937c;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@DisplayName("Truncated Sampling Tests")
+class TruncatedSamplingTest {
+
+  private static final int SAMPLES = 100_000;
+
+  @ParameterizedTest
+  @MethodSource("provideBoundedDistributions")
+  @DisplayName("Should keep every sample within the bounds")
+  void shouldKeepSamplesWithinBounds(NumericDistribution distribution) {
+    for (int i = 0; i < SAMPLES; i++) {
+      double value = distribution.sample();
+      assertTrue(
+          value >= distribution.getMinimum() && value <= distribution.getMaximum(),
+          distribution + " produced " + value);
+    }
+  }
+
+  private static Stream<Arguments> provideBoundedDistributions() {
+    var random = new Well19937c(42L);
+    return Stream.of(
+        Arguments.of(new NormalNumericDistribution(45.0, 15.0, 10.0, 150.0, random)),
+        Arguments.of(new NormalNumericDistribution(0.0, 1.0, 7.0, 7.5, random)),
+        Arguments.of(
+            LogNormalNumericDistribution.fromMeanAndStdDev(65.0, 40.0, 5.0, 500.0, random)),
+        Arguments.of(new ExponentialNumericDistribution(10.0, 100.0, 101.0, random)),
+        Arguments.of(new ParetoNumericDistribution(1.0, 1.5, 3.0, random)));
+  }
+
+  @Test
+  @DisplayName("Should sample the tail of a normal distribution without retries")
+  void shouldSampleNormalTail() {
+    // Given bounds five standard deviations out, where rejection needs ~3.5M draws per sample
+    var distribution = new NormalNumericDistribution(0.0, 1.0, 5.0, 6.0, new Well19937c(1L));
+
+    // When
+    double sum = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      sum += distribution.sample();
+    }
+
+    // Then the mean matches E[X | X > 5] of a standard normal
+    assertEquals(5.186, sum / SAMPLES, 0.01);
+  }
+
+  @Test
+  @DisplayName("Should match the quantiles of the log-normal distribution")
+  void shouldMatchLogNormalQuantiles() {
+    // Given
+    var distribution = new LogNormalNumericDistribution(3.0, 0.5, 0.0, 1e9, new Well19937c(5L));
+    var reference = new LogNormalDistribution(3.0, 0.5);
+    double median = reference.inverseCumulativeProbability(0.5);
+    double p90 = reference.inverseCumulativeProbability(0.9);
+
+    // When
+    int belowMedian = 0;
+    int belowP90 = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      double value = distribution.sampleAsDouble();
+      belowMedian += value < median ? 1 : 0;
+      belowP90 += value < p90 ? 1 : 0;
+    }
+
+    // Then
+    assertEquals(0.5, (double) belowMedian / SAMPLES, 0.01);
+    assertEquals(0.9, (double) belowP90 / SAMPLES, 0.01);
+  }
+
+  @Test
+  @DisplayName("Should preserve the shape of a truncated exponential distribution")
+  void shouldPreserveTruncatedExponentialShape() {
+    // Given
+    var distribution = new ExponentialNumericDistribution(10.0, 5.0, 1_000.0, new Well19937c(3L));
+
+    // When
+    double sum = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      sum += distribution.sample();
+    }
+
+    // Then, being memoryless, the mean is shifted by the minimum
+    assertEquals(15.0, sum / SAMPLES, 0.15);
+  }
+
+  @Test
+  @DisplayName("Should fill the same values as repeated primitive sampling")
+  void shouldFillSameValuesAsSampling() {
+    // Given two identically seeded distributions
+    var sampled = new NormalNumericDistribution(45.0, 15.0, 10.0, 150.0, new Well19937c(7L));
+    var filled = new NormalNumericDistribution(45.0, 15.0, 10.0, 150.0, new Well19937c(7L));
+
+    // When
+    double[] out = new double[12];
+    filled.fill(out, 2, 8);
+
+    // Then only the requested range is written, in draw order
+    assertEquals(0.0, out[0]);
+    assertEquals(0.0, out[11]);
+    for (int i = 2; i < 10; i++) {
+      assertEquals(sampled.sampleAsDouble(), out[i]);
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> filled.fill(out, 8, 8));
+  }
+}
@@ -0,0 +1,92 @@
+package io.github.sicozz.fraudsim.generator.random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.sicozz.fraudsim.generator.distribution.NormalNumericDistribution;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Random Provider Tests")
+class RandomProviderTest {
+
+  @Test
+  @DisplayName("Should derive the same shard streams from the same master seed")
+  void shouldDeriveReproducibleShardStreams() {
+    // Given two providers with the same master seed
+    var first = new RandomProvider(42L);
+    var second = new RandomProvider(42L);
+
+    // When
+    var a = first.stream(3, 1);
+    var b = second.stream(3, 1);
+    var other = first.stream(4, 1);
+
+    // Then
+    for (int i = 0; i < 1_000; i++) {
+      long value = a.nextLong();
+      assertEquals(value, b.nextLong());
+      assertNotEquals(value, other.nextLong());
+    }
+  }
+
+  @Test
+  @DisplayName("Should give every thread its own generator")
+  void shouldGiveEveryThreadItsOwnGenerator() throws ExecutionException, InterruptedException {
+    // Given
+    var provider = new RandomProvider(7L);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      // When
+      Future<SplittableRandomAdapter> other = executor.submit(provider::forThread);
+
+      // Then
+      assertSame(provider.forThread(), provider.forThread());
+      assertNotSame(provider.forThread(), other.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Should reseed like a commons-math generator")
+  void shouldReseed() {
+    // Given
+    var random = new RandomProvider(1L).newStream();
+    random.setSeed(99L);
+    double first = random.nextDouble();
+
+    // When
+    random.setSeed(99L);
+
+    // Then
+    assertEquals(first, random.nextDouble());
+  }
+
+  @Test
+  @DisplayName("Should drive commons-math based samplers")
+  void shouldDriveSamplers() {
+    // Given
+    var distribution =
+        new NormalNumericDistribution(45.0, 15.0, 10.0, 150.0, new RandomProvider(5L).newStream());
+
+    // When
+    double sum = 0;
+    for (int i = 0; i < 100_000; i++) {
+      sum += distribution.sampleAsDouble();
+    }
+
+    // Then
+    assertEquals(45.5, sum / 100_000, 1.0);
+  }
+
+  @Test
+  @DisplayName("Should reject algorithms that cannot be split")
+  void shouldRejectNonSplittableAlgorithms() {
+    assertThrows(IllegalArgumentException.class, () -> new RandomProvider(1L, "Random"));
+  }
+}
@@ -0,0 +1,115 @@
+package io.github.sicozz.fraudsim.generator.rate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Rate Governor Tests")
+class RateGovernorTest {
+
+  @Test
+  @DisplayName("Should schedule slots on a fixed timeline without drift")
+  void shouldScheduleSlotsWithoutDrift() {
+    // Given
+    var governor = new RateGovernor(3, () -> 0L);
+
+    // Then
+    assertEquals(0, governor.intendedTime(0));
+    assertEquals(333_333_333L, governor.intendedTime(1));
+    assertEquals(666_666_666L, governor.intendedTime(2));
+    assertEquals(1_000_000_000L, governor.intendedTime(3));
+    assertEquals(1_000_000_000_000L, governor.intendedTime(3_000));
+  }
+
+  @Test
+  @DisplayName("Should not lower the offered load after a stall")
+  void shouldNotLowerOfferedLoadAfterStall() throws InterruptedException {
+    // Given
+    var now = new AtomicLong();
+    var governor = new RateGovernor(1_000, now::get);
+
+    // When the sink stalls for one second
+    now.set(1_000_000_000L);
+
+    // Then the overdue slots are released immediately, keeping their original schedule
+    assertEquals(1_000, governor.getBacklog());
+    for (int i = 0; i < 1_000; i++) {
+      assertEquals(governor.intendedTime(i), governor.acquire());
+    }
+    assertEquals(0, governor.getBacklog());
+    assertEquals(1_000_000_000L, governor.getEmissionLag().getMaxNanos());
+  }
+
+  @Test
+  @DisplayName("Should measure completion lag from the intended send time")
+  void shouldMeasureCompletionLagFromIntendedTime() throws InterruptedException {
+    // Given
+    var now = new AtomicLong();
+    var governor = new RateGovernor(10, now::get);
+
+    // When
+    long intended = governor.acquire();
+    now.addAndGet(250_000_000L);
+    governor.recordCompletion(intended);
+
+    // Then
+    assertEquals(250_000_000L, governor.getCompletionLag().getMaxNanos());
+  }
+
+  @Test
+  @DisplayName("Should hold the target rate against the real clock")
+  void shouldHoldTargetRate() throws InterruptedException {
+    // Given
+    var governor = new RateGovernor(2_000);
+    long start = System.nanoTime();
+
+    // When
+    for (int i = 0; i < 400; i++) {
+      governor.acquire();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    // Then slot 399 is due 199.5ms after the start
+    assertTrue(elapsed >= 199_000_000L, "finished too early: " + elapsed);
+    assertEquals(400, governor.stats().emitted());
+  }
+
+  @Test
+  @DisplayName("Should count every permit of a batched acquire as emitted")
+  void shouldCountBatchedPermits() throws InterruptedException {
+    // Given a clock one second into the schedule, so that no slot waits
+    var now = new AtomicLong();
+    var governor = new RateGovernor(1_000, now::get);
+    now.set(1_000_000_000L);
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      governor.acquire(64);
+    }
+
+    // Then
+    assertEquals(640, governor.stats().emitted());
+    assertEquals(640.0, governor.stats().achievedTps(), 1e-9);
+    assertEquals(10, governor.getEmissionLag().getCount());
+  }
+
+  @Test
+  @DisplayName("Should report percentiles within the histogram precision")
+  void shouldReportPercentilesWithinPrecision() {
+    // Given
+    var histogram = new LagHistogram();
+
+    // When
+    for (int i = 1; i <= 1_000; i++) {
+      histogram.record(i * 1_000L);
+    }
+
+    // Then
+    long p50 = histogram.getPercentileNanos(50);
+    assertTrue(p50 >= 500_000L && p50 <= 500_000L * 1.13, "p50 was " + p50);
+    assertEquals(1_000_000L, histogram.getPercentileNanos(100));
+    assertEquals(1_000, histogram.getCount());
+  }
+}
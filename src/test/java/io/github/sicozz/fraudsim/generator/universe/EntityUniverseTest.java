@@ -0,0 +1,152 @@
+package io.github.sicozz.fraudsim.generator.universe;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.sicozz.fraudsim.domain.model.type.TransactionTypes;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Entity Universe Tests")
+class EntityUniverseTest {
+
+  private static final List<String> CATEGORIES = List.of("5411", "5812", "4722");
+
+  private static EntityUniverse universe(long seed) {
+    return EntityUniverse.builder()
+        .withSeed(seed)
+        .withCustomerCount(2_000)
+        .withMerchantCount(300)
+        .withMerchantCategories(CATEGORIES)
+        .build();
+  }
+
+  @Test
+  @DisplayName("Should generate the same universe for the same seed")
+  void shouldGenerateSameUniverseForSameSeed() {
+    // When
+    var first = universe(42L);
+    var second = universe(42L);
+
+    // Then
+    assertEquals(2_000, first.customerCount());
+    assertEquals(300, first.merchantCount());
+    for (int i = 0; i < first.customerCount(); i++) {
+      assertEquals(first.customer(i), second.customer(i));
+      assertEquals(first.card(i), second.card(i));
+      assertEquals(first.account(i), second.account(i));
+    }
+    for (int i = 0; i < first.merchantCount(); i++) {
+      assertEquals(first.merchant(i), second.merchant(i));
+    }
+    assertNotEquals(first.customer(0).id(), universe(43L).customer(0).id());
+  }
+
+  @Test
+  @DisplayName("Should draw merchant categories from the configured codes only")
+  void shouldDrawMerchantCategoriesFromConfiguredCodes() {
+    // When
+    var universe = universe(7L);
+
+    // Then every code shows up and nothing else does
+    var seen = new HashSet<String>();
+    for (int i = 0; i < universe.merchantCount(); i++) {
+      seen.add(universe.merchantMcc(i));
+    }
+    assertEquals(new HashSet<>(CATEGORIES), seen);
+  }
+
+  @Test
+  @DisplayName("Should pool repeated strings and keep emails unique")
+  void shouldPoolRepeatedStrings() {
+    // When
+    var universe = universe(7L);
+
+    // Then names repeat, so the pool holds fewer strings than the fields that refer to it
+    var emails = new HashSet<String>();
+    for (int i = 0; i < universe.customerCount(); i++) {
+      emails.add(universe.customerEmail(i));
+    }
+    assertEquals(universe.customerCount(), emails.size());
+    assertTrue(universe.strings().size() < 4 * universe.customerCount());
+    assertEquals(universe.customerName(0), universe.card(0).cardholderName());
+  }
+
+  @Test
+  @DisplayName("Should materialize records consistent with the columns")
+  void shouldMaterializeConsistentRecords() {
+    // Given
+    var universe = universe(11L);
+
+    // When
+    var customer = universe.customer(5);
+    var card = universe.card(5);
+    var merchant = universe.merchant(5);
+
+    // Then
+    assertEquals(universe.customerId(5), customer.id());
+    assertEquals(universe.customerName(5), customer.name());
+    assertEquals(universe.cardNetwork(5), card.network());
+    assertTrue(TransactionTypes.KNOWN_NETWORKS.contains(card.network()));
+    assertEquals(16, card.maskedNumber().length());
+    assertEquals(universe.merchantMcc(5), merchant.mcc());
+    assertNotEquals(customer.id(), merchant.id());
+  }
+
+  @Test
+  @DisplayName("Should map back a saved universe unchanged")
+  void shouldMapBackSavedUniverse(@TempDir Path directory) throws IOException {
+    // Given
+    var universe = universe(42L);
+    var file = directory.resolve("universe.bin");
+
+    // When
+    universe.save(file);
+    var mapped = EntityUniverse.open(file);
+
+    // Then
+    assertEquals(universe.customerCount(), mapped.customerCount());
+    assertEquals(universe.merchantCount(), mapped.merchantCount());
+    assertEquals(universe.strings().size(), mapped.strings().size());
+    for (int i = 0; i < universe.customerCount(); i++) {
+      assertEquals(universe.customer(i), mapped.customer(i));
+      assertEquals(universe.card(i), mapped.card(i));
+      assertEquals(universe.account(i), mapped.account(i));
+    }
+    for (int i = 0; i < universe.merchantCount(); i++) {
+      assertEquals(universe.merchant(i), mapped.merchant(i));
+    }
+  }
+
+  @Test
+  @DisplayName("Should refuse to map a file that isn't a complete universe")
+  void shouldRefuseIncompleteFile(@TempDir Path directory) throws IOException {
+    // Given a saved universe cut short, and a file of something else
+    var truncated = directory.resolve("truncated.bin");
+    universe(42L).save(truncated);
+    byte[] bytes = Files.readAllBytes(truncated);
+    Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+    var foreign = directory.resolve("foreign.bin");
+    Files.write(foreign, new byte[128]);
+
+    // When / Then
+    assertThrows(IOException.class, () -> EntityUniverse.open(truncated));
+    assertThrows(IOException.class, () -> EntityUniverse.open(foreign));
+  }
+
+  @Test
+  @DisplayName("Should reject an empty population")
+  void shouldRejectEmptyPopulation() {
+    // Given
+    var builder = EntityUniverse.builder().withCustomerCount(10).withMerchantCategories(CATEGORIES);
+
+    // When / Then
+    assertThrows(IllegalArgumentException.class, builder::build);
+  }
+}
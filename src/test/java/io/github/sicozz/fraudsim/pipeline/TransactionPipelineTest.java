@@ -0,0 +1,231 @@
+package io.github.sicozz.fraudsim.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.sicozz.fraudsim.domain.model.Transaction;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.fraud.FraudInjector;
+import io.github.sicozz.fraudsim.fraud.FraudPatterns;
+import io.github.sicozz.fraudsim.fraud.FraudSettings;
+import io.github.sicozz.fraudsim.fraud.rules.ScenarioRules;
+import io.github.sicozz.fraudsim.fraud.state.CustomerStateStore;
+import io.github.sicozz.fraudsim.fraud.state.VelocityWindows;
+import io.github.sicozz.fraudsim.generator.GeneratorSettings;
+import io.github.sicozz.fraudsim.generator.TransactionGenerator;
+import io.github.sicozz.fraudsim.pipeline.PipelineSettings.StageSettings;
+import io.github.sicozz.fraudsim.pipeline.serialization.JsonTransactionSerializer;
+import io.github.sicozz.fraudsim.pipeline.sink.TransactionSink;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Transaction Pipeline Tests")
+class TransactionPipelineTest {
+
+  private static final GeneratorSettings GENERATOR_SETTINGS =
+      new GeneratorSettings(
+          7L, 2, Currency.USD, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 7), 100, 10);
+
+  private final ExecutorService virtualExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private final ExecutorService platformExecutor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void shutdownExecutors() {
+    virtualExecutor.shutdownNow();
+    platformExecutor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should deliver every generated transaction to the sink")
+  void shouldDeliverEveryTransaction() throws Exception {
+    // Given
+    var payloads = new ConcurrentLinkedQueue<byte[]>();
+    TransactionSink sink =
+        (key, payload, callback) -> {
+          payloads.add(payload);
+          callback.onComplete(null);
+        };
+
+    // When
+    var result = pipeline(sink, 16).run(1_000);
+
+    // Then
+    assertEquals(1_000, result.generated());
+    assertEquals(1_000, result.delivered());
+    assertEquals(1_000, payloads.size());
+    assertTrue(new String(payloads.peek()).contains("\"referenceId\""));
+  }
+
+  @Test
+  @DisplayName("Should bound the number of in-flight events when the sink stalls")
+  void shouldBoundInFlightEventsWhenSinkStalls() throws Exception {
+    // Given an injector counting what enters the pipeline, and a slow sink
+    var injected = new AtomicInteger();
+    var written = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    var injector =
+        new FraudInjector() {
+          @Override
+          public void inject(Transaction transaction, Downstream downstream)
+              throws InterruptedException {
+            injected.incrementAndGet();
+            super.inject(transaction, downstream);
+          }
+        };
+    TransactionSink sink =
+        (key, payload, callback) -> {
+          maxInFlight.accumulateAndGet(injected.get() - written.get(), Math::max);
+          Thread.sleep(1);
+          written.incrementAndGet();
+          callback.onComplete(null);
+        };
+
+    // When
+    var result = pipeline(injector, sink, 4).run(200);
+
+    // Then two queues of 4 plus one event per inject, serialize and sink worker at most
+    assertEquals(200, result.delivered());
+    assertTrue(maxInFlight.get() <= 2 * 4 + 2 + 2 + 1, "in flight: " + maxInFlight.get());
+  }
+
+  @Test
+  @DisplayName("Should run scenario rules over micro-batches and report them")
+  void shouldRunScenarioRulesOverMicroBatches() throws Exception {
+    // Given a rule selecting every transaction for an amount spike
+    var generator = new TransactionGenerator(GENERATOR_SETTINGS);
+    var rules =
+        ScenarioRules.fromDrl(
+            """
+            import io.github.sicozz.fraudsim.fraud.rules.ScenarioFact;
+            rule "Everything" when $fact : ScenarioFact() then $fact.inject("amountSpike"); end
+            """,
+            32);
+    var payloads = new ConcurrentLinkedQueue<byte[]>();
+    TransactionSink sink =
+        (key, payload, callback) -> {
+          payloads.add(payload);
+          callback.onComplete(null);
+        };
+
+    try (var states = new CustomerStateStore(GENERATOR_SETTINGS.customerCount(), 60_000L);
+        var velocity = new VelocityWindows(1 << 20, 8, 60, 60_000L, 3_600_000L)) {
+      var injector =
+          new FraudInjector(
+              new FraudSettings(0, 1_000, List.of(), 5L),
+              generator.getUniverse(),
+              states,
+              velocity,
+              rules);
+
+      // When
+      var result = pipeline(injector, sink, 16).run(1_000);
+
+      // Then
+      assertEquals(1_000, result.delivered());
+      assertEquals(1_000, result.rules().facts());
+      assertEquals(1_000, result.rules().fired());
+      assertTrue(result.rules().batches() >= 1_000 / 32);
+      assertEquals(1_000, payloads.size());
+    }
+  }
+
+  @Test
+  @DisplayName("Should merge the shards in time order, with campaign events at their own time")
+  void shouldDeliverCampaignEventsInTimeOrder() throws Exception {
+    // Given takeovers and bot attacks, two inject workers to be overridden, one of each other stage
+    var generator = new TransactionGenerator(GENERATOR_SETTINGS);
+    var output = new ConcurrentLinkedQueue<Transaction>();
+    var serializer =
+        new JsonTransactionSerializer() {
+          @Override
+          public byte[] serialize(Transaction transaction) throws Exception {
+            output.add(transaction);
+            return super.serialize(transaction);
+          }
+        };
+    var settings =
+        new PipelineSettings(
+            16,
+            ExecutorKind.PLATFORM,
+            new StageSettings(2, ExecutorKind.VIRTUAL),
+            new StageSettings(1, ExecutorKind.PLATFORM),
+            new StageSettings(1, ExecutorKind.VIRTUAL));
+
+    try (var states = new CustomerStateStore(GENERATOR_SETTINGS.customerCount(), 60_000L);
+        var velocity = new VelocityWindows(1 << 20, 8, 60, 60_000L, 3_600_000L)) {
+      var injector =
+          new FraudInjector(
+              new FraudSettings(
+                  0.01,
+                  1_000,
+                  List.of(FraudPatterns.ACCOUNT_TAKEOVER, FraudPatterns.BOT_ATTACK),
+                  5L),
+              generator.getUniverse(),
+              states,
+              velocity);
+      var pipeline =
+          new TransactionPipeline(
+              generator,
+              injector,
+              serializer,
+              (key, payload, callback) -> callback.onComplete(null),
+              settings,
+              virtualExecutor,
+              platformExecutor);
+
+      // When
+      var result = pipeline.run(5_000);
+
+      // Then
+      assertEquals(5_000, result.generated());
+      assertTrue(result.delivered() > 5_000 + 50, result.delivered() + " delivered");
+      Transaction previous = null;
+      for (Transaction transaction : output) {
+        if (previous != null) {
+          assertFalse(transaction.timestamp().isBefore(previous.timestamp()), "went back in time");
+        }
+        previous = transaction;
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Should fail the run when the sink fails")
+  void shouldFailRunWhenSinkFails() {
+    // Given
+    TransactionSink sink = (key, payload, callback) -> callback.onComplete(new Exception("down"));
+
+    // Then
+    var error = assertThrows(IllegalStateException.class, () -> pipeline(sink, 4).run(10_000));
+    assertEquals("down", error.getCause().getMessage());
+  }
+
+  private TransactionPipeline pipeline(TransactionSink sink, int queueCapacity) {
+    return pipeline(new FraudInjector(), sink, queueCapacity);
+  }
+
+  private TransactionPipeline pipeline(
+      FraudInjector injector, TransactionSink sink, int queueCapacity) {
+    var settings =
+        new PipelineSettings(
+            queueCapacity,
+            ExecutorKind.PLATFORM,
+            new StageSettings(2, ExecutorKind.VIRTUAL),
+            new StageSettings(2, ExecutorKind.PLATFORM),
+            new StageSettings(1, ExecutorKind.VIRTUAL));
+    return new TransactionPipeline(
+        new TransactionGenerator(GENERATOR_SETTINGS),
+        injector,
+        new JsonTransactionSerializer(),
+        sink,
+        settings,
+        virtualExecutor,
+        platformExecutor);
+  }
+}
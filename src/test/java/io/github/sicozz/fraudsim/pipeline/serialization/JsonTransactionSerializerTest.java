@@ -0,0 +1,101 @@
+package io.github.sicozz.fraudsim.pipeline.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.sicozz.fraudsim.domain.model.TransactionBuilder;
+import io.github.sicozz.fraudsim.domain.model.TransactionMetadata;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudIndicators;
+import io.github.sicozz.fraudsim.domain.model.fraud.FraudLabel;
+import io.github.sicozz.fraudsim.domain.model.fraud.RiskScore;
+import io.github.sicozz.fraudsim.domain.model.money.Currency;
+import io.github.sicozz.fraudsim.domain.model.money.Money;
+import io.github.sicozz.fraudsim.domain.model.party.Customer;
+import io.github.sicozz.fraudsim.domain.model.party.Merchant;
+import io.github.sicozz.fraudsim.domain.model.payment.Card;
+import io.github.sicozz.fraudsim.domain.model.payment.CardType;
+import io.github.sicozz.fraudsim.domain.model.status.TransactionStatus;
+import io.github.sicozz.fraudsim.domain.model.type.CardTransaction;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("JSON Transaction Serializer Tests")
+class JsonTransactionSerializerTest {
+
+  @Test
+  @DisplayName("Should write money as a decimal amount and a currency code")
+  void shouldWriteMoneyAsDecimalAmount() throws Exception {
+    // Given
+    var transaction =
+        TransactionBuilder.builder()
+            .withTimestamp(Instant.parse("2024-01-01T10:00:00Z"))
+            .withAmount(Money.of(1234.5, Currency.USD))
+            .withStatus(TransactionStatus.COMPLETED)
+            .withType(CardTransaction.ecommerce("VISA"))
+            .withSource(new Customer(UUID.randomUUID(), "John Smith", "john@example.com"))
+            .withDestination(new Merchant(UUID.randomUUID(), "Online Shop", "5999"))
+            .withPaymentMethod(
+                new Card("4111XXXXXXXX1111", CardType.CREDIT, "VISA", "John Smith", "12/25", ""))
+            .build();
+
+    // When
+    String json =
+        new String(new JsonTransactionSerializer().serialize(transaction), StandardCharsets.UTF_8);
+
+    // Then
+    assertTrue(json.contains("\"amount\":{\"amount\":1234.50,\"currency\":\"USD\"}"), json);
+    assertTrue(json.contains("\"timestamp\":\"2024-01-01T10:00:00Z\""), json);
+  }
+
+  @Test
+  @DisplayName("Should write metadata as a map of values")
+  void shouldWriteMetadataAsMapOfValues() throws Exception {
+    // Given
+    var transaction =
+        TransactionBuilder.builder()
+            .withAmount(Money.of(10, Currency.USD))
+            .withStatus(TransactionStatus.COMPLETED)
+            .withType(CardTransaction.standard("VISA"))
+            .withSource(new Customer(UUID.randomUUID(), "John Smith", "john@example.com"))
+            .withDestination(new Merchant(UUID.randomUUID(), "Corner Shop", "5411"))
+            .withPaymentMethod(
+                new Card("4111XXXXXXXX1111", CardType.DEBIT, "VISA", "John Smith", "12/25", ""))
+            .withMetadata(TransactionMetadata.of("ip", "10.0.0.1").with("channel", "pos"))
+            .build();
+
+    // When
+    String json =
+        new String(new JsonTransactionSerializer().serialize(transaction), StandardCharsets.UTF_8);
+
+    // Then
+    assertTrue(
+        json.contains("\"metadata\":{\"values\":{\"channel\":\"pos\",\"ip\":\"10.0.0.1\"}}"), json);
+  }
+
+  @Test
+  @DisplayName("Should write fraud indicators as a single number")
+  void shouldWriteFraudIndicatorsAsNumber() throws Exception {
+    // Given
+    var indicators = FraudIndicators.NONE.with(FraudLabel.AMOUNT_SPIKE).with(new RiskScore(0.5f));
+    var transaction =
+        TransactionBuilder.builder()
+            .withAmount(Money.of(10, Currency.USD))
+            .withStatus(TransactionStatus.COMPLETED)
+            .withType(CardTransaction.standard("VISA"))
+            .withSource(new Customer(UUID.randomUUID(), "John Smith", "john@example.com"))
+            .withDestination(new Merchant(UUID.randomUUID(), "Corner Shop", "5411"))
+            .withPaymentMethod(
+                new Card("4111XXXXXXXX1111", CardType.DEBIT, "VISA", "John Smith", "12/25", ""))
+            .withFraudIndicators(indicators)
+            .build();
+
+    // When
+    String json =
+        new String(new JsonTransactionSerializer().serialize(transaction), StandardCharsets.UTF_8);
+
+    // Then
+    assertTrue(json.contains("\"fraudIndicators\":" + indicators.toLong()), json);
+  }
+}
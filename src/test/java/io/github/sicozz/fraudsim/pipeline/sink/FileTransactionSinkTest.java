@@ -0,0 +1,63 @@
+package io.github.sicozz.fraudsim.pipeline.sink;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("File Transaction Sink Tests")
+class FileTransactionSinkTest {
+
+  @Test
+  @DisplayName("Should complete records once they are written out, not once buffered")
+  void shouldCompleteRecordsOnceWrittenOut(@TempDir Path directory) throws IOException {
+    // Given
+    var file = directory.resolve("out/transactions.json");
+    var completed = new AtomicInteger();
+    TransactionSink.Callback callback =
+        error -> {
+          assertNull(error);
+          completed.incrementAndGet();
+        };
+
+    try (var sink = new FileTransactionSink(file)) {
+      // When
+      sink.write("a", "{\"n\":1}".getBytes(StandardCharsets.UTF_8), callback);
+      sink.write("b", "{\"n\":2}".getBytes(StandardCharsets.UTF_8), callback);
+
+      // Then nothing completes while the records sit in the buffer
+      assertEquals(0, completed.get());
+      sink.flush();
+      assertEquals(2, completed.get());
+      assertEquals(List.of("{\"n\":1}", "{\"n\":2}"), Files.readAllLines(file));
+    }
+  }
+
+  @Test
+  @DisplayName("Should complete the buffered records when the buffer fills up")
+  void shouldCompleteRecordsWhenBufferFills(@TempDir Path directory) throws IOException {
+    // Given records of 1 KiB, 64 of which fill the buffer
+    var completed = new AtomicInteger();
+    byte[] payload = new byte[1_023];
+    Arrays.fill(payload, (byte) 'x');
+
+    try (var sink = new FileTransactionSink(directory.resolve("transactions.json"))) {
+      // When
+      for (int i = 0; i < 65; i++) {
+        sink.write("k", payload, error -> completed.incrementAndGet());
+      }
+
+      // Then the first 64 went out with the full buffer, the last one waits
+      assertEquals(64, completed.get());
+    }
+    assertEquals(65, completed.get());
+  }
+}